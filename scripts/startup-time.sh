@@ -0,0 +1,94 @@
+#!/usr/bin/env bash
+#
+# Tiempo de arranque hasta el primer POST /api/hotels que responde 201, que es lo que nos importa
+# al escalar: hasta entonces la instancia nueva no sirve peticiones.
+#
+# Compara cuatro formas de arrancar el mismo build:
+#   jar      java -jar del jar de Spring Boot (lo de siempre)
+#   cds      jar extraído + archivo AppCDS (clases ya analizadas y verificadas)
+#   aot      jar extraído con las definiciones de beans generadas por Spring AOT
+#   aot-cds  las dos cosas
+#
+# Antes hay que compilar con el perfil "startup":
+#   mvn -Pstartup package -DskipTests
+#   scripts/startup-time.sh [repeticiones] [modos...]
+#   scripts/startup-time.sh 10 jar aot-cds
+#
+# Variables: PORT (18080), JAVA (java del PATH), JAVA_OPTS (opciones extra de la JVM),
+# APP_ARGS (argumentos extra de la aplicación, p. ej. --spring.profiles.active=prod,postgres).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+shift || true
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+  MODES=(jar cds aot aot-cds)
+fi
+
+PORT=${PORT:-18080}
+JAVA=${JAVA:-java}
+JAR=$(ls target/booking-system-*.jar 2>/dev/null | grep -v original | head -n 1 || true)
+STARTUP_DIR=target/startup
+BODY='{"name":"Hotel Arranque","address":"Calle 1","city":"Madrid","country":"España","stars":3}'
+
+if [ -z "$JAR" ] || [ ! -f "$STARTUP_DIR/application.jsa" ]; then
+  echo "No hay build de arranque: ejecuta antes 'mvn -Pstartup package -DskipTests'" >&2
+  exit 1
+fi
+EXTRACTED="$STARTUP_DIR/$(basename "$JAR")"
+
+command_for() {
+  case "$1" in
+    jar)     echo "$JAVA $JAVA_OPTS -jar $JAR" ;;
+    cds)     echo "$JAVA $JAVA_OPTS -XX:SharedArchiveFile=$STARTUP_DIR/application.jsa -jar $EXTRACTED" ;;
+    aot)     echo "$JAVA $JAVA_OPTS -Dspring.aot.enabled=true -jar $EXTRACTED" ;;
+    aot-cds) echo "$JAVA $JAVA_OPTS -XX:SharedArchiveFile=$STARTUP_DIR/application.jsa -Dspring.aot.enabled=true -jar $EXTRACTED" ;;
+    *)       echo "Modo desconocido: $1 (jar, cds, aot o aot-cds)" >&2; exit 1 ;;
+  esac
+}
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Arranca la aplicación y devuelve los ms hasta el primer 201 (o falla a los 120 s)
+measure() {
+  local command=$1 start pid status elapsed
+  start=$(now_ms)
+  # shellcheck disable=SC2086
+  $command --server.port="$PORT" --spring.main.banner-mode=off --logging.level.root=WARN --logging.level.org.springframework.jdbc=WARN $APP_ARGS \
+    > "target/startup-time.log" 2>&1 &
+  pid=$!
+  while true; do
+    status=$(curl -s -o /dev/null -w '%{http_code}' --max-time 1 -X POST \
+      -H 'Content-Type: application/json' -d "$BODY" "http://localhost:$PORT/api/hotels" || true)
+    if [ "$status" = "201" ]; then
+      break
+    fi
+    if ! kill -0 "$pid" 2>/dev/null || [ $(( $(now_ms) - start )) -gt 120000 ]; then
+      echo "La aplicación no arrancó; mira target/startup-time.log" >&2
+      kill "$pid" 2>/dev/null || true
+      exit 1
+    fi
+    sleep 0.02
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed"
+}
+
+APP_ARGS=${APP_ARGS:-}
+JAVA_OPTS=${JAVA_OPTS:-}
+printf '%-8s %8s %8s %8s   (ms hasta el primer 201, %d arranques)\n' modo mediana mínimo máximo "$RUNS"
+for mode in "${MODES[@]}"; do
+  command=$(command_for "$mode")
+  times=()
+  for ((i = 0; i < RUNS; i++)); do
+    times+=("$(measure "$command")")
+  done
+  sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+  printf '%-8s %8d %8d %8d\n' "$mode" "${sorted[$((RUNS / 2))]}" "${sorted[0]}" "${sorted[$((RUNS - 1))]}"
+done
@@ -0,0 +1,53 @@
+package com.hotel.booking.jmh;
+
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.dto.HotelDto;
+
+/**
+ * Datos de ejemplo comunes a los benchmarks: un hotel "típico" con una descripción de tamaño realista.
+ */
+final class HotelFixtures {
+
+    static final String DESCRIPTION = "Hotel boutique en el centro histórico, a cinco minutos de la catedral. "
+            + "Habitaciones insonorizadas, terraza con vistas, piscina climatizada y desayuno buffet incluido.";
+
+    private HotelFixtures() {
+    }
+
+    static CreateHotelRequestDto request(int sequence) {
+        return CreateHotelRequestDto.builder()
+                .name("Hotel Benchmark " + sequence)
+                .address("Calle Mayor " + sequence)
+                .city("Sevilla")
+                .country("España")
+                .stars(4)
+                .description(DESCRIPTION)
+                .build();
+    }
+
+    static Hotel hotel() {
+        return Hotel.builder()
+                .id(42L)
+                .name("Hotel Benchmark")
+                .address("Calle Mayor 1")
+                .city("Sevilla")
+                .cityNormalized("sevilla")
+                .country("España")
+                .stars(4)
+                .description(DESCRIPTION)
+                .build();
+    }
+
+    static HotelDto dto() {
+        return HotelDto.builder()
+                .id(42L)
+                .name("Hotel Benchmark")
+                .address("Calle Mayor 1")
+                .city("Sevilla")
+                .country("España")
+                .stars(4)
+                .description(DESCRIPTION)
+                .build();
+    }
+}
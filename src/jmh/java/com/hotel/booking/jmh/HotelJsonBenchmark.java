@@ -0,0 +1,56 @@
+package com.hotel.booking.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.dto.HotelDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson con la misma configuración que usa Spring MVC (Jackson2ObjectMapperBuilder):
+ * escribir un HotelDto (respuesta de GET /api/hotels/{id}) y leer un CreateHotelRequestDto
+ * (cuerpo de POST /api/hotels).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HotelJsonBenchmark {
+
+    private ObjectWriter writer;
+
+    private ObjectReader reader;
+
+    private final HotelDto dto = HotelFixtures.dto();
+
+    private byte[] requestJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        // Writer/reader precalculados: así los usa Spring, sin buscar el serializador en cada llamada
+        writer = objectMapper.writerFor(HotelDto.class);
+        reader = objectMapper.readerFor(CreateHotelRequestDto.class);
+        requestJson = objectMapper.writeValueAsBytes(HotelFixtures.request(1));
+    }
+
+    @Benchmark
+    public byte[] serializeHotelDto() throws IOException {
+        return writer.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public CreateHotelRequestDto deserializeCreateRequest() throws IOException {
+        return reader.readValue(requestJson);
+    }
+}
@@ -0,0 +1,40 @@
+package com.hotel.booking.jmh;
+
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.mapper.HotelMapper;
+import com.hotel.booking.mapper.HotelMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Código generado por MapStruct (HotelMapperImpl): entidad -> DTO y petición -> entidad.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HotelMapperBenchmark {
+
+    private final HotelMapper mapper = new HotelMapperImpl();
+
+    private final Hotel hotel = HotelFixtures.hotel();
+
+    private final CreateHotelRequestDto request = HotelFixtures.request(1);
+
+    @Benchmark
+    public HotelDto toDto() {
+        return mapper.toDto(hotel);
+    }
+
+    @Benchmark
+    public Hotel toEntity() {
+        return mapper.toEntity(request);
+    }
+}
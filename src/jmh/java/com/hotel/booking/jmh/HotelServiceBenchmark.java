@@ -0,0 +1,93 @@
+package com.hotel.booking.jmh;
+
+import com.hotel.booking.BookingSystemApplication;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.exception.HotelNotFoundException;
+import com.hotel.booking.service.HotelService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HotelService con el contexto de Spring completo y H2 embebida (sin servidor web):
+ * createHotel (INSERT + caché + evento), getHotelById con y sin caché y el 404 de un id que no existe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HotelServiceBenchmark {
+
+    private static final int HOTELS = 10_000;
+
+    // Ningún hotel tiene id negativo; y -1 no se convierte en un Long nuevo en cada llamada (caché de Long.valueOf)
+    private static final long UNKNOWN_ID = -1L;
+
+    @Param({"true", "false"})
+    public boolean cache;
+
+    private ConfigurableApplicationContext context;
+
+    private HotelService hotelService;
+
+    private long firstId;
+
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // DevTools decide si reiniciar antes de leer las propiedades de la aplicación
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(BookingSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                // Como argumentos de línea de comandos: tienen prioridad sobre application.properties
+                .run(
+                        "--hotel.cache.enabled=" + cache,
+                        "--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.jdbc=WARN",
+                        "--spring.main.banner-mode=off");
+        hotelService = context.getBean(HotelService.class);
+        firstId = hotelService.createHotel(HotelFixtures.request(0)).getId();
+        for (int i = 1; i < HOTELS; i++) {
+            hotelService.createHotel(HotelFixtures.request(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public HotelDto createHotel() {
+        return hotelService.createHotel(HotelFixtures.request(++sequence));
+    }
+
+    @Benchmark
+    public HotelDto getHotelById() {
+        // Recorre los hoteles iniciales en orden: con caché caben todos (10.000 = hotel.cache.max-size)
+        return hotelService.getHotelById(firstId + (sequence++ % HOTELS));
+    }
+
+    @Benchmark
+    public Object getUnknownHotel() {
+        // Con caché, el "no existe" sale de la caché negativa: queda el coste de la excepción
+        try {
+            return hotelService.getHotelById(UNKNOWN_ID);
+        } catch (HotelNotFoundException e) {
+            return e;
+        }
+    }
+}
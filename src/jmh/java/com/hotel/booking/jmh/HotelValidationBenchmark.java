@@ -0,0 +1,59 @@
+package com.hotel.booking.jmh;
+
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation (Hibernate Validator) de CreateHotelRequestDto, lo que hace @Valid en cada POST:
+ * una petición válida y otra con dos errores (construir los mensajes es la parte cara).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HotelValidationBenchmark {
+
+    private ValidatorFactory factory;
+
+    private Validator validator;
+
+    private final CreateHotelRequestDto valid = HotelFixtures.request(1);
+
+    private final CreateHotelRequestDto invalid = CreateHotelRequestDto.builder()
+            .name("").address("Calle Mayor 1").city("Sevilla").country("España").stars(9)
+            .build();
+
+    @Setup
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateHotelRequestDto>> validRequest() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateHotelRequestDto>> invalidRequest() {
+        return validator.validate(invalid);
+    }
+}
@@ -0,0 +1,104 @@
+package com.hotel.booking.jmh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Puerta de regresión del perfil "jmh": compara los bytes asignados por operación
+ * (gc.alloc.rate.norm, de -prof gc) con la referencia guardada en el repositorio.
+ *
+ * Comparamos asignaciones y no tiempos porque los tiempos dependen de la máquina y del ruido
+ * (otra carga, frecuencia de la CPU...) y las asignaciones por operación no: si un cambio hace
+ * que un benchmark asigne más de la referencia + tolerancia, el build falla.
+ *
+ * Argumentos: resultados JMH (JSON), fichero de referencia, tolerancia (0.10 = 10%) y
+ * "true" para reescribir la referencia con los resultados actuales en vez de comparar.
+ */
+public final class JmhRegressionGate {
+
+    // Margen absoluto para benchmarks que casi no asignan (unos pocos bytes de ruido no son regresión)
+    private static final double ABSOLUTE_SLACK_BYTES = 16;
+
+    private JmhRegressionGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        File resultsFile = new File(args[0]);
+        File baselineFile = new File(args[1]);
+        double tolerance = Double.parseDouble(args[2]);
+        boolean update = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Map<String, Double> current = allocationsPerOp(objectMapper.readTree(resultsFile));
+
+        if (update) {
+            Map<String, Double> merged = baselineFile.exists() ? read(objectMapper, baselineFile) : new TreeMap<>();
+            merged.putAll(current);
+            ObjectNode json = objectMapper.createObjectNode();
+            merged.forEach(json::put);
+            objectMapper.writeValue(baselineFile, json);
+            System.out.printf(Locale.ROOT, "[jmh-gate] referencia actualizada con %d benchmarks: %s%n",
+                    current.size(), baselineFile);
+            return;
+        }
+
+        Map<String, Double> baseline = read(objectMapper, baselineFile);
+        List<String> regressions = new ArrayList<>();
+        current.forEach((benchmark, bytes) -> {
+            Double reference = baseline.get(benchmark);
+            if (reference == null) {
+                System.out.printf(Locale.ROOT, "[jmh-gate] %-70s %10.1f B/op (sin referencia)%n", benchmark, bytes);
+                return;
+            }
+            boolean regression = bytes > reference * (1 + tolerance) + ABSOLUTE_SLACK_BYTES;
+            System.out.printf(Locale.ROOT, "[jmh-gate] %-70s %10.1f B/op (referencia %10.1f)%s%n",
+                    benchmark, bytes, reference, regression ? "  <-- REGRESIÓN" : "");
+            if (regression) {
+                regressions.add(benchmark);
+            }
+        });
+
+        if (!regressions.isEmpty()) {
+            System.err.println("[jmh-gate] Asignan más memoria que la referencia: " + regressions);
+            System.exit(1);
+        }
+    }
+
+    // "clase.método" o "clase.método:param=valor,..." -> bytes asignados por operación
+    private static Map<String, Double> allocationsPerOp(JsonNode results) {
+        Map<String, Double> allocations = new TreeMap<>();
+        for (JsonNode result : results) {
+            JsonNode norm = result.path("secondaryMetrics").path("gc.alloc.rate.norm");
+            if (norm.isMissingNode()) {
+                continue; // ejecutado sin -prof gc
+            }
+            StringBuilder key = new StringBuilder(result.get("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            char separator = ':';
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(separator).append(param.getKey()).append('=').append(param.getValue().asText());
+                separator = ',';
+            }
+            allocations.put(key.toString(), norm.get("score").asDouble());
+        }
+        return allocations;
+    }
+
+    private static Map<String, Double> read(ObjectMapper objectMapper, File file) throws IOException {
+        Map<String, Double> values = new TreeMap<>();
+        objectMapper.readTree(file).fields().forEachRemaining(entry -> values.put(entry.getKey(), entry.getValue().asDouble()));
+        return values;
+    }
+}
@@ -1,9 +1,14 @@
 package com.hotel.booking;
 
+import com.hotel.booking.config.BookingRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan // Registra las clases @ConfigurationProperties del paquete config
+@ImportRuntimeHints(BookingRuntimeHints.class) // Solo se usa al compilar con AOT (imagen nativa)
 public class BookingSystemApplication {
 
 	public static void main(String[] args) {
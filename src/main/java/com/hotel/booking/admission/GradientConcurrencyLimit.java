@@ -0,0 +1,157 @@
+package com.hotel.booking.admission;
+
+import com.hotel.booking.config.AdmissionProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de peticiones simultáneas que se ajusta solo a partir de la latencia observada
+ * (algoritmo de gradiente, como el Gradient2 de concurrency-limits de Netflix).
+ *
+ * La idea: mientras el servidor no hace cola, la latencia se queda cerca de la de sin carga
+ * (baselineRtt) y el límite puede crecer; cuando las peticiones empiezan a esperar (conexiones
+ * de Hikari, CPU), la latencia sube y el límite baja en proporción. Cada ventana (window):
+ *   gradiente = clamp(tolerance * baselineRtt / rttDeLaVentana, 0.5, 1)
+ *   límite    = límite * gradiente + sqrt(límite)      (suavizado, entre min y max)
+ * El sqrt(límite) es la cola que se permite: sin él el límite nunca volvería a subir.
+ *
+ * Sin locks: tryAcquire es un bucle de CAS sobre inFlight, las muestras van a LongAdder y el
+ * recálculo lo hace el único hilo que gana el CAS de windowStart al cerrar la ventana.
+ */
+public class GradientConcurrencyLimit {
+
+    // Peso de cada ventana nueva en el límite: amortigua el ruido de una ventana suelta
+    private static final double SMOOTHING = 0.2;
+
+    // La latencia de referencia es el mínimo observado, que sube un 0,1 % por ventana (se dobla en
+    // unas 700 ventanas, más de dos minutos con las de 200 ms): así sigue a la base de datos si de
+    // verdad se vuelve más lenta, pero no se "acostumbra" a la cola de una sobrecarga
+    private static final double BASELINE_DRIFT = 0.001;
+
+    // Con menos muestras la media de la ventana no dice nada; la ventana se alarga hasta tenerlas
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final long windowNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rttSum = new LongAdder();
+
+    private final LongAdder samples = new LongAdder();
+
+    // Máximo de peticiones simultáneas en la ventana: si no llegó ni a la mitad del límite, la
+    // latencia no dice nada sobre él (la aplicación no estaba cargada) y no se toca
+    private final LongAccumulator maxInFlight = new LongAccumulator(Math::max, 0);
+
+    private final AtomicLong windowStart;
+
+    // Solo los escribe el hilo que cierra la ventana; volatile para que los lean los demás
+    private volatile double estimatedLimit;
+
+    private volatile int limit;
+
+    private volatile long baselineRttNanos;
+
+    public GradientConcurrencyLimit(AdmissionProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    public GradientConcurrencyLimit(AdmissionProperties properties, LongSupplier nanoClock) {
+        if (properties.getMinConcurrent() < 1 || properties.getMinConcurrent() > properties.getMaxConcurrent()) {
+            throw new IllegalArgumentException("hotel.admission: hace falta 1 <= min-concurrent <= max-concurrent");
+        }
+        this.minLimit = properties.getMinConcurrent();
+        this.maxLimit = properties.getMaxConcurrent();
+        this.tolerance = properties.getTolerance();
+        this.windowNanos = properties.getWindow().toNanos();
+        this.nanoClock = nanoClock;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, properties.getInitialConcurrent()));
+        this.limit = (int) estimatedLimit;
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /** Un límite que no se mueve (min = max), para tests y para quien no quiera el ajuste. */
+    public static GradientConcurrencyLimit fixed(int limit) {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMinConcurrent(limit);
+        properties.setInitialConcurrent(limit);
+        properties.setMaxConcurrent(limit);
+        return new GradientConcurrencyLimit(properties);
+    }
+
+    /** Ocupa un hueco si hay; nunca espera. Quien recibe true tiene que llamar a {@link #release}. */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                maxInFlight.accumulate(current + 1);
+                return true;
+            }
+        }
+    }
+
+    /** Devuelve el hueco y anota cuánto tardó la petición (rttNanos < 0: no contarla, p. ej. si falló). */
+    public void release(long rttNanos) {
+        inFlight.decrementAndGet();
+        if (rttNanos >= 0) {
+            rttSum.add(rttNanos);
+            samples.increment();
+        }
+        long now = nanoClock.getAsLong();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && samples.sum() >= MIN_WINDOW_SAMPLES && windowStart.compareAndSet(start, now)) {
+            // Una muestra que llegue entre estas lecturas puede caer en la ventana siguiente: da igual
+            long count = samples.sumThenReset();
+            long sum = rttSum.sumThenReset();
+            long busiest = maxInFlight.getThenReset();
+            if (count > 0) {
+                update(sum / count, busiest);
+            }
+        }
+    }
+
+    private void update(long rttNanos, long busiest) {
+        long baseline = baselineRttNanos;
+        baseline = baseline == 0 ? rttNanos : Math.min(rttNanos, (long) (baseline * (1 + BASELINE_DRIFT)) + 1);
+        baselineRttNanos = baseline;
+        double estimated = estimatedLimit;
+        if (busiest < estimated / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baseline / rttNanos));
+        double target = estimated * gradient + Math.sqrt(estimated);
+        estimated = estimated * (1 - SMOOTHING) + target * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimated));
+        limit = (int) estimatedLimit;
+    }
+
+    /** Peticiones simultáneas permitidas ahora mismo. */
+    public int limit() {
+        return limit;
+    }
+
+    /** Peticiones que se están atendiendo ahora mismo. */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /** Latencia de referencia (la de sin cola) en segundos; 0 hasta cerrar la primera ventana. */
+    public double baselineRttSeconds() {
+        return baselineRttNanos / 1e9;
+    }
+}
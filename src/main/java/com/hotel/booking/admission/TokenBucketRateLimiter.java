@@ -0,0 +1,75 @@
+package com.hotel.booking.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hotel.booking.config.RateLimitProperties;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Cubo de fichas por cliente: requestsPerSecond de media y ráfagas de hasta burst peticiones.
+ *
+ * Implementado como GCRA (generic cell rate algorithm): en vez de un contador de fichas y la
+ * hora de la última recarga, cada cliente guarda un solo número, el instante teórico en que
+ * llegaría su siguiente petición si las hiciera al ritmo permitido (TAT). Cada petición lo
+ * adelanta un intervalo (1 s / requestsPerSecond) con un CAS; si queda más de burst intervalos
+ * por delante del reloj, el cubo está vacío. Sin locks y sin hilo de recarga.
+ *
+ * Los clientes están en Caffeine, acotados por maxClients, y se olvidan tras burst intervalos sin
+ * peticiones: para entonces su cubo ya estaría lleno otra vez, así que olvidarlos no cambia nada.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+
+    private final long burstNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final Cache<String, AtomicLong> clients;
+
+    public TokenBucketRateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    public TokenBucketRateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        if (properties.getRequestsPerSecond() <= 0 || properties.getBurst() < 1) {
+            throw new IllegalArgumentException("hotel.rate-limit: requests-per-second > 0 y burst >= 1");
+        }
+        this.intervalNanos = Math.max(1, (long) (1e9 / properties.getRequestsPerSecond()));
+        this.burstNanos = intervalNanos * properties.getBurst();
+        this.nanoClock = nanoClock;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Gasta una ficha del cliente si le queda alguna.
+     * @return 0 si puede pasar; si no, los nanosegundos que faltan para que tenga una ficha.
+     */
+    public long tryAcquire(String client) {
+        long now = nanoClock.getAsLong();
+        AtomicLong theoreticalArrival = clients.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Clientes con cubo en memoria (aproximado). */
+    public long clientCount() {
+        return clients.estimatedSize();
+    }
+}
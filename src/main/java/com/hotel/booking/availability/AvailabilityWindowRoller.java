@@ -0,0 +1,90 @@
+package com.hotel.booking.availability;
+
+import com.hotel.booking.config.AvailabilityProperties;
+import com.hotel.booking.pricing.RateCalendarIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Avanza la ventana del índice de disponibilidad y de los calendarios de precios al cambiar de día.
+ *
+ * Los dos se crean con "hoy" como primera noche y horizonDays noches por delante. Sin moverlos, en un
+ * proceso que lleva días arrancado el horizonte se iba acortando (no se podía reservar hasta
+ * horizonDays desde hoy, solo desde el arranque) y las noches ya pasadas seguían ocupando sitio.
+ *
+ * Cada rollCheckInterval se compara la fecha del Clock con la primera noche: mirar a menudo es casi
+ * gratis, y así da igual a qué hora arrancó el proceso o si el reloj del sistema cambia de hora.
+ */
+@Slf4j
+@Component
+public class AvailabilityWindowRoller implements SmartLifecycle {
+
+    private final RoomAvailabilityIndex availabilityIndex;
+
+    private final RateCalendarIndex rateCalendar;
+
+    private final Clock clock;
+
+    private final AvailabilityProperties properties;
+
+    private volatile ScheduledThreadPoolExecutor scheduler;
+
+    public AvailabilityWindowRoller(RoomAvailabilityIndex availabilityIndex, RateCalendarIndex rateCalendar,
+                                    Clock clock, AvailabilityProperties properties) {
+        this.availabilityIndex = availabilityIndex;
+        this.rateCalendar = rateCalendar;
+        this.clock = clock;
+        this.properties = properties;
+    }
+
+    /**
+     * Si el Clock ya está en un día posterior a la primera noche, mueve las dos ventanas a hoy.
+     * @return true si las ha movido.
+     */
+    public boolean roll() {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate firstNight = availabilityIndex.getFirstNight();
+        if (!today.isAfter(firstNight)) {
+            return false;
+        }
+        // Primero los precios: cuando el índice admite las noches nuevas, ya tienen calendario
+        rateCalendar.rollTo(today);
+        availabilityIndex.rollTo(today);
+        log.info("Ventana de disponibilidad y precios movida del {} al {} (reservas hasta el {})",
+                firstNight, today, availabilityIndex.getLastCheckOut());
+        return true;
+    }
+
+    @Override
+    public void start() {
+        scheduler = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform().name("availability-roller").daemon().factory());
+        long intervalNanos = properties.getRollCheckInterval().toNanos();
+        scheduler.scheduleWithFixedDelay(this::rollQuietly, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Una excepción en una tarea periódica cancela las siguientes: la dejamos en el log y seguimos
+    private void rollQuietly() {
+        try {
+            roll();
+        } catch (RuntimeException e) {
+            log.error("No se ha podido mover la ventana de disponibilidad", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
@@ -0,0 +1,368 @@
+package com.hotel.booking.availability;
+
+import com.hotel.booking.domain.room.RoomType;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de disponibilidad en memoria: un mapa de bits de noches ocupadas por habitación.
+ *
+ * La noche i (contando desde firstNight) de una habitación es un bit: 1 = ocupada.
+ * Con 730 noches, cada habitación ocupa 12 longs (96 bytes), y saber si está libre de
+ * checkIn a checkOut es hacer un AND con una máscara sobre 1-2 longs, en vez de buscar
+ * en la tabla de reservas las que se solapan con esas fechas.
+ *
+ * Todos los bits viven en un único AtomicLongArray (habitación "slot" -> posiciones
+ * [slot * wordsPerRoom, (slot + 1) * wordsPerRoom)), así que no hay un objeto por
+ * habitación ni por reserva.
+ *
+ * Concurrencia:
+ * - Altas y bajas de habitaciones cambian la estructura: lock de escritura.
+ * - Marcar/liberar noches y consultar: lock de lectura (muchos a la vez) y operaciones
+ *   atómicas sobre cada long, así dos reservas de habitaciones distintas no se bloquean.
+ *   Esta clase no decide si una reserva puede hacerse: eso (comprobar y marcar como una
+ *   sola operación) es responsabilidad del servicio de reservas.
+ * - Avanzar la ventana un día ({@link #rollTo}) desplaza todos los bits: lock de escritura.
+ *   Por eso las consultas pasan las fechas a posiciones ya dentro del lock de lectura.
+ */
+public class RoomAvailabilityIndex {
+
+    private static final RoomType[] TYPES = RoomType.values();
+
+    // Solo cambia en rollTo, con el lock de escritura; volatile para quien lo lee sin lock (covers)
+    private volatile LocalDate firstNight;
+    private final int horizonDays;
+    private final int wordsPerRoom;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotByRoom = new HashMap<>();
+    private final Map<Long, IntList> slotsByHotel = new HashMap<>();
+    private final IntList freeSlots = new IntList();
+
+    // Por slot: datos de la habitación que hacen falta para filtrar sin ir a la base de datos
+    private long[] roomIds = new long[1_024];
+    private long[] hotelIds = new long[1_024];
+    private byte[] types = new byte[1_024];
+    private int[] capacities = new int[1_024];
+    private AtomicLongArray occupancy;
+    private int slots;
+
+    /**
+     * @param firstNight  Primera noche representada (normalmente hoy).
+     * @param horizonDays Número de noches representadas a partir de firstNight.
+     */
+    public RoomAvailabilityIndex(LocalDate firstNight, int horizonDays) {
+        if (horizonDays <= 0) {
+            throw new IllegalArgumentException("El horizonte debe ser de al menos una noche");
+        }
+        this.firstNight = firstNight;
+        this.horizonDays = horizonDays;
+        this.wordsPerRoom = (horizonDays + 63) / 64;
+        this.occupancy = new AtomicLongArray(roomIds.length * wordsPerRoom);
+    }
+
+    public LocalDate getFirstNight() {
+        return firstNight;
+    }
+
+    /** Día de salida más lejano que se puede consultar. */
+    public LocalDate getLastCheckOut() {
+        return firstNight.plusDays(horizonDays);
+    }
+
+    /** true si todas las noches [checkIn, checkOut) están dentro del horizonte del índice. */
+    public boolean covers(LocalDate checkIn, LocalDate checkOut) {
+        LocalDate first = firstNight; // una sola lectura: rollTo puede moverla entretanto
+        return checkIn.isBefore(checkOut)
+                && !checkIn.isBefore(first)
+                && !checkOut.isAfter(first.plusDays(horizonDays));
+    }
+
+    /**
+     * Avanza la ventana para que empiece en newFirstNight (normalmente, al cambiar de día): las noches
+     * anteriores se olvidan y al final aparecen otras tantas noches libres, así el horizonte sigue
+     * llegando a horizonDays desde hoy. Antes de que se pueda reservar, nada puede estar ocupado ahí.
+     * Con una fecha igual o anterior a la primera noche actual no hace nada.
+     */
+    public void rollTo(LocalDate newFirstNight) {
+        lock.writeLock().lock();
+        try {
+            long days = ChronoUnit.DAYS.between(firstNight, newFirstNight);
+            if (days <= 0) {
+                return;
+            }
+            int shift = (int) Math.min(days, (long) wordsPerRoom * 64);
+            for (int slot = 0; slot < slots; slot++) {
+                shiftOut(slot, shift);
+            }
+            firstNight = newFirstNight;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- habitaciones
+
+    /** Da de alta una habitación (o actualiza su tipo/capacidad si ya existía). */
+    public void addRoom(long roomId, long hotelId, RoomType type, int capacity) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotByRoom.get(roomId);
+            int slot = existing != null ? existing : newSlot(roomId, hotelId);
+            types[slot] = (byte) type.ordinal();
+            capacities[slot] = capacity;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeRoom(long roomId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByRoom.remove(roomId);
+            if (slot != null) {
+                IntList hotelSlots = slotsByHotel.get(hotelIds[slot]);
+                hotelSlots.remove(slot);
+                if (hotelSlots.size == 0) {
+                    slotsByHotel.remove(hotelIds[slot]);
+                }
+                releaseSlot(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Da de baja todas las habitaciones de un hotel (por ejemplo, al eliminar el hotel). */
+    public void removeHotel(long hotelId) {
+        lock.writeLock().lock();
+        try {
+            IntList hotelSlots = slotsByHotel.remove(hotelId);
+            if (hotelSlots != null) {
+                for (int i = 0; i < hotelSlots.size; i++) {
+                    int slot = hotelSlots.values[i];
+                    slotByRoom.remove(roomIds[slot]);
+                    releaseSlot(slot);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int roomCount() {
+        lock.readLock().lock();
+        try {
+            return slotByRoom.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- noches
+
+    /**
+     * Marca como ocupadas las noches [checkIn, checkOut). Las noches fuera del horizonte
+     * se ignoran (por ejemplo, las ya pasadas de una reserva en curso al arrancar).
+     * @return false si la habitación no está en el índice.
+     */
+    public boolean markBooked(long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return apply(roomId, checkIn, checkOut, true);
+    }
+
+    /** Libera las noches [checkIn, checkOut), por ejemplo al cancelar una reserva. */
+    public boolean markReleased(long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return apply(roomId, checkIn, checkOut, false);
+    }
+
+    /** true si la habitación existe y tiene libres todas las noches [checkIn, checkOut). */
+    public boolean isFree(long roomId, LocalDate checkIn, LocalDate checkOut) {
+        lock.readLock().lock();
+        try {
+            int start = nightIndex(checkIn);
+            int end = nightIndex(checkOut);
+            requireCovered(start, end);
+            Integer slot = slotByRoom.get(roomId);
+            return slot != null && isFree(slot, start, end);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Habitaciones del hotel libres todas las noches [checkIn, checkOut).
+     * @param type        Tipo de habitación, o null para cualquiera.
+     * @param minCapacity Capacidad mínima (huéspedes).
+     * @param limit       Máximo de habitaciones a devolver.
+     * @return Los ids de las habitaciones libres.
+     */
+    public long[] findFreeRooms(long hotelId, LocalDate checkIn, LocalDate checkOut,
+                                RoomType type, int minCapacity, int limit) {
+        lock.readLock().lock();
+        try {
+            int start = nightIndex(checkIn);
+            int end = nightIndex(checkOut);
+            requireCovered(start, end);
+            IntList hotelSlots = slotsByHotel.get(hotelId);
+            if (hotelSlots == null) {
+                return new long[0];
+            }
+            long[] free = new long[Math.min(limit, hotelSlots.size)];
+            int found = 0;
+            for (int i = 0; i < hotelSlots.size && found < free.length; i++) {
+                int slot = hotelSlots.values[i];
+                if ((type == null || types[slot] == type.ordinal())
+                        && capacities[slot] >= minCapacity
+                        && isFree(slot, start, end)) {
+                    free[found++] = roomIds[slot];
+                }
+            }
+            return found == free.length ? free : Arrays.copyOf(free, found);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- internos
+
+    private boolean apply(long roomId, LocalDate checkIn, LocalDate checkOut, boolean book) {
+        lock.readLock().lock();
+        try {
+            // Recortamos al horizonte: lo que queda fuera no está representado
+            int start = Math.max(0, nightIndex(checkIn));
+            int end = Math.min(horizonDays, nightIndex(checkOut));
+            Integer slot = slotByRoom.get(roomId);
+            if (slot == null) {
+                return false;
+            }
+            for (int night = start; night < end; ) {
+                int word = night >>> 6;
+                int wordEnd = Math.min(end, (word + 1) << 6);
+                long mask = mask(night, wordEnd);
+                int position = slot * wordsPerRoom + word;
+                if (book) {
+                    occupancy.getAndAccumulate(position, mask, (current, bits) -> current | bits);
+                } else {
+                    occupancy.getAndAccumulate(position, ~mask, (current, bits) -> current & bits);
+                }
+                night = wordEnd;
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isFree(int slot, int start, int end) {
+        for (int night = start; night < end; ) {
+            int word = night >>> 6;
+            int wordEnd = Math.min(end, (word + 1) << 6);
+            if ((occupancy.get(slot * wordsPerRoom + word) & mask(night, wordEnd)) != 0) {
+                return false;
+            }
+            night = wordEnd;
+        }
+        return true;
+    }
+
+    // Noche i -> noche i - shift en los longs de una habitación; por la derecha entran ceros (libres).
+    // De menor a mayor: cada long solo lee longs posteriores, que aún no se han sobrescrito.
+    private void shiftOut(int slot, int shift) {
+        int base = slot * wordsPerRoom;
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int word = 0; word < wordsPerRoom; word++) {
+            int source = word + wordShift;
+            long low = source < wordsPerRoom ? occupancy.get(base + source) : 0L;
+            long high = source + 1 < wordsPerRoom ? occupancy.get(base + source + 1) : 0L;
+            occupancy.set(base + word, bitShift == 0 ? low : (low >>> bitShift) | (high << (64 - bitShift)));
+        }
+    }
+
+    // Bits de las noches [from, to) dentro de un mismo long (from y to en el mismo bloque de 64)
+    private static long mask(int from, int to) {
+        int bits = to - from;
+        long ones = bits == 64 ? -1L : (1L << bits) - 1;
+        return ones << (from & 63);
+    }
+
+    private int nightIndex(LocalDate date) {
+        return (int) ChronoUnit.DAYS.between(firstNight, date);
+    }
+
+    private void requireCovered(int start, int end) {
+        if (start < 0 || end > horizonDays || start >= end) {
+            throw new IllegalArgumentException("Fechas fuera del horizonte del índice de disponibilidad ("
+                    + firstNight + " - " + getLastCheckOut() + ")");
+        }
+    }
+
+    private int newSlot(long roomId, long hotelId) {
+        int slot;
+        if (freeSlots.size > 0) {
+            slot = freeSlots.values[--freeSlots.size];
+        } else {
+            if (slots == roomIds.length) {
+                grow();
+            }
+            slot = slots++;
+        }
+        roomIds[slot] = roomId;
+        hotelIds[slot] = hotelId;
+        slotByRoom.put(roomId, slot);
+        slotsByHotel.computeIfAbsent(hotelId, id -> new IntList()).add(slot);
+        return slot;
+    }
+
+    private void releaseSlot(int slot) {
+        for (int word = 0; word < wordsPerRoom; word++) {
+            occupancy.set(slot * wordsPerRoom + word, 0L);
+        }
+        freeSlots.add(slot);
+    }
+
+    // Solo con el lock de escritura: nadie está leyendo ni marcando bits mientras copiamos.
+    private void grow() {
+        int capacity = roomIds.length + (roomIds.length >> 1);
+        roomIds = Arrays.copyOf(roomIds, capacity);
+        hotelIds = Arrays.copyOf(hotelIds, capacity);
+        types = Arrays.copyOf(types, capacity);
+        capacities = Arrays.copyOf(capacities, capacity);
+        AtomicLongArray grown = new AtomicLongArray(capacity * wordsPerRoom);
+        for (int i = 0; i < occupancy.length(); i++) {
+            grown.set(i, occupancy.get(i));
+        }
+        occupancy = grown;
+    }
+
+    /** Lista de int sin objetos Integer. */
+    private static final class IntList {
+
+        int[] values = new int[8];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.hotel.booking.availability;
+
+import com.hotel.booking.config.AvailabilityProperties;
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Construye {@link RoomAvailabilityIndex} al arrancar: primero todas las habitaciones y
+ * después las noches de las reservas confirmadas (o retenidas, HELD) que aún no han terminado.
+ *
+ * Se carga en start(), en una fase anterior a la del servidor web y a la de los demás SmartLifecycle
+ * (BookingPipeline, AvailabilityWindowRoller): cuando llega la primera petición el índice ya está
+ * completo. Cargarlo con el servidor ya abierto rechazaba reservas válidas (una habitación aún sin
+ * cargar no está libre), y una cancelación o un borrado de hotel a mitad de la carga se perdían
+ * bajo las filas que la carga había leído antes. Así nadie más escribe en el índice mientras se
+ * carga, y BookingPipeline, que retoma las reservas a medias en ApplicationReadyEvent, lo encuentra hecho.
+ *
+ * A partir de ahí el índice lo mantienen RoomService y BookingService en cada alta,
+ * reserva y cancelación; aquí solo escuchamos el borrado de hoteles (la base de datos
+ * borra sus habitaciones en cascada).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomAvailabilityIndexLoader implements SmartLifecycle {
+
+    private final RoomAvailabilityIndex availabilityIndex;
+
+    private final RoomRepository roomRepository;
+
+    private final BookingRepository bookingRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AvailabilityProperties properties;
+
+    private volatile boolean loaded;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        // Un stop() y start() del contexto no vuelve a cargar: el índice se ha mantenido al día entretanto
+        if (!loaded) {
+            loadIndex();
+            loaded = true;
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Antes que el servidor web y que BookingPipeline (DEFAULT_PHASE - 2048), que comparten fase
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void loadIndex() {
+        long start = System.nanoTime();
+        int[] bookings = new int[1];
+
+        // Transacción de solo lectura para que el driver pueda usar un cursor con fetchSize.
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            roomRepository.streamAll(properties.getLoadFetchSize(), room -> availabilityIndex.addRoom(
+                    room.getId(), room.getHotelId(), room.getType(), room.getCapacity()));
+            bookingRepository.streamActive(availabilityIndex.getFirstNight(), properties.getLoadFetchSize(), booking -> {
+                availabilityIndex.markBooked(booking.getRoomId(), booking.getCheckIn(), booking.getCheckOut());
+                bookings[0]++;
+            });
+        });
+
+        log.info("Índice de disponibilidad construido: {} habitaciones, {} reservas vigentes en {} ms",
+                availabilityIndex.roomCount(), bookings[0], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @EventListener
+    public void onHotelChanged(HotelChangedEvent event) {
+        if (event.getType() == HotelChangedEvent.Type.DELETED) {
+            availabilityIndex.removeHotel(event.getHotelId());
+        }
+    }
+}
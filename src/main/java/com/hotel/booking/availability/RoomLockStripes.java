@@ -0,0 +1,42 @@
+package com.hotel.booking.availability;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Locks por habitación "a rayas" (lock striping): un número fijo de locks y cada habitación
+ * usa siempre el mismo, elegido por su id.
+ *
+ * Un lock por habitación obligaría a guardar (y limpiar) un objeto por habitación; uno solo
+ * para todo el hotel haría esperar a reservas que no compiten entre sí. Con N rayas, dos
+ * reservas de habitaciones distintas solo se esperan si caen en la misma raya (probabilidad 1/N).
+ */
+public class RoomLockStripes {
+
+    private final Lock[] locks;
+
+    private final int mask;
+
+    /**
+     * @param stripes Número de locks; se redondea a la siguiente potencia de 2.
+     */
+    public RoomLockStripes(int stripes) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.locks = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /** El lock que protege las noches de esta habitación. */
+    public Lock forRoom(long roomId) {
+        // Mezclamos los bits del id para que también se repartan bien ids con patrones (múltiplos de N...)
+        long hash = roomId * 0x9E3779B97F4A7C15L;
+        return locks[(int) (hash >>> 32) & mask];
+    }
+
+    public int size() {
+        return locks.length;
+    }
+}
@@ -0,0 +1,114 @@
+package com.hotel.booking.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.hotel.booking.config.HotelCacheProperties;
+import com.hotel.booking.dto.HotelCacheStatsDto;
+import com.hotel.booking.dto.HotelDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Implementación de {@link HotelCache} con Caffeine.
+ *
+ * - Acotada por tamaño (maximumSize) y por tiempo: cada entrada caduca según su tipo,
+ *   "ttl" para hoteles y "negativeTtl" (más corto) para los ids que no existen.
+ * - Caffeine.get(key, loader) es atómico por clave: si llegan muchas peticiones a la vez
+ *   para el mismo id que no está cacheado, solo una ejecuta el loader.
+ * - recordStats() activa los contadores de aciertos, fallos y expulsiones.
+ * - Como MeterBinder, publica esos contadores en Micrometer (cache.gets, cache.evictions...,
+ *   con tag cache=hotels) y el porcentaje de aciertos en hotel.cache.hit.ratio.
+ */
+public class CaffeineHotelCache implements HotelCache, MeterBinder {
+
+    private final Cache<Long, Optional<HotelDto>> cache;
+
+    public CaffeineHotelCache(HotelCacheProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    // El Ticker permite a los tests adelantar el reloj sin esperar de verdad.
+    CaffeineHotelCache(HotelCacheProperties properties, Ticker ticker) {
+        long ttlNanos = properties.getTtl().toNanos();
+        long negativeTtlNanos = properties.getNegativeTtl().toNanos();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(new Expiry<Long, Optional<HotelDto>>() {
+                    @Override
+                    public long expireAfterCreate(Long id, Optional<HotelDto> hotel, long currentTime) {
+                        return hotel.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, Optional<HotelDto> hotel, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, hotel, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, Optional<HotelDto> hotel, long currentTime, long currentDuration) {
+                        return currentDuration; // leer no alarga la vida de la entrada
+                    }
+                })
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<HotelDto> get(Long id, Function<Long, Optional<HotelDto>> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Se queda con la versión más alta: dos PUT del mismo hotel a la vez pueden llegar aquí en
+     * el orden contrario al de sus UPDATE, y un put() a secas dejaría cacheada la versión vieja
+     * (y cada If-Match con el ETag nuevo daría 412). merge() es atómico por clave.
+     */
+    @Override
+    public void put(HotelDto hotel) {
+        cache.asMap().merge(hotel.getId(), Optional.of(hotel), CaffeineHotelCache::newest);
+    }
+
+    @Override
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    @Override
+    public HotelCacheStatsDto stats() {
+        CacheStats stats = cache.stats();
+        return HotelCacheStatsDto.builder()
+                .enabled(true)
+                .size(cache.estimatedSize())
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .evictions(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+
+    // Un "no existe" o un hotel sin versión se reemplazan siempre
+    private static Optional<HotelDto> newest(Optional<HotelDto> cached, Optional<HotelDto> written) {
+        if (cached.isEmpty() || cached.get().getVersion() == null || written.get().getVersion() == null) {
+            return written;
+        }
+        return cached.get().getVersion() > written.get().getVersion() ? cached : written;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "hotels");
+        Gauge.builder("hotel.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Aciertos / peticiones de la caché de hoteles desde el arranque")
+                .register(registry);
+    }
+}
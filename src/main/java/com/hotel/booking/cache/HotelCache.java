@@ -0,0 +1,38 @@
+package com.hotel.booking.cache;
+
+import com.hotel.booking.dto.HotelCacheStatsDto;
+import com.hotel.booking.dto.HotelDto;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Caché de lectura de hoteles por id ("read-through"): si el hotel no está en memoria,
+ * se carga con el loader que nos pasan y se guarda para las siguientes peticiones.
+ *
+ * Guardamos HotelDto (inmutable, @Value) y no la entidad Hotel (mutable, @Data), así
+ * nadie puede modificar por accidente un objeto que comparten varias peticiones.
+ *
+ * Es una interfaz para poder elegir implementación por entorno (ver HotelCacheConfig):
+ * CaffeineHotelCache en memoria o NoOpHotelCache para desactivarla.
+ */
+public interface HotelCache {
+
+    /**
+     * Busca el hotel en la caché y, si no está, lo carga con el loader.
+     * Un Optional.empty() devuelto por el loader también se cachea (caché negativa),
+     * para que las búsquedas repetidas de ids inexistentes no lleguen a la base de datos.
+     */
+    Optional<HotelDto> get(Long id, Function<Long, Optional<HotelDto>> loader);
+
+    /**
+     * Guarda (o reemplaza) un hotel recién creado o modificado. Si ya hay cacheada una versión
+     * más alta del mismo hotel, la deja: la escritura que llega tarde es la vieja.
+     */
+    void put(HotelDto hotel);
+
+    /** Olvida lo que hubiera cacheado para ese id (hotel o "no existe"). */
+    void evict(Long id);
+
+    HotelCacheStatsDto stats();
+}
@@ -0,0 +1,33 @@
+package com.hotel.booking.cache;
+
+import com.hotel.booking.dto.HotelCacheStatsDto;
+import com.hotel.booking.dto.HotelDto;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Caché desactivada (hotel.cache.enabled=false): todas las lecturas van directas al loader.
+ */
+public class NoOpHotelCache implements HotelCache {
+
+    @Override
+    public Optional<HotelDto> get(Long id, Function<Long, Optional<HotelDto>> loader) {
+        return loader.apply(id);
+    }
+
+    @Override
+    public void put(HotelDto hotel) {
+        // Nada que guardar
+    }
+
+    @Override
+    public void evict(Long id) {
+        // Nada que olvidar
+    }
+
+    @Override
+    public HotelCacheStatsDto stats() {
+        return HotelCacheStatsDto.builder().enabled(false).build();
+    }
+}
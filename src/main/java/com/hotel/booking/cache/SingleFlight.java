@@ -0,0 +1,81 @@
+package com.hotel.booking.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Agrupa las cargas simultáneas de una misma clave ("single flight"): si llegan 500 peticiones
+ * a la vez para el hotel 7 y no está en memoria, solo la primera va a la base de datos; las
+ * demás esperan a su CompletableFuture y reciben el mismo resultado (o la misma excepción).
+ *
+ * No es una caché: en cuanto la carga termina, la clave se olvida y la siguiente petición que
+ * llegue vuelve a cargar. Por eso funciona igual con la caché de hoteles activada o sin ella
+ * (con Caffeine, su get() ya es atómico por clave y esto apenas añade nada).
+ *
+ * Escrituras: una carga que empezó antes de un cambio puede devolver el dato de antes. Quien
+ * escribe llama a {@link #forget} después de guardar, para que las peticiones que lleguen a partir
+ * de ese momento no se unan a esa carga sino que empiecen otra.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+
+    private final LongAdder shared = new LongAdder();
+
+    /** Devuelve loader.apply(key), o el resultado de la carga de esa clave que ya esté en marcha. */
+    public V load(K key, Function<K, V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            shared.increment();
+            return join(running);
+        }
+        loads.increment();
+        try {
+            V value = loader.apply(key);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** Las peticiones que lleguen a partir de ahora para esta clave no se unen a la carga en marcha. */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /** Cargas ejecutadas de verdad desde el arranque. */
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    /** Peticiones que recibieron el resultado de otra carga en vez de ejecutar la suya. */
+    public long sharedCount() {
+        return shared.sum();
+    }
+
+    // La excepción del loader llega tal cual a todas las peticiones que esperaban, sin envolver
+    private static <V> V join(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.hotel.booking.config;
+
+import com.hotel.booking.admission.GradientConcurrencyLimit;
+import com.hotel.booking.web.AdmissionLimitFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registra AdmissionLimitFilter (hotel.admission.enabled=false para quitarlo).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hotel.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionLimitFilter> admissionLimitFilter(AdmissionProperties properties) {
+        FilterRegistrationBean<AdmissionLimitFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionLimitFilter(new GradientConcurrencyLimit(properties)));
+        registration.setUrlPatterns(properties.getUrlPatterns());
+        // Después del límite por cliente (RateLimitConfig): una petición rechazada no debe gastar nada más
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    // hotel.admission.in.flight pegado a hotel.admission.limit = saturado; el contador de rechazos dice
+    // cuánto. Si el límite baja y la latencia de referencia no, la cola está detrás (base de datos, CPU)
+    @Bean
+    public MeterBinder admissionMetrics(FilterRegistrationBean<AdmissionLimitFilter> admissionLimitFilter) {
+        AdmissionLimitFilter filter = admissionLimitFilter.getFilter();
+        GradientConcurrencyLimit limit = filter.limit();
+        return registry -> {
+            Gauge.builder("hotel.admission.in.flight", filter, AdmissionLimitFilter::inFlight)
+                    .description("Peticiones atendiéndose ahora mismo")
+                    .register(registry);
+            Gauge.builder("hotel.admission.limit", limit, GradientConcurrencyLimit::limit)
+                    .description("Peticiones simultáneas permitidas ahora mismo (se ajusta con la latencia)")
+                    .register(registry);
+            Gauge.builder("hotel.admission.baseline.rtt", limit, GradientConcurrencyLimit::baselineRttSeconds)
+                    .description("Latencia sin cola con la que se compara la de cada ventana")
+                    .baseUnit("seconds")
+                    .register(registry);
+            FunctionCounter.builder("hotel.admission.rejected", filter, AdmissionLimitFilter::rejectedCount)
+                    .description("Peticiones rechazadas con 503 por saturación")
+                    .register(registry);
+        };
+    }
+}
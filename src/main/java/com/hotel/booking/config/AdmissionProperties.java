@@ -0,0 +1,42 @@
+package com.hotel.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Limitador de admisión de peticiones (prefijo "hotel.admission"), ver AdmissionLimitFilter y
+ * GradientConcurrencyLimit.
+ */
+@Data
+@ConfigurationProperties(prefix = "hotel.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /** El límite nunca baja de aquí, por mucho que suba la latencia. */
+    private int minConcurrent = 10;
+
+    /** Límite con el que arranca, antes de tener ninguna medida de latencia. */
+    private int initialConcurrent = 50;
+
+    /**
+     * El límite nunca sube de aquí. Con hilos de plataforma este techo ya lo ponía el pool de
+     * Tomcat (200 hilos); con hilos virtuales no hay pool y lo pone el limitador.
+     */
+    private int maxConcurrent = 200;
+
+    /** Cada cuánto se recalcula el límite con la latencia media de las peticiones de la ventana. */
+    private Duration window = Duration.ofMillis(200);
+
+    /**
+     * Cuántas veces la latencia sin cola se acepta antes de bajar el límite (2 = hasta el doble).
+     * Más alto: más rendimiento y más latencia bajo carga; más bajo: al revés.
+     */
+    private double tolerance = 2.0;
+
+    /** Rutas protegidas por el limitador (patrones de URL de servlet). */
+    private List<String> urlPatterns = List.of("/api/*");
+}
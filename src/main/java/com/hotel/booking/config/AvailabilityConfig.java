@@ -0,0 +1,36 @@
+package com.hotel.booking.config;
+
+import com.hotel.booking.availability.RoomAvailabilityIndex;
+import com.hotel.booking.availability.RoomLockStripes;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Índice de disponibilidad compartido por el loader, las reservas y las consultas,
+ * y los locks por habitación con los que BookingService serializa las reservas de una misma habitación.
+ *
+ * El Clock es un bean para que los tests puedan fijar "hoy".
+ */
+@Configuration
+public class AvailabilityConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+
+    // La primera noche del índice es la fecha de arranque; AvailabilityWindowRoller la avanza
+    // cada día para que el horizonte siga contando desde hoy en un proceso que dura días.
+    @Bean
+    public RoomAvailabilityIndex roomAvailabilityIndex(Clock clock, AvailabilityProperties properties) {
+        return new RoomAvailabilityIndex(LocalDate.now(clock), properties.getHorizonDays());
+    }
+
+    @Bean
+    public RoomLockStripes roomLockStripes(AvailabilityProperties properties) {
+        return new RoomLockStripes(properties.getLockStripes());
+    }
+}
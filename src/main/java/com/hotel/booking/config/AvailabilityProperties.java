@@ -0,0 +1,35 @@
+package com.hotel.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Parámetros de reservas y del índice de disponibilidad en memoria (prefijo "hotel.availability").
+ */
+@Data
+@ConfigurationProperties(prefix = "hotel.availability")
+public class AvailabilityProperties {
+
+    /** Noches representadas en el índice a partir de hoy: no se puede reservar más allá. */
+    private int horizonDays = 730;
+
+    /** Máximo de habitaciones devueltas por una consulta de disponibilidad. */
+    private int maxResults = 200;
+
+    /** Máximo de hoteles de una ciudad que se revisan en una consulta por ciudad. */
+    private int maxHotelsPerCity = 5_000;
+
+    /** Número de locks entre los que se reparten las habitaciones al reservar (ver RoomLockStripes). */
+    private int lockStripes = 1_024;
+
+    /** Filas por viaje a la base de datos al construir el índice en el arranque. */
+    private int loadFetchSize = 5_000;
+
+    /**
+     * Cada cuánto se mira si ha cambiado el día para avanzar la ventana de los índices
+     * (ver AvailabilityWindowRoller): como mucho, ese retraso tras la medianoche.
+     */
+    private Duration rollCheckInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,32 @@
+package com.hotel.booking.config;
+
+import com.hotel.booking.pipeline.BookingNotifier;
+import com.hotel.booking.pipeline.BookingPipeline;
+import com.hotel.booking.pipeline.LoggingBookingNotifier;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.service.AsyncBookingService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Reservas asíncronas (hotel.booking-pipeline.enabled=false para quitarlas, junto con POST /api/bookings/async).
+ */
+@Configuration
+public class BookingPipelineConfig {
+
+    @Bean
+    public BookingNotifier bookingNotifier() {
+        return new LoggingBookingNotifier();
+    }
+
+    // Tipo concreto en la firma para que Spring vea que BookingPipeline es SmartLifecycle y MeterBinder
+    @Bean
+    @ConditionalOnProperty(prefix = "hotel.booking-pipeline", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public BookingPipeline bookingPipeline(AsyncBookingService asyncBookingService, BookingRepository bookingRepository,
+                                           Clock clock, BookingPipelineProperties properties) {
+        return new BookingPipeline(asyncBookingService, bookingRepository, clock, properties);
+    }
+}
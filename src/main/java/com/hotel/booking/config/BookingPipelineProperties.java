@@ -0,0 +1,47 @@
+package com.hotel.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Reservas asíncronas (prefijo "hotel.booking-pipeline"), ver BookingPipeline.
+ */
+@Data
+@ConfigurationProperties(prefix = "hotel.booking-pipeline")
+public class BookingPipelineProperties {
+
+    /** false: no hay POST /api/bookings/async. */
+    private boolean enabled = true;
+
+    /**
+     * Reservas en curso (aceptadas y sin terminar) como máximo. Es la contrapresión: con todas
+     * ocupadas, una reserva nueva recibe 503 en vez de esperar en una cola sin fondo.
+     */
+    private int maxInFlight = 1_000;
+
+    /** Hilos que retienen noches (base de datos). */
+    private int reserveThreads = 4;
+
+    /** Autorizaciones de pago a la vez (hilos virtuales: esperan al proveedor sin ocupar un hilo del sistema). */
+    private int paymentConcurrency = 200;
+
+    /** Hilos que confirman y avisan (base de datos). */
+    private int confirmThreads = 2;
+
+    /** Cuánto se retienen las noches esperando el pago; después se liberan y la reserva queda EXPIRED. */
+    private Duration holdTimeout = Duration.ofMinutes(2);
+
+    /** Espera antes de repetir una etapa que ha fallado (base de datos caída, proveedor sin respuesta). */
+    private Duration retryDelay = Duration.ofSeconds(1);
+
+    /**
+     * Cada cuánto se buscan en la base de datos retenciones caducadas. Las de esta instancia caducan a su
+     * hora con un temporizador; esto recoge las que dejó a medias otra instancia que no ha vuelto.
+     */
+    private Duration expirySweepInterval = Duration.ofMinutes(1);
+
+    /** Al parar la aplicación, cuánto se espera a que terminen las etapas en marcha. */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
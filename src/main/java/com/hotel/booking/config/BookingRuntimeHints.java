@@ -0,0 +1,27 @@
+package com.hotel.booking.config;
+
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.dto.HotelDto;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Pistas para la imagen nativa de GraalVM (perfil "native" de Spring Boot): qué clases necesitan
+ * reflexión en tiempo de ejecución y Spring AOT no puede deducir solo.
+ *
+ * Spring ya registra los tipos de @RequestBody y de las respuestas de los controladores, los beans
+ * (incluidos los *MapperImpl que genera MapStruct, que AOT crea con "new" sin reflexión) y los
+ * repositorios de Spring Data JDBC con sus entidades y fragmentos. Aquí van los tipos que
+ * convertimos a JSON con el ObjectMapper "a mano":
+ * - HotelDto en la exportación NDJSON y en el payload del registro de eventos (HotelEvents);
+ * - CreateHotelRequestDto en la carga masiva, leída elemento a elemento con un MappingIterator.
+ */
+public class BookingRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                HotelDto.class, CreateHotelRequestDto.class);
+    }
+}
@@ -0,0 +1,21 @@
+package com.hotel.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Parámetros de la carga masiva de hoteles (prefijo "hotel.bulk" en application.properties).
+ *
+ * @ConfigurationProperties: Spring rellena estos campos a partir de las propiedades
+ *                           que empiezan por el prefijo indicado.
+ */
+@Data
+@ConfigurationProperties(prefix = "hotel.bulk")
+public class HotelBulkProperties {
+
+    /** Número de filas que se envían a la base de datos en cada batch JDBC (y en cada transacción). */
+    private int batchSize = 500;
+
+    /** Máximo de hoteles aceptados en una sola petición, para no agotar la memoria con la respuesta. */
+    private int maxItems = 100_000;
+}
@@ -0,0 +1,26 @@
+package com.hotel.booking.config;
+
+import com.hotel.booking.cache.CaffeineHotelCache;
+import com.hotel.booking.cache.HotelCache;
+import com.hotel.booking.cache.NoOpHotelCache;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Elige la implementación de {@link HotelCache} según "hotel.cache.enabled".
+ */
+@Configuration
+public class HotelCacheConfig {
+
+    @Bean
+    public HotelCache hotelCache(HotelCacheProperties properties) {
+        return properties.isEnabled() ? new CaffeineHotelCache(properties) : new NoOpHotelCache();
+    }
+
+    // Actuator registra automáticamente todos los MeterBinder; la caché desactivada no publica nada
+    @Bean
+    public MeterBinder hotelCacheMetrics(HotelCache hotelCache) {
+        return hotelCache instanceof MeterBinder binder ? binder : registry -> { };
+    }
+}
@@ -0,0 +1,26 @@
+package com.hotel.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Parámetros de la caché de hoteles por id (prefijo "hotel.cache").
+ * Con enabled=false se usa una caché vacía y todas las lecturas van a la base de datos.
+ */
+@Data
+@ConfigurationProperties(prefix = "hotel.cache")
+public class HotelCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Número máximo de hoteles en memoria; al superarlo se expulsan los menos usados. */
+    private long maxSize = 10_000;
+
+    /** Tiempo de vida de un hotel cacheado. */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /** Tiempo de vida de un "no existe" cacheado (caché negativa para ids desconocidos). */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+}
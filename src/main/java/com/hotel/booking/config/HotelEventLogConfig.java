@@ -0,0 +1,42 @@
+package com.hotel.booking.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.eventlog.HotelEventLog;
+import com.hotel.booking.eventlog.HotelEventLogListener;
+import com.hotel.booking.eventlog.SynchronousHotelEventLog;
+import com.hotel.booking.eventlog.WriteBehindHotelEventLog;
+import com.hotel.booking.repository.HotelEventRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Registro de cambios de hoteles (hotel.event-log.enabled=false para quitarlo).
+ * Elige la implementación de {@link HotelEventLog} según "hotel.event-log.write-behind".
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hotel.event-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HotelEventLogConfig {
+
+    // Tipo concreto en la firma para que Spring vea que WriteBehindHotelEventLog es SmartLifecycle y MeterBinder
+    @Bean
+    @ConditionalOnProperty(prefix = "hotel.event-log", name = "write-behind", havingValue = "true", matchIfMissing = true)
+    public WriteBehindHotelEventLog writeBehindHotelEventLog(HotelEventRepository repository, ObjectMapper objectMapper,
+                                                             Clock clock, HotelEventLogProperties properties) {
+        return new WriteBehindHotelEventLog(repository, objectMapper, clock, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "hotel.event-log", name = "write-behind", havingValue = "false")
+    public SynchronousHotelEventLog synchronousHotelEventLog(HotelEventRepository repository, ObjectMapper objectMapper,
+                                                             Clock clock) {
+        return new SynchronousHotelEventLog(repository, objectMapper, clock);
+    }
+
+    @Bean
+    public HotelEventLogListener hotelEventLogListener(HotelEventLog hotelEventLog) {
+        return new HotelEventLogListener(hotelEventLog);
+    }
+}
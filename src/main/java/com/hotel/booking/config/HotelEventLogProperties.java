@@ -0,0 +1,38 @@
+package com.hotel.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Registro de cambios de hoteles en "hotel_event" (prefijo "hotel.event-log").
+ */
+@Data
+@ConfigurationProperties(prefix = "hotel.event-log")
+public class HotelEventLogProperties {
+
+    /** false: no se registra nada. */
+    private boolean enabled = true;
+
+    /**
+     * true: los eventos pasan por un buffer en memoria y un hilo los escribe en batch (write-behind).
+     * false: cada evento se inserta en el hilo de la petición, justo después del cambio.
+     */
+    private boolean writeBehind = true;
+
+    /** Eventos que caben en el buffer (se redondea a potencia de 2). Es también lo máximo que se pierde si el proceso muere. */
+    private int capacity = 8_192;
+
+    /** Eventos por batch JDBC. */
+    private int batchSize = 500;
+
+    /** Cada cuánto mira el hilo escritor si hay eventos, cuando no hay un batch completo esperando. */
+    private Duration flushInterval = Duration.ofMillis(50);
+
+    /** Cuánto espera una petición a que haya hueco en el buffer lleno antes de escribir su evento ella misma. */
+    private Duration offerTimeout = Duration.ofMillis(100);
+
+    /** Al parar la aplicación, tiempo máximo para vaciar el buffer en la base de datos. */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,27 @@
+package com.hotel.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Parámetros de las búsquedas por cercanía sobre el índice espacial en memoria (prefijo "hotel.geo-search").
+ */
+@Data
+@ConfigurationProperties(prefix = "hotel.geo-search")
+public class HotelGeoSearchProperties {
+
+    /** Resultados por defecto si el cliente no indica "limit". */
+    private int defaultLimit = 20;
+
+    /** Máximo de resultados por búsqueda. */
+    private int maxLimit = 200;
+
+    /**
+     * Lado de cada celda de la rejilla, en grados (0,25° son unos 28 km de norte a sur).
+     * Celdas más pequeñas => menos hoteles que mirar por celda, pero más celdas vacías que recorrer.
+     */
+    private double cellDegrees = 0.25;
+
+    /** Filas por viaje a la base de datos al construir el índice en el arranque. */
+    private int loadFetchSize = 5_000;
+}
@@ -0,0 +1,28 @@
+package com.hotel.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Parámetros del listado paginado, de la exportación y de la lectura de varios hoteles por id
+ * (prefijo "hotel.listing").
+ */
+@Data
+@ConfigurationProperties(prefix = "hotel.listing")
+public class HotelListingProperties {
+
+    /** Tamaño de página si el cliente no indica "limit". */
+    private int defaultLimit = 50;
+
+    /** Tamaño de página máximo; valores mayores se recortan a este. */
+    private int maxLimit = 500;
+
+    /** Filas que el driver JDBC trae de la base de datos en cada viaje durante la exportación. */
+    private int exportFetchSize = 1_000;
+
+    /** Ids que se aceptan como máximo en una petición a POST /api/hotels/lookup. */
+    private int maxLookupIds = 1_000;
+
+    /** Ids por consulta "WHERE id IN (...)"; las listas más largas se leen en varias consultas. */
+    private int lookupChunkSize = 500;
+}
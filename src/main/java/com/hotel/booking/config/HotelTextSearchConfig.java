@@ -0,0 +1,24 @@
+package com.hotel.booking.config;
+
+import com.hotel.booking.search.HotelGeoIndex;
+import com.hotel.booking.search.HotelTextIndex;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Un único índice de texto (y uno espacial) compartido por su loader (que lo escribe)
+ * y el servicio de búsqueda (que lo lee).
+ */
+@Configuration
+public class HotelTextSearchConfig {
+
+    @Bean
+    public HotelTextIndex hotelTextIndex() {
+        return new HotelTextIndex();
+    }
+
+    @Bean
+    public HotelGeoIndex hotelGeoIndex(HotelGeoSearchProperties properties) {
+        return new HotelGeoIndex(properties.getCellDegrees());
+    }
+}
@@ -0,0 +1,21 @@
+package com.hotel.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Parámetros de la búsqueda de texto libre en memoria (prefijo "hotel.text-search").
+ */
+@Data
+@ConfigurationProperties(prefix = "hotel.text-search")
+public class HotelTextSearchProperties {
+
+    /** Resultados por defecto si el cliente no indica "limit". */
+    private int defaultLimit = 20;
+
+    /** Máximo de resultados por búsqueda. */
+    private int maxLimit = 100;
+
+    /** Filas por viaje a la base de datos al construir el índice en el arranque. */
+    private int loadFetchSize = 5_000;
+}
@@ -0,0 +1,65 @@
+package com.hotel.booking.config;
+
+import com.hotel.booking.idempotency.IdempotencyStore;
+import com.hotel.booking.idempotency.InMemoryIdempotencyStore;
+import com.hotel.booking.idempotency.JdbcIdempotencyStore;
+import com.hotel.booking.web.IdempotencyFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Clock;
+
+/**
+ * Registra IdempotencyFilter (hotel.idempotency.enabled=false para quitarlo) y elige dónde se
+ * guardan las respuestas según "hotel.idempotency.store": memory (por defecto) o jdbc.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hotel.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "hotel.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties properties) {
+        return new InMemoryIdempotencyStore(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "hotel.idempotency", name = "store", havingValue = "jdbc")
+    public IdempotencyStore jdbcIdempotencyStore(NamedParameterJdbcTemplate jdbcTemplate, Clock clock,
+                                                 IdempotencyProperties properties) {
+        return new JdbcIdempotencyStore(jdbcTemplate, clock, properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore store,
+                                                                       IdempotencyProperties properties,
+                                                                       RateLimitProperties rateLimitProperties) {
+        // El cliente de cada clave se identifica igual que en el límite de peticiones
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(store, properties.getWaitTimeout(), properties.getMaxKeyLength(),
+                        rateLimitProperties.getClientHeader()));
+        registration.setUrlPatterns(properties.getUrlPatterns());
+        // Justo después del limitador de admisión: un duplicado en espera ya ocupa su permiso
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder idempotencyMetrics(FilterRegistrationBean<IdempotencyFilter> idempotencyFilter) {
+        IdempotencyFilter filter = idempotencyFilter.getFilter();
+        return registry -> {
+            FunctionCounter.builder("hotel.idempotency.executed", filter, IdempotencyFilter::executedCount)
+                    .description("Peticiones con Idempotency-Key ejecutadas")
+                    .register(registry);
+            FunctionCounter.builder("hotel.idempotency.replayed", filter, IdempotencyFilter::replayedCount)
+                    .description("Respuestas repetidas a reintentos o duplicados con la misma Idempotency-Key")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.hotel.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Parámetros de las peticiones idempotentes con cabecera Idempotency-Key (prefijo "hotel.idempotency").
+ */
+@Data
+@ConfigurationProperties(prefix = "hotel.idempotency")
+public class IdempotencyProperties {
+
+    public enum Store {
+        // Caffeine en memoria, por nodo
+        MEMORY,
+        // Tabla idempotency_key, compartida por todas las instancias
+        JDBC
+    }
+
+    private boolean enabled = true;
+
+    private Store store = Store.MEMORY;
+
+    /** Rutas (patrones de URL del Servlet) cuyos POST admiten Idempotency-Key. */
+    private List<String> urlPatterns = List.of("/api/hotels", "/api/bookings", "/api/bookings/async");
+
+    /** Cuánto tiempo se guarda la respuesta de una clave: un reintento dentro de este plazo la recibe otra vez. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** Cuánto dura una clave pendiente en la tabla si el nodo que la procesaba se cae sin terminar (store=jdbc). */
+    private Duration pendingTtl = Duration.ofMinutes(1);
+
+    /** Máximo de claves en memoria (store=memory); al superarlo se expulsan las menos usadas. */
+    private long maxKeys = 100_000;
+
+    /** Cuánto espera un duplicado a que termine la petición original antes de responder 409. */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /** Longitud máxima de la cabecera Idempotency-Key. */
+    private int maxKeyLength = 200;
+}
@@ -0,0 +1,25 @@
+package com.hotel.booking.config;
+
+import com.hotel.booking.web.ErrorMetricsExceptionResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas propias de la aplicación, además de las que Actuator ya publica solo:
+ * http.server.requests (latencia por endpoint), spring.data.repository.invocations
+ * (latencia por método de repositorio) y hikaricp.connections.* (saturación del pool).
+ * La caché y el filtro de admisión publican las suyas en HotelCacheConfig y AdmissionConfig.
+ *
+ * No cronometramos HotelService con @Timed: el aspecto crea tags y muestras en cada llamada
+ * (~1 KB por getHotelById cacheado, frente a 72 B sin él, ver HotelServiceBenchmark) y su
+ * latencia ya está entre la del endpoint y la del repositorio.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ErrorMetricsExceptionResolver errorMetricsExceptionResolver(MeterRegistry meterRegistry) {
+        return new ErrorMetricsExceptionResolver(meterRegistry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.hotel.booking.config;
+
+import com.hotel.booking.payment.StubPaymentProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Proveedor de pagos según "hotel.payment.provider". Un proveedor real sería otro bean
+ * PaymentProvider con su propio valor de provider.
+ */
+@Configuration
+public class PaymentConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "hotel.payment", name = "provider", havingValue = "stub", matchIfMissing = true)
+    public StubPaymentProvider stubPaymentProvider(PaymentProperties properties) {
+        return new StubPaymentProvider(properties.getStub());
+    }
+}
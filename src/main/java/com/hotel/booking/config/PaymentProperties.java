@@ -0,0 +1,32 @@
+package com.hotel.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Proveedor de pagos (prefijo "hotel.payment"), ver PaymentConfig.
+ */
+@Data
+@ConfigurationProperties(prefix = "hotel.payment")
+public class PaymentProperties {
+
+    /** Qué proveedor se usa. De momento solo hay "stub" (StubPaymentProvider, local). */
+    private String provider = "stub";
+
+    private Stub stub = new Stub();
+
+    @Data
+    public static class Stub {
+
+        /** Latencia mínima de cada llamada. */
+        private Duration latency = Duration.ofMillis(200);
+
+        /** Latencia extra aleatoria, entre 0 y jitter. */
+        private Duration jitter = Duration.ofMillis(100);
+
+        /** Fracción de autorizaciones rechazadas, entre 0 y 1. */
+        private double declineRate = 0.0;
+    }
+}
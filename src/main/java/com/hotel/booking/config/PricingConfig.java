@@ -0,0 +1,21 @@
+package com.hotel.booking.config;
+
+import com.hotel.booking.availability.RoomAvailabilityIndex;
+import com.hotel.booking.pricing.RateCalendarIndex;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Calendarios de precios compartidos por el loader, las reservas, las consultas de disponibilidad
+ * y los presupuestos. Cubren las mismas noches que el índice de disponibilidad: no se puede pedir
+ * precio de una noche que no se puede reservar (AvailabilityWindowRoller avanza los dos a la vez).
+ */
+@Configuration
+public class PricingConfig {
+
+    @Bean
+    public RateCalendarIndex rateCalendarIndex(RoomAvailabilityIndex availabilityIndex,
+                                               AvailabilityProperties properties) {
+        return new RateCalendarIndex(availabilityIndex.getFirstNight(), properties.getHorizonDays());
+    }
+}
@@ -0,0 +1,43 @@
+package com.hotel.booking.config;
+
+import com.hotel.booking.admission.TokenBucketRateLimiter;
+import com.hotel.booking.web.RateLimitFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registra RateLimitFilter (hotel.rate-limit.enabled=false para quitarlo).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hotel.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(new TokenBucketRateLimiter(properties), properties.getClientHeader()));
+        registration.setUrlPatterns(properties.getUrlPatterns());
+        // Lo primero de la cadena, antes del limitador de admisión: quien se pasa no ocupa hueco
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(FilterRegistrationBean<RateLimitFilter> rateLimitFilter) {
+        RateLimitFilter filter = rateLimitFilter.getFilter();
+        return registry -> {
+            FunctionCounter.builder("hotel.rate.limit.rejected", filter, RateLimitFilter::rejectedCount)
+                    .description("Peticiones rechazadas con 429 por superar el límite de su cliente")
+                    .register(registry);
+            Gauge.builder("hotel.rate.limit.clients", filter.limiter(), TokenBucketRateLimiter::clientCount)
+                    .description("Clientes con cubo de fichas en memoria")
+                    .register(registry);
+        };
+    }
+}
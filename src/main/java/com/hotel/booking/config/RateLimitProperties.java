@@ -0,0 +1,36 @@
+package com.hotel.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Límite de peticiones por cliente (prefijo "hotel.rate-limit"), ver RateLimitFilter y
+ * TokenBucketRateLimiter.
+ */
+@Data
+@ConfigurationProperties(prefix = "hotel.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Peticiones por segundo que puede hacer cada cliente de media. */
+    private double requestsPerSecond = 50;
+
+    /** Peticiones seguidas que puede hacer un cliente que llevaba un rato sin hacer ninguna. */
+    private int burst = 100;
+
+    /**
+     * Cabecera que identifica al cliente (su clave de API). Sin ella, el cliente es la IP de origen;
+     * detrás de un proxy, server.forward-headers-strategy=native y los proxies de confianza en
+     * server.tomcat.remoteip.internal-proxies para que sea la del cliente real (ya en el perfil prod).
+     */
+    private String clientHeader = "X-Api-Key";
+
+    /** Clientes distintos que se recuerdan a la vez como máximo (acota la memoria). */
+    private long maxClients = 100_000;
+
+    /** Rutas limitadas (patrones de URL de servlet). */
+    private List<String> urlPatterns = List.of("/api/*");
+}
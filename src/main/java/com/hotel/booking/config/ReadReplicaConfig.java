@@ -0,0 +1,118 @@
+package com.hotel.booking.config;
+
+import com.hotel.booking.datasource.ReplicaRoutingDataSource;
+import com.hotel.booking.web.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de lectura (hotel.read-replicas.enabled=true): las transacciones readOnly leen de una
+ * réplica y todo lo demás va al primario.
+ *
+ * El DataSource de la aplicación pasa a ser un LazyConnectionDataSourceProxy sobre el pool del
+ * primario, con ReplicaRoutingDataSource como readOnlyDataSource: Spring Data JDBC, JdbcTemplate,
+ * Flyway y el gestor de transacciones lo usan sin saber nada de réplicas. Las lecturas sueltas de
+ * los repositorios (findById, existsById...) ya son readOnly en Spring Data; las búsquedas y
+ * listados de HotelService lo declaran con @Transactional(readOnly = true).
+ *
+ * Para probarlo en local con dos H2 (la réplica no recibe nada del primario: lo que se escriba
+ * solo se ve en ella si se escribe en ella):
+ *   --hotel.read-replicas.enabled=true
+ *   --hotel.read-replicas.instances[0].url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hotel.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    // El pool del primario, igual que el que crearía Spring Boot (spring.datasource.hikari.*)
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties primaryProperties,
+                                                             ReadReplicaProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getInstances().size(); i++) {
+            ReadReplicaProperties.Instance instance = properties.getInstances().get(i);
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(instance.getUrl())
+                    .username(instance.getUsername() != null ? instance.getUsername() : primaryProperties.determineUsername())
+                    .password(instance.getPassword() != null ? instance.getPassword() : primaryProperties.determinePassword())
+                    .driverClassName(instance.getDriverClassName() != null
+                            ? instance.getDriverClassName() : primaryProperties.determineDriverClassName())
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+            replica.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+            replica.setReadOnly(true);
+            // Sus métricas hikaricp_* con pool="replica-N", como las del primario
+            replica.setMetricRegistry(meterRegistry);
+            replicas.add(new ReplicaRoutingDataSource.Replica(replica.getPoolName(), replica));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.getDownTime());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadReplicaProperties properties, Clock clock) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(properties.getStickyCookie(), properties.getStickiness(), clock));
+        registration.setUrlPatterns(properties.getUrlPatterns());
+        // Antes que IdempotencyFilter: una respuesta repetida a un POST también deja la cookie
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 8);
+        return registration;
+    }
+
+    // Si hotel.read.routing{target="fallback"} crece, las réplicas están caídas y el primario carga con todo
+    @Bean
+    public MeterBinder readReplicaMetrics(ReplicaRoutingDataSource routing) {
+        return registry -> {
+            Gauge.builder("hotel.read.replicas.healthy", routing, ReplicaRoutingDataSource::healthyReplicas)
+                    .description("Réplicas de lectura sanas")
+                    .register(registry);
+            FunctionCounter.builder("hotel.read.routing", routing, ReplicaRoutingDataSource::replicaReadCount)
+                    .tag("target", "replica")
+                    .description("Conexiones de solo lectura según adónde fueron")
+                    .register(registry);
+            FunctionCounter.builder("hotel.read.routing", routing, ReplicaRoutingDataSource::pinnedReadCount)
+                    .tag("target", "primary-sticky")
+                    .description("Conexiones de solo lectura según adónde fueron")
+                    .register(registry);
+            FunctionCounter.builder("hotel.read.routing", routing, ReplicaRoutingDataSource::fallbackReadCount)
+                    .tag("target", "fallback")
+                    .description("Conexiones de solo lectura según adónde fueron")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.hotel.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de lectura (prefijo "hotel.read-replicas"), ver ReadReplicaConfig.
+ * El primario sigue siendo spring.datasource.*; sin réplicas todo va a él, como siempre.
+ */
+@Data
+@ConfigurationProperties(prefix = "hotel.read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+
+    /** Una entrada por réplica: hotel.read-replicas.instances[0].url=... */
+    private List<Instance> instances = new ArrayList<>();
+
+    /** Conexiones del pool de cada réplica. */
+    private int maximumPoolSize = 10;
+
+    /**
+     * Cuánto se espera una conexión de una réplica antes de darla por caída y leer de otra (o del
+     * primario). Más corto que el del primario: hay adonde ir.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    /** Cuánto tiempo se deja de usar una réplica caída antes de volver a probarla. */
+    private Duration downTime = Duration.ofSeconds(10);
+
+    /**
+     * Cuánto tiempo después de escribir lee un cliente del primario (cookie stickyCookie). Tiene que
+     * cubrir el retraso de replicación habitual; más largo solo quita lecturas a las réplicas.
+     */
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    private String stickyCookie = "hotel-primary-until";
+
+    /** Rutas en las que se aplica la lectura de lo escrito (patrones de URL de servlet). */
+    private List<String> urlPatterns = List.of("/api/*");
+
+    @Data
+    public static class Instance {
+
+        private String url;
+
+        /** Sin ellos, los del primario (spring.datasource.username/password/driver-class-name). */
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+    }
+}
@@ -0,0 +1,46 @@
+package com.hotel.booking.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.web.DeferredFlushFilter;
+import com.hotel.booking.web.WireFormats;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Formatos binarios por negociación de contenido: con "Accept: application/x-jackson-smile" o
+ * "Accept: application/cbor" cualquier endpoint que devuelve JSON responde en ese formato, y
+ * acepta cuerpos con ese Content-Type.
+ *
+ * Spring MVC ya añade estos convertidores si encuentra Jackson Smile/CBOR en el classpath, pero con
+ * un ObjectMapper propio. Declararlos como beans los sustituye (ver HttpMessageConverters) por unos
+ * que usan los ObjectMapper de WireFormats, configurados igual que el JSON.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public WireFormats wireFormats(ObjectMapper objectMapper) {
+        return new WireFormats(objectMapper);
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(WireFormats wireFormats) {
+        return new MappingJackson2SmileHttpMessageConverter(wireFormats.smile());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(WireFormats wireFormats) {
+        return new MappingJackson2CborHttpMessageConverter(wireFormats.cbor());
+    }
+
+    // Con Content-Length, un hotel suelto solo se comprime si pasa de server.compression.min-response-size
+    @Bean
+    public FilterRegistrationBean<DeferredFlushFilter> deferredFlushFilter() {
+        FilterRegistrationBean<DeferredFlushFilter> registration = new FilterRegistrationBean<>(new DeferredFlushFilter());
+        registration.addUrlPatterns("/api/hotels/*");
+        return registration;
+    }
+}
@@ -0,0 +1,37 @@
+package com.hotel.booking.controller;
+
+import com.hotel.booking.dto.BookingDto;
+import com.hotel.booking.dto.CreateBookingRequestDto;
+import com.hotel.booking.pipeline.BookingPipeline;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+// Aparte de BookingController porque solo existe con hotel.booking-pipeline.enabled=true
+@RestController
+@RequestMapping("/api/bookings")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "hotel.booking-pipeline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AsyncBookingController {
+
+    private final BookingPipeline bookingPipeline;
+
+    /**
+     * Reserva asíncrona: 202 con la reserva PENDING y su URL en Location, sin esperar al pago.
+     * El cliente consulta GET /api/bookings/{id} hasta que el estado sea CONFIRMED (o REJECTED,
+     * PAYMENT_FAILED, EXPIRED). 400/404 igual que POST /api/bookings; 503 si hay demasiadas en curso.
+     * Admite la cabecera Idempotency-Key (ver IdempotencyFilter).
+     */
+    @PostMapping("/async")
+    public ResponseEntity<BookingDto> requestBooking(@Valid @RequestBody CreateBookingRequestDto requestDto) {
+        BookingDto booking = bookingPipeline.submit(requestDto);
+        return ResponseEntity.accepted().location(URI.create("/api/bookings/" + booking.getId())).body(booking);
+    }
+}
@@ -0,0 +1,50 @@
+package com.hotel.booking.controller;
+
+import com.hotel.booking.domain.room.RoomType;
+import com.hotel.booking.dto.AvailabilityQuery;
+import com.hotel.booking.dto.RoomDto;
+import com.hotel.booking.service.AvailabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/availability")
+@RequiredArgsConstructor
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    /**
+     * Habitaciones libres todas las noches [checkIn, checkOut):
+     * GET /api/availability?hotelId=7&checkIn=2026-07-01&checkOut=2026-07-05&type=DOUBLE&guests=2
+     * GET /api/availability?city=sevilla&checkIn=2026-07-01&checkOut=2026-07-05
+     * Si llegan hotelId y city, manda hotelId.
+     */
+    @GetMapping
+    public List<RoomDto> findAvailableRooms(@RequestParam(required = false) Long hotelId,
+                                            @RequestParam(required = false) String city,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+                                            @RequestParam(required = false) RoomType type,
+                                            @RequestParam(required = false) Integer guests) {
+        AvailabilityQuery query = AvailabilityQuery.builder()
+                .checkIn(checkIn).checkOut(checkOut).type(type).guests(guests)
+                .build();
+        if (hotelId != null) {
+            return availabilityService.findAvailableRooms(hotelId, query);
+        }
+        if (city == null || city.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Indica hotelId o city");
+        }
+        return availabilityService.findAvailableRoomsInCity(city, query);
+    }
+}
@@ -0,0 +1,38 @@
+package com.hotel.booking.controller;
+
+import com.hotel.booking.dto.BookingDto;
+import com.hotel.booking.dto.CreateBookingRequestDto;
+import com.hotel.booking.service.BookingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/bookings")
+@RequiredArgsConstructor
+public class BookingController {
+
+    private final BookingService bookingService;
+
+    /**
+     * Reserva: 201 si se crea, 409 si alguna noche ya está ocupada, 400 si las fechas no son válidas.
+     * Admite la cabecera Idempotency-Key: un reintento recibe la misma reserva (ver IdempotencyFilter).
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public BookingDto createBooking(@Valid @RequestBody CreateBookingRequestDto requestDto) {
+        return bookingService.createBooking(requestDto);
+    }
+
+    @GetMapping("/{id}")
+    public BookingDto getBooking(@PathVariable Long id) {
+        return bookingService.getBooking(id);
+    }
+
+    // POST y no DELETE: la reserva no desaparece, pasa a estado CANCELLED
+    @PostMapping("/{id}/cancel")
+    public BookingDto cancelBooking(@PathVariable Long id) {
+        return bookingService.cancelBooking(id);
+    }
+}
@@ -1,12 +1,37 @@
 package com.hotel.booking.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.dto.BulkCreateHotelResponseDto;
 import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.dto.HotelCacheStatsDto;
+import com.hotel.booking.dto.HotelDistanceDto;
 import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.dto.HotelFilter;
+import com.hotel.booking.dto.HotelLookupDto;
+import com.hotel.booking.dto.HotelLookupRequestDto;
+import com.hotel.booking.dto.HotelPageDto;
+import com.hotel.booking.dto.HotelSort;
+import com.hotel.booking.exception.InvalidBulkPayloadException;
+import com.hotel.booking.service.HotelBulkService;
+import com.hotel.booking.service.HotelGeoSearchService;
 import com.hotel.booking.service.HotelService;
+import com.hotel.booking.web.HotelETags;
+import com.hotel.booking.web.WireFormats;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
 
 
 @RestController // Indica que es un controlador REST (devuelve JSON)
@@ -16,6 +41,15 @@ public class HotelController {
 
     private final HotelService hotelService;
 
+    private final HotelBulkService hotelBulkService;
+
+    private final HotelGeoSearchService hotelGeoSearchService;
+
+    private final ObjectMapper objectMapper;
+
+    private final WireFormats wireFormats;
+
+    // Con la cabecera Idempotency-Key, un reintento recibe el hotel ya creado sin llegar aquí (ver IdempotencyFilter)
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public HotelDto createHotel(@Valid @RequestBody CreateHotelRequestDto requestDto){
@@ -25,6 +59,213 @@ public class HotelController {
         return hotelService.createHotel(requestDto);
     }
 
+    /**
+     * Listado paginado por cursor: GET /api/hotels?country=España&city=Madrid&stars=4&limit=50
+     * Para la página siguiente se repite la petición añadiendo cursor=<nextCursor>.
+     */
+    @GetMapping
+    public HotelPageDto listHotels(@RequestParam(required = false) String city,
+                                   @RequestParam(required = false) String country,
+                                   @RequestParam(required = false) Integer stars,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(required = false) Integer limit) {
+        return hotelService.listHotels(filter(city, country, stars), cursor, limit);
+    }
+
+    /**
+     * Búsqueda del front: GET /api/hotels/search?country=España&city=sevilla&minStars=4
+     * La ciudad no distingue mayúsculas ni acentos. Devuelve primero los hoteles con más
+     * estrellas, o con sort=RATING los mejor valorados; la página siguiente se pide con
+     * cursor=<nextCursor>. Cada hotel trae su resumen de reseñas en "ratings".
+     */
+    @GetMapping("/search")
+    public HotelPageDto searchHotels(@RequestParam(required = false) String country,
+                                     @RequestParam(required = false) String city,
+                                     @RequestParam(required = false) Integer stars,
+                                     @RequestParam(required = false) Integer minStars,
+                                     @RequestParam(defaultValue = "STARS") HotelSort sort,
+                                     @RequestParam(required = false) String cursor,
+                                     @RequestParam(required = false) Integer limit) {
+        HotelFilter filter = HotelFilter.builder()
+                .country(country).city(city).stars(stars).minStars(minStars)
+                .build();
+        return hotelService.searchHotels(filter, sort, cursor, limit);
+    }
+
+    /**
+     * Varios hoteles por id en una sola petición, para no hacer un GET /api/hotels/{id} por hotel:
+     * POST /api/hotels/lookup con {"ids":[7,3,12]}
+     * Devuelve los hoteles en ese orden y en missingIds los que no existen (siempre 200, nunca 404).
+     * Es POST porque 200 ids no caben con holgura en una URL.
+     */
+    @PostMapping("/lookup")
+    public HotelLookupDto lookupHotels(@Valid @RequestBody HotelLookupRequestDto requestDto) {
+        return hotelService.getHotelsByIds(requestDto.getIds());
+    }
+
+    /**
+     * Hoteles más cercanos a un punto, del más cercano al más lejano, con su distancia en km:
+     * GET /api/hotels/nearby?lat=40.4168&lon=-3.7038&limit=10
+     * Con radiusKm=5 solo los que están a 5 km o menos.
+     */
+    @GetMapping("/nearby")
+    public List<HotelDistanceDto> nearbyHotels(@RequestParam double lat,
+                                               @RequestParam double lon,
+                                               @RequestParam(required = false) Double radiusKm,
+                                               @RequestParam(required = false) Integer limit) {
+        return hotelGeoSearchService.nearby(lat, lon, radiusKm, limit);
+    }
+
+    /**
+     * Hoteles dentro del recuadro visible del mapa (esquina suroeste y noreste):
+     * GET /api/hotels/in-box?minLat=40.3&minLon=-3.8&maxLat=40.5&maxLon=-3.6&limit=200
+     * Si hay más de "limit", devuelve los más cercanos al centro del recuadro.
+     */
+    @GetMapping("/in-box")
+    public List<HotelDistanceDto> hotelsInBox(@RequestParam double minLat,
+                                              @RequestParam double minLon,
+                                              @RequestParam double maxLat,
+                                              @RequestParam double maxLon,
+                                              @RequestParam(required = false) Integer limit) {
+        return hotelGeoSearchService.inBox(minLat, minLon, maxLat, maxLon, limit);
+    }
+
+    /**
+     * Exportación completa, con los mismos filtros que el listado, en el formato que pida "Accept":
+     * - application/x-ndjson: un HotelDto en JSON por línea;
+     * - application/x-jackson-smile: secuencia de HotelDto en Smile;
+     * - application/cbor-seq: secuencia de HotelDto en CBOR.
+     *
+     * StreamingResponseBody: Spring nos da el OutputStream de la respuesta y vamos escribiendo
+     * cada hotel según llega de la base de datos, así la memoria usada no depende del número de hoteles.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportHotels(@RequestParam(required = false) String city,
+                                                              @RequestParam(required = false) String country,
+                                                              @RequestParam(required = false) Integer stars) {
+        HotelFilter filter = filter(city, country, stars);
+        return streaming(MediaType.APPLICATION_NDJSON,
+                out -> wireFormats.<HotelDto>writeNdjson(out, hotels -> hotelService.exportHotels(filter, hotels)));
+    }
+
+    @GetMapping(value = "/export", produces = WireFormats.SMILE_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportHotelsAsSmile(@RequestParam(required = false) String city,
+                                                                     @RequestParam(required = false) String country,
+                                                                     @RequestParam(required = false) Integer stars) {
+        HotelFilter filter = filter(city, country, stars);
+        return streaming(WireFormats.SMILE,
+                out -> wireFormats.<HotelDto>writeSmileSequence(out, hotels -> hotelService.exportHotels(filter, hotels)));
+    }
+
+    @GetMapping(value = "/export", produces = WireFormats.CBOR_SEQ_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportHotelsAsCbor(@RequestParam(required = false) String city,
+                                                                    @RequestParam(required = false) String country,
+                                                                    @RequestParam(required = false) Integer stars) {
+        HotelFilter filter = filter(city, country, stars);
+        return streaming(WireFormats.CBOR_SEQ,
+                out -> wireFormats.<HotelDto>writeCborSequence(out, hotels -> hotelService.exportHotels(filter, hotels)));
+    }
+
+    /**
+     * Devuelve el hotel con su ETag (débil, ver HotelETags: así Tomcat puede comprimir los hoteles
+     * de más de 2 KB). Si el cliente manda If-None-Match con ese mismo ETag,
+     * Spring responde 304 Not Modified sin cuerpo: el HotelDto sale de la caché y ni se mapea
+     * ni se serializa a JSON.
+     * no-cache: los clientes y la CDN pueden guardarlo, pero deben revalidarlo en cada uso.
+     * Vary: Accept, porque la misma URL puede salir en JSON, Smile o CBOR (ver WireFormatConfig).
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<HotelDto> getHotel(@PathVariable Long id) {
+        // Si no existe, el servicio lanza HotelNotFoundException => 404
+        HotelDto hotel = hotelService.getHotelById(id);
+        return ResponseEntity.ok()
+                .eTag(HotelETags.of(hotel))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(hotel);
+    }
+
+    /**
+     * Reemplaza el hotel. Con If-Match solo lo hace si sigue en esa versión (si no, 412):
+     * así dos clientes que editan a la vez no se pisan los cambios sin enterarse.
+     * If-Match lleva la versión como ETag fuerte ("3"); el W/"3" de GET da 412 (ver HotelETags).
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<HotelDto> updateHotel(@PathVariable Long id,
+                                                @Valid @RequestBody CreateHotelRequestDto requestDto,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        HotelDto updated = hotelService.updateHotel(id, requestDto, HotelETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(HotelETags.of(updated)).body(updated);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteHotel(@PathVariable Long id) {
+        hotelService.deleteHotel(id);
+    }
+
+    // Contadores de la caché de hoteles (aciertos, fallos, expulsiones...)
+    @GetMapping("/cache/stats")
+    public HotelCacheStatsDto getCacheStats() {
+        return hotelService.getCacheStats();
+    }
+
+    /**
+     * Alta masiva. Acepta un array JSON o NDJSON (un objeto por línea) de CreateHotelRequestDto.
+     *
+     * No usamos @RequestBody porque obligaría a deserializar la lista entera antes de empezar:
+     * leemos el cuerpo elemento a elemento con un MappingIterator de Jackson y se lo pasamos
+     * al servicio, que va escribiendo por chunks mientras se lee.
+     *
+     * Devuelve 201 si se crearon todos, o 207 (Multi-Status) si algún elemento falló.
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkCreateHotelResponseDto> createHotels(HttpServletRequest request) throws IOException {
+
+        try (MappingIterator<CreateHotelRequestDto> values = objectMapper
+                .readerFor(CreateHotelRequestDto.class)
+                .readValues(request.getInputStream())) {
+
+            BulkCreateHotelResponseDto response = hotelBulkService.createHotels(failOnUnreadable(values));
+            HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+            return ResponseEntity.status(status).body(response);
+        }
+    }
+
+    // "produces" solo elige el método: el Content-Type de una respuesta en streaming hay que ponerlo
+    // a mano (y sin él Tomcat tampoco sabría si comprimirla, ver server.compression.mime-types)
+    private static ResponseEntity<StreamingResponseBody> streaming(MediaType contentType, StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+
+    private static HotelFilter filter(String city, String country, Integer stars) {
+        return HotelFilter.builder().city(city).country(country).stars(stars).build();
+    }
+
+    // Traduce los errores de lectura de Jackson a nuestra excepción, para que el servicio
+    // no dependa de Jackson y pueda informar del elemento donde se cortó la lectura.
+    private static Iterator<CreateHotelRequestDto> failOnUnreadable(MappingIterator<CreateHotelRequestDto> values) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return values.hasNextValue();
+                } catch (IOException e) {
+                    throw new InvalidBulkPayloadException("Cuerpo JSON no válido: " + e.getMessage(), e);
+                }
+            }
+
+            @Override
+            public CreateHotelRequestDto next() {
+                try {
+                    return values.nextValue();
+                } catch (IOException e) {
+                    throw new InvalidBulkPayloadException("Cuerpo JSON no válido: " + e.getMessage(), e);
+                }
+            }
+        };
+    }
+
 
 
 
@@ -0,0 +1,41 @@
+package com.hotel.booking.controller;
+
+import com.hotel.booking.dto.HotelSearchHitDto;
+import com.hotel.booking.dto.TermSuggestionDto;
+import com.hotel.booking.service.HotelTextSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Búsqueda de texto libre y autocompletado sobre el índice en memoria.
+ */
+@RestController
+@RequestMapping("/api/hotels")
+@RequiredArgsConstructor
+public class HotelTextSearchController {
+
+    private final HotelTextSearchService hotelTextSearchService;
+
+    /**
+     * GET /api/hotels/text-search?q=spa playa barcelona
+     * Con prefix=true la última palabra se completa (para buscar mientras se escribe).
+     */
+    @GetMapping("/text-search")
+    public List<HotelSearchHitDto> search(@RequestParam String q,
+                                          @RequestParam(required = false) Integer limit,
+                                          @RequestParam(defaultValue = "false") boolean prefix) {
+        return hotelTextSearchService.search(q, limit, prefix);
+    }
+
+    // GET /api/hotels/autocomplete?prefix=barc
+    @GetMapping("/autocomplete")
+    public List<TermSuggestionDto> autocomplete(@RequestParam String prefix,
+                                                @RequestParam(required = false) Integer limit) {
+        return hotelTextSearchService.autocomplete(prefix, limit);
+    }
+}
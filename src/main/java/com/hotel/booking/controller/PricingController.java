@@ -0,0 +1,51 @@
+package com.hotel.booking.controller;
+
+import com.hotel.booking.dto.CreateRateRuleRequestDto;
+import com.hotel.booking.dto.QuoteDto;
+import com.hotel.booking.dto.RateRuleDto;
+import com.hotel.booking.service.PricingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reglas de tarifa de un hotel y presupuestos:
+ *   /api/hotels/{hotelId}/rate-rules
+ *   /api/hotels/{hotelId}/rooms/{roomId}/quote?checkIn=2026-07-01&checkOut=2026-07-05
+ */
+@RestController
+@RequestMapping("/api/hotels/{hotelId}")
+@RequiredArgsConstructor
+public class PricingController {
+
+    private final PricingService pricingService;
+
+    @GetMapping("/rate-rules")
+    public List<RateRuleDto> getRules(@PathVariable Long hotelId) {
+        return pricingService.getRules(hotelId);
+    }
+
+    @PostMapping("/rate-rules")
+    @ResponseStatus(HttpStatus.CREATED)
+    public RateRuleDto createRule(@PathVariable Long hotelId, @Valid @RequestBody CreateRateRuleRequestDto requestDto) {
+        return pricingService.createRule(hotelId, requestDto);
+    }
+
+    @DeleteMapping("/rate-rules/{ruleId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteRule(@PathVariable Long hotelId, @PathVariable Long ruleId) {
+        pricingService.deleteRule(hotelId, ruleId);
+    }
+
+    @GetMapping("/rooms/{roomId}/quote")
+    public QuoteDto quote(@PathVariable Long hotelId, @PathVariable Long roomId,
+                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+        return pricingService.quote(hotelId, roomId, checkIn, checkOut);
+    }
+}
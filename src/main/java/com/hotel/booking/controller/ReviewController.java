@@ -0,0 +1,49 @@
+package com.hotel.booking.controller;
+
+import com.hotel.booking.dto.CreateReviewRequestDto;
+import com.hotel.booking.dto.HotelRatingDto;
+import com.hotel.booking.dto.ReviewDto;
+import com.hotel.booking.service.ReviewService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Reseñas de un hotel y su resumen de calificaciones:
+ *   /api/hotels/{hotelId}/reviews?before=<id de la última reseña vista>&limit=20
+ *   /api/hotels/{hotelId}/rating
+ */
+@RestController
+@RequestMapping("/api/hotels/{hotelId}")
+@RequiredArgsConstructor
+public class ReviewController {
+
+    private final ReviewService reviewService;
+
+    @GetMapping("/reviews")
+    public List<ReviewDto> getReviews(@PathVariable Long hotelId,
+                                      @RequestParam(required = false) Long before,
+                                      @RequestParam(required = false) Integer limit) {
+        return reviewService.getReviews(hotelId, before, limit);
+    }
+
+    @PostMapping("/reviews")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ReviewDto createReview(@PathVariable Long hotelId, @Valid @RequestBody CreateReviewRequestDto requestDto) {
+        return reviewService.createReview(hotelId, requestDto);
+    }
+
+    @DeleteMapping("/reviews/{reviewId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteReview(@PathVariable Long hotelId, @PathVariable Long reviewId) {
+        reviewService.deleteReview(hotelId, reviewId);
+    }
+
+    @GetMapping("/rating")
+    public HotelRatingDto getRating(@PathVariable Long hotelId) {
+        return reviewService.getRating(hotelId);
+    }
+}
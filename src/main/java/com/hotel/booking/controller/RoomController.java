@@ -0,0 +1,33 @@
+package com.hotel.booking.controller;
+
+import com.hotel.booking.dto.CreateRoomRequestDto;
+import com.hotel.booking.dto.RoomDto;
+import com.hotel.booking.service.RoomService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Habitaciones de un hotel: /api/hotels/{hotelId}/rooms
+ */
+@RestController
+@RequestMapping("/api/hotels/{hotelId}/rooms")
+@RequiredArgsConstructor
+public class RoomController {
+
+    private final RoomService roomService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public RoomDto createRoom(@PathVariable Long hotelId, @Valid @RequestBody CreateRoomRequestDto requestDto) {
+        return roomService.createRoom(hotelId, requestDto);
+    }
+
+    @GetMapping
+    public List<RoomDto> getRooms(@PathVariable Long hotelId) {
+        return roomService.getRooms(hotelId);
+    }
+}
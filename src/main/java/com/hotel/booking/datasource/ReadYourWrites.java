@@ -0,0 +1,36 @@
+package com.hotel.booking.datasource;
+
+/**
+ * Marca el hilo actual para que sus lecturas vayan al primario aunque sean de solo lectura
+ * (ReplicaRoutingDataSource lo consulta antes de elegir réplica).
+ *
+ * Lo pone ReadYourWritesFilter durante las peticiones que escriben (así las lecturas de antes de
+ * escribir, como la versión actual en un PUT, no salen de una réplica atrasada) y durante las
+ * lecturas de un cliente que acaba de escribir, mientras la réplica puede no tener aún su cambio.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /** Lleva las lecturas de este hilo al primario; devuelve el estado anterior para {@link #restore}. */
+    public static boolean pinToPrimary() {
+        boolean previous = isPinnedToPrimary();
+        PINNED.set(Boolean.TRUE);
+        return previous;
+    }
+
+    public static void restore(boolean previous) {
+        if (previous) {
+            PINNED.set(Boolean.TRUE);
+        } else {
+            PINNED.remove();
+        }
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+}
@@ -0,0 +1,168 @@
+package com.hotel.booking.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Conexiones de solo lectura: de las réplicas por turnos, o del primario si no queda ninguna sana
+ * o si el hilo está marcado con {@link ReadYourWrites}.
+ *
+ * Es el "readOnlyDataSource" de un LazyConnectionDataSourceProxy (ver ReadReplicaConfig): el proxy
+ * no saca la conexión de verdad hasta la primera sentencia, cuando ya sabe si la transacción es
+ * readOnly, y solo entonces llama aquí. Todo lo demás (escrituras, sin transacción) va al primario.
+ *
+ * Salud: una réplica que no da conexión (caída, pool agotado hasta connection-timeout) se marca
+ * caída durante downTime y la petición prueba la siguiente, o el primario. Pasado downTime, un
+ * solo hilo (el que gana el CAS) vuelve a probarla mientras los demás siguen sin contar con ella.
+ * Un fallo a mitad de consulta, con la conexión ya dada, no se reintenta: llega a quien la hizo.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final long downTimeNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final LongAdder replicaReads = new LongAdder();
+
+    private final LongAdder pinnedReads = new LongAdder();
+
+    private final LongAdder fallbackReads = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration downTime) {
+        this(primary, replicas, downTime, System::nanoTime);
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration downTime,
+                                    LongSupplier nanoClock) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.downTimeNanos = downTime.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWrites.isPinnedToPrimary()) {
+            pinnedReads.increment();
+            return primary.getConnection();
+        }
+        int size = replicas.size();
+        int first = Math.floorMod(next.getAndIncrement(), Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((first + i) % size);
+            if (!replica.tryUse(nanoClock.getAsLong(), downTimeNanos)) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.markUp();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                // RuntimeException: Hikari lanza PoolInitializationException si no puede ni arrancar el pool
+                replica.markDown(nanoClock.getAsLong(), downTimeNanos);
+                log.warn("Réplica {} sin conexión, fuera durante {} ms: {}",
+                        replica.name, downTimeNanos / 1_000_000, e.getMessage());
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Las credenciales de cada réplica están en su pool (hotel.read-replicas.instances)");
+    }
+
+    /** Réplicas que ahora mismo se consideran sanas. */
+    public int healthyReplicas() {
+        int healthy = 0;
+        for (Replica replica : replicas) {
+            if (replica.isUp()) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    /** Conexiones de lectura dadas por una réplica. */
+    public long replicaReadCount() {
+        return replicaReads.sum();
+    }
+
+    /** Lecturas llevadas al primario por ReadYourWrites. */
+    public long pinnedReadCount() {
+        return pinnedReads.sum();
+    }
+
+    /** Lecturas llevadas al primario porque no había ninguna réplica sana. */
+    public long fallbackReadCount() {
+        return fallbackReads.sum();
+    }
+
+    // Cierra los pools de las réplicas (Spring lo llama al parar: es el destroy method inferido)
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /** Una réplica con su pool de conexiones. */
+    public static final class Replica {
+
+        private static final long UP = Long.MIN_VALUE;
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        // UP = sana; si no, hasta cuándo (System.nanoTime) no se vuelve a probar
+        private final AtomicLong downUntil = new AtomicLong(UP);
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        // Sana, o caída con el plazo cumplido y este hilo es el que la vuelve a probar
+        boolean tryUse(long now, long downTimeNanos) {
+            long until = downUntil.get();
+            return until == UP || (now - until >= 0 && downUntil.compareAndSet(until, now + downTimeNanos));
+        }
+
+        boolean isUp() {
+            return downUntil.get() == UP;
+        }
+
+        void markUp() {
+            // Leer antes de escribir: en el caso normal (ya sana) no se ensucia la línea de caché compartida
+            if (downUntil.get() != UP) {
+                downUntil.set(UP);
+            }
+        }
+
+        void markDown(long now, long downTimeNanos) {
+            downUntil.set(now + downTimeNanos);
+        }
+    }
+}
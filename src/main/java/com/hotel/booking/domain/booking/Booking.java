@@ -0,0 +1,54 @@
+package com.hotel.booking.domain.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Reserva de una habitación para las noches [checkIn, checkOut): se entra el día checkIn
+ * y se sale el día checkOut, así que la noche de checkOut no está ocupada.
+ *
+ * stage y los instantes de cada paso (requestedAt, heldAt, holdExpiresAt, confirmedAt) solo los usan las reservas asíncronas (ver V8__booking_pipeline.sql).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("booking")
+public class Booking {
+    @Id
+    @Column("id")
+    private Long id;
+    @Column("room_id")
+    private Long roomId;
+    @Column("guest_id")
+    private Long guestId;
+    @Column("check_in")
+    private LocalDate checkIn;
+    @Column("check_out")
+    private LocalDate checkOut;
+    @Column("status")
+    private BookingStatus status;
+    @Column("total_price")
+    private BigDecimal totalPrice;
+    // Siguiente etapa de la reserva asíncrona; null si no le queda ninguna
+    @Column("stage")
+    private BookingStage stage;
+    @Column("requested_at")
+    private Instant requestedAt;
+    @Column("held_at")
+    private Instant heldAt;
+    // Hasta cuándo se retienen las noches esperando el pago
+    @Column("hold_expires_at")
+    private Instant holdExpiresAt;
+    @Column("confirmed_at")
+    private Instant confirmedAt;
+}
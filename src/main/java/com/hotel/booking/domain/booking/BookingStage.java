@@ -0,0 +1,16 @@
+package com.hotel.booking.domain.booking;
+
+/**
+ * Etapas de una reserva asíncrona, en orden. Booking.stage guarda la siguiente que le toca
+ * (null: ninguna), así que al arrancar se sabe dónde retomar cada reserva a medias.
+ */
+public enum BookingStage {
+    // Retener las noches (PENDING -> HELD o REJECTED)
+    RESERVE,
+    // Autorizar el pago con el proveedor (HELD -> PAYMENT_FAILED o EXPIRED, o sigue HELD con el pago autorizado)
+    AUTHORIZE_PAYMENT,
+    // HELD -> CONFIRMED
+    CONFIRM,
+    // Avisar al huésped de la confirmación
+    NOTIFY
+}
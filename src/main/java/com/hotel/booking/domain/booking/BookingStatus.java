@@ -0,0 +1,21 @@
+package com.hotel.booking.domain.booking;
+
+/**
+ * Estados de una reserva. Solo HELD y CONFIRMED ocupan noches en el índice de disponibilidad.
+ *
+ * Las reservas síncronas (POST /api/bookings) nacen CONFIRMED. Las asíncronas (BookingPipeline)
+ * nacen PENDING, pasan a HELD al retener las noches y a CONFIRMED con el pago autorizado;
+ * si no, terminan en REJECTED, PAYMENT_FAILED o EXPIRED, ya sin noches.
+ */
+public enum BookingStatus {
+    PENDING,
+    HELD,
+    CONFIRMED,
+    CANCELLED,
+    // Alguna noche ya estaba reservada
+    REJECTED,
+    // El proveedor rechazó el pago
+    PAYMENT_FAILED,
+    // El pago no llegó antes de que caducara la retención
+    EXPIRED
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -41,10 +42,24 @@ public class Hotel {
     private String address;
     @Column("city")
     private String city;
+    // Ciudad en minúsculas y sin acentos (TextNormalizer), para buscar sin distinguir
+    // mayúsculas usando un índice. La rellena HotelBeforeConvertCallback al guardar.
+    @Column("city_normalized")
+    private String cityNormalized;
     @Column("country")
     private String country;
     @Column("stars")
     private Integer stars;
     @Column("description")
     private String description;
+    // Coordenadas en grados (WGS84); null si no se conocen (el hotel no sale en las búsquedas por cercanía)
+    @Column("latitude")
+    private Double latitude;
+    @Column("longitude")
+    private Double longitude;
+    // Spring Data la pone a 0 al insertar, la incrementa en cada save y actualiza con
+    // "WHERE id = ? AND version = ?": si otro la cambió antes, lanza OptimisticLockingFailureException.
+    @Version
+    @Column("version")
+    private Long version;
 }
@@ -0,0 +1,37 @@
+package com.hotel.booking.domain.hotel;
+
+import com.hotel.booking.dto.HotelDto;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Evento de dominio: un hotel se ha creado, modificado o eliminado.
+ *
+ * Lo publican HotelService y HotelBulkService (ApplicationEventPublisher) una vez guardado
+ * el cambio, y lo escuchan los componentes que mantienen datos derivados en memoria
+ * (por ejemplo el índice de texto), para no tener que acoplar el servicio a cada uno de ellos.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class HotelChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    Type type;
+    Long hotelId;
+    // El hotel tal y como ha quedado guardado; null cuando se ha eliminado
+    HotelDto hotel;
+
+    public static HotelChangedEvent created(HotelDto hotel) {
+        return new HotelChangedEvent(Type.CREATED, hotel.getId(), hotel);
+    }
+
+    public static HotelChangedEvent updated(HotelDto hotel) {
+        return new HotelChangedEvent(Type.UPDATED, hotel.getId(), hotel);
+    }
+
+    public static HotelChangedEvent deleted(Long hotelId) {
+        return new HotelChangedEvent(Type.DELETED, hotelId, null);
+    }
+}
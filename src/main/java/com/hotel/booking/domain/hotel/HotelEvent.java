@@ -0,0 +1,23 @@
+package com.hotel.booking.domain.hotel;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Una fila de la tabla "hotel_event": un HotelChangedEvent ya listo para guardar,
+ * con el momento en que ocurrió y el hotel serializado a JSON.
+ */
+@Value
+@Builder
+public class HotelEvent {
+
+    // null hasta que se inserta
+    Long id;
+    Long hotelId;
+    HotelChangedEvent.Type type;
+    Long hotelVersion;
+    Instant occurredAt;
+    String payload;
+}
@@ -0,0 +1,31 @@
+package com.hotel.booking.domain.hotel;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normaliza textos para compararlos sin tener en cuenta mayúsculas ni acentos:
+ * "  Cádiz " -> "cadiz", "SÃO PAULO" -> "sao paulo", "Logroño" -> "logrono".
+ *
+ * Se usa para rellenar columnas normalizadas (como hotel.city_normalized) y para
+ * normalizar los valores de búsqueda del mismo modo, de forma que una búsqueda
+ * "sin distinguir mayúsculas" siga siendo una igualdad que puede usar un índice normal.
+ */
+public final class TextNormalizer {
+
+    // \p{M}: marcas diacríticas (tildes, diéresis, virgulillas...) que quedan sueltas tras NFD
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {
+    }
+
+    public static String fold(String text) {
+        if (text == null) {
+            return null;
+        }
+        // NFD separa cada letra de su acento: "á" -> "a" + "´"; luego quitamos los acentos.
+        String decomposed = Normalizer.normalize(text.trim(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
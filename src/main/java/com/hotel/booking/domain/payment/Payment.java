@@ -0,0 +1,40 @@
+package com.hotel.booking.domain.payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Pago de una reserva (ver V8__booking_pipeline.sql). Una reserva puede tener varios.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("payment")
+public class Payment {
+    @Id
+    @Column("id")
+    private Long id;
+    @Column("booking_id")
+    private Long bookingId;
+    @Column("amount")
+    private BigDecimal amount;
+    @Column("method")
+    private PaymentMethod method;
+    @Column("status")
+    private PaymentStatus status;
+    @Column("provider_reference")
+    private String providerReference;
+    @Column("created_at")
+    private Instant createdAt;
+    @Column("updated_at")
+    private Instant updatedAt;
+}
@@ -0,0 +1,9 @@
+package com.hotel.booking.domain.payment;
+
+/**
+ * Medios de pago admitidos.
+ */
+public enum PaymentMethod {
+    CARD,
+    PAYPAL
+}
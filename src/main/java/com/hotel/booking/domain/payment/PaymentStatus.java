@@ -0,0 +1,12 @@
+package com.hotel.booking.domain.payment;
+
+/**
+ * Estados de un pago. PENDING hasta que responde el proveedor; AUTHORIZED es definitivo para la
+ * reserva (el cobro se hace en el check-in); VOIDED, una autorización anulada porque la reserva caducó.
+ */
+public enum PaymentStatus {
+    PENDING,
+    AUTHORIZED,
+    DECLINED,
+    VOIDED
+}
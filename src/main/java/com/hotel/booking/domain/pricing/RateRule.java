@@ -0,0 +1,45 @@
+package com.hotel.booking.domain.pricing;
+
+import com.hotel.booking.domain.room.RoomType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+/**
+ * Regla de tarifa de un hotel (ver V4__rate_rule.sql y {@link RateRuleKind}).
+ * Igual que Room: @Data + @Builder de Lombok y mapeo de Spring Data JDBC.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("rate_rule")
+public class RateRule {
+    @Id
+    @Column("id")
+    private Long id;
+    @Column("hotel_id")
+    private Long hotelId;
+    // null = todos los tipos de habitación
+    @Column("room_type")
+    private RoomType roomType;
+    @Column("kind")
+    private RateRuleKind kind;
+    // Solo SEASON: noches [startDate, endDate)
+    @Column("start_date")
+    private LocalDate startDate;
+    @Column("end_date")
+    private LocalDate endDate;
+    // Solo LENGTH_OF_STAY
+    @Column("min_nights")
+    private Integer minNights;
+    // Porcentaje sobre el precio base: +20 = 20% más caro; en LENGTH_OF_STAY, el descuento
+    @Column("adjustment_percent")
+    private Integer percent;
+}
@@ -0,0 +1,13 @@
+package com.hotel.booking.domain.pricing;
+
+/**
+ * Tipos de regla de tarifa. Spring Data JDBC guarda el nombre del enum como texto en la columna "kind".
+ */
+public enum RateRuleKind {
+    // Temporada: ajuste de las noches entre dos fechas
+    SEASON,
+    // Fin de semana: ajuste de las noches de viernes y sábado
+    WEEKEND,
+    // Estancia larga: descuento sobre el total a partir de un número de noches
+    LENGTH_OF_STAY
+}
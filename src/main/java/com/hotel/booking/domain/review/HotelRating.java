@@ -0,0 +1,30 @@
+package com.hotel.booking.domain.review;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Una fila de la tabla "hotel_rating": el resumen de las reseñas de un hotel, ya calculado.
+ * La media es ratingSum / reviewCount (0 si no hay reseñas).
+ */
+@Value
+@Builder
+public class HotelRating {
+
+    Long hotelId;
+    long reviewCount;
+    long ratingSum;
+    double averageRating;
+    // histogram.get(0) = reseñas de 1 estrella ... histogram.get(4) = reseñas de 5
+    List<Long> histogram;
+
+    /** Lo que vale el resumen de un hotel que aún no tiene reseñas (y por eso no tiene fila). */
+    public static HotelRating none(Long hotelId) {
+        return HotelRating.builder()
+                .hotelId(hotelId)
+                .histogram(List.of(0L, 0L, 0L, 0L, 0L))
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.hotel.booking.domain.review;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * Reseña de un huésped sobre un hotel (ver V7__review.sql).
+ * Igual que Room y RateRule: @Data + @Builder de Lombok y mapeo de Spring Data JDBC.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("review")
+public class Review {
+    @Id
+    @Column("id")
+    private Long id;
+    @Column("hotel_id")
+    private Long hotelId;
+    @Column("guest_id")
+    private Long guestId;
+    // De 1 a 5
+    @Column("rating")
+    private Integer rating;
+    @Column("comment")
+    private String comment;
+    @Column("created_at")
+    private Instant createdAt;
+}
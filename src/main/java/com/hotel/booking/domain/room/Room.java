@@ -0,0 +1,39 @@
+package com.hotel.booking.domain.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+
+/**
+ * Habitación de un hotel. Igual que Hotel: @Data + @Builder de Lombok y mapeo de Spring Data JDBC.
+ *
+ * La relación con el hotel es solo su id (hotelId): en Spring Data JDBC cada agregado
+ * se carga por separado y las referencias entre agregados se guardan como ids.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("room")
+public class Room {
+    @Id
+    @Column("id")
+    private Long id;
+    @Column("hotel_id")
+    private Long hotelId;
+    @Column("room_number")
+    private String number;
+    @Column("type")
+    private RoomType type;
+    @Column("capacity")
+    private Integer capacity;
+    // Precio base por noche
+    @Column("price")
+    private BigDecimal price;
+}
@@ -0,0 +1,10 @@
+package com.hotel.booking.domain.room;
+
+/**
+ * Tipos de habitación. Spring Data JDBC guarda el nombre del enum como texto en la columna "type".
+ */
+public enum RoomType {
+    SINGLE,
+    DOUBLE,
+    SUITE
+}
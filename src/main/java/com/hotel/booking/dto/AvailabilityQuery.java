@@ -0,0 +1,24 @@
+package com.hotel.booking.dto;
+
+/*
+    Parámetros de una consulta de disponibilidad: fechas obligatorias y, opcionalmente,
+    tipo de habitación y número de huéspedes. El hotel o la ciudad van aparte.*/
+
+import com.hotel.booking.domain.room.RoomType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+@Builder
+public class AvailabilityQuery {
+
+    LocalDate checkIn;
+    LocalDate checkOut;
+    // null = cualquier tipo
+    RoomType type;
+    // null = 1 huésped
+    Integer guests;
+
+}
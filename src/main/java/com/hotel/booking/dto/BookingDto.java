@@ -0,0 +1,28 @@
+package com.hotel.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hotel.booking.domain.booking.BookingStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/** Reserva tal y como la devolvemos al cliente. */
+@Value
+@Builder
+public class BookingDto {
+
+    Long id;
+    Long roomId;
+    Long guestId;
+    LocalDate checkIn;
+    LocalDate checkOut;
+    BookingStatus status;
+    BigDecimal totalPrice;
+    // Solo en reservas asíncronas: hasta cuándo se guardan las noches esperando el pago
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Instant holdExpiresAt;
+
+}
@@ -0,0 +1,21 @@
+package com.hotel.booking.dto;
+
+/*
+    Respuesta de POST /api/hotels/batch: totales y el resultado de cada elemento,
+    en el mismo orden en el que llegaron en la petición.*/
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class BulkCreateHotelResponseDto {
+
+    int total;
+    int created;
+    int failed;
+    List<BulkHotelResultDto> items;
+
+}
@@ -0,0 +1,22 @@
+package com.hotel.booking.dto;
+
+/*
+    Resultado de un elemento de la carga masiva: su posición en la petición y,
+    o bien el id generado, o bien la lista de errores de validación/persistencia.*/
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class BulkHotelResultDto {
+
+    int index;
+    Long id;
+    List<String> errors;
+
+}
@@ -0,0 +1,33 @@
+package com.hotel.booking.dto;
+
+import com.hotel.booking.domain.payment.PaymentMethod;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Petición de reserva de una habitación para las noches [checkIn, checkOut).
+ * Las fechas van en formato ISO (2026-07-15).
+ * paymentMethod solo cuenta en las reservas asíncronas (POST /api/bookings/async); por defecto, CARD.
+ */
+@Value
+@Builder
+public class CreateBookingRequestDto {
+
+    @NotNull(message = "La habitación es obligatoria")
+    Long roomId;
+
+    @NotNull(message = "El huésped es obligatorio")
+    Long guestId;
+
+    @NotNull(message = "La fecha de entrada es obligatoria")
+    LocalDate checkIn;
+
+    @NotNull(message = "La fecha de salida es obligatoria")
+    LocalDate checkOut;
+
+    PaymentMethod paymentMethod;
+
+}
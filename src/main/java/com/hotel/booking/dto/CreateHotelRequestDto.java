@@ -1,7 +1,9 @@
 package com.hotel.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Value;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -16,6 +18,7 @@ import jakarta.validation.constraints.NotBlank;
  *
  * @NotBlank: Valida que el String no sea nulo y que no esté vacío (después de quitar espacios).
  * @Min / @Max: Valida que el número esté dentro de un rango.
+ * @AssertTrue: Valida una regla que depende de varios campos (el método debe devolver true).
  */
 
 /**Este DTO recibirá los datos cuando un cliente quiera crear un nuevo hotel. **/
@@ -44,5 +47,24 @@ public class CreateHotelRequestDto {
 
     String description;
 
+    // Coordenadas opcionales (grados WGS84), para las búsquedas por cercanía; se validan en isLocationValid
+    Double latitude;
+
+    Double longitude;
+
+    /**
+     * Las dos coordenadas o ninguna, y dentro de rango. En una sola regla y con comparaciones de
+     * double, no con @DecimalMin/@DecimalMax en cada campo: esas pasan cada valor a BigDecimal y
+     * son cuatro restricciones más que recorrer en cada POST, aunque no lleve coordenadas.
+     * @JsonIgnore: es una regla de validación, no un campo del JSON.
+     */
+    @JsonIgnore
+    @AssertTrue(message = "La latitud (entre -90 y 90) y la longitud (entre -180 y 180) van juntas: las dos o ninguna")
+    public boolean isLocationValid() {
+        if (latitude == null || longitude == null) {
+            return latitude == null && longitude == null;
+        }
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
 
 }
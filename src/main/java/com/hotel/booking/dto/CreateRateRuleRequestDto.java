@@ -0,0 +1,37 @@
+package com.hotel.booking.dto;
+
+import com.hotel.booking.domain.pricing.RateRuleKind;
+import com.hotel.booking.domain.room.RoomType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Datos para crear una regla de tarifa (el hotel va en la URL). Sin roomType vale para todos los tipos.
+ * Lo que depende del tipo de regla (fechas de la temporada, noches mínimas) lo comprueba PricingService.
+ */
+@Value
+@Builder
+public class CreateRateRuleRequestDto {
+
+    RoomType roomType;
+
+    @NotNull(message = "El tipo de regla es obligatorio")
+    RateRuleKind kind;
+
+    LocalDate startDate;
+
+    LocalDate endDate;
+
+    Integer minNights;
+
+    @NotNull(message = "El porcentaje es obligatorio")
+    @Min(value = -100, message = "El porcentaje no puede ser menor que -100")
+    @Max(value = 1000, message = "El porcentaje no puede ser mayor que 1000")
+    Integer percent;
+
+}
@@ -0,0 +1,28 @@
+package com.hotel.booking.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Datos para publicar una reseña (el hotel va en la URL).
+ */
+@Value
+@Builder
+public class CreateReviewRequestDto {
+
+    @NotNull(message = "El huésped es obligatorio")
+    Long guestId;
+
+    @NotNull(message = "La calificación es obligatoria")
+    @Min(value = 1, message = "La calificación debe estar entre 1 y 5")
+    @Max(value = 5, message = "La calificación debe estar entre 1 y 5")
+    Integer rating;
+
+    @Size(max = 4000, message = "El comentario no puede tener más de 4000 caracteres")
+    String comment;
+
+}
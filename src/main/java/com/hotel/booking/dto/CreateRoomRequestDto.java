@@ -0,0 +1,32 @@
+package com.hotel.booking.dto;
+
+import com.hotel.booking.domain.room.RoomType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/** Datos para dar de alta una habitación en un hotel (el hotel va en la URL). */
+@Value
+@Builder
+public class CreateRoomRequestDto {
+
+    @NotBlank(message = "El número de habitación no puede estar vacío")
+    String number;
+
+    @NotNull(message = "El tipo de habitación es obligatorio")
+    RoomType type;
+
+    @NotNull(message = "La capacidad es obligatoria")
+    @Min(value = 1, message = "La capacidad debe ser como mínimo 1")
+    Integer capacity;
+
+    @NotNull(message = "El precio es obligatorio")
+    @DecimalMin(value = "0.00", message = "El precio no puede ser negativo")
+    BigDecimal price;
+
+}
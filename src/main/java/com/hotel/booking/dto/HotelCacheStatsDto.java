@@ -0,0 +1,23 @@
+package com.hotel.booking.dto;
+
+/*
+    Contadores de la caché de hoteles, para ver si está funcionando (GET /api/hotels/cache/stats).*/
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder(toBuilder = true)
+public class HotelCacheStatsDto {
+
+    boolean enabled;
+    long size;
+    long hits;
+    long misses;
+    long evictions;
+    double hitRate;
+    // Lecturas que llegaron a la base de datos y lecturas que se unieron a una ya en marcha (ver SingleFlight)
+    long databaseLoads;
+    long sharedLoads;
+
+}
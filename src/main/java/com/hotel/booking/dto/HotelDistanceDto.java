@@ -0,0 +1,17 @@
+package com.hotel.booking.dto;
+
+/*
+    Un resultado de las búsquedas por cercanía: el hotel y a cuántos km está del punto buscado
+    (del centro del recuadro en la búsqueda por recuadro).*/
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class HotelDistanceDto {
+
+    HotelDto hotel;
+    double distanceKm;
+
+}
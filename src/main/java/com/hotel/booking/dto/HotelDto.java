@@ -18,5 +18,9 @@ public class HotelDto {
     String country;
     Integer stars;
     String description;
+    Double latitude;
+    Double longitude;
+    // Cambia con cada modificación del hotel; de ella sale el ETag de GET /api/hotels/{id}
+    Long version;
 
 }
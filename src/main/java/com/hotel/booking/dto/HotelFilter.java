@@ -0,0 +1,20 @@
+package com.hotel.booking.dto;
+
+/*
+    Filtros opcionales del listado y de la búsqueda de hoteles. Un campo a null significa "sin filtrar por él".
+    La ciudad se compara sin distinguir mayúsculas ni acentos ("madrid" encuentra "Madrid").*/
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class HotelFilter {
+
+    String city;
+    String country;
+    Integer stars;
+    // "Como mínimo N estrellas"
+    Integer minStars;
+
+}
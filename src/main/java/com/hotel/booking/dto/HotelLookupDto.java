@@ -0,0 +1,22 @@
+package com.hotel.booking.dto;
+
+/*
+    Respuesta de la lectura de varios hoteles por id: "items" en el orden de la petición
+    (cada id una sola vez) y en "missingIds" los ids que no existen, sin que la petición falle.
+    "ratings" es el resumen de reseñas de cada hotel encontrado, por id.*/
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+@Value
+@Builder
+public class HotelLookupDto {
+
+    List<HotelDto> items;
+    List<Long> missingIds;
+    Map<Long, HotelRatingDto> ratings;
+
+}
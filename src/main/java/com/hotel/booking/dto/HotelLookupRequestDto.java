@@ -0,0 +1,21 @@
+package com.hotel.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Ids de los hoteles que se quieren leer de una vez (POST /api/hotels/lookup), en el orden
+ * en que se quieren recibir. El máximo por petición es hotel.listing.max-lookup-ids.
+ */
+@Value
+@Builder
+public class HotelLookupRequestDto {
+
+    @NotEmpty(message = "La lista de ids no puede estar vacía")
+    List<@NotNull(message = "Los ids no pueden ser nulos") Long> ids;
+
+}
@@ -0,0 +1,25 @@
+package com.hotel.booking.dto;
+
+/*
+    Una página del listado de hoteles. "nextCursor" es el token que hay que enviar como
+    parámetro "cursor" para pedir la página siguiente; es null cuando ya no hay más.
+    En la búsqueda del front, "ratings" trae el resumen de reseñas de cada hotel de la página,
+    por id, para pintar las tarjetas sin otra petición (en el listado no viene).*/
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+@Value
+@Builder
+public class HotelPageDto {
+
+    List<HotelDto> items;
+    String nextCursor;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Map<Long, HotelRatingDto> ratings;
+
+}
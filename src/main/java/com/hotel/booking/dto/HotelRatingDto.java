@@ -0,0 +1,22 @@
+package com.hotel.booking.dto;
+
+/*
+    Resumen de las reseñas de un hotel para su tarjeta: cuántas tiene, la media (null si no tiene ninguna)
+    y el histograma, histogram[0] = reseñas de 1 estrella ... histogram[4] = reseñas de 5.
+    Sale ya calculado de hotel_rating: pedirlo no recorre las reseñas.*/
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class HotelRatingDto {
+
+    Long hotelId;
+    long reviewCount;
+    Double averageRating;
+    List<Long> histogram;
+
+}
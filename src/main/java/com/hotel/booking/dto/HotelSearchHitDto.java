@@ -0,0 +1,16 @@
+package com.hotel.booking.dto;
+
+/*
+    Un resultado de la búsqueda de texto libre: el hotel y su puntuación de relevancia (mayor = mejor).*/
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class HotelSearchHitDto {
+
+    HotelDto hotel;
+    float score;
+
+}
@@ -0,0 +1,13 @@
+package com.hotel.booking.dto;
+
+/*
+    Orden de la búsqueda de hoteles (parámetro "sort" de GET /api/hotels/search).*/
+
+public enum HotelSort {
+
+    // Más estrellas primero (el orden de siempre)
+    STARS,
+    // Mejor media de reseñas primero (la de hotel_rating, ya calculada)
+    RATING
+
+}
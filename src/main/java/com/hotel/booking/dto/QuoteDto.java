@@ -0,0 +1,25 @@
+package com.hotel.booking.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** Presupuesto de una estancia: lo que costaría reservar la habitación esas noches. */
+@Value
+@Builder
+public class QuoteDto {
+
+    Long hotelId;
+    Long roomId;
+    LocalDate checkIn;
+    LocalDate checkOut;
+    int nights;
+    // Precio base por noche de la habitación, antes de aplicar las reglas de tarifa
+    BigDecimal nightlyPrice;
+    // Descuento por estancia larga aplicado (en %), ya incluido en totalPrice
+    int lengthOfStayDiscount;
+    BigDecimal totalPrice;
+
+}
@@ -0,0 +1,26 @@
+package com.hotel.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hotel.booking.domain.pricing.RateRuleKind;
+import com.hotel.booking.domain.room.RoomType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/** Regla de tarifa tal y como la devolvemos al cliente (sin los campos que no usa su tipo). */
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RateRuleDto {
+
+    Long id;
+    Long hotelId;
+    RoomType roomType;
+    RateRuleKind kind;
+    LocalDate startDate;
+    LocalDate endDate;
+    Integer minNights;
+    Integer percent;
+
+}
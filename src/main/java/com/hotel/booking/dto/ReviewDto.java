@@ -0,0 +1,22 @@
+package com.hotel.booking.dto;
+
+/*
+    Una reseña tal y como la devolvemos al cliente.*/
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@Builder
+public class ReviewDto {
+
+    Long id;
+    Long hotelId;
+    Long guestId;
+    Integer rating;
+    String comment;
+    Instant createdAt;
+
+}
@@ -0,0 +1,25 @@
+package com.hotel.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hotel.booking.domain.room.RoomType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/** Habitación tal y como la devolvemos al cliente. */
+@Value
+@Builder
+public class RoomDto {
+
+    Long id;
+    Long hotelId;
+    String number;
+    RoomType type;
+    Integer capacity;
+    BigDecimal price;
+    // Solo en las consultas de disponibilidad: precio total de la estancia consultada (ver RateCalendarIndex)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    BigDecimal totalPrice;
+
+}
@@ -0,0 +1,16 @@
+package com.hotel.booking.dto;
+
+/*
+    Sugerencia de autocompletado: un término del índice y en cuántos hoteles aparece.*/
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class TermSuggestionDto {
+
+    String term;
+    int hotels;
+
+}
@@ -0,0 +1,107 @@
+package com.hotel.booking.eventlog;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cola circular acotada y sin locks para muchos productores y un único consumidor.
+ *
+ * Cada hueco lleva un número de secuencia que dice de quién es el turno (cola de Vyukov):
+ * - secuencia == posición: el hueco está libre para el productor que reserve esa posición.
+ * - secuencia == posición + 1: el hueco tiene un elemento publicado para el consumidor.
+ * Los productores reservan su posición con un CAS sobre "tail" y después publican el elemento
+ * actualizando la secuencia del hueco; el consumidor solo lee huecos ya publicados, así que nunca
+ * ve un elemento a medio escribir. Si la cola está llena, offer() devuelve false sin esperar.
+ *
+ * Solo puede haber un hilo llamando a poll()/drainTo() (el escritor de HotelEventLog).
+ */
+public class BoundedRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    // Siguiente posición que reservará un productor
+    private final AtomicLong tail = new AtomicLong();
+
+    // Siguiente posición que leerá el consumidor; atómica solo para que size() la lea bien desde otros hilos
+    private final AtomicLong head = new AtomicLong();
+
+    public BoundedRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("La capacidad debe ser al menos 2: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1; // potencia de 2: posición & mask en vez de %
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    /** Añade el elemento si hay hueco. Nunca bloquea. */
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long sequence = sequences.getAcquire(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.setPlain(index, element);
+                    sequences.setRelease(index, position + 1); // publica el elemento
+                    return true;
+                }
+                position = tail.get(); // otro productor se ha llevado esta posición
+            } else if (sequence < position) {
+                return false; // el hueco aún tiene el elemento de la vuelta anterior: llena
+            } else {
+                position = tail.get(); // nos hemos quedado atrás: otro productor ya avanzó
+            }
+        }
+    }
+
+    /** Saca el siguiente elemento, o null si está vacía. Solo desde el hilo consumidor. */
+    public E poll() {
+        long position = head.getPlain();
+        int index = (int) position & mask;
+        if (sequences.getAcquire(index) != position + 1) {
+            return null;
+        }
+        E element = slots.getPlain(index);
+        slots.setPlain(index, null);
+        // El hueco queda libre para el productor de la siguiente vuelta
+        sequences.setRelease(index, position + mask + 1);
+        head.setRelease(position + 1);
+        return element;
+    }
+
+    /** Pasa a "target" hasta max elementos; devuelve cuántos. Solo desde el hilo consumidor. */
+    public int drainTo(List<? super E> target, int max) {
+        int drained = 0;
+        E element;
+        while (drained < max && (element = poll()) != null) {
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /** Elementos pendientes (aproximado si hay productores activos). */
+    public int size() {
+        long size = tail.get() - head.getAcquire();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
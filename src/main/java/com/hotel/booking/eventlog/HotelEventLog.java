@@ -0,0 +1,15 @@
+package com.hotel.booking.eventlog;
+
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+
+/**
+ * Registra cada alta, modificación y borrado de hoteles en la tabla "hotel_event" (el change feed).
+ *
+ * Es una interfaz para elegir implementación por configuración (ver HotelEventLogConfig):
+ * WriteBehindHotelEventLog (buffer en memoria + escritura en batch en segundo plano) o
+ * SynchronousHotelEventLog (un INSERT en el hilo de la petición).
+ */
+public interface HotelEventLog {
+
+    void append(HotelChangedEvent event);
+}
@@ -0,0 +1,24 @@
+package com.hotel.booking.eventlog;
+
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pasa cada HotelChangedEvent al {@link HotelEventLog}.
+ *
+ * @TransactionalEventListener: si el evento se publica dentro de una transacción, solo se
+ * registra cuando esta confirma (un cambio deshecho no debe aparecer en el feed).
+ * fallbackExecution = true: HotelService publica fuera de transacción, cuando el save ya
+ * ha confirmado la suya; en ese caso se registra en el momento.
+ */
+@RequiredArgsConstructor
+public class HotelEventLogListener {
+
+    private final HotelEventLog hotelEventLog;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        hotelEventLog.append(event);
+    }
+}
@@ -0,0 +1,32 @@
+package com.hotel.booking.eventlog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.domain.hotel.HotelEvent;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+/**
+ * Convierte un HotelChangedEvent en la fila de "hotel_event" (con el hotel en JSON).
+ */
+final class HotelEvents {
+
+    private HotelEvents() {
+    }
+
+    static HotelEvent toRow(HotelChangedEvent event, Instant occurredAt, ObjectMapper objectMapper) {
+        try {
+            return HotelEvent.builder()
+                    .hotelId(event.getHotelId())
+                    .type(event.getType())
+                    .hotelVersion(event.getHotel() == null ? null : event.getHotel().getVersion())
+                    .occurredAt(occurredAt)
+                    .payload(event.getHotel() == null ? null : objectMapper.writeValueAsString(event.getHotel()))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.hotel.booking.eventlog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.repository.HotelEventRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Un INSERT por evento, en el hilo que hizo el cambio: la petición no termina hasta que el
+ * evento está guardado (nunca se pierde uno), a cambio de una segunda escritura en cada cambio.
+ */
+@RequiredArgsConstructor
+public class SynchronousHotelEventLog implements HotelEventLog {
+
+    private final HotelEventRepository repository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Clock clock;
+
+    @Override
+    public void append(HotelChangedEvent event) {
+        repository.insertAll(List.of(HotelEvents.toRow(event, Instant.now(clock), objectMapper)));
+    }
+}
@@ -0,0 +1,14 @@
+package com.hotel.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// La reserva pedida no existe => 404 Not Found.
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class BookingNotFoundException extends RuntimeException {
+
+    public BookingNotFoundException(String message) {
+        super(message);
+    }
+
+}
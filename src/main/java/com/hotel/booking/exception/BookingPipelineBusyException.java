@@ -0,0 +1,14 @@
+package com.hotel.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Demasiadas reservas asíncronas en curso (hotel.booking-pipeline.max-in-flight) => 503: el cliente reintenta más tarde.
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BookingPipelineBusyException extends RuntimeException {
+
+    public BookingPipelineBusyException(String message) {
+        super(message);
+    }
+
+}
@@ -7,8 +7,27 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class HotelNotFoundException extends RuntimeException{
 
+    // Solo con el constructor por id: el mensaje se monta cuando alguien lo pide
+    private final Long hotelId;
+
     public HotelNotFoundException(String message) {
        super(message);// <-- Llama al constructor padre para establecer el mensaje
+       this.hotelId = null;
+    }
+
+    /**
+     * "No existe el hotel con ese id". Un 404 es una respuesta normal, no un fallo que haya que
+     * depurar: sin pila (capturarla es lo más caro de crear una excepción, y más con la pila de
+     * Spring MVC debajo) y sin concatenar el mensaje salvo que se lea.
+     */
+    public HotelNotFoundException(Long hotelId) {
+        super(null, null, false, false);
+        this.hotelId = hotelId;
     }
-    
+
+    @Override
+    public String getMessage() {
+        return hotelId == null ? super.getMessage() : "Hotel no encontrado con id: " + hotelId;
+    }
+
 }
@@ -0,0 +1,15 @@
+package com.hotel.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Un PUT sin If-Match que no consigue escribir porque otras escrituras del mismo hotel se le cuelan una y
+// otra vez => 409 Conflict. El cliente puede reintentar más tarde (o leerlo y mandar su If-Match).
+@ResponseStatus(HttpStatus.CONFLICT)
+public class HotelUpdateConflictException extends RuntimeException {
+
+    public HotelUpdateConflictException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.hotel.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// El If-Match del cliente no es la versión actual del hotel (otro lo ha modificado) => 412 Precondition Failed.
+// El cliente debe volver a leerlo (GET, nuevo ETag) y reintentar su cambio sobre los datos actuales.
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class HotelVersionMismatchException extends RuntimeException {
+
+    public HotelVersionMismatchException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.hotel.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Se lanza cuando el cuerpo de una carga masiva no se puede leer (JSON mal formado,
+// demasiados elementos...). Spring la transforma en un 400 Bad Request.
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidBulkPayloadException extends RuntimeException {
+
+    public InvalidBulkPayloadException(String message) {
+        super(message);
+    }
+
+    public InvalidBulkPayloadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
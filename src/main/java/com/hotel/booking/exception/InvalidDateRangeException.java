@@ -0,0 +1,15 @@
+package com.hotel.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Fechas de entrada/salida imposibles (salida no posterior a la entrada, en el pasado o
+// más allá del horizonte de reservas) => 400 Bad Request.
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidDateRangeException extends RuntimeException {
+
+    public InvalidDateRangeException(String message) {
+        super(message);
+    }
+
+}
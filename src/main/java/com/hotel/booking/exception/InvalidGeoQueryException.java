@@ -0,0 +1,14 @@
+package com.hotel.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Coordenadas fuera de rango, radio negativo o recuadro al revés en las búsquedas por cercanía => 400 Bad Request.
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidGeoQueryException extends RuntimeException {
+
+    public InvalidGeoQueryException(String message) {
+        super(message);
+    }
+
+}
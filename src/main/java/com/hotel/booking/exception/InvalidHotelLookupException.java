@@ -0,0 +1,14 @@
+package com.hotel.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// La lectura de varios hoteles pide más ids de los permitidos => 400 Bad Request.
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidHotelLookupException extends RuntimeException {
+
+    public InvalidHotelLookupException(String message) {
+        super(message);
+    }
+
+}
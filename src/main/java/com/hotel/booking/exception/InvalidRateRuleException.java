@@ -0,0 +1,14 @@
+package com.hotel.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Regla de tarifa incompleta o incoherente (temporada sin fechas, descuento de más del 100%...) => 400 Bad Request.
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRateRuleException extends RuntimeException {
+
+    public InvalidRateRuleException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.hotel.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// La regla de tarifa pedida no existe (o es de otro hotel) => 404 Not Found.
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class RateRuleNotFoundException extends RuntimeException {
+
+    public RateRuleNotFoundException(String message) {
+        super(message);
+    }
+
+}
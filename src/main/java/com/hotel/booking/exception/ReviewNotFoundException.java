@@ -0,0 +1,14 @@
+package com.hotel.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// La reseña pedida no existe (o es de otro hotel) => 404 Not Found.
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ReviewNotFoundException extends RuntimeException {
+
+    public ReviewNotFoundException(String message) {
+        super(message);
+    }
+
+}
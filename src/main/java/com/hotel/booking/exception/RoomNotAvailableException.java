@@ -0,0 +1,14 @@
+package com.hotel.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Alguna de las noches pedidas ya está reservada => 409 Conflict (el cliente puede elegir otras fechas u otra habitación).
+@ResponseStatus(HttpStatus.CONFLICT)
+public class RoomNotAvailableException extends RuntimeException {
+
+    public RoomNotAvailableException(String message) {
+        super(message);
+    }
+
+}
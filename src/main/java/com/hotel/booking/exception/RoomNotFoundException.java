@@ -0,0 +1,14 @@
+package com.hotel.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// La habitación pedida no existe => 404 Not Found.
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class RoomNotFoundException extends RuntimeException {
+
+    public RoomNotFoundException(String message) {
+        super(message);
+    }
+
+}
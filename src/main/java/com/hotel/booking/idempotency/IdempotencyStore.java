@@ -0,0 +1,25 @@
+package com.hotel.booking.idempotency;
+
+import java.util.Optional;
+
+/**
+ * Dónde se guardan las respuestas de las peticiones con Idempotency-Key durante hotel.idempotency.ttl.
+ *
+ * Una clave pasa por: tryClaim (pendiente) -> complete (respuesta guardada) o release (la petición
+ * falló y se puede reintentar). tryClaim es atómico: de varias peticiones con la misma clave,
+ * solo una lo consigue, aunque estén en nodos distintos si el almacén es compartido.
+ */
+public interface IdempotencyStore {
+
+    /** La respuesta guardada (o pendiente) para la clave, si no ha caducado. */
+    Optional<StoredResponse> find(String key);
+
+    /** Reserva la clave para procesar la petición. false si ya la tiene otra petición (pendiente o terminada). */
+    boolean tryClaim(String key, String fingerprint);
+
+    /** Guarda la respuesta de la petición que reservó la clave. */
+    void complete(String key, StoredResponse response);
+
+    /** Libera la clave sin guardar nada: el siguiente reintento volverá a ejecutar la petición. */
+    void release(String key);
+}
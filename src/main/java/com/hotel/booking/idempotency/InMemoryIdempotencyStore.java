@@ -0,0 +1,48 @@
+package com.hotel.booking.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hotel.booking.config.IdempotencyProperties;
+
+import java.util.Optional;
+
+/**
+ * {@link IdempotencyStore} en memoria con Caffeine, acotado por número de claves y por TTL.
+ * Cada nodo tiene el suyo: con varias instancias detrás de un balanceador, un reintento que cae en
+ * otro nodo se ejecutaría otra vez. Para eso está JdbcIdempotencyStore (hotel.idempotency.store=jdbc).
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, StoredResponse> responses;
+
+    public InMemoryIdempotencyStore(IdempotencyProperties properties) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        return Optional.ofNullable(responses.getIfPresent(key));
+    }
+
+    @Override
+    public boolean tryClaim(String key, String fingerprint) {
+        return responses.asMap().putIfAbsent(key, StoredResponse.pending(fingerprint)) == null;
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        responses.put(key, response);
+    }
+
+    @Override
+    public void release(String key) {
+        responses.invalidate(key);
+    }
+
+    public long size() {
+        return responses.estimatedSize();
+    }
+}
@@ -0,0 +1,168 @@
+package com.hotel.booking.idempotency;
+
+import com.hotel.booking.config.IdempotencyProperties;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link IdempotencyStore} en la tabla "idempotency_key", compartido por todas las instancias.
+ *
+ * La clave primaria hace de árbitro: de dos INSERT con la misma clave, aunque vengan de nodos
+ * distintos, solo uno entra. Una clave pendiente caduca a los pendingTtl (si el nodo que la
+ * procesaba se cae, la clave no queda bloqueada todo el ttl); una respuesta guardada, a los ttl.
+ * Las filas caducadas se borran al reclamar su clave y, como mucho una vez por minuto, todas a la vez.
+ * Los cuerpos JSON o de texto se guardan legibles; los binarios (Smile, CBOR), en Base64 con body_base64.
+ * Las cabeceras que se repiten (Location, ETag), en la columna headers, una por línea como en HTTP.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final long PURGE_INTERVAL_MILLIS = 60_000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final Clock clock;
+
+    private final Duration ttl;
+
+    private final Duration pendingTtl;
+
+    private final AtomicLong nextPurge = new AtomicLong();
+
+    public JdbcIdempotencyStore(NamedParameterJdbcTemplate jdbcTemplate, Clock clock, IdempotencyProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.ttl = properties.getTtl();
+        this.pendingTtl = properties.getPendingTtl();
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        return jdbcTemplate.query("""
+                        SELECT fingerprint, status, content_type, headers, body, body_base64 FROM idempotency_key
+                        WHERE request_key = :key AND expires_at > :now
+                        """,
+                params(key).addValue("now", now()),
+                (rs, rowNum) -> new StoredResponse(rs.getString("fingerprint"), rs.getInt("status"),
+                        rs.getString("content_type"), decodeHeaders(rs.getString("headers")),
+                        decode(rs.getString("body"), rs.getBoolean("body_base64"))))
+                .stream().findFirst();
+    }
+
+    @Override
+    public boolean tryClaim(String key, String fingerprint) {
+        purgeExpiredIfDue();
+        MapSqlParameterSource params = params(key)
+                .addValue("fingerprint", fingerprint)
+                .addValue("expiresAt", Timestamp.from(clock.instant().plus(pendingTtl)));
+        String insert = "INSERT INTO idempotency_key (request_key, fingerprint, expires_at) VALUES (:key, :fingerprint, :expiresAt)";
+        try {
+            jdbcTemplate.update(insert, params);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Puede ser una fila caducada que aún no se ha purgado: la borramos y lo intentamos una vez más
+            int expired = jdbcTemplate.update("DELETE FROM idempotency_key WHERE request_key = :key AND expires_at <= :now",
+                    params(key).addValue("now", now()));
+            if (expired == 0) {
+                return false;
+            }
+            try {
+                jdbcTemplate.update(insert, params);
+                return true;
+            } catch (DuplicateKeyException lost) {
+                return false; // otro nodo la ha reclamado entre el DELETE y el INSERT
+            }
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        jdbcTemplate.update("""
+                        UPDATE idempotency_key SET status = :status, content_type = :contentType, headers = :headers, body = :body,
+                               body_base64 = :base64, expires_at = :expiresAt
+                        WHERE request_key = :key
+                        """,
+                params(key)
+                        .addValue("status", response.status())
+                        .addValue("contentType", response.contentType())
+                        .addValue("headers", encodeHeaders(response.headers()))
+                        .addValue("body", encode(response.body(), isText(response.contentType())))
+                        .addValue("base64", !isText(response.contentType()))
+                        .addValue("expiresAt", Timestamp.from(clock.instant().plus(ttl))));
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE request_key = :key", params(key));
+    }
+
+    // JSON (application/json, application/x-ndjson, application/problem+json...) y text/*: siempre UTF-8 en esta API
+    private static boolean isText(String contentType) {
+        return contentType == null || contentType.startsWith("text/") || contentType.contains("json");
+    }
+
+    private static String encode(byte[] body, boolean text) {
+        if (body == null) {
+            return null;
+        }
+        return text ? new String(body, StandardCharsets.UTF_8) : Base64.getEncoder().encodeToString(body);
+    }
+
+    private static byte[] decode(String body, boolean base64) {
+        if (body == null) {
+            return null;
+        }
+        return base64 ? Base64.getDecoder().decode(body) : body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Los valores de una cabecera HTTP no llevan saltos de línea: "Nombre: valor" por línea, sin escapar nada
+    private static String encodeHeaders(Map<String, String> headers) {
+        if (headers.isEmpty()) {
+            return null;
+        }
+        StringBuilder encoded = new StringBuilder();
+        headers.forEach((name, value) -> encoded.append(name).append(": ").append(value).append('\n'));
+        return encoded.toString();
+    }
+
+    private static Map<String, String> decodeHeaders(String encoded) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (encoded != null) {
+            for (String line : encoded.split("\n")) {
+                int colon = line.indexOf(": ");
+                if (colon > 0) {
+                    headers.put(line.substring(0, colon), line.substring(colon + 2));
+                }
+            }
+        }
+        return headers;
+    }
+
+    private void purgeExpiredIfDue() {
+        long now = clock.millis();
+        long due = nextPurge.get();
+        if (now >= due && nextPurge.compareAndSet(due, now + PURGE_INTERVAL_MILLIS)) {
+            jdbcTemplate.update("DELETE FROM idempotency_key WHERE expires_at <= :now",
+                    new MapSqlParameterSource("now", now()));
+        }
+    }
+
+    private Timestamp now() {
+        return Timestamp.from(Instant.now(clock));
+    }
+
+    private static MapSqlParameterSource params(String key) {
+        return new MapSqlParameterSource("key", key);
+    }
+}
@@ -0,0 +1,27 @@
+package com.hotel.booking.idempotency;
+
+import java.util.Map;
+
+/**
+ * Respuesta guardada de una petición con Idempotency-Key, lista para repetirla tal cual.
+ * @param fingerprint SHA-256 del cuerpo de la petición original: la misma clave con otro cuerpo es un error.
+ * @param status      Código HTTP, o 0 si la petición original aún no ha terminado.
+ * @param headers     Las cabeceras de la respuesta que se repiten (IdempotencyFilter.STORED_HEADERS: Location,
+ *                    ETag), por nombre; sin las que no tenía.
+ * @param body        Bytes tal cual se enviaron: pueden ser JSON o un formato binario (Smile, CBOR).
+ */
+public record StoredResponse(String fingerprint, int status, String contentType, Map<String, String> headers,
+                             byte[] body) {
+
+    public StoredResponse {
+        headers = headers == null ? Map.of() : Map.copyOf(headers);
+    }
+
+    static StoredResponse pending(String fingerprint) {
+        return new StoredResponse(fingerprint, 0, null, Map.of(), null);
+    }
+
+    public boolean isPending() {
+        return status == 0;
+    }
+}
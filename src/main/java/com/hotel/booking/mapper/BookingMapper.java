@@ -0,0 +1,15 @@
+package com.hotel.booking.mapper;
+
+import com.hotel.booking.domain.booking.Booking;
+import com.hotel.booking.dto.BookingDto;
+import org.mapstruct.Mapper;
+
+/**
+ * Conversión de Booking a BookingDto. La entidad se construye en BookingService,
+ * porque el estado y el precio total no vienen en la petición.
+ */
+@Mapper(componentModel = "spring")
+public interface BookingMapper {
+
+    BookingDto toDto(Booking booking);
+}
@@ -4,6 +4,7 @@ import com.hotel.booking.domain.hotel.Hotel;
 import com.hotel.booking.dto.CreateHotelRequestDto;
 import com.hotel.booking.dto.HotelDto;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.Optional;
 
@@ -31,6 +32,10 @@ public interface HotelMapper {
      * @param request El DTO con los datos de entrada.
      * @return La entidad de dominio lista para ser guardada.
      */
+    // cityNormalized no viene en la petición: se calcula al guardar (HotelBeforeConvertCallback)
+    @Mapping(target = "cityNormalized", ignore = true)
+    // version la gestiona Spring Data (0 al insertar); en las modificaciones la pone HotelService
+    @Mapping(target = "version", ignore = true)
     Hotel toEntity(CreateHotelRequestDto request);
 
 }
\ No newline at end of file
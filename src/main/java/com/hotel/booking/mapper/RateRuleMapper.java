@@ -0,0 +1,21 @@
+package com.hotel.booking.mapper;
+
+import com.hotel.booking.domain.pricing.RateRule;
+import com.hotel.booking.dto.CreateRateRuleRequestDto;
+import com.hotel.booking.dto.RateRuleDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Conversión entre RateRule y sus DTOs (MapStruct genera la implementación, igual que RoomMapper).
+ */
+@Mapper(componentModel = "spring")
+public interface RateRuleMapper {
+
+    RateRuleDto toDto(RateRule rule);
+
+    // El id lo genera la base de datos y el hotel viene de la URL, no del cuerpo
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "hotelId", ignore = true)
+    RateRule toEntity(CreateRateRuleRequestDto request);
+}
@@ -0,0 +1,34 @@
+package com.hotel.booking.mapper;
+
+import com.hotel.booking.domain.review.HotelRating;
+import com.hotel.booking.domain.review.Review;
+import com.hotel.booking.dto.CreateReviewRequestDto;
+import com.hotel.booking.dto.HotelRatingDto;
+import com.hotel.booking.dto.ReviewDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Conversión entre Review, HotelRating y sus DTOs (MapStruct genera la implementación, igual que RoomMapper).
+ */
+@Mapper(componentModel = "spring")
+public interface ReviewMapper {
+
+    ReviewDto toDto(Review review);
+
+    // El id lo genera la base de datos, el hotel viene de la URL y la fecha la pone ReviewService
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "hotelId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    Review toEntity(CreateReviewRequestDto request);
+
+    // Sin reseñas no hay media: null en vez de un 0 que parecería la peor nota
+    default HotelRatingDto toDto(HotelRating rating) {
+        return HotelRatingDto.builder()
+                .hotelId(rating.getHotelId())
+                .reviewCount(rating.getReviewCount())
+                .averageRating(rating.getReviewCount() == 0 ? null : rating.getAverageRating())
+                .histogram(rating.getHistogram())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.hotel.booking.mapper;
+
+import com.hotel.booking.domain.room.Room;
+import com.hotel.booking.dto.CreateRoomRequestDto;
+import com.hotel.booking.dto.RoomDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversión entre Room y sus DTOs (MapStruct genera la implementación, igual que HotelMapper).
+ */
+@Mapper(componentModel = "spring")
+public interface RoomMapper {
+
+    @Mapping(target = "totalPrice", ignore = true)
+    RoomDto toDto(Room room);
+
+    // La habitación con el precio de una estancia concreta (consultas de disponibilidad)
+    RoomDto toQuotedDto(Room room, BigDecimal totalPrice);
+
+    // El id lo genera la base de datos y el hotel viene de la URL, no del cuerpo
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "hotelId", ignore = true)
+    Room toEntity(CreateRoomRequestDto request);
+}
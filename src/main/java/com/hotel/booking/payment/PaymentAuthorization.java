@@ -0,0 +1,15 @@
+package com.hotel.booking.payment;
+
+/**
+ * Respuesta del proveedor a una autorización: aprobada (con su referencia) o rechazada (con el motivo).
+ */
+public record PaymentAuthorization(boolean approved, String reference, String declineReason) {
+
+    public static PaymentAuthorization approved(String reference) {
+        return new PaymentAuthorization(true, reference, null);
+    }
+
+    public static PaymentAuthorization declined(String reason) {
+        return new PaymentAuthorization(false, null, reason);
+    }
+}
@@ -0,0 +1,24 @@
+package com.hotel.booking.payment;
+
+import com.hotel.booking.domain.payment.PaymentMethod;
+
+import java.math.BigDecimal;
+
+/**
+ * Proveedor de pagos externo (la pasarela). Sus llamadas tardan cientos de milisegundos o más y
+ * pueden fallar, así que no se hacen en el hilo de la petición HTTP sino en BookingPipeline.
+ *
+ * Las dos operaciones son idempotentes por paymentKey (el id de nuestro Payment): tras una caída,
+ * repetir authorize devuelve la autorización que ya se hizo, en vez de autorizar el importe otra vez.
+ */
+public interface PaymentProvider {
+
+    /**
+     * Autoriza (retiene) el importe en el medio de pago del huésped; el cobro se hace en el check-in.
+     * @throws RuntimeException si el proveedor no responde o falla: el pago sigue pendiente y se reintenta.
+     */
+    PaymentAuthorization authorize(String paymentKey, BigDecimal amount, PaymentMethod method);
+
+    /** Anula la autorización, si la hubo (no hace nada si no existe). */
+    void voidAuthorization(String paymentKey);
+}
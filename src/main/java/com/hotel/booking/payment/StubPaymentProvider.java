@@ -0,0 +1,65 @@
+package com.hotel.booking.payment;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hotel.booking.config.PaymentProperties;
+import com.hotel.booking.domain.payment.PaymentMethod;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Proveedor de pagos local, para desarrollo y benchmarks: cada llamada duerme latency más un extra
+ * aleatorio de hasta jitter (como la ida y vuelta a una pasarela real) y rechaza una fracción
+ * declineRate de las autorizaciones. Con esto se mide el pipeline de reservas sin depender de nadie.
+ *
+ * Recuerda sus autorizaciones (las últimas 100.000) para ser idempotente como un proveedor de verdad.
+ */
+public class StubPaymentProvider implements PaymentProvider {
+
+    private static final int REMEMBERED_AUTHORIZATIONS = 100_000;
+
+    private final long latencyNanos;
+
+    private final long jitterNanos;
+
+    private final double declineRate;
+
+    private final Cache<String, PaymentAuthorization> authorizations = Caffeine.newBuilder()
+            .maximumSize(REMEMBERED_AUTHORIZATIONS)
+            .build();
+
+    public StubPaymentProvider(PaymentProperties.Stub properties) {
+        this.latencyNanos = properties.getLatency().toNanos();
+        this.jitterNanos = properties.getJitter().toNanos();
+        this.declineRate = properties.getDeclineRate();
+    }
+
+    @Override
+    public PaymentAuthorization authorize(String paymentKey, BigDecimal amount, PaymentMethod method) {
+        simulateLatency();
+        return authorizations.get(paymentKey, key -> ThreadLocalRandom.current().nextDouble() < declineRate
+                ? PaymentAuthorization.declined("Rechazado por el emisor (simulado)")
+                : PaymentAuthorization.approved("stub-" + UUID.randomUUID()));
+    }
+
+    @Override
+    public void voidAuthorization(String paymentKey) {
+        simulateLatency();
+        authorizations.invalidate(paymentKey);
+    }
+
+    private void simulateLatency() {
+        long nanos = latencyNanos + (jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos + 1) : 0);
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pago interrumpido", e);
+        }
+    }
+}
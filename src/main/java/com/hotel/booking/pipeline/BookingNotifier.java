@@ -0,0 +1,12 @@
+package com.hotel.booking.pipeline;
+
+import com.hotel.booking.dto.BookingDto;
+
+/**
+ * Última etapa de una reserva asíncrona: avisar al huésped (correo, SMS...).
+ * Entrega "al menos una vez": si el proceso muere justo después de avisar, al arrancar se avisa otra vez.
+ */
+public interface BookingNotifier {
+
+    void bookingConfirmed(BookingDto booking);
+}
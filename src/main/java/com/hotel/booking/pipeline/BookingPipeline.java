@@ -0,0 +1,411 @@
+package com.hotel.booking.pipeline;
+
+import com.hotel.booking.config.BookingPipelineProperties;
+import com.hotel.booking.domain.booking.Booking;
+import com.hotel.booking.domain.booking.BookingStage;
+import com.hotel.booking.domain.booking.BookingStatus;
+import com.hotel.booking.dto.BookingDto;
+import com.hotel.booking.dto.CreateBookingRequestDto;
+import com.hotel.booking.exception.BookingPipelineBusyException;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.service.AsyncBookingService;
+import com.hotel.booking.service.AsyncBookingService.StageResult;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Reservas asíncronas (POST /api/bookings/async): la petición HTTP solo guarda la reserva PENDING y
+ * responde 202; las etapas van después, cada una en su propio grupo de hilos:
+ *
+ *   RESERVE            reserveThreads hilos de plataforma   (base de datos, rápida)
+ *   AUTHORIZE_PAYMENT  paymentConcurrency hilos virtuales   (esperar al proveedor, lenta)
+ *   CONFIRM, NOTIFY    confirmThreads hilos de plataforma   (base de datos, rápida)
+ *
+ * Así un proveedor de pagos lento solo ocupa hilos virtuales (baratos) y no retrasa las retenciones
+ * de noches ni las confirmaciones, y cada grupo tiene su propio límite de concurrencia.
+ *
+ * Contrapresión: un semáforo de maxInFlight permisos, uno por reserva aceptada y sin terminar. Sin
+ * permiso libre, submit() responde 503 al momento (BookingPipelineBusyException); con él, las colas
+ * de las etapas nunca tienen más de maxInFlight elementos, aunque sean LinkedBlockingQueue.
+ *
+ * Estado persistente: la etapa de cada reserva está en booking.stage, no en memoria. Las colas solo
+ * llevan ids; si el proceso muere, al arrancar (ApplicationReadyEvent, después de cargar el índice de
+ * disponibilidad) se retoman todas las reservas con stage. Cada etapa comprueba la suya antes de
+ * actuar, así que retomar una que otra instancia ya ha movido no hace nada (ver AsyncBookingService).
+ *
+ * Caducidad de las retenciones: al retener las noches se programa un temporizador a holdTimeout, que
+ * se cancela cuando responde el proveedor; si salta antes, se liberan las noches (EXPIRED). Cada
+ * expirySweepInterval se buscan además en la base de datos las caducadas sin temporizador (las que
+ * dejó otra instancia).
+ *
+ * Una etapa que falla (base de datos caída, proveedor sin respuesta) se repite tras retryDelay, sin
+ * soltar su permiso; mientras, la retención sigue corriendo y puede caducar. Salvo que falle con
+ * IllegalArgumentException o IllegalStateException: eso no se arregla repitiendo (datos que ya no
+ * encajan, como unas fechas fuera del índice), y reintentarla para siempre acabaría ocupando todos los
+ * permisos. Se registra como error, suelta el permiso y la reserva se queda en su etapa en la base de
+ * datos: la retoma el siguiente arranque, y si tenía noches retenidas, las libera su caducidad.
+ */
+@Slf4j
+public class BookingPipeline implements SmartLifecycle, MeterBinder {
+
+    private final AsyncBookingService bookings;
+
+    private final BookingRepository bookingRepository;
+
+    private final Clock clock;
+
+    private final BookingPipelineProperties properties;
+
+    private final Semaphore permits;
+
+    private final LongAdder accepted = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder retries = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    // Reservas que han llegado a cada estado (CONFIRMED y los finales); solo las escribe esta clase
+    private final Map<BookingStatus, LongAdder> outcomes = new EnumMap<>(BookingStatus.class);
+
+    // Tiempo que estuvieron retenidas las noches, por cómo terminó la retención; null hasta bindTo
+    private volatile Map<BookingStatus, Timer> holdTimers;
+
+    private volatile ThreadPoolExecutor reserveExecutor;
+
+    private volatile ThreadPoolExecutor paymentExecutor;
+
+    private volatile ThreadPoolExecutor confirmExecutor;
+
+    private volatile ScheduledThreadPoolExecutor scheduler;
+
+    // Temporizador de caducidad de cada reserva que espera el pago (como mucho maxInFlight)
+    private final Map<Long, ScheduledFuture<?>> expiryTimers = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    public BookingPipeline(AsyncBookingService bookings, BookingRepository bookingRepository, Clock clock,
+                           BookingPipelineProperties properties) {
+        if (properties.getMaxInFlight() < 1) {
+            throw new IllegalArgumentException("hotel.booking-pipeline.max-in-flight tiene que ser >= 1");
+        }
+        this.bookings = bookings;
+        this.bookingRepository = bookingRepository;
+        this.clock = clock;
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getMaxInFlight());
+        for (BookingStatus status : List.of(BookingStatus.CONFIRMED, BookingStatus.REJECTED,
+                BookingStatus.PAYMENT_FAILED, BookingStatus.EXPIRED)) {
+            outcomes.put(status, new LongAdder());
+        }
+    }
+
+    /**
+     * Acepta una reserva: la guarda PENDING y la pone en la cola de RESERVE.
+     * @throws BookingPipelineBusyException si ya hay maxInFlight reservas en curso.
+     */
+    public BookingDto submit(CreateBookingRequestDto request) {
+        if (!running || !permits.tryAcquire()) {
+            rejected.increment();
+            throw new BookingPipelineBusyException("Demasiadas reservas en curso; inténtelo de nuevo en unos segundos");
+        }
+        BookingDto booking;
+        try {
+            booking = bookings.requestBooking(request);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        accepted.increment();
+        dispatch(BookingStage.RESERVE, booking.getId());
+        return booking;
+    }
+
+    /**
+     * Retoma las reservas que quedaron a medias en la base de datos (tras una caída o un reinicio).
+     * En un hilo aparte: si son más que maxInFlight, espera a que se vayan liberando permisos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void recover() {
+        List<Booking> unfinished = bookingRepository.findByStageIsNotNull();
+        if (unfinished.isEmpty()) {
+            return;
+        }
+        log.info("Retomando {} reservas asíncronas a medias", unfinished.size());
+        Thread.ofVirtual().name("booking-pipeline-recovery").start(() -> {
+            for (Booking booking : unfinished) {
+                permits.acquireUninterruptibly();
+                if (!running) {
+                    permits.release();
+                    return;
+                }
+                if (booking.getStage() == BookingStage.AUTHORIZE_PAYMENT) {
+                    scheduleExpiry(booking.getId(), Duration.between(Instant.now(clock), booking.getHoldExpiresAt()));
+                }
+                dispatch(booking.getStage(), booking.getId());
+            }
+        });
+    }
+
+    private void dispatch(BookingStage stage, long bookingId) {
+        ThreadPoolExecutor executor = switch (stage) {
+            case RESERVE -> reserveExecutor;
+            case AUTHORIZE_PAYMENT -> paymentExecutor;
+            case CONFIRM, NOTIFY -> confirmExecutor;
+        };
+        try {
+            executor.execute(() -> run(stage, bookingId));
+        } catch (RejectedExecutionException e) {
+            // Parando: la reserva sigue en su etapa en la base de datos y se retoma al arrancar
+            permits.release();
+        }
+    }
+
+    private void run(BookingStage stage, long bookingId) {
+        if (!running) {
+            permits.release();
+            return;
+        }
+        StageResult result;
+        try {
+            result = switch (stage) {
+                case RESERVE -> bookings.reserve(bookingId);
+                case AUTHORIZE_PAYMENT -> bookings.authorizePayment(bookingId);
+                case CONFIRM -> bookings.confirm(bookingId);
+                case NOTIFY -> bookings.notifyGuest(bookingId);
+            };
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            failures.increment();
+            log.error("Etapa {} de la reserva {} fallida sin arreglo posible; se deja en su etapa hasta el próximo arranque",
+                    stage, bookingId, e);
+            permits.release();
+            return;
+        } catch (RuntimeException e) {
+            retries.increment();
+            log.warn("Etapa {} de la reserva {} fallida; reintento en {} ms",
+                    stage, bookingId, properties.getRetryDelay().toMillis(), e);
+            schedule(() -> dispatch(stage, bookingId), properties.getRetryDelay(), true);
+            return;
+        }
+        if (stage == BookingStage.AUTHORIZE_PAYMENT) {
+            cancelExpiry(bookingId);
+        }
+        record(result);
+        if (result.next() == null) {
+            permits.release();
+            return;
+        }
+        if (result.next() == BookingStage.AUTHORIZE_PAYMENT) {
+            scheduleExpiry(bookingId, properties.getHoldTimeout());
+        }
+        dispatch(result.next(), bookingId);
+    }
+
+    // El temporizador solo encola: expireHold puede llamar al proveedor (anular), así que va a los hilos de pagos
+    private void scheduleExpiry(long bookingId, Duration delay) {
+        ScheduledFuture<?> timer = schedule(() -> {
+            try {
+                paymentExecutor.execute(() -> expire(bookingId));
+            } catch (RejectedExecutionException e) {
+                // Parando: la barrida del siguiente arranque la encontrará
+            }
+        }, delay, false);
+        if (timer != null) {
+            expiryTimers.put(bookingId, timer);
+        }
+    }
+
+    private void cancelExpiry(long bookingId) {
+        ScheduledFuture<?> timer = expiryTimers.remove(bookingId);
+        if (timer != null) {
+            timer.cancel(false);
+        }
+    }
+
+    private void expire(long bookingId) {
+        expiryTimers.remove(bookingId);
+        try {
+            record(bookings.expireHold(bookingId));
+        } catch (RuntimeException e) {
+            log.warn("No se ha podido liberar la retención caducada de la reserva {}; lo intentará la próxima barrida",
+                    bookingId, e);
+        }
+    }
+
+    private void sweepExpiredHolds() {
+        try {
+            List<Booking> expired = bookingRepository.findByStageAndHoldExpiresAtLessThanEqual(
+                    BookingStage.AUTHORIZE_PAYMENT, Instant.now(clock), Limit.of(properties.getMaxInFlight()));
+            for (Booking booking : expired) {
+                paymentExecutor.execute(() -> expire(booking.getId()));
+            }
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría la tarea periódica: la registramos y seguimos
+            log.warn("Fallo al buscar retenciones caducadas", e);
+        }
+    }
+
+    private ScheduledFuture<?> schedule(Runnable task, Duration delay, boolean holdsPermit) {
+        try {
+            return scheduler.schedule(task, Math.max(0, delay.toNanos()), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            if (holdsPermit) {
+                permits.release();
+            }
+            return null;
+        }
+    }
+
+    private void record(StageResult result) {
+        if (result.outcome() != null) {
+            outcomes.get(result.outcome()).increment();
+        }
+        Map<BookingStatus, Timer> timers = holdTimers;
+        if (result.held() != null && timers != null) {
+            timers.get(result.outcome()).record(result.held());
+        }
+    }
+
+    @Override
+    public void start() {
+        reserveExecutor = executor(properties.getReserveThreads(),
+                Thread.ofPlatform().name("booking-reserve-", 0).daemon().factory());
+        paymentExecutor = executor(properties.getPaymentConcurrency(),
+                Thread.ofVirtual().name("booking-payment-", 0).factory());
+        confirmExecutor = executor(properties.getConfirmThreads(),
+                Thread.ofPlatform().name("booking-confirm-", 0).daemon().factory());
+        scheduler = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform().name("booking-pipeline-timer").daemon().factory());
+        // Los temporizadores cancelados salen de la cola al momento, no cuando les tocaría saltar
+        scheduler.setRemoveOnCancelPolicy(true);
+        long sweepNanos = properties.getExpirySweepInterval().toNanos();
+        scheduler.scheduleWithFixedDelay(this::sweepExpiredHolds, sweepNanos, sweepNanos, TimeUnit.NANOSECONDS);
+        running = true;
+    }
+
+    // Tamaño fijo y cola sin límite: lo que limita lo encolado es el semáforo de permisos
+    private static ThreadPoolExecutor executor(int threads, ThreadFactory threadFactory) {
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory);
+    }
+
+    /**
+     * Deja de aceptar reservas, tira lo que quede en las colas (se retoma al arrancar, porque la etapa
+     * está en la base de datos) y espera hasta shutdownTimeout a que terminen las etapas en marcha.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+        List<ThreadPoolExecutor> executors = List.of(reserveExecutor, paymentExecutor, confirmExecutor);
+        executors.forEach(ThreadPoolExecutor::shutdown);
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        try {
+            for (ThreadPoolExecutor executor : executors) {
+                if (!executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    executor.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Como el registro de eventos: arranca antes que el servidor web y para después de que deje de recibir peticiones
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hotel.booking.pipeline.in.flight", this, BookingPipeline::inFlight)
+                .description("Reservas asíncronas aceptadas y sin terminar")
+                .register(registry);
+        registerQueueGauge(registry, "reserve", () -> reserveExecutor);
+        registerQueueGauge(registry, "payment", () -> paymentExecutor);
+        registerQueueGauge(registry, "confirm", () -> confirmExecutor);
+        FunctionCounter.builder("hotel.booking.pipeline.accepted", accepted, LongAdder::sum)
+                .description("Reservas asíncronas aceptadas (202)")
+                .register(registry);
+        FunctionCounter.builder("hotel.booking.pipeline.rejected", rejected, LongAdder::sum)
+                .description("Reservas asíncronas rechazadas con 503 por falta de hueco")
+                .register(registry);
+        FunctionCounter.builder("hotel.booking.pipeline.retries", retries, LongAdder::sum)
+                .description("Etapas repetidas tras un fallo")
+                .register(registry);
+        FunctionCounter.builder("hotel.booking.pipeline.failures", failures, LongAdder::sum)
+                .description("Etapas abandonadas por un fallo que no se arregla repitiéndolas")
+                .register(registry);
+        Map<BookingStatus, Timer> timers = new EnumMap<>(BookingStatus.class);
+        outcomes.forEach((status, count) -> {
+            FunctionCounter.builder("hotel.booking.pipeline.outcomes", count, LongAdder::sum)
+                    .description("Reservas asíncronas confirmadas o terminadas sin confirmar, por estado")
+                    .tag("status", status.name())
+                    .register(registry);
+            if (status != BookingStatus.REJECTED) {
+                timers.put(status, Timer.builder("hotel.booking.pipeline.hold")
+                        .description("Tiempo con las noches retenidas, hasta confirmar o liberarlas")
+                        .tag("outcome", status.name())
+                        .publishPercentileHistogram()
+                        .register(registry));
+            }
+        });
+        holdTimers = timers;
+    }
+
+    private static void registerQueueGauge(MeterRegistry registry, String stage,
+                                           Supplier<ThreadPoolExecutor> executor) {
+        Gauge.builder("hotel.booking.pipeline.queued", () -> {
+                    ThreadPoolExecutor current = executor.get();
+                    return current == null ? 0 : current.getQueue().size();
+                })
+                .description("Reservas esperando hilo en cada etapa")
+                .tag("stage", stage)
+                .register(registry);
+    }
+
+    /** Reservas aceptadas y sin terminar. */
+    public int inFlight() {
+        return properties.getMaxInFlight() - permits.availablePermits();
+    }
+
+    /** Reservas que han llegado a ese estado (CONFIRMED, REJECTED, PAYMENT_FAILED o EXPIRED). */
+    public long outcomeCount(BookingStatus status) {
+        LongAdder count = outcomes.get(status);
+        return count == null ? 0 : count.sum();
+    }
+}
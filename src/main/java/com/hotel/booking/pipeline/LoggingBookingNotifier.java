@@ -0,0 +1,17 @@
+package com.hotel.booking.pipeline;
+
+import com.hotel.booking.dto.BookingDto;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Aviso de confirmación que solo lo escribe en el log, hasta que haya un servicio de correo.
+ */
+@Slf4j
+public class LoggingBookingNotifier implements BookingNotifier {
+
+    @Override
+    public void bookingConfirmed(BookingDto booking) {
+        log.info("Reserva {} confirmada: huésped {}, habitación {} del {} al {}", booking.getId(),
+                booking.getGuestId(), booking.getRoomId(), booking.getCheckIn(), booking.getCheckOut());
+    }
+}
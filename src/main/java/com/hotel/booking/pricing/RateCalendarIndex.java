@@ -0,0 +1,356 @@
+package com.hotel.booking.pricing;
+
+import com.hotel.booking.domain.pricing.RateRule;
+import com.hotel.booking.domain.pricing.RateRuleKind;
+import com.hotel.booking.domain.room.RoomType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calendarios de precios precalculados: el total de una estancia en O(1), sin recorrer noches ni reglas.
+ *
+ * Por cada hotel con reglas de tarifa y cada tipo de habitación guardamos un int[] de sumas
+ * acumuladas ("prefix sums") del factor de cada noche, en puntos porcentuales sobre el precio base:
+ * una noche normal vale 100, una de temporada alta +20% vale 120 y un viernes con +10% de fin de
+ * semana dentro de esa temporada, 130 (nunca menos de 0).
+ * prefix[i] es la suma de los factores de las noches [firstNight, firstNight + i), así que
+ *
+ *   total(checkIn, checkOut) = precio base * (prefix[salida] - prefix[entrada]) / 100 * (100 - descuento) / 100
+ *
+ * son dos lecturas del array, da igual que la estancia sea de 2 noches o de 200. El descuento por
+ * estancia larga no depende de las fechas sino del número de noches: va aparte, en dos arrays cortos.
+ *
+ * Memoria: 731 ints (~3 KB) por calendario. Los tipos de habitación con las mismas reglas comparten
+ * el mismo array y los hoteles sin reglas no ocupan nada (precio base por noches, como siempre).
+ *
+ * Cambios de reglas: {@link #update} compara las reglas nuevas con las que tenía el hotel y
+ * - temporadas: recalcula solo las noches [inicio, fin) de las temporadas añadidas o quitadas y
+ *   desplaza el resto del array por la diferencia (las sumas de antes del inicio no cambian);
+ * - fin de semana: afecta a todo el horizonte, se reconstruye el calendario entero;
+ * - estancia larga: no toca los calendarios, solo los arrays del descuento.
+ *
+ * Concurrencia: los datos de un hotel ({@link HotelRates}) no se modifican nunca; un cambio
+ * construye copias y las publica de una vez en el ConcurrentHashMap. Las consultas no usan locks
+ * y ven siempre el estado anterior o el nuevo entero, nunca un calendario a medias.
+ * Los cambios de un mismo hotel se serializan con compute() del mapa.
+ *
+ * Cambio de día: {@link #rollTo} mueve la primera noche y reconstruye los calendarios. Cada
+ * HotelRates lleva la primera noche con la que se calculó, así que una consulta que coincide con
+ * el cambio usa las posiciones de su propio calendario, no las del nuevo.
+ */
+public class RateCalendarIndex {
+
+    private static final RoomType[] TYPES = RoomType.values();
+
+    private static final int BASE_FACTOR = 100;
+
+    private volatile LocalDate firstNight;
+    private final int horizonDays;
+
+    private final Map<Long, HotelRates> ratesByHotel = new ConcurrentHashMap<>();
+
+    /**
+     * @param firstNight  Primera noche de los calendarios (la misma que la del índice de disponibilidad).
+     * @param horizonDays Número de noches de cada calendario.
+     */
+    public RateCalendarIndex(LocalDate firstNight, int horizonDays) {
+        if (horizonDays <= 0) {
+            throw new IllegalArgumentException("El horizonte debe ser de al menos una noche");
+        }
+        this.firstNight = firstNight;
+        this.horizonDays = horizonDays;
+    }
+
+    public LocalDate getFirstNight() {
+        return firstNight;
+    }
+
+    /**
+     * Mueve la primera noche de los calendarios a newFirstNight (al cambiar de día, a la vez que el
+     * índice de disponibilidad) y los reconstruye con sus reglas: las noches nuevas del final también
+     * tienen sus temporadas y fines de semana. Con una fecha igual o anterior no hace nada.
+     */
+    public void rollTo(LocalDate newFirstNight) {
+        if (!newFirstNight.isAfter(firstNight)) {
+            return;
+        }
+        firstNight = newFirstNight;
+        for (Long hotelId : ratesByHotel.keySet()) {
+            // Con compute: un update() del mismo hotel a la vez termina antes o después, nunca a medias
+            ratesByHotel.computeIfPresent(hotelId, (id, current) -> current.firstNight().equals(newFirstNight)
+                    ? current : build(current.rules(), newFirstNight));
+        }
+    }
+
+    // ---------------------------------------------------------------- reglas
+
+    /**
+     * Deja en el índice exactamente estas reglas para el hotel, recalculando solo lo que cambia.
+     * Una lista vacía quita el hotel (vuelve al precio base).
+     */
+    public void update(long hotelId, List<RateRule> rules) {
+        ratesByHotel.compute(hotelId, (id, current) -> {
+            if (rules.isEmpty()) {
+                return null;
+            }
+            List<RateRule> copy = List.copyOf(rules);
+            LocalDate first = firstNight;
+            // Un calendario de antes del último cambio de día no sirve de base: se hace entero
+            return current == null || !current.firstNight().equals(first) ? build(copy, first) : rebuild(current, copy);
+        });
+    }
+
+    /** Quita todas las reglas del hotel (por ejemplo, al eliminar el hotel). */
+    public void removeHotel(long hotelId) {
+        ratesByHotel.remove(hotelId);
+    }
+
+    /** Reglas del hotel tal y como están en el índice. */
+    public List<RateRule> getRules(long hotelId) {
+        HotelRates rates = ratesByHotel.get(hotelId);
+        return rates == null ? List.of() : rates.rules();
+    }
+
+    public int hotelCount() {
+        return ratesByHotel.size();
+    }
+
+    // ---------------------------------------------------------------- consultas
+
+    /**
+     * Precio total de las noches [checkIn, checkOut) de una habitación de ese tipo.
+     * Las fechas deben estar dentro del horizonte (StayDates lo comprueba antes).
+     * @param nightlyPrice Precio base por noche de la habitación.
+     */
+    public BigDecimal totalPrice(long hotelId, RoomType type, BigDecimal nightlyPrice,
+                                 LocalDate checkIn, LocalDate checkOut) {
+        HotelRates rates = ratesByHotel.get(hotelId);
+        LocalDate first = rates == null ? firstNight : rates.firstNight();
+        int from = nightIndex(first, checkIn);
+        int to = nightIndex(first, checkOut);
+        if (from < 0 || to > horizonDays || from >= to) {
+            throw new IllegalArgumentException("Estancia fuera del calendario: " + checkIn + " - " + checkOut);
+        }
+        if (rates == null) {
+            return nightlyPrice.multiply(BigDecimal.valueOf(to - from));
+        }
+        int t = type.ordinal();
+        int[] prefix = rates.prefixByType()[t];
+        int factorSum = prefix[to] - prefix[from];
+        int discount = lengthOfStayDiscount(rates, t, to - from);
+        return total(nightlyPrice, factorSum, discount);
+    }
+
+    /** Descuento por estancia larga (en %) que se aplica a una estancia de "nights" noches. */
+    public int lengthOfStayDiscount(long hotelId, RoomType type, int nights) {
+        HotelRates rates = ratesByHotel.get(hotelId);
+        return rates == null ? 0 : lengthOfStayDiscount(rates, type.ordinal(), nights);
+    }
+
+    // precio * suma de factores * (100 - descuento) / 10000, en céntimos y redondeando al céntimo
+    private static BigDecimal total(BigDecimal nightlyPrice, int factorSum, int discount) {
+        int keep = BASE_FACTOR - discount;
+        if (nightlyPrice.scale() <= 2) {
+            try {
+                long cents = nightlyPrice.movePointRight(2).longValueExact();
+                long scaled = Math.multiplyExact(Math.multiplyExact(cents, (long) factorSum), (long) keep);
+                return BigDecimal.valueOf((scaled + 5_000) / 10_000, 2);
+            } catch (ArithmeticException e) {
+                // No cabe en un long: lo hacemos con BigDecimal
+            }
+        }
+        return nightlyPrice.multiply(BigDecimal.valueOf((long) factorSum * keep))
+                .movePointLeft(4)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static int lengthOfStayDiscount(HotelRates rates, int type, int nights) {
+        int[] minNights = rates.losMinNightsByType()[type];
+        int[] discounts = rates.losDiscountByType()[type];
+        // minNights va de menor a mayor y discounts es el máximo acumulado: nos quedamos con el último que aplica
+        int discount = 0;
+        for (int i = 0; i < minNights.length && minNights[i] <= nights; i++) {
+            discount = discounts[i];
+        }
+        return discount;
+    }
+
+    private static int nightIndex(LocalDate firstNight, LocalDate date) {
+        return (int) ChronoUnit.DAYS.between(firstNight, date);
+    }
+
+    // ---------------------------------------------------------------- construcción
+
+    /**
+     * Datos de tarifa de un hotel. Inmutable: los arrays no se tocan después de publicarse.
+     * @param firstNight         Noche de la posición 0 de los calendarios.
+     * @param prefixByType       Por tipo de habitación, las sumas acumuladas de factores (horizonDays + 1).
+     * @param losMinNightsByType Por tipo, noches mínimas de cada tramo de descuento, de menor a mayor.
+     * @param losDiscountByType  Por tipo, descuento de cada tramo (máximo acumulado de las reglas que aplican).
+     */
+    private record HotelRates(LocalDate firstNight, List<RateRule> rules, int[][] prefixByType,
+                              int[][] losMinNightsByType, int[][] losDiscountByType) {
+    }
+
+    private HotelRates build(List<RateRule> rules, LocalDate first) {
+        int[][] prefixByType = new int[TYPES.length][];
+        for (RoomType type : TYPES) {
+            prefixByType[type.ordinal()] = buildCalendar(rules, type, first);
+        }
+        return withLengthOfStay(first, rules, share(prefixByType));
+    }
+
+    private HotelRates rebuild(HotelRates current, List<RateRule> rules) {
+        // Diferencia entre las reglas de antes y las de ahora (RateRule compara todos sus campos)
+        Set<RateRule> before = new HashSet<>(current.rules());
+        Set<RateRule> after = new HashSet<>(rules);
+        List<RateRule> changed = new ArrayList<>();
+        for (RateRule rule : before) {
+            if (!after.contains(rule)) {
+                changed.add(rule);
+            }
+        }
+        for (RateRule rule : after) {
+            if (!before.contains(rule)) {
+                changed.add(rule);
+            }
+        }
+
+        boolean weekendChanged = changed.stream().anyMatch(rule -> rule.getKind() == RateRuleKind.WEEKEND);
+        LocalDate first = current.firstNight();
+        if (weekendChanged) {
+            return build(rules, first);
+        }
+        int[][] prefixByType = current.prefixByType().clone();
+        for (RoomType type : TYPES) {
+            int t = type.ordinal();
+            int[] prefix = prefixByType[t];
+            for (RateRule rule : changed) {
+                if (rule.getKind() == RateRuleKind.SEASON && appliesTo(rule, type)) {
+                    if (prefix == current.prefixByType()[t]) {
+                        prefix = prefix.clone(); // el array publicado no se toca: trabajamos sobre una copia
+                    }
+                    recalculate(prefix, rules, type, first,
+                            nightIndex(first, rule.getStartDate()), nightIndex(first, rule.getEndDate()));
+                }
+            }
+            prefixByType[t] = prefix;
+        }
+        return withLengthOfStay(first, rules, share(prefixByType));
+    }
+
+    // Calendario completo de un tipo de habitación
+    private int[] buildCalendar(List<RateRule> rules, RoomType type, LocalDate first) {
+        int[] factors = factors(rules, type, first, 0, horizonDays);
+        int[] prefix = new int[horizonDays + 1];
+        for (int i = 0; i < horizonDays; i++) {
+            prefix[i + 1] = prefix[i] + factors[i];
+        }
+        return prefix;
+    }
+
+    // Recalcula las noches [from, to) y desplaza las sumas posteriores por la diferencia
+    private void recalculate(int[] prefix, List<RateRule> rules, RoomType type, LocalDate first, int from, int to) {
+        from = Math.max(0, from);
+        to = Math.min(horizonDays, to);
+        if (from >= to) {
+            return; // la temporada cae entera fuera del horizonte
+        }
+        int oldEnd = prefix[to];
+        int[] factors = factors(rules, type, first, from, to);
+        for (int i = from; i < to; i++) {
+            prefix[i + 1] = prefix[i] + factors[i - from];
+        }
+        int delta = prefix[to] - oldEnd;
+        if (delta != 0) {
+            for (int i = to + 1; i <= horizonDays; i++) {
+                prefix[i] += delta;
+            }
+        }
+    }
+
+    // Factor de cada noche [from, to) para un tipo: 100 + temporadas que la cubren + fin de semana
+    private static int[] factors(List<RateRule> rules, RoomType type, LocalDate first, int from, int to) {
+        int[] factors = new int[to - from];
+        Arrays.fill(factors, BASE_FACTOR);
+        for (RateRule rule : rules) {
+            if (!appliesTo(rule, type)) {
+                continue;
+            }
+            if (rule.getKind() == RateRuleKind.SEASON) {
+                int start = Math.max(from, nightIndex(first, rule.getStartDate()));
+                int end = Math.min(to, nightIndex(first, rule.getEndDate()));
+                for (int i = start; i < end; i++) {
+                    factors[i - from] += rule.getPercent();
+                }
+            } else if (rule.getKind() == RateRuleKind.WEEKEND) {
+                // Noches de viernes y sábado: buscamos el primer viernes y saltamos de semana en semana
+                DayOfWeek day = first.plusDays(from).getDayOfWeek();
+                int friday = from + Math.floorMod(DayOfWeek.FRIDAY.getValue() - day.getValue(), 7);
+                if (day == DayOfWeek.SATURDAY) {
+                    factors[0] += rule.getPercent();
+                }
+                for (int i = friday; i < to; i += 7) {
+                    factors[i - from] += rule.getPercent();
+                    if (i + 1 < to) {
+                        factors[i + 1 - from] += rule.getPercent();
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < factors.length; i++) {
+            factors[i] = Math.max(0, factors[i]); // un descuento de más del 100% deja la noche gratis, no en negativo
+        }
+        return factors;
+    }
+
+    private static HotelRates withLengthOfStay(LocalDate first, List<RateRule> rules, int[][] prefixByType) {
+        int[][] minNightsByType = new int[TYPES.length][];
+        int[][] discountByType = new int[TYPES.length][];
+        for (RoomType type : TYPES) {
+            List<RateRule> tiers = rules.stream()
+                    .filter(rule -> rule.getKind() == RateRuleKind.LENGTH_OF_STAY && appliesTo(rule, type))
+                    .sorted((a, b) -> Integer.compare(a.getMinNights(), b.getMinNights()))
+                    .toList();
+            int[] minNights = new int[tiers.size()];
+            int[] discounts = new int[tiers.size()];
+            int best = 0;
+            for (int i = 0; i < tiers.size(); i++) {
+                best = Math.max(best, Math.min(100, tiers.get(i).getPercent()));
+                minNights[i] = tiers.get(i).getMinNights();
+                discounts[i] = best;
+            }
+            minNightsByType[type.ordinal()] = minNights;
+            discountByType[type.ordinal()] = discounts;
+        }
+        return new HotelRates(first, rules, prefixByType, minNightsByType, discountByType);
+    }
+
+    // Los tipos con calendarios iguales apuntan al mismo array (lo normal: reglas para todos los tipos)
+    private static int[][] share(int[][] prefixByType) {
+        for (int t = 1; t < prefixByType.length; t++) {
+            for (int other = 0; other < t; other++) {
+                if (prefixByType[t] != prefixByType[other] && Arrays.equals(prefixByType[t], prefixByType[other])) {
+                    prefixByType[t] = prefixByType[other];
+                    break;
+                }
+            }
+        }
+        return prefixByType;
+    }
+
+    private static boolean appliesTo(RateRule rule, RoomType type) {
+        return rule.getRoomType() == null || rule.getRoomType() == type;
+    }
+}
@@ -0,0 +1,84 @@
+package com.hotel.booking.pricing;
+
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.domain.pricing.RateRule;
+import com.hotel.booking.repository.RateRuleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Construye {@link RateCalendarIndex} al arrancar con todas las reglas de tarifa.
+ *
+ * Como RoomAvailabilityIndexLoader, carga en start() antes de que arranque el servidor web: con el
+ * servidor abierto, una regla creada o borrada durante la carga se deshacía al sustituir el
+ * calendario de su hotel, y las primeras reservas se cobraban al precio base.
+ *
+ * A partir de ahí lo mantiene PricingService en cada alta o baja de una regla; aquí solo
+ * escuchamos el borrado de hoteles (la base de datos borra sus reglas en cascada).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateCalendarLoader implements SmartLifecycle {
+
+    private final RateCalendarIndex rateCalendar;
+
+    private final RateRuleRepository rateRuleRepository;
+
+    private volatile boolean loaded;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        if (!loaded) {
+            loadIndex();
+            loaded = true;
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // La misma fase que RoomAvailabilityIndexLoader: antes que el servidor web (DEFAULT_PHASE - 2048)
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void loadIndex() {
+        long start = System.nanoTime();
+        // Son pocas reglas por hotel: las agrupamos en memoria y construimos cada hotel de una vez
+        Map<Long, List<RateRule>> rulesByHotel = new HashMap<>();
+        for (RateRule rule : rateRuleRepository.findAll()) {
+            rulesByHotel.computeIfAbsent(rule.getHotelId(), id -> new ArrayList<>()).add(rule);
+        }
+        rulesByHotel.forEach(rateCalendar::update);
+
+        log.info("Calendarios de precios construidos: {} hoteles con reglas de tarifa en {} ms",
+                rateCalendar.hotelCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @EventListener
+    public void onHotelChanged(HotelChangedEvent event) {
+        if (event.getType() == HotelChangedEvent.Type.DELETED) {
+            rateCalendar.removeHotel(event.getHotelId());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hotel.booking.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Fragmento de repositorio para la tabla booking_night: una fila por noche reservada.
+ *
+ * No abre transacciones propias: BookingService inserta la reserva y sus noches
+ * en la misma transacción, para que o se guarda todo o nada.
+ */
+public interface BookingNightRepository {
+
+    /**
+     * Inserta las noches [checkIn, checkOut) de una reserva en un único batch.
+     * @throws org.springframework.dao.DuplicateKeyException si alguna noche ya estaba reservada.
+     */
+    void insertNights(long bookingId, long roomId, LocalDate checkIn, LocalDate checkOut);
+
+    /** Borra las noches de una reserva (al cancelarla), dejándolas libres. */
+    void deleteNights(long bookingId);
+
+    /** Noches ya reservadas de la habitación dentro de [from, to). */
+    List<LocalDate> findBookedNights(long roomId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,51 @@
+package com.hotel.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Implementación del fragmento {@link BookingNightRepository}.
+ */
+@RequiredArgsConstructor
+public class BookingNightRepositoryImpl implements BookingNightRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO booking_night (room_id, night, booking_id) VALUES (:roomId, :night, :bookingId)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertNights(long bookingId, long roomId, LocalDate checkIn, LocalDate checkOut) {
+        int nights = (int) ChronoUnit.DAYS.between(checkIn, checkOut);
+        MapSqlParameterSource[] batch = new MapSqlParameterSource[nights];
+        for (int i = 0; i < nights; i++) {
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("roomId", roomId)
+                    .addValue("night", checkIn.plusDays(i))
+                    .addValue("bookingId", bookingId);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    @Override
+    public void deleteNights(long bookingId) {
+        jdbcTemplate.update("DELETE FROM booking_night WHERE booking_id = :bookingId",
+                new MapSqlParameterSource("bookingId", bookingId));
+    }
+
+    @Override
+    public List<LocalDate> findBookedNights(long roomId, LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("roomId", roomId)
+                .addValue("from", from)
+                .addValue("to", to);
+        return jdbcTemplate.queryForList(
+                "SELECT night FROM booking_night WHERE room_id = :roomId AND night >= :from AND night < :to ORDER BY night",
+                params, LocalDate.class);
+    }
+}
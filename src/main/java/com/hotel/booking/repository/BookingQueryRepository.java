@@ -0,0 +1,19 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.booking.Booking;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Fragmento de repositorio para recorrer reservas sin cargarlas en una lista.
+ */
+public interface BookingQueryRepository {
+
+    /**
+     * Entrega al consumer las reservas confirmadas o con las noches retenidas (HELD) que todavía
+     * ocupan alguna noche a partir de "from" (check_out > from), usando el índice idx_booking_check_out.
+     * Debe llamarse dentro de una transacción para que el driver pueda usar un cursor.
+     */
+    void streamActive(LocalDate from, int fetchSize, Consumer<Booking> consumer);
+}
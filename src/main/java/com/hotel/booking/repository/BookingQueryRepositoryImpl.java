@@ -0,0 +1,43 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.booking.Booking;
+import com.hotel.booking.domain.booking.BookingStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Implementación del fragmento {@link BookingQueryRepository}.
+ */
+@RequiredArgsConstructor
+public class BookingQueryRepositoryImpl implements BookingQueryRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void streamActive(LocalDate from, int fetchSize, Consumer<Booking> consumer) {
+        JdbcTemplate streamingTemplate = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        streamingTemplate.setFetchSize(fetchSize);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("statuses", List.of(BookingStatus.CONFIRMED.name(), BookingStatus.HELD.name()));
+        // Solo las columnas que necesita el índice de disponibilidad
+        RowCallbackHandler handler = rs -> consumer.accept(Booking.builder()
+                .id(rs.getLong("id"))
+                .roomId(rs.getLong("room_id"))
+                .checkIn(rs.getObject("check_in", LocalDate.class))
+                .checkOut(rs.getObject("check_out", LocalDate.class))
+                .status(BookingStatus.valueOf(rs.getString("status")))
+                .build());
+        new NamedParameterJdbcTemplate(streamingTemplate).query(
+                "SELECT id, room_id, check_in, check_out, status FROM booking WHERE check_out > :from AND status IN (:statuses)",
+                params, handler);
+    }
+}
@@ -0,0 +1,71 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.booking.Booking;
+import com.hotel.booking.domain.booking.BookingStage;
+import com.hotel.booking.domain.booking.BookingStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reservas: CrudRepository + el fragmento BookingQueryRepository para cargar
+ * en streaming las reservas vigentes al construir el índice de disponibilidad
+ * + el fragmento BookingNightRepository para las noches reservadas (booking_night).
+ *
+ * Los cambios de etapa de las reservas asíncronas (BookingPipeline) son UPDATE condicionales
+ * ("... AND stage = :from"): si dos hilos o dos instancias intentan mover la misma reserva
+ * (el pago que llega justo cuando caduca la retención), solo uno cambia la fila y el otro recibe false.
+ */
+public interface BookingRepository extends CrudRepository<Booking, Long>, BookingQueryRepository,
+        BookingNightRepository {
+
+    /** RESERVE -> AUTHORIZE_PAYMENT: noches retenidas (HELD) hasta holdExpiresAt. */
+    @Modifying
+    @Query("UPDATE booking SET stage = 'AUTHORIZE_PAYMENT', status = 'HELD', held_at = :heldAt, "
+            + "hold_expires_at = :holdExpiresAt WHERE id = :id AND stage = 'RESERVE'")
+    boolean markHeld(@Param("id") long id, @Param("heldAt") Instant heldAt,
+                     @Param("holdExpiresAt") Instant holdExpiresAt);
+
+    /** AUTHORIZE_PAYMENT -> CONFIRM: pago autorizado; las noches ya no caducan. */
+    @Modifying
+    @Query("UPDATE booking SET stage = 'CONFIRM' WHERE id = :id AND stage = 'AUTHORIZE_PAYMENT'")
+    boolean markPaymentAuthorized(@Param("id") long id);
+
+    /** CONFIRM -> NOTIFY: reserva CONFIRMED. */
+    @Modifying
+    @Query("UPDATE booking SET stage = 'NOTIFY', status = 'CONFIRMED', confirmed_at = :confirmedAt "
+            + "WHERE id = :id AND stage = 'CONFIRM'")
+    boolean markConfirmed(@Param("id") long id, @Param("confirmedAt") Instant confirmedAt);
+
+    /** Termina la reserva asíncrona (ya no le queda ninguna etapa) con el estado dado, si sigue en "from". */
+    @Modifying
+    @Query("UPDATE booking SET stage = NULL, status = :status WHERE id = :id AND stage = :from")
+    boolean finishStage(@Param("id") long id, @Param("from") BookingStage from, @Param("status") BookingStatus status);
+
+    /**
+     * NOTIFY -> fin: solo borra la etapa. El estado no se toca: una cancelación entre la lectura
+     * de notifyGuest y este UPDATE ya lo ha dejado en CANCELLED y tiene que seguir así.
+     */
+    @Modifying
+    @Query("UPDATE booking SET stage = NULL WHERE id = :id AND stage = 'NOTIFY'")
+    boolean finishNotify(@Param("id") long id);
+
+    /**
+     * CONFIRMED -> CANCELLED, si sigue CONFIRMED. No toca la etapa: una reserva asíncrona cancelada
+     * mientras se avisa al huésped termina su NOTIFY igual (finishNotify), pero ya como CANCELLED.
+     */
+    @Modifying
+    @Query("UPDATE booking SET status = 'CANCELLED' WHERE id = :id AND status = 'CONFIRMED'")
+    boolean cancelConfirmed(@Param("id") long id);
+
+    // Reservas asíncronas a medias, para retomarlas al arrancar (índice idx_booking_stage)
+    List<Booking> findByStageIsNotNull();
+
+    // Retenciones caducadas: ... WHERE stage = ? AND hold_expires_at <= ? LIMIT ?
+    List<Booking> findByStageAndHoldExpiresAtLessThanEqual(BookingStage stage, Instant now, Limit limit);
+}
@@ -0,0 +1,23 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.hotel.TextNormalizer;
+import org.springframework.data.relational.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Callback de Spring Data JDBC que se ejecuta antes de cada save() de un Hotel.
+ *
+ * Mantiene city_normalized sincronizada con city en un único sitio, en lugar de
+ * confiar en que cada servicio se acuerde de calcularla.
+ * (Los INSERT con JDBC directo no pasan por aquí: la calcula HotelInsert, también con TextNormalizer.)
+ */
+@Component
+public class HotelBeforeConvertCallback implements BeforeConvertCallback<Hotel> {
+
+    @Override
+    public Hotel onBeforeConvert(Hotel hotel) {
+        hotel.setCityNormalized(TextNormalizer.fold(hotel.getCity()));
+        return hotel;
+    }
+}
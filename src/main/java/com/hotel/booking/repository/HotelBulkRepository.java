@@ -0,0 +1,23 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.hotel.Hotel;
+
+import java.util.List;
+
+/**
+ * Fragmento de repositorio para escrituras masivas.
+ *
+ * Spring Data JDBC combina este fragmento con {@link HotelRepository}: basta con que
+ * HotelRepository lo extienda y que exista una clase llamada HotelBulkRepositoryImpl
+ * con la implementación.
+ */
+public interface HotelBulkRepository {
+
+    /**
+     * Inserta todos los hoteles en un único batch JDBC (un solo viaje a la base de datos).
+     * No abre transacción propia: se ejecuta dentro de la transacción de quien lo llama.
+     * @param hotels Hoteles nuevos (sin id).
+     * @return Los ids generados, en el mismo orden que la lista de entrada.
+     */
+    List<Long> insertAll(List<Hotel> hotels);
+}
@@ -0,0 +1,45 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.hotel.Hotel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación del fragmento {@link HotelBulkRepository} con JDBC "a mano".
+ * Spring Data la detecta por el sufijo "Impl" y la inyecta en HotelRepository.
+ */
+@RequiredArgsConstructor
+public class HotelBulkRepositoryImpl implements HotelBulkRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> insertAll(List<Hotel> hotels) {
+        if (hotels.isEmpty()) {
+            return List.of();
+        }
+        SqlParameterSource[] batchArgs = new SqlParameterSource[hotels.size()];
+        for (int i = 0; i < hotels.size(); i++) {
+            Hotel hotel = hotels.get(i);
+            batchArgs[i] = HotelInsert.parameters(hotel.getName(), hotel.getAddress(), hotel.getCity(),
+                    hotel.getCountry(), hotel.getStars(), hotel.getDescription(), hotel.getLatitude(), hotel.getLongitude());
+        }
+
+        // Un único executeBatch() para todo el chunk; los ids vuelven en el mismo orden.
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(HotelInsert.SQL, batchArgs, keyHolder, new String[]{"id"});
+
+        List<Long> ids = new ArrayList<>(hotels.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,27 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.dto.HotelDto;
+
+/**
+ * Fragmento de repositorio con el camino corto de las dos operaciones más frecuentes,
+ * GET /api/hotels/{id} y POST /api/hotels: JDBC directo entre la fila y los DTOs, sin la
+ * entidad Hotel, el mapper ni la maquinaria de Spring Data (conversiones, callbacks, eventos)
+ * por medio. Lo mismo que findById + toDto y toEntity + save + toDto, con mucha menos basura
+ * por petición (ver HotelServiceBenchmark).
+ */
+public interface HotelDtoRepository {
+
+    /**
+     * El hotel tal como lo devuelve la API, o null si no existe (sin Optional: quien llama
+     * decide qué hacer con el "no existe").
+     * En una transacción de solo lectura, como findById: con réplicas, lee de una.
+     */
+    HotelDto findDtoById(long id);
+
+    /**
+     * Inserta el hotel de la petición (con city_normalized calculada, como HotelBeforeConvertCallback)
+     * y lo devuelve con el id y la versión inicial que le ha dado la base de datos.
+     */
+    HotelDto insert(CreateHotelRequestDto request);
+}
@@ -0,0 +1,84 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.dto.HotelDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Implementación del fragmento {@link HotelDtoRepository}.
+ *
+ * Lectura: SQL fijo con el parámetro por posición (sin parsear nombres ni mapa de parámetros) y
+ * columnas leídas por índice, en el orden del SELECT: buscarlas por nombre hace que el driver se
+ * construya un mapa nombre -> índice en cada ResultSet.
+ * Alta: el mismo INSERT que las altas masivas (HotelInsert: columnas por nombre y city_normalized);
+ * id y version vuelven de la base de datos como claves generadas, no se suponen.
+ */
+@RequiredArgsConstructor
+public class HotelDtoRepositoryImpl implements HotelDtoRepository {
+
+    private static final String SELECT_BY_ID_SQL = """
+            SELECT id, name, address, city, country, stars, description, latitude, longitude, version
+            FROM hotel WHERE id = ?
+            """;
+
+    // version tiene DEFAULT en la tabla: también vuelve con las claves generadas (RETURNING en PostgreSQL)
+    private static final String[] GENERATED_COLUMNS = {"id", "version"};
+
+    // Como mucho una fila: ni la lista de query(sql, RowMapper) ni la excepción de queryForObject cuando no hay
+    private static final ResultSetExtractor<HotelDto> AT_MOST_ONE = rs -> rs.next() ? toDto(rs) : null;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public HotelDto findDtoById(long id) {
+        return jdbcTemplate.getJdbcOperations().query(SELECT_BY_ID_SQL, statement -> statement.setLong(1, id), AT_MOST_ONE);
+    }
+
+    @Override
+    public HotelDto insert(CreateHotelRequestDto request) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(HotelInsert.SQL, HotelInsert.parameters(request.getName(), request.getAddress(),
+                request.getCity(), request.getCountry(), request.getStars(), request.getDescription(),
+                request.getLatitude(), request.getLongitude()), keyHolder, GENERATED_COLUMNS);
+        // Mapa sin distinguir mayúsculas: vale con "ID" (H2 por defecto) o "id" (PostgreSQL)
+        Map<String, Object> keys = keyHolder.getKeys();
+
+        return HotelDto.builder()
+                .id(((Number) keys.get("id")).longValue())
+                .name(request.getName())
+                .address(request.getAddress())
+                .city(request.getCity())
+                .country(request.getCountry())
+                .stars(request.getStars())
+                .description(request.getDescription())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
+                .version(((Number) keys.get("version")).longValue())
+                .build();
+    }
+
+    private static HotelDto toDto(ResultSet rs) throws SQLException {
+        return HotelDto.builder()
+                .id(rs.getLong(1))
+                .name(rs.getString(2))
+                .address(rs.getString(3))
+                .city(rs.getString(4))
+                .country(rs.getString(5))
+                .stars(rs.getObject(6, Integer.class))
+                .description(rs.getString(7))
+                .latitude(rs.getObject(8, Double.class))
+                .longitude(rs.getObject(9, Double.class))
+                .version(rs.getLong(10))
+                .build();
+    }
+}
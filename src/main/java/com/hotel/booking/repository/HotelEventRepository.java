@@ -0,0 +1,60 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.domain.hotel.HotelEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Acceso a "hotel_event" con JdbcTemplate: solo se inserta en batch y se lee en orden de id,
+ * no hace falta una entidad de Spring Data.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HotelEventRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO hotel_event (hotel_id, type, hotel_version, occurred_at, payload)
+            VALUES (:hotelId, :type, :hotelVersion, :occurredAt, :payload)
+            """;
+
+    private static final RowMapper<HotelEvent> ROW_MAPPER = (rs, rowNum) -> HotelEvent.builder()
+            .id(rs.getLong("id"))
+            .hotelId(rs.getLong("hotel_id"))
+            .type(HotelChangedEvent.Type.valueOf(rs.getString("type")))
+            .hotelVersion(rs.getObject("hotel_version", Long.class))
+            .occurredAt(rs.getTimestamp("occurred_at").toInstant())
+            .payload(rs.getString("payload"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /** Inserta todos los eventos en un único batch JDBC, en el orden de la lista. */
+    public void insertAll(List<HotelEvent> events) {
+        SqlParameterSource[] batch = new SqlParameterSource[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            HotelEvent event = events.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("hotelId", event.getHotelId())
+                    .addValue("type", event.getType().name())
+                    .addValue("hotelVersion", event.getHotelVersion())
+                    .addValue("occurredAt", Timestamp.from(event.getOccurredAt()))
+                    .addValue("payload", event.getPayload());
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    /** Los eventos con id mayor que afterId, en orden: así lee el feed un consumidor. */
+    public List<HotelEvent> findAfter(long afterId, int limit) {
+        return jdbcTemplate.query("SELECT * FROM hotel_event WHERE id > :afterId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource().addValue("afterId", afterId).addValue("limit", limit),
+                ROW_MAPPER);
+    }
+}
@@ -0,0 +1,34 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.hotel.TextNormalizer;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+/**
+ * El INSERT de hotel de los caminos con JDBC directo (HotelBulkRepositoryImpl y HotelDtoRepositoryImpl),
+ * que no pasan por save() ni por HotelBeforeConvertCallback: la lista de columnas y city_normalized
+ * se calculan aquí, en un único sitio, igual que lo hace el callback.
+ */
+final class HotelInsert {
+
+    static final String SQL = """
+            INSERT INTO hotel (name, address, city, city_normalized, country, stars, description, latitude, longitude)
+            VALUES (:name, :address, :city, :cityNormalized, :country, :stars, :description, :latitude, :longitude)
+            """;
+
+    private HotelInsert() {
+    }
+
+    static MapSqlParameterSource parameters(String name, String address, String city, String country, Integer stars,
+                                            String description, Double latitude, Double longitude) {
+        return new MapSqlParameterSource()
+                .addValue("name", name)
+                .addValue("address", address)
+                .addValue("city", city)
+                .addValue("cityNormalized", TextNormalizer.fold(city))
+                .addValue("country", country)
+                .addValue("stars", stars)
+                .addValue("description", description)
+                .addValue("latitude", latitude)
+                .addValue("longitude", longitude);
+    }
+}
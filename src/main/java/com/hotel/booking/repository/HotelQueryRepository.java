@@ -0,0 +1,64 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.dto.HotelFilter;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Fragmento de repositorio para listar hoteles sin cargar la tabla entera en memoria
+ * (el findAll() de CrudRepository devuelve una lista con todas las filas).
+ */
+public interface HotelQueryRepository {
+
+    /**
+     * Paginación por clave ("keyset" o "seek"): en vez de OFFSET, pedimos los hoteles
+     * con id mayor que el último que vio el cliente. Así cada página cuesta lo mismo,
+     * sea la primera o la número 10.000, porque la base de datos salta directamente
+     * a ese id usando el índice.
+     *
+     * @param filter  Filtros opcionales por ciudad, país y estrellas.
+     * @param afterId Último id de la página anterior, o null para empezar desde el principio.
+     * @param limit   Número máximo de hoteles a devolver.
+     * @return Los hoteles ordenados por id.
+     */
+    List<Hotel> findPage(HotelFilter filter, Long afterId, int limit);
+
+    /**
+     * Búsqueda para el front: los mejores hoteles primero (estrellas de mayor a menor y,
+     * a igualdad de estrellas, por id descendente), también paginada por clave.
+     * Con país y ciudad, el índice (country, city_normalized, stars, id) entrega las filas
+     * ya en este orden, así que la base de datos lee solo las "limit" filas que devuelve.
+     *
+     * @param afterStars Estrellas del último hotel de la página anterior (null en la primera).
+     * @param afterId    Id del último hotel de la página anterior (null en la primera).
+     */
+    List<Hotel> search(HotelFilter filter, Integer afterStars, Long afterId, int limit);
+
+    /**
+     * La misma búsqueda, pero los mejor valorados primero: por la media de sus reseñas ya calculada
+     * en hotel_rating (sin reseñas cuenta como 0) y, a igualdad de media, por id descendente.
+     * No se lee ni una reseña: los valorados salen de hotel_rating en el orden de
+     * idx_hotel_rating_average, y solo si no llenan la página se añaden los de media 0.
+     *
+     * @param afterRating Media del último hotel de la página anterior (null en la primera).
+     * @param afterId     Id del último hotel de la página anterior (null en la primera).
+     */
+    List<Hotel> searchByRating(HotelFilter filter, Double afterRating, Long afterId, int limit);
+
+    /**
+     * Recorre todos los hoteles que cumplen el filtro, ordenados por id, entregándolos
+     * de uno en uno al consumer a medida que se leen del ResultSet.
+     * Debe llamarse dentro de una transacción para que el driver pueda usar un cursor.
+     *
+     * @param fetchSize Filas que el driver trae en cada viaje a la base de datos.
+     */
+    void streamAll(HotelFilter filter, int fetchSize, Consumer<Hotel> consumer);
+
+    /**
+     * Solo los ids de los hoteles que cumplen el filtro (por ejemplo, los de una ciudad
+     * para buscar disponibilidad), ordenados por id y como mucho "limit".
+     */
+    List<Long> findIds(HotelFilter filter, int limit);
+}
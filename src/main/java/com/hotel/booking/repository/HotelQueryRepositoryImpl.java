@@ -0,0 +1,158 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.hotel.TextNormalizer;
+import com.hotel.booking.dto.HotelFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Implementación del fragmento {@link HotelQueryRepository}.
+ *
+ * El WHERE se construye solo con los filtros presentes (en vez del típico
+ * "(:city IS NULL OR city = :city)"), para que la base de datos pueda usar
+ * los índices de V1__initial_schema.sql.
+ */
+@RequiredArgsConstructor
+public class HotelQueryRepositoryImpl implements HotelQueryRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Hotel> findPage(HotelFilter filter, Long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = selectWhere(filter, params);
+        if (afterId != null) {
+            sql.append(" AND id > :afterId");
+            params.addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY id LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql.toString(), params, HotelRowMapper.INSTANCE);
+    }
+
+    @Override
+    public List<Hotel> search(HotelFilter filter, Integer afterStars, Long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = selectWhere(filter, params);
+        if (afterStars != null && afterId != null) {
+            // "Después de (estrellas, id)" en orden descendente, comparando la pareja entera.
+            sql.append(" AND (stars < :afterStars OR (stars = :afterStars AND id < :afterId))");
+            params.addValue("afterStars", afterStars);
+            params.addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY stars DESC, id DESC LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql.toString(), params, HotelRowMapper.INSTANCE);
+    }
+
+    @Override
+    public List<Hotel> searchByRating(HotelFilter filter, Double afterRating, Long afterId, int limit) {
+        // Dos tramos con el mismo orden que "media (0 si no hay) DESC, id DESC":
+        // primero los valorados, recorriendo idx_hotel_rating_average de mayor a menor,
+        // y después los que tienen media 0, por id. Un cursor con media 0 ya está en el segundo.
+        boolean fromRated = afterRating == null || afterId == null || afterRating > 0;
+        List<Hotel> hotels = new ArrayList<>(limit);
+        if (fromRated) {
+            hotels.addAll(searchRated(filter, afterRating, afterId, limit));
+        }
+        if (hotels.size() < limit) {
+            hotels.addAll(searchUnrated(filter, fromRated ? null : afterId, limit - hotels.size()));
+        }
+        return hotels;
+    }
+
+    private List<Hotel> searchRated(HotelFilter filter, Double afterRating, Long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        // Las columnas de los filtros solo existen en hotel, así que el WHERE no necesita alias.
+        // El orden es el del índice (average_rating, hotel_id), leído hacia atrás: sin ordenar nada.
+        StringBuilder sql = where(new StringBuilder(
+                "SELECT h.* FROM hotel_rating r JOIN hotel h ON h.id = r.hotel_id"), filter, params)
+                .append(" AND r.average_rating > 0");
+        if (afterRating != null && afterId != null) {
+            sql.append(" AND (r.average_rating < :afterRating"
+                    + " OR (r.average_rating = :afterRating AND r.hotel_id < :afterId))");
+            params.addValue("afterRating", afterRating);
+            params.addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY r.average_rating DESC, r.hotel_id DESC LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql.toString(), params, HotelRowMapper.INSTANCE);
+    }
+
+    private List<Hotel> searchUnrated(HotelFilter filter, Long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        // Sin fila en hotel_rating o con todas sus reseñas borradas (media 0): van detrás, por id
+        StringBuilder sql = where(new StringBuilder("SELECT h.* FROM hotel h"), filter, params)
+                .append(" AND NOT EXISTS (SELECT 1 FROM hotel_rating r"
+                        + " WHERE r.hotel_id = h.id AND r.average_rating > 0)");
+        if (afterId != null) {
+            sql.append(" AND h.id < :afterId");
+            params.addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY h.id DESC LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql.toString(), params, HotelRowMapper.INSTANCE);
+    }
+
+    @Override
+    public void streamAll(HotelFilter filter, int fetchSize, Consumer<Hotel> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = selectWhere(filter, params).append(" ORDER BY id");
+
+        // JdbcTemplate propio para esta consulta: el fetchSize es una propiedad del template
+        // y no queremos cambiarlo para el resto de la aplicación.
+        JdbcTemplate streamingTemplate = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        streamingTemplate.setFetchSize(fetchSize);
+
+        // RowCallbackHandler: procesamos cada fila al leerla, sin acumular una lista.
+        RowCallbackHandler handler = rs -> consumer.accept(HotelRowMapper.INSTANCE.mapRow(rs, rs.getRow()));
+        new NamedParameterJdbcTemplate(streamingTemplate).query(sql.toString(), params, handler);
+    }
+
+    @Override
+    public List<Long> findIds(HotelFilter filter, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = where(new StringBuilder("SELECT id FROM hotel"), filter, params)
+                .append(" ORDER BY id LIMIT :limit");
+        params.addValue("limit", limit);
+        return jdbcTemplate.queryForList(sql.toString(), params, Long.class);
+    }
+
+    private static StringBuilder selectWhere(HotelFilter filter, MapSqlParameterSource params) {
+        return where(new StringBuilder("SELECT * FROM hotel"), filter, params);
+    }
+
+    private static StringBuilder where(StringBuilder sql, HotelFilter filter, MapSqlParameterSource params) {
+        sql.append(" WHERE 1 = 1");
+        if (filter.getCountry() != null) {
+            sql.append(" AND country = :country");
+            params.addValue("country", filter.getCountry());
+        }
+        if (filter.getCity() != null) {
+            // Igualdad sobre la columna normalizada: no distingue mayúsculas y sigue usando el índice
+            sql.append(" AND city_normalized = :city");
+            params.addValue("city", TextNormalizer.fold(filter.getCity()));
+        }
+        if (filter.getStars() != null) {
+            sql.append(" AND stars = :stars");
+            params.addValue("stars", filter.getStars());
+        }
+        if (filter.getMinStars() != null) {
+            sql.append(" AND stars >= :minStars");
+            params.addValue("minStars", filter.getMinStars());
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,28 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.review.HotelRating;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Fragmento de repositorio para la tabla hotel_rating: el resumen de las reseñas de cada hotel
+ * (número, suma, media e histograma), mantenido al dar de alta y de baja cada reseña.
+ *
+ * No abre transacciones propias: ReviewService guarda o borra la reseña y actualiza el resumen
+ * en la misma transacción, para que nunca se desajusten.
+ */
+public interface HotelRatingRepository {
+
+    /** Suma una reseña de "rating" estrellas al resumen del hotel (creándolo si es la primera). */
+    void addRating(long hotelId, int rating);
+
+    /** Resta una reseña de "rating" estrellas del resumen del hotel. */
+    void removeRating(long hotelId, int rating);
+
+    /**
+     * Resúmenes de varios hoteles con una consulta por clave primaria (las tarjetas de una página de resultados).
+     * Los hoteles sin reseñas no están en el mapa.
+     */
+    Map<Long, HotelRating> findRatings(Collection<Long> hotelIds);
+}
@@ -0,0 +1,85 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.review.HotelRating;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación del fragmento {@link HotelRatingRepository}.
+ *
+ * Los cambios son "columna = columna ± 1" en un solo UPDATE: la base de datos bloquea la fila
+ * mientras lo aplica, así que dos reseñas del mismo hotel a la vez suman las dos (leer el resumen,
+ * sumar en Java y guardarlo perdería una). En el SET, las columnas valen lo que valían antes del UPDATE.
+ */
+@RequiredArgsConstructor
+public class HotelRatingRepositoryImpl implements HotelRatingRepository {
+
+    // La primera reseña de un hotel crea su fila; si dos llegan a la vez, la segunda no hace nada y solo actualiza
+    private static final String CREATE_SQL = "INSERT INTO hotel_rating (hotel_id) VALUES (:hotelId) ON CONFLICT DO NOTHING";
+
+    // Uno por número de estrellas (ADD_SQL[rating - 1]): solo cambia la columna del histograma
+    private static final String[] ADD_SQL = new String[5];
+
+    private static final String[] REMOVE_SQL = new String[5];
+
+    static {
+        for (int rating = 1; rating <= 5; rating++) {
+            ADD_SQL[rating - 1] = "UPDATE hotel_rating SET review_count = review_count + 1,"
+                    + " rating_sum = rating_sum + " + rating + ","
+                    + " average_rating = CAST(rating_sum + " + rating + " AS DOUBLE PRECISION) / (review_count + 1),"
+                    + " rating_" + rating + " = rating_" + rating + " + 1"
+                    + " WHERE hotel_id = :hotelId";
+            REMOVE_SQL[rating - 1] = "UPDATE hotel_rating SET review_count = review_count - 1,"
+                    + " rating_sum = rating_sum - " + rating + ","
+                    + " average_rating = CASE WHEN review_count = 1 THEN 0"
+                    + " ELSE CAST(rating_sum - " + rating + " AS DOUBLE PRECISION) / (review_count - 1) END,"
+                    + " rating_" + rating + " = rating_" + rating + " - 1"
+                    + " WHERE hotel_id = :hotelId";
+        }
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addRating(long hotelId, int rating) {
+        MapSqlParameterSource params = new MapSqlParameterSource("hotelId", hotelId);
+        // Casi siempre la fila ya existe y basta el UPDATE: el INSERT solo cuando el hotel no tenía reseñas
+        if (jdbcTemplate.update(ADD_SQL[rating - 1], params) == 0) {
+            jdbcTemplate.update(CREATE_SQL, params);
+            jdbcTemplate.update(ADD_SQL[rating - 1], params);
+        }
+    }
+
+    @Override
+    public void removeRating(long hotelId, int rating) {
+        jdbcTemplate.update(REMOVE_SQL[rating - 1], new MapSqlParameterSource("hotelId", hotelId));
+    }
+
+    @Override
+    public Map<Long, HotelRating> findRatings(Collection<Long> hotelIds) {
+        Map<Long, HotelRating> ratings = new HashMap<>(hotelIds.size() * 2);
+        if (hotelIds.isEmpty()) {
+            return ratings;
+        }
+        jdbcTemplate.query("SELECT * FROM hotel_rating WHERE hotel_id IN (:ids)",
+                new MapSqlParameterSource("ids", hotelIds),
+                rs -> {
+                    HotelRating rating = HotelRating.builder()
+                            .hotelId(rs.getLong("hotel_id"))
+                            .reviewCount(rs.getLong("review_count"))
+                            .ratingSum(rs.getLong("rating_sum"))
+                            .averageRating(rs.getDouble("average_rating"))
+                            .histogram(List.of(rs.getLong("rating_1"), rs.getLong("rating_2"), rs.getLong("rating_3"),
+                                    rs.getLong("rating_4"), rs.getLong("rating_5")))
+                            .build();
+                    ratings.put(rating.getHotelId(), rating);
+                });
+        return ratings;
+    }
+}
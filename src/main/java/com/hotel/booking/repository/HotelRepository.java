@@ -18,8 +18,21 @@ import org.springframework.data.repository.CrudRepository;
  *   - deleteById(id): Elimina un hotel por su ID.
  *   - count(): Cuenta el número de hoteles.
  *   - ... y más!
+ *
+ * extends HotelBulkRepository:
+ * - Fragmento propio con inserciones masivas en batch JDBC (ver HotelBulkRepositoryImpl).
+ *
+ * extends HotelQueryRepository:
+ * - Fragmento propio para listar por páginas (keyset) y exportar en streaming (ver HotelQueryRepositoryImpl).
+ *
+ * extends HotelRatingRepository:
+ * - Fragmento propio con el resumen de reseñas de cada hotel (ver HotelRatingRepositoryImpl).
+ *
+ * extends HotelDtoRepository:
+ * - Fragmento propio con la lectura por id y el alta directamente entre filas y DTOs (ver HotelDtoRepositoryImpl).
  */
 
-public interface HotelRepository extends CrudRepository<Hotel, Long> {
+public interface HotelRepository extends CrudRepository<Hotel, Long>, HotelBulkRepository, HotelQueryRepository,
+        HotelRatingRepository, HotelDtoRepository {
 
 }
@@ -0,0 +1,33 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.hotel.Hotel;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Convierte una fila de la tabla "hotel" en la entidad Hotel, para las consultas
+ * escritas a mano con JdbcTemplate (las de Spring Data ya saben hacerlo solas).
+ */
+public class HotelRowMapper implements RowMapper<Hotel> {
+
+    public static final HotelRowMapper INSTANCE = new HotelRowMapper();
+
+    @Override
+    public Hotel mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return Hotel.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .address(rs.getString("address"))
+                .city(rs.getString("city"))
+                .cityNormalized(rs.getString("city_normalized"))
+                .country(rs.getString("country"))
+                .stars(rs.getObject("stars", Integer.class))
+                .description(rs.getString("description"))
+                .latitude(rs.getObject("latitude", Double.class))
+                .longitude(rs.getObject("longitude", Double.class))
+                .version(rs.getLong("version"))
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.payment.Payment;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.Optional;
+
+/**
+ * Pagos de las reservas.
+ */
+public interface PaymentRepository extends CrudRepository<Payment, Long> {
+
+    // El último pago de la reserva: ... WHERE booking_id = ? ORDER BY id DESC LIMIT 1
+    Optional<Payment> findFirstByBookingIdOrderByIdDesc(Long bookingId);
+}
@@ -0,0 +1,15 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.pricing.RateRule;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.List;
+
+/**
+ * Reglas de tarifa. Son pocas por hotel: se leen enteras (findAll al arrancar, findByHotelId tras cada cambio).
+ */
+public interface RateRuleRepository extends CrudRepository<RateRule, Long> {
+
+    // Consulta derivada del nombre del método: ... WHERE hotel_id = ? ORDER BY id
+    List<RateRule> findByHotelIdOrderById(Long hotelId);
+}
@@ -0,0 +1,28 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.review.Review;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Reseñas. Un hotel puede tener muchas: se leen por páginas, nunca todas de golpe.
+ * El resumen de calificaciones de cada hotel (hotel_rating) lo mantiene {@link HotelRatingRepository}.
+ */
+public interface ReviewRepository extends CrudRepository<Review, Long> {
+
+    // Consulta derivada del nombre del método: ... WHERE hotel_id = ? AND id < ? ORDER BY id DESC LIMIT ?
+    List<Review> findByHotelIdAndIdLessThanOrderByIdDesc(Long hotelId, Long beforeId, Limit limit);
+
+    /**
+     * Borra la reseña si es de ese hotel.
+     * @return false si no existía (o ya la había borrado otra petición): entonces no hay que tocar el resumen.
+     */
+    @Modifying
+    @Query("DELETE FROM review WHERE id = :id AND hotel_id = :hotelId")
+    boolean deleteByIdAndHotelId(@Param("id") Long id, @Param("hotelId") Long hotelId);
+}
@@ -0,0 +1,17 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.room.Room;
+
+import java.util.function.Consumer;
+
+/**
+ * Fragmento de repositorio para recorrer todas las habitaciones sin cargarlas en una lista.
+ */
+public interface RoomQueryRepository {
+
+    /**
+     * Entrega al consumer todas las habitaciones, ordenadas por id, según se leen.
+     * Debe llamarse dentro de una transacción para que el driver pueda usar un cursor.
+     */
+    void streamAll(int fetchSize, Consumer<Room> consumer);
+}
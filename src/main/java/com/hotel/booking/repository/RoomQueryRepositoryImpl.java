@@ -0,0 +1,27 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.room.Room;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.function.Consumer;
+
+/**
+ * Implementación del fragmento {@link RoomQueryRepository}.
+ */
+@RequiredArgsConstructor
+public class RoomQueryRepositoryImpl implements RoomQueryRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void streamAll(int fetchSize, Consumer<Room> consumer) {
+        // Como en HotelQueryRepositoryImpl: template propio para no cambiar el fetchSize global
+        JdbcTemplate streamingTemplate = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        streamingTemplate.setFetchSize(fetchSize);
+        RowCallbackHandler handler = rs -> consumer.accept(RoomRowMapper.INSTANCE.mapRow(rs, rs.getRow()));
+        streamingTemplate.query("SELECT * FROM room ORDER BY id", handler);
+    }
+}
@@ -0,0 +1,16 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.room.Room;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.List;
+
+/**
+ * Habitaciones. Igual que HotelRepository: CrudRepository + un fragmento propio
+ * (RoomQueryRepository) para recorrer la tabla en streaming al arrancar.
+ */
+public interface RoomRepository extends CrudRepository<Room, Long>, RoomQueryRepository {
+
+    // Consulta derivada del nombre del método: ... WHERE hotel_id = ? ORDER BY room_number
+    List<Room> findByHotelIdOrderByNumber(Long hotelId);
+}
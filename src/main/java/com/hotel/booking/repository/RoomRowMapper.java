@@ -0,0 +1,28 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.room.Room;
+import com.hotel.booking.domain.room.RoomType;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Convierte una fila de la tabla "room" en la entidad Room (consultas con JdbcTemplate).
+ */
+public class RoomRowMapper implements RowMapper<Room> {
+
+    public static final RoomRowMapper INSTANCE = new RoomRowMapper();
+
+    @Override
+    public Room mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return Room.builder()
+                .id(rs.getLong("id"))
+                .hotelId(rs.getLong("hotel_id"))
+                .number(rs.getString("room_number"))
+                .type(RoomType.valueOf(rs.getString("type")))
+                .capacity(rs.getObject("capacity", Integer.class))
+                .price(rs.getBigDecimal("price"))
+                .build();
+    }
+}
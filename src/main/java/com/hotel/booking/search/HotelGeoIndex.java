@@ -0,0 +1,488 @@
+package com.hotel.booking.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice espacial en memoria de la posición de los hoteles: rejilla fija de celdas de
+ * cellDegrees x cellDegrees grados (latitud x longitud).
+ *
+ * - Cada celda guarda sus hoteles en arrays de primitivos (long[] ids, double[] coordenadas),
+ *   sin un objeto por hotel, como las postings de {@link HotelTextIndex}.
+ * - Además de latitud y longitud guardamos cada punto como vector unitario (x, y, z) sobre la
+ *   esfera: la distancia en línea recta entre dos vectores (la "cuerda") crece igual que la
+ *   distancia sobre la superficie, así que para comparar distancias basta con restar y
+ *   multiplicar, sin senos ni cosenos por cada hotel. Solo los resultados finales se pasan a km.
+ * - Los k más cercanos: recorremos anillos de celdas alrededor de la del punto buscado (la
+ *   celda, luego las 8 vecinas, luego las 16 siguientes...) y paramos cuando ninguna celda
+ *   sin recorrer puede tener un hotel más cerca que el k-ésimo mejor encontrado.
+ * - La longitud da la vuelta (la columna de 179,9° es vecina de la de -180°). Cerca de los polos
+ *   las celdas son muy estrechas: los anillos se ensanchan en longitud y, en el límite, son
+ *   franjas de latitud enteras.
+ *
+ * Concurrencia: muchas lecturas a la vez y escrituras exclusivas (ReadWriteLock).
+ */
+public class HotelGeoIndex {
+
+    /** Radio medio de la Tierra. */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final double cellDegrees;
+
+    private final int rows;
+
+    private final int columns;
+
+    // Celda [fila * columns + columna]; null mientras no tenga ningún hotel
+    private final Cell[] cells;
+
+    private final Map<Long, Integer> cellByHotel = new HashMap<>();
+
+    /** Resultado: id del hotel y su distancia al punto buscado (al centro del recuadro en inBox). */
+    public record Hit(long hotelId, double distanceKm) {
+    }
+
+    /** Tamaño del índice, para métricas y benchmarks. */
+    public record Stats(int hotels, int cells, long approximateBytes) {
+    }
+
+    public HotelGeoIndex(double cellDegrees) {
+        if (!(cellDegrees > 0 && cellDegrees <= 10)) {
+            throw new IllegalArgumentException("El tamaño de celda debe estar entre 0 y 10 grados: " + cellDegrees);
+        }
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+        this.cells = new Cell[rows * columns];
+    }
+
+    /** Indexa la posición de un hotel, sustituyendo la anterior si ya estaba indexado. */
+    public void upsert(long hotelId, double latitude, double longitude) {
+        checkCoordinates(latitude, longitude);
+        int cell = cell(row(latitude), column(longitude));
+        lock.writeLock().lock();
+        try {
+            removeLocked(hotelId);
+            if (cells[cell] == null) {
+                cells[cell] = new Cell();
+            }
+            cells[cell].add(hotelId, latitude, longitude);
+            cellByHotel.put(hotelId, cell);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long hotelId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(hotelId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Los "limit" hoteles más cercanos al punto, del más cercano al más lejano.
+     * @param maxDistanceKm Solo hoteles a esta distancia o menos (Double.POSITIVE_INFINITY = sin límite).
+     */
+    public List<Hit> nearest(double latitude, double longitude, int limit, double maxDistanceKm) {
+        checkCoordinates(latitude, longitude);
+        if (limit <= 0 || maxDistanceKm < 0) {
+            return List.of();
+        }
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double qx = Math.cos(phi) * Math.cos(lambda);
+        double qy = Math.cos(phi) * Math.sin(lambda);
+        double qz = Math.sin(phi);
+        double maxChord2 = chord2(maxDistanceKm);
+        int row0 = row(latitude);
+        int column0 = column(longitude);
+        // Lejos del ecuador una celda es más estrecha que alta: cada anillo se ensancha 1/cos(lat)
+        // columnas por fila para que el bloque recorrido sea más o menos cuadrado en km.
+        double stretch = 1 / Math.max(Math.cos(phi), 1e-9);
+
+        lock.readLock().lock();
+        try {
+            if (cellByHotel.isEmpty()) {
+                return List.of();
+            }
+            Nearest best = new Nearest(Math.min(limit, cellByHotel.size()));
+            int previousWest = -1;
+            int previousEast = -1;
+            for (int ring = 0; ; ring++) {
+                int width = (int) Math.min(columns, Math.ceil(ring * stretch));
+                // Desplazamientos de columna distintos módulo "columns": [-west, east]
+                int west = Math.min(width, columns / 2);
+                int east = Math.min(width, columns - 1 - columns / 2);
+                for (int row = Math.max(0, row0 - ring); row <= Math.min(rows - 1, row0 + ring); row++) {
+                    if (row == row0 - ring || row == row0 + ring) {
+                        // Fila nueva, arriba o abajo del bloque: todas sus columnas
+                        scanColumns(row, column0, -west, east, qx, qy, qz, maxChord2, best);
+                    } else {
+                        // Filas ya recorridas: solo las columnas nuevas de cada lado
+                        scanColumns(row, column0, -west, -previousWest - 1, qx, qy, qz, maxChord2, best);
+                        scanColumns(row, column0, previousEast + 1, east, qx, qy, qz, maxChord2, best);
+                    }
+                }
+                previousWest = west;
+                previousEast = east;
+
+                double outsideKm = distanceOutside(latitude, longitude, row0, column0, ring, width);
+                if (outsideKm == Double.POSITIVE_INFINITY) {
+                    break; // ya hemos recorrido todas las celdas
+                }
+                double outsideChord2 = chord2(outsideKm);
+                if (outsideChord2 > maxChord2 || (best.isFull() && outsideChord2 >= best.worst())) {
+                    break;
+                }
+            }
+            return best.toHits();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hoteles dentro del recuadro (la vista del mapa), como mucho "limit": los más cercanos al centro.
+     * Si minLongitude > maxLongitude el recuadro cruza el antimeridiano (p. ej. de 170° a -170°).
+     */
+    public List<Hit> inBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude, int limit) {
+        checkCoordinates(minLatitude, minLongitude);
+        checkCoordinates(maxLatitude, maxLongitude);
+        if (limit <= 0 || minLatitude > maxLatitude) {
+            return List.of();
+        }
+        boolean wraps = minLongitude > maxLongitude;
+        double centerLatitude = (minLatitude + maxLatitude) / 2;
+        double centerLongitude = wraps ? normalizeLongitude((minLongitude + maxLongitude + 360) / 2) : (minLongitude + maxLongitude) / 2;
+        double phi = Math.toRadians(centerLatitude);
+        double lambda = Math.toRadians(centerLongitude);
+        double qx = Math.cos(phi) * Math.cos(lambda);
+        double qy = Math.cos(phi) * Math.sin(lambda);
+        double qz = Math.sin(phi);
+
+        int fromColumn = column(minLongitude);
+        int toColumn = column(maxLongitude);
+        int columnCount = Math.min(columns, wraps ? toColumn + columns - fromColumn + 1 : toColumn - fromColumn + 1);
+
+        lock.readLock().lock();
+        try {
+            Nearest best = new Nearest(Math.min(limit, Math.max(cellByHotel.size(), 1)));
+            for (int row = row(minLatitude); row <= row(maxLatitude); row++) {
+                for (int c = 0; c < columnCount; c++) {
+                    Cell cell = cells[cell(row, fromColumn + c)];
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < cell.size; i++) {
+                        double lat = cell.latitudes[i];
+                        double lon = cell.longitudes[i];
+                        boolean insideLongitude = wraps
+                                ? lon >= minLongitude || lon <= maxLongitude
+                                : lon >= minLongitude && lon <= maxLongitude;
+                        if (lat >= minLatitude && lat <= maxLatitude && insideLongitude) {
+                            double dx = cell.xs[i] - qx;
+                            double dy = cell.ys[i] - qy;
+                            double dz = cell.zs[i] - qz;
+                            best.offer(cell.ids[i], dx * dx + dy * dy + dz * dz);
+                        }
+                    }
+                }
+            }
+            return best.toHits();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Libera la capacidad sobrante de los arrays (útil tras la carga inicial). */
+    public void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            for (Cell cell : cells) {
+                if (cell != null) {
+                    cell.trim();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            int usedCells = 0;
+            // Array de celdas + HashMap<Long, Integer> (~64 bytes por hotel, como en HotelTextIndex)
+            long bytes = (long) cells.length * 4 + cellByHotel.size() * 64L;
+            for (Cell cell : cells) {
+                if (cell != null) {
+                    usedCells++;
+                    // long[] + 5 double[] por hueco, más cabeceras
+                    bytes += (long) cell.ids.length * 6 * Long.BYTES + 6 * 16 + 32;
+                }
+            }
+            return new Stats(cellByHotel.size(), usedCells, bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cellByHotel.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Distancia sobre la superficie terrestre (fórmula del haversine). */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dPhi = Math.toRadians(latitude2 - latitude1);
+        double dLambda = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dPhi / 2) * Math.sin(dPhi / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(dLambda / 2) * Math.sin(dLambda / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // ---------------------------------------------------------------- celdas
+
+    private void scanColumns(int row, int column0, int fromOffset, int toOffset,
+                             double qx, double qy, double qz, double maxChord2, Nearest best) {
+        for (int offset = fromOffset; offset <= toOffset; offset++) {
+            scan(row, column0 + offset, qx, qy, qz, maxChord2, best);
+        }
+    }
+
+    private void scan(int row, int column, double qx, double qy, double qz, double maxChord2, Nearest best) {
+        Cell cell = cells[cell(row, column)];
+        if (cell == null) {
+            return;
+        }
+        double[] xs = cell.xs;
+        double[] ys = cell.ys;
+        double[] zs = cell.zs;
+        for (int i = 0; i < cell.size; i++) {
+            double dx = xs[i] - qx;
+            double dy = ys[i] - qy;
+            double dz = zs[i] - qz;
+            double chord2 = dx * dx + dy * dy + dz * dz;
+            if (chord2 <= maxChord2) {
+                best.offer(cell.ids[i], chord2);
+            }
+        }
+    }
+
+    /**
+     * Cota inferior de la distancia del punto a cualquier hotel de las celdas que quedan fuera
+     * del bloque ya recorrido (filas row0 ± ring, columnas column0 ± width). Un hotel de fuera está en otra franja de latitud
+     * o en otra franja de longitud:
+     * - por latitud, la distancia es al menos la diferencia de latitudes hasta el borde del bloque;
+     * - por longitud, al menos la distancia del punto al meridiano del borde, asin(cos(lat) * sin(dLon)).
+     * Devuelve POSITIVE_INFINITY si el bloque ya cubre todo el globo.
+     */
+    private double distanceOutside(double latitude, double longitude, int row0, int column0, int ring, int width) {
+        double bound = Double.POSITIVE_INFINITY;
+        if (row0 - ring > 0) {
+            double southEdge = -90 + (row0 - ring) * cellDegrees;
+            bound = Math.min(bound, Math.toRadians(latitude - southEdge) * EARTH_RADIUS_KM);
+        }
+        if (row0 + ring < rows - 1) {
+            double northEdge = -90 + (row0 + ring + 1) * cellDegrees;
+            bound = Math.min(bound, Math.toRadians(northEdge - latitude) * EARTH_RADIUS_KM);
+        }
+        if (2 * width + 1 < columns) {
+            double westEdge = -180 + (column0 - width) * cellDegrees;
+            double eastEdge = -180 + (column0 + width + 1) * cellDegrees;
+            double dLambda = Math.toRadians(Math.min(90, Math.min(longitude - westEdge, eastEdge - longitude)));
+            double crossTrack = Math.asin(Math.min(1, Math.cos(Math.toRadians(latitude)) * Math.sin(dLambda)));
+            bound = Math.min(bound, crossTrack * EARTH_RADIUS_KM);
+        }
+        return bound;
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, (int) ((latitude + 90) / cellDegrees));
+    }
+
+    private int column(double longitude) {
+        return Math.min(columns - 1, (int) ((longitude + 180) / cellDegrees));
+    }
+
+    // Columna módulo "columns": la longitud da la vuelta
+    private int cell(int row, int column) {
+        return row * columns + Math.floorMod(column, columns);
+    }
+
+    private void removeLocked(long hotelId) {
+        Integer cell = cellByHotel.remove(hotelId);
+        if (cell != null) {
+            cells[cell].remove(hotelId);
+        }
+    }
+
+    // Cuadrado de la cuerda que corresponde a una distancia sobre la superficie (4 = antípodas)
+    private static double chord2(double distanceKm) {
+        if (distanceKm >= Math.PI * EARTH_RADIUS_KM) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double chord = 2 * Math.sin(distanceKm / (2 * EARTH_RADIUS_KM));
+        return chord * chord;
+    }
+
+    private static double distanceKm(double chord2) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(chord2) / 2));
+    }
+
+    private static double normalizeLongitude(double longitude) {
+        return longitude > 180 ? longitude - 360 : longitude;
+    }
+
+    private static void checkCoordinates(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Coordenadas fuera de rango: " + latitude + ", " + longitude);
+        }
+    }
+
+    /** Hoteles de una celda, en arrays paralelos. Al borrar, el último ocupa el hueco. */
+    static final class Cell {
+
+        long[] ids = new long[4];
+        double[] latitudes = new double[4];
+        double[] longitudes = new double[4];
+        double[] xs = new double[4];
+        double[] ys = new double[4];
+        double[] zs = new double[4];
+        int size;
+
+        void add(long hotelId, double latitude, double longitude) {
+            if (size == ids.length) {
+                resize(size + (size >> 1) + 1);
+            }
+            double phi = Math.toRadians(latitude);
+            double lambda = Math.toRadians(longitude);
+            ids[size] = hotelId;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            xs[size] = Math.cos(phi) * Math.cos(lambda);
+            ys[size] = Math.cos(phi) * Math.sin(lambda);
+            zs[size] = Math.sin(phi);
+            size++;
+        }
+
+        void remove(long hotelId) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == hotelId) {
+                    int last = --size;
+                    ids[i] = ids[last];
+                    latitudes[i] = latitudes[last];
+                    longitudes[i] = longitudes[last];
+                    xs[i] = xs[last];
+                    ys[i] = ys[last];
+                    zs[i] = zs[last];
+                    return;
+                }
+            }
+        }
+
+        void trim() {
+            resize(Math.max(size, 1));
+        }
+
+        private void resize(int capacity) {
+            ids = Arrays.copyOf(ids, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            zs = Arrays.copyOf(zs, capacity);
+        }
+    }
+
+    /**
+     * Los k mejores candidatos vistos hasta ahora: montículo de máximos sobre la cuerda al cuadrado,
+     * en arrays de primitivos. La raíz es el peor de los k, el que sale si llega uno mejor.
+     */
+    static final class Nearest {
+
+        private final long[] ids;
+        private final double[] chords2;
+        private int size;
+
+        Nearest(int capacity) {
+            this.ids = new long[capacity];
+            this.chords2 = new double[capacity];
+        }
+
+        boolean isFull() {
+            return size == ids.length;
+        }
+
+        double worst() {
+            return chords2[0];
+        }
+
+        void offer(long id, double chord2) {
+            if (size < ids.length) {
+                int i = size++;
+                while (i > 0) { // sube mientras sea más lejano que su padre
+                    int parent = (i - 1) >>> 1;
+                    if (chords2[parent] >= chord2) {
+                        break;
+                    }
+                    ids[i] = ids[parent];
+                    chords2[i] = chords2[parent];
+                    i = parent;
+                }
+                ids[i] = id;
+                chords2[i] = chord2;
+            } else if (chord2 < chords2[0]) {
+                siftDown(id, chord2, size);
+            }
+        }
+
+        // Coloca (id, chord2) en la raíz y lo baja hasta su sitio dentro de los primeros "n"
+        private void siftDown(long id, double chord2, int n) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= n) {
+                    break;
+                }
+                if (child + 1 < n && chords2[child + 1] > chords2[child]) {
+                    child++;
+                }
+                if (chords2[child] <= chord2) {
+                    break;
+                }
+                ids[i] = ids[child];
+                chords2[i] = chords2[child];
+                i = child;
+            }
+            ids[i] = id;
+            chords2[i] = chord2;
+        }
+
+        /** Vacía el montículo y devuelve los resultados del más cercano al más lejano. */
+        List<Hit> toHits() {
+            Hit[] hits = new Hit[size];
+            for (int n = size; n > 0; n--) {
+                hits[n - 1] = new Hit(ids[0], distanceKm(chords2[0]));
+                siftDown(ids[n - 1], chords2[n - 1], n - 1);
+            }
+            size = 0;
+            return new ArrayList<>(Arrays.asList(hits));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.hotel.booking.search;
+
+import com.hotel.booking.config.HotelGeoSearchProperties;
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.dto.HotelFilter;
+import com.hotel.booking.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Mantiene {@link HotelGeoIndex} al día con las coordenadas de la tabla "hotel", igual que
+ * HotelTextIndexLoader: carga completa al arrancar y después cada HotelChangedEvent, en orden de
+ * versión con HotelIndexVersions (un evento viejo no devuelve un hotel a sus coordenadas de antes,
+ * ni uno borrado a /nearby).
+ * Los hoteles sin coordenadas no se indexan (y si las pierden en una modificación, se quitan).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotelGeoIndexLoader {
+
+    private final HotelGeoIndex hotelGeoIndex;
+
+    private final HotelRepository hotelRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final HotelGeoSearchProperties properties;
+
+    private final HotelIndexVersions versions = new HotelIndexVersions();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long start = System.nanoTime();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> hotelRepository.streamAll(
+                HotelFilter.builder().build(), properties.getLoadFetchSize(), hotel -> {
+                    if (hotel.getLatitude() != null && hotel.getLongitude() != null) {
+                        versions.upsert(hotel.getId(), hotel.getVersion(),
+                                () -> hotelGeoIndex.upsert(hotel.getId(), hotel.getLatitude(), hotel.getLongitude()));
+                    }
+                }));
+        hotelGeoIndex.trimToSize();
+
+        HotelGeoIndex.Stats stats = hotelGeoIndex.stats();
+        log.info("Índice espacial construido: {} hoteles en {} celdas, ~{} KB en {} ms",
+                stats.hotels(), stats.cells(), stats.approximateBytes() / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @EventListener
+    public void onHotelChanged(HotelChangedEvent event) {
+        long hotelId = event.getHotelId();
+        HotelDto hotel = event.getHotel();
+        if (event.getType() == HotelChangedEvent.Type.DELETED) {
+            versions.delete(hotelId, () -> hotelGeoIndex.remove(hotelId));
+        } else if (hotel.getLatitude() == null || hotel.getLongitude() == null) {
+            // Una versión sin coordenadas: sale del índice, pero puede volver con una posterior que las tenga
+            versions.upsert(hotelId, hotel.getVersion(), () -> hotelGeoIndex.remove(hotelId));
+        } else {
+            versions.upsert(hotelId, hotel.getVersion(),
+                    () -> hotelGeoIndex.upsert(hotelId, hotel.getLatitude(), hotel.getLongitude()));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.hotel.booking.search;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Última versión de cada hotel que ha llegado a un índice en memoria, para aplicar los cambios en
+ * orden aunque no lleguen en orden.
+ *
+ * Los HotelChangedEvent se publican desde el hilo de cada petición tras su commit: de dos PUT
+ * seguidos, el evento de la versión 2 puede llegar después del de la 3, y un UPDATED tardío después
+ * del DELETED. Lo mismo la carga inicial, que lee en streaming filas que pueden ser más viejas que
+ * los eventos que llegan mientras tanto. Un cambio con una versión anterior a la ya aplicada se
+ * ignora (igual que CaffeineHotelCache.put); uno con la misma, se vuelve a aplicar, que no cambia nada.
+ *
+ * Un borrado deja una marca que ninguna versión supera: el hotel no vuelve aunque llegue después un
+ * evento o una fila suyos. Los ids no se reutilizan, así que la marca se queda hasta el siguiente
+ * arranque (~60 bytes por hotel borrado, como una entrada más del mapa).
+ *
+ * Comprobar la versión y aplicar el cambio es atómico por hotel (compute de ConcurrentHashMap): dos
+ * cambios del mismo hotel no se cuelan uno entre la comprobación y la escritura del otro.
+ */
+final class HotelIndexVersions {
+
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+
+    /** Aplica el alta o modificación si la versión no es anterior a la última aplicada (null cuenta como 0). */
+    void upsert(long hotelId, Long version, Runnable apply) {
+        long incoming = version == null ? 0 : version;
+        versions.compute(hotelId, (id, current) -> {
+            if (current != null && current > incoming) {
+                return current;
+            }
+            apply.run();
+            return incoming;
+        });
+    }
+
+    /** Aplica el borrado y deja la marca. */
+    void delete(long hotelId, Runnable apply) {
+        versions.compute(hotelId, (id, current) -> {
+            apply.run();
+            return DELETED;
+        });
+    }
+}
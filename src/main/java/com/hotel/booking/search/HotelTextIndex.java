@@ -0,0 +1,403 @@
+package com.hotel.booking.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria sobre el nombre y la descripción de los hoteles.
+ *
+ * Para cada término guardamos su "lista de apariciones" (postings): los documentos donde
+ * aparece, en arrays de primitivos (int[] para el documento y byte[] para la frecuencia)
+ * y no en colecciones de Integer, que ocuparían 4-5 veces más y obligarían al GC a
+ * recorrer millones de objetos.
+ *
+ * - Cada hotel indexado es un "documento" con un número interno (docId) consecutivo;
+ *   como los docId solo crecen, todas las postings están ordenadas y se pueden intersecar
+ *   con un simple recorrido en paralelo.
+ * - Modificar un hotel = marcar su documento como borrado y añadir uno nuevo. Cuando los
+ *   borrados superan el 25% se compacta el índice (se reescriben las postings sin ellos).
+ * - El diccionario de términos es un TreeMap, ordenado, para poder buscar por prefijo.
+ * - Las búsquedas exigen todos los términos (AND) y ordenan por relevancia BM25; las
+ *   palabras del nombre cuentan {@value #NAME_WEIGHT} veces más que las de la descripción.
+ *
+ * Concurrencia: muchas lecturas a la vez y escrituras exclusivas (ReadWriteLock).
+ */
+public class HotelTextIndex {
+
+    static final int NAME_WEIGHT = 3;
+
+    // Parámetros estándar de BM25
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Un prefijo muy corto ("p") podría expandirse a miles de términos
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final int MIN_DELETED_TO_COMPACT = 1_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+
+    private final Map<Long, Integer> docByHotel = new HashMap<>();
+
+    // Por docId: id del hotel y número de términos (ponderados) del documento
+    private long[] hotelIds = new long[1_024];
+    private int[] docLengths = new int[1_024];
+
+    private final BitSet deleted = new BitSet();
+
+    private int docCount;       // docIds asignados, incluidos los borrados
+    private int liveDocs;
+    private long liveLength;    // suma de docLengths de los documentos vivos
+
+    /** Resultado de una búsqueda: id del hotel y su puntuación de relevancia. */
+    public record Hit(long hotelId, float score) {
+    }
+
+    /** Término sugerido para autocompletar y en cuántos hoteles aparece. */
+    public record Suggestion(String term, int hotels) {
+    }
+
+    /** Tamaño del índice, para métricas y benchmarks. */
+    public record Stats(int hotels, int terms, long postings, long approximateBytes) {
+    }
+
+    /** Indexa un hotel, sustituyendo la versión anterior si ya estaba indexado. */
+    public void upsert(long hotelId, String name, String description) {
+        // La tokenización se hace fuera del lock: es la parte cara y no toca el índice.
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : TextTokenizer.tokenize(name)) {
+            frequencies.merge(token, NAME_WEIGHT, Integer::sum);
+        }
+        for (String token : TextTokenizer.tokenize(description)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        int length = 0;
+        for (int frequency : frequencies.values()) {
+            length += frequency;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(hotelId);
+            int doc = newDoc(hotelId, length);
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), term -> new Postings()).add(doc, entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long hotelId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(hotelId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los hoteles que contienen todos los términos de la consulta.
+     * @param prefix Si es true, el último término se trata como prefijo ("barc" -> barcelona, barco...).
+     */
+    public List<Hit> search(String query, int limit, boolean prefix) {
+        List<String> tokens = TextTokenizer.tokenize(query, prefix);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[tokens.size()];
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean last = i == tokens.size() - 1;
+                lists[i] = prefix && last ? expandPrefix(tokens.get(i)) : terms.get(tokens.get(i));
+                if (lists[i] == null || lists[i].size == 0) {
+                    return List.of(); // un término sin apariciones => ningún hotel los tiene todos
+                }
+            }
+            return topHits(lists, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Términos que empiezan por el prefijo, los más frecuentes primero. */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String folded = TextTokenizer.tokenize(prefix, true).stream().reduce((first, second) -> second).orElse(null);
+        if (folded == null || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Suggestion> best = new PriorityQueue<>((a, b) -> Integer.compare(a.hotels(), b.hotels()));
+            for (Map.Entry<String, Postings> entry : prefixRange(folded).entrySet()) {
+                best.add(new Suggestion(entry.getKey(), entry.getValue().size));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<Suggestion> suggestions = new ArrayList<>(best);
+            suggestions.sort((a, b) -> Integer.compare(b.hotels(), a.hotels()));
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Libera la capacidad sobrante de los arrays (útil tras la carga inicial). */
+    public void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            for (Postings list : terms.values()) {
+                list.trim();
+            }
+            hotelIds = Arrays.copyOf(hotelIds, Math.max(docCount, 16));
+            docLengths = Arrays.copyOf(docLengths, hotelIds.length);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            long postings = 0;
+            long bytes = (long) hotelIds.length * Long.BYTES + (long) docLengths.length * Integer.BYTES
+                    + deleted.size() / 8
+                    // HashMap<Long, Integer>: entrada + Long + Integer ~ 64 bytes por hotel
+                    + docByHotel.size() * 64L;
+            for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+                Postings list = entry.getValue();
+                postings += list.size;
+                // arrays + cabeceras + entrada del TreeMap y el String del término
+                bytes += (long) list.docs.length * Integer.BYTES + list.freqs.length + 100 + 2L * entry.getKey().length();
+            }
+            return new Stats(liveDocs, terms.size(), postings, bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- escritura
+
+    private int newDoc(long hotelId, int length) {
+        if (docCount == hotelIds.length) {
+            int capacity = docCount + (docCount >> 1);
+            hotelIds = Arrays.copyOf(hotelIds, capacity);
+            docLengths = Arrays.copyOf(docLengths, capacity);
+        }
+        int doc = docCount++;
+        hotelIds[doc] = hotelId;
+        docLengths[doc] = length;
+        docByHotel.put(hotelId, doc);
+        liveDocs++;
+        liveLength += length;
+        return doc;
+    }
+
+    private void removeLocked(long hotelId) {
+        Integer doc = docByHotel.remove(hotelId);
+        if (doc == null) {
+            return;
+        }
+        deleted.set(doc);
+        liveDocs--;
+        liveLength -= docLengths[doc];
+        int deletedDocs = docCount - liveDocs;
+        if (deletedDocs >= MIN_DELETED_TO_COMPACT && deletedDocs > docCount / 4) {
+            compact();
+        }
+    }
+
+    // Reasigna docIds consecutivos a los documentos vivos y reescribe las postings sin los borrados.
+    private void compact() {
+        int[] newDocIds = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            newDocIds[doc] = deleted.get(doc) ? -1 : next++;
+        }
+        long[] compactedHotelIds = new long[Math.max(next, 16)];
+        int[] compactedLengths = new int[compactedHotelIds.length];
+        for (int doc = 0; doc < docCount; doc++) {
+            int newDoc = newDocIds[doc];
+            if (newDoc >= 0) {
+                compactedHotelIds[newDoc] = hotelIds[doc];
+                compactedLengths[newDoc] = docLengths[doc];
+                docByHotel.put(hotelIds[doc], newDoc);
+            }
+        }
+        terms.values().removeIf(list -> list.remap(newDocIds) == 0);
+
+        hotelIds = compactedHotelIds;
+        docLengths = compactedLengths;
+        docCount = next;
+        deleted.clear();
+    }
+
+    // ---------------------------------------------------------------- lectura
+
+    private NavigableMap<String, Postings> prefixRange(String prefix) {
+        return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    // Une las postings de los términos que empiezan por el prefijo, sumando frecuencias.
+    private Postings expandPrefix(String prefix) {
+        Postings merged = null;
+        int expansions = 0;
+        for (Postings list : prefixRange(prefix).values()) {
+            merged = merged == null ? list : Postings.union(merged, list);
+            if (++expansions == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        return merged;
+    }
+
+    private List<Hit> topHits(Postings[] lists, int limit) {
+        // Recorremos la lista más corta y buscamos cada documento en las demás.
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        float[] idf = new float[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            idf[i] = (float) Math.log(1 + (liveDocs - lists[i].size + 0.5) / (lists[i].size + 0.5));
+        }
+        float averageLength = liveDocs == 0 ? 1 : (float) liveLength / liveDocs;
+
+        PriorityQueue<Hit> best = new PriorityQueue<>((a, b) -> Float.compare(a.score(), b.score()));
+        int[] cursors = new int[lists.length];
+        Postings shortest = lists[0];
+        candidates:
+        for (int i = 0; i < shortest.size; i++) {
+            int doc = shortest.docs[i];
+            if (deleted.get(doc)) {
+                continue;
+            }
+            float norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+            float score = bm25(idf[0], shortest.freq(i), norm);
+            for (int l = 1; l < lists.length; l++) {
+                int position = lists[l].advance(cursors[l], doc);
+                cursors[l] = position;
+                if (position == lists[l].size) {
+                    break candidates; // esta lista se ha acabado: no puede haber más coincidencias
+                }
+                if (lists[l].docs[position] != doc) {
+                    continue candidates;
+                }
+                score += bm25(idf[l], lists[l].freq(position), norm);
+            }
+            if (best.size() < limit) {
+                best.add(new Hit(hotelIds[doc], score));
+            } else if (score > best.peek().score()) {
+                best.poll();
+                best.add(new Hit(hotelIds[doc], score));
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort((a, b) -> Float.compare(b.score(), a.score()));
+        return hits;
+    }
+
+    private static float bm25(float idf, int frequency, float norm) {
+        return idf * frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    /**
+     * Lista de apariciones de un término: docIds ordenados y su frecuencia en cada uno.
+     * La frecuencia se guarda en un byte sin signo (satura en 255), suficiente para puntuar.
+     */
+    static final class Postings {
+
+        int[] docs = new int[4];
+        byte[] freqs = new byte[4];
+        int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                int capacity = size + (size >> 1) + 1;
+                docs = Arrays.copyOf(docs, capacity);
+                freqs = Arrays.copyOf(freqs, capacity);
+            }
+            docs[size] = doc;
+            freqs[size] = (byte) Math.min(frequency, 255);
+            size++;
+        }
+
+        void trim() {
+            docs = Arrays.copyOf(docs, Math.max(size, 1));
+            freqs = Arrays.copyOf(freqs, Math.max(size, 1));
+        }
+
+        int freq(int index) {
+            return freqs[index] & 0xFF;
+        }
+
+        /** Primera posición >= from cuyo doc es >= target (búsqueda exponencial + binaria). */
+        int advance(int from, int target) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && docs[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            int position = Arrays.binarySearch(docs, low, high, target);
+            return position >= 0 ? position : -position - 1;
+        }
+
+        /** Reescribe los docIds según el mapeo (-1 = borrado). Devuelve el nuevo tamaño. */
+        int remap(int[] newDocIds) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int newDoc = newDocIds[docs[i]];
+                if (newDoc >= 0) {
+                    docs[kept] = newDoc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            trim();
+            return kept;
+        }
+
+        static Postings union(Postings a, Postings b) {
+            Postings merged = new Postings();
+            merged.docs = new int[a.size + b.size];
+            merged.freqs = new byte[a.size + b.size];
+            int i = 0;
+            int j = 0;
+            while (i < a.size || j < b.size) {
+                if (j == b.size || (i < a.size && a.docs[i] < b.docs[j])) {
+                    merged.add(a.docs[i], a.freq(i++));
+                } else if (i == a.size || b.docs[j] < a.docs[i]) {
+                    merged.add(b.docs[j], b.freq(j++));
+                } else {
+                    merged.add(a.docs[i], a.freq(i++) + b.freq(j++));
+                }
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.hotel.booking.search;
+
+import com.hotel.booking.config.HotelTextSearchProperties;
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.dto.HotelFilter;
+import com.hotel.booking.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Mantiene {@link HotelTextIndex} al día con la tabla "hotel":
+ * - al arrancar la aplicación lo construye recorriendo todos los hoteles en streaming;
+ * - después aplica cada HotelChangedEvent (alta, modificación, borrado).
+ *
+ * Ni los eventos ni las filas de la carga llegan necesariamente en orden (una fila leída antes de
+ * un cambio, dos PUT seguidos, un UPDATED tardío tras el DELETED): HotelIndexVersions se queda
+ * con la versión más reciente de cada hotel y no deja volver a los borrados.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotelTextIndexLoader {
+
+    private final HotelTextIndex hotelTextIndex;
+
+    private final HotelRepository hotelRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final HotelTextSearchProperties properties;
+
+    private final HotelIndexVersions versions = new HotelIndexVersions();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long start = System.nanoTime();
+        // Transacción de solo lectura para que el driver pueda usar un cursor con fetchSize.
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> hotelRepository.streamAll(
+                HotelFilter.builder().build(), properties.getLoadFetchSize(),
+                hotel -> versions.upsert(hotel.getId(), hotel.getVersion(),
+                        () -> hotelTextIndex.upsert(hotel.getId(), hotel.getName(), hotel.getDescription()))));
+        hotelTextIndex.trimToSize();
+
+        HotelTextIndex.Stats stats = hotelTextIndex.stats();
+        log.info("Índice de texto construido: {} hoteles, {} términos, ~{} KB en {} ms",
+                stats.hotels(), stats.terms(), stats.approximateBytes() / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @EventListener
+    public void onHotelChanged(HotelChangedEvent event) {
+        long hotelId = event.getHotelId();
+        if (event.getType() == HotelChangedEvent.Type.DELETED) {
+            versions.delete(hotelId, () -> hotelTextIndex.remove(hotelId));
+        } else {
+            HotelDto hotel = event.getHotel();
+            versions.upsert(hotelId, hotel.getVersion(),
+                    () -> hotelTextIndex.upsert(hotelId, hotel.getName(), hotel.getDescription()));
+        }
+    }
+}
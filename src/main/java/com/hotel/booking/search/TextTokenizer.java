@@ -0,0 +1,59 @@
+package com.hotel.booking.search;
+
+import com.hotel.booking.domain.hotel.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parte un texto en términos para el índice: minúsculas, sin acentos (TextNormalizer),
+ * cortando por cualquier carácter que no sea letra o dígito y quitando palabras vacías
+ * en español, portugués e inglés ("de", "con", "com", "the"...).
+ *
+ * "Hotel Playa de la Concha, SAN SEBASTIÁN" -> [hotel, playa, concha, san, sebastian]
+ */
+public final class TextTokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            // español
+            "a", "al", "con", "de", "del", "el", "en", "la", "las", "lo", "los", "para", "por", "se",
+            "su", "un", "una", "y", "e", "o",
+            // portugués
+            "ao", "as", "com", "da", "das", "do", "dos", "em", "na", "nas", "no", "nos", "os", "um", "uma",
+            // inglés
+            "an", "and", "at", "in", "of", "the", "with");
+
+    private TextTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    /**
+     * @param keepLastToken Conserva el último término aunque sea una palabra vacía: mientras el
+     *                      usuario escribe, "co" o "con" pueden ser el principio de "congresos".
+     */
+    public static List<String> tokenize(String text, boolean keepLastToken) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String folded = TextNormalizer.fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean partOfWord = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (partOfWord && start < 0) {
+                start = i;
+            } else if (!partOfWord && start >= 0) {
+                String token = folded.substring(start, i);
+                if (!STOP_WORDS.contains(token) || (keepLastToken && folded.substring(i).isBlank())) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,296 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.availability.RoomAvailabilityIndex;
+import com.hotel.booking.availability.RoomLockStripes;
+import com.hotel.booking.config.BookingPipelineProperties;
+import com.hotel.booking.domain.booking.Booking;
+import com.hotel.booking.domain.booking.BookingStage;
+import com.hotel.booking.domain.booking.BookingStatus;
+import com.hotel.booking.domain.payment.Payment;
+import com.hotel.booking.domain.payment.PaymentMethod;
+import com.hotel.booking.domain.payment.PaymentStatus;
+import com.hotel.booking.dto.BookingDto;
+import com.hotel.booking.dto.CreateBookingRequestDto;
+import com.hotel.booking.mapper.BookingMapper;
+import com.hotel.booking.payment.PaymentAuthorization;
+import com.hotel.booking.payment.PaymentProvider;
+import com.hotel.booking.pipeline.BookingNotifier;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Las etapas de una reserva asíncrona, una llamada por etapa. El orden, los hilos y los reintentos
+ * los pone BookingPipeline; aquí cada etapa lee la reserva, comprueba que sigue en su etapa y la
+ * mueve a la siguiente con un UPDATE condicional (ver BookingRepository). Así una etapa repetida
+ * (reintento, recuperación al arrancar, otra instancia) no hace nada dos veces.
+ *
+ *   requestBooking     reserva PENDING + pago PENDING, en la etapa RESERVE
+ *   reserve            retiene las noches (HELD) igual que BookingService.createBooking, o REJECTED
+ *   authorizePayment   llama al proveedor; rechazado => PAYMENT_FAILED y libera las noches
+ *   confirm            CONFIRMED
+ *   notifyGuest        avisa al huésped
+ *   expireHold         sin pago a tiempo => EXPIRED, libera las noches y anula la autorización
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsyncBookingService {
+
+    /**
+     * Lo que ha hecho una etapa: la siguiente que toca (null: ninguna), el estado en que ha dejado la
+     * reserva si ha llegado a uno de los finales (o a CONFIRMED) y cuánto tiempo estuvieron retenidas
+     * las noches, si la retención ha terminado en esta etapa.
+     */
+    public record StageResult(BookingStage next, BookingStatus outcome, Duration held) {
+
+        // La reserva ya no estaba en esta etapa: otro hilo u otra instancia se ha adelantado
+        static final StageResult NOTHING = new StageResult(null, null, null);
+
+        static StageResult next(BookingStage next) {
+            return new StageResult(next, null, null);
+        }
+    }
+
+    private final BookingService bookingService;
+
+    private final BookingRepository bookingRepository;
+
+    private final PaymentRepository paymentRepository;
+
+    private final BookingMapper bookingMapper;
+
+    private final RoomAvailabilityIndex availabilityIndex;
+
+    private final RoomLockStripes roomLocks;
+
+    private final PaymentProvider paymentProvider;
+
+    private final BookingNotifier notifier;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BookingPipelineProperties properties;
+
+    private final Clock clock;
+
+    /**
+     * Guarda la reserva (PENDING, etapa RESERVE) y su pago (PENDING) en una transacción. Las noches
+     * todavía no se tocan.
+     * @throws com.hotel.booking.exception.RoomNotFoundException     si la habitación no existe.
+     * @throws com.hotel.booking.exception.InvalidDateRangeException si las fechas no son válidas.
+     */
+    public BookingDto requestBooking(CreateBookingRequestDto request) {
+        Booking booking = bookingService.newBooking(request, BookingStatus.PENDING);
+        Instant now = Instant.now(clock);
+        booking.setStage(BookingStage.RESERVE);
+        booking.setRequestedAt(now);
+        PaymentMethod method = request.getPaymentMethod() != null ? request.getPaymentMethod() : PaymentMethod.CARD;
+        Booking saved = transactionTemplate.execute(status -> {
+            Booking inserted = bookingRepository.save(booking);
+            paymentRepository.save(Payment.builder()
+                    .bookingId(inserted.getId())
+                    .amount(inserted.getTotalPrice())
+                    .method(method)
+                    .status(PaymentStatus.PENDING)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+            return inserted;
+        });
+        return bookingMapper.toDto(saved);
+    }
+
+    /**
+     * RESERVE: retiene las noches hasta now + holdTimeout, con la misma garantía contra el overbooking que createBooking.
+     * Una reserva retomada tras una parada larga puede tener ya la entrada en el pasado, fuera de la
+     * ventana del índice: esa termina EXPIRED, sin noches.
+     */
+    public StageResult reserve(long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking == null || booking.getStage() != BookingStage.RESERVE) {
+            return StageResult.NOTHING;
+        }
+        if (booking.getCheckIn().isBefore(availabilityIndex.getFirstNight())) {
+            return finishUnreserved(booking, BookingStatus.EXPIRED);
+        }
+        Lock lock = roomLocks.forRoom(booking.getRoomId());
+        lock.lock();
+        try {
+            if (!availabilityIndex.isFree(booking.getRoomId(), booking.getCheckIn(), booking.getCheckOut())) {
+                return reject(booking);
+            }
+            Instant now = Instant.now(clock);
+            Boolean held;
+            try {
+                held = transactionTemplate.execute(status -> {
+                    if (!bookingRepository.markHeld(bookingId, now, now.plus(properties.getHoldTimeout()))) {
+                        return false;
+                    }
+                    bookingRepository.insertNights(bookingId, booking.getRoomId(), booking.getCheckIn(), booking.getCheckOut());
+                    return true;
+                });
+            } catch (DuplicateKeyException e) {
+                bookingService.markBookedNights(booking);
+                return reject(booking);
+            }
+            if (!Boolean.TRUE.equals(held)) {
+                return StageResult.NOTHING;
+            }
+            availabilityIndex.markBooked(booking.getRoomId(), booking.getCheckIn(), booking.getCheckOut());
+            return StageResult.next(BookingStage.AUTHORIZE_PAYMENT);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * AUTHORIZE_PAYMENT: la llamada lenta al proveedor, sin lock ni transacción abiertos.
+     * Si el proveedor falla, la excepción sale de aquí y BookingPipeline repite la etapa: la clave
+     * de idempotencia (el id del pago) evita autorizar dos veces.
+     */
+    public StageResult authorizePayment(long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking == null || booking.getStage() != BookingStage.AUTHORIZE_PAYMENT) {
+            return StageResult.NOTHING;
+        }
+        Payment payment = paymentRepository.findFirstByBookingIdOrderByIdDesc(bookingId).orElseThrow(() ->
+                new IllegalStateException("La reserva " + bookingId + " no tiene pago"));
+        PaymentAuthorization authorization = paymentProvider.authorize(
+                paymentKey(payment), payment.getAmount(), payment.getMethod());
+        Instant now = Instant.now(clock);
+
+        if (!authorization.approved()) {
+            log.info("Pago de la reserva {} rechazado: {}", bookingId, authorization.declineReason());
+            return release(booking, BookingStatus.PAYMENT_FAILED, payment, PaymentStatus.DECLINED);
+        }
+        Boolean authorized = transactionTemplate.execute(status -> {
+            if (!bookingRepository.markPaymentAuthorized(bookingId)) {
+                return false;
+            }
+            payment.setStatus(PaymentStatus.AUTHORIZED);
+            payment.setProviderReference(authorization.reference());
+            payment.setUpdatedAt(now);
+            paymentRepository.save(payment);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(authorized)) {
+            // La retención caducó mientras esperábamos al proveedor: expireHold ya liberó las noches
+            voidAuthorization(payment);
+            return StageResult.NOTHING;
+        }
+        return StageResult.next(BookingStage.CONFIRM);
+    }
+
+    /** CONFIRM: el pago está autorizado y las noches retenidas pasan a ser de la reserva. */
+    public StageResult confirm(long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking == null || booking.getStage() != BookingStage.CONFIRM) {
+            return StageResult.NOTHING;
+        }
+        Instant now = Instant.now(clock);
+        if (!bookingRepository.markConfirmed(bookingId, now)) {
+            return StageResult.NOTHING;
+        }
+        return new StageResult(BookingStage.NOTIFY, BookingStatus.CONFIRMED, Duration.between(booking.getHeldAt(), now));
+    }
+
+    /** NOTIFY: avisa al huésped, salvo que haya cancelado la reserva entretanto. */
+    public StageResult notifyGuest(long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking == null || booking.getStage() != BookingStage.NOTIFY) {
+            return StageResult.NOTHING;
+        }
+        if (booking.getStatus() == BookingStatus.CONFIRMED) {
+            notifier.bookingConfirmed(bookingMapper.toDto(booking));
+        }
+        // Sin reescribir el estado leído arriba: si ha cancelado justo ahora, se queda CANCELLED
+        bookingRepository.finishNotify(bookingId);
+        return StageResult.NOTHING;
+    }
+
+    /**
+     * Libera las noches de una reserva que sigue esperando el pago pasado holdExpiresAt (EXPIRED) y
+     * anula la autorización, por si el proveedor llegó a hacerla. Antes de tiempo no hace nada.
+     */
+    public StageResult expireHold(long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking == null || booking.getStage() != BookingStage.AUTHORIZE_PAYMENT
+                || booking.getHoldExpiresAt().isAfter(Instant.now(clock))) {
+            return StageResult.NOTHING;
+        }
+        Payment payment = paymentRepository.findFirstByBookingIdOrderByIdDesc(bookingId).orElse(null);
+        StageResult result = release(booking, BookingStatus.EXPIRED, payment, PaymentStatus.VOIDED);
+        if (result.outcome() != null && payment != null) {
+            voidAuthorization(payment);
+        }
+        return result;
+    }
+
+    private StageResult reject(Booking booking) {
+        return finishUnreserved(booking, BookingStatus.REJECTED);
+    }
+
+    // Termina una reserva que no llegó a retener noches: no hay nada que liberar
+    private StageResult finishUnreserved(Booking booking, BookingStatus outcome) {
+        return bookingRepository.finishStage(booking.getId(), BookingStage.RESERVE, outcome)
+                ? new StageResult(null, outcome, null)
+                : StageResult.NOTHING;
+    }
+
+    // Termina una reserva que esperaba el pago y devuelve sus noches, en la base de datos y en el índice
+    private StageResult release(Booking booking, BookingStatus outcome, Payment payment, PaymentStatus paymentStatus) {
+        Lock lock = roomLocks.forRoom(booking.getRoomId());
+        lock.lock();
+        try {
+            Instant now = Instant.now(clock);
+            Boolean released = transactionTemplate.execute(status -> {
+                if (!bookingRepository.finishStage(booking.getId(), BookingStage.AUTHORIZE_PAYMENT, outcome)) {
+                    return false;
+                }
+                bookingRepository.deleteNights(booking.getId());
+                if (payment != null) {
+                    payment.setStatus(paymentStatus);
+                    payment.setUpdatedAt(now);
+                    paymentRepository.save(payment);
+                }
+                return true;
+            });
+            if (!Boolean.TRUE.equals(released)) {
+                return StageResult.NOTHING;
+            }
+            availabilityIndex.markReleased(booking.getRoomId(), booking.getCheckIn(), booking.getCheckOut());
+            return new StageResult(null, outcome, Duration.between(booking.getHeldAt(), now));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Si falla no pasa nada grave: una autorización sin cobrar caduca sola en el emisor en unos días
+    private void voidAuthorization(Payment payment) {
+        try {
+            paymentProvider.voidAuthorization(paymentKey(payment));
+            if (payment.getStatus() != PaymentStatus.VOIDED) {
+                payment.setStatus(PaymentStatus.VOIDED);
+                payment.setUpdatedAt(Instant.now(clock));
+                paymentRepository.save(payment);
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se ha podido anular la autorización del pago {} (reserva {})",
+                    payment.getId(), payment.getBookingId(), e);
+        }
+    }
+
+    private static String paymentKey(Payment payment) {
+        return "payment-" + payment.getId();
+    }
+}
@@ -0,0 +1,108 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.availability.RoomAvailabilityIndex;
+import com.hotel.booking.config.AvailabilityProperties;
+import com.hotel.booking.domain.room.Room;
+import com.hotel.booking.dto.AvailabilityQuery;
+import com.hotel.booking.dto.HotelFilter;
+import com.hotel.booking.dto.RoomDto;
+import com.hotel.booking.exception.HotelNotFoundException;
+import com.hotel.booking.mapper.RoomMapper;
+import com.hotel.booking.pricing.RateCalendarIndex;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas de disponibilidad: qué habitaciones están libres todas las noches de una estancia.
+ *
+ * La decisión se toma entera en memoria con {@link RoomAvailabilityIndex}; la base de datos
+ * solo se consulta para traer los datos de las habitaciones que se van a devolver
+ * (y, en la búsqueda por ciudad, los ids de sus hoteles).
+ * Cada habitación devuelta lleva el precio total de la estancia, sacado de {@link RateCalendarIndex}
+ * en O(1) por habitación: presupuestar 200 habitaciones de 200 hoteles no recorre noches ni reglas.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+
+    private final RoomAvailabilityIndex availabilityIndex;
+
+    private final RateCalendarIndex rateCalendar;
+
+    private final HotelRepository hotelRepository;
+
+    private final RoomRepository roomRepository;
+
+    private final RoomMapper roomMapper;
+
+    private final AvailabilityProperties properties;
+
+    private final Clock clock;
+
+    /**
+     * Habitaciones libres de un hotel.
+     * @throws HotelNotFoundException si el hotel no existe.
+     */
+    public List<RoomDto> findAvailableRooms(Long hotelId, AvailabilityQuery query) {
+        StayDates.validate(query.getCheckIn(), query.getCheckOut(), clock, availabilityIndex);
+        if (!hotelRepository.existsById(hotelId)) {
+            throw new HotelNotFoundException(hotelId);
+        }
+        return loadRooms(freeRooms(hotelId, query, properties.getMaxResults()), properties.getMaxResults(), query);
+    }
+
+    /**
+     * Habitaciones libres en los hoteles de una ciudad (sin distinguir mayúsculas ni acentos),
+     * hotel a hotel por orden de id hasta llegar al máximo de resultados.
+     */
+    public List<RoomDto> findAvailableRoomsInCity(String city, AvailabilityQuery query) {
+        StayDates.validate(query.getCheckIn(), query.getCheckOut(), clock, availabilityIndex);
+        List<Long> hotelIds = hotelRepository.findIds(HotelFilter.builder().city(city).build(),
+                properties.getMaxHotelsPerCity());
+
+        int maxResults = properties.getMaxResults();
+        long[] found = new long[maxResults];
+        int count = 0;
+        for (int i = 0; i < hotelIds.size() && count < maxResults; i++) {
+            long[] free = freeRooms(hotelIds.get(i), query, maxResults - count);
+            System.arraycopy(free, 0, found, count, free.length);
+            count += free.length;
+        }
+        return loadRooms(found, count, query);
+    }
+
+    private long[] freeRooms(long hotelId, AvailabilityQuery query, int limit) {
+        int guests = query.getGuests() == null ? 1 : query.getGuests();
+        return availabilityIndex.findFreeRooms(hotelId, query.getCheckIn(), query.getCheckOut(),
+                query.getType(), guests, limit);
+    }
+
+    // Trae las habitaciones en una sola consulta (findAllById), respeta el orden del índice y les pone precio
+    private List<RoomDto> loadRooms(long[] roomIds, int count, AvailabilityQuery query) {
+        count = Math.min(count, roomIds.length);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(roomIds[i]);
+        }
+        Map<Long, Room> byId = new HashMap<>();
+        roomRepository.findAllById(ids).forEach(room -> byId.put(room.getId(), room));
+
+        List<RoomDto> rooms = new ArrayList<>(count);
+        for (Long id : ids) {
+            Room room = byId.get(id);
+            if (room != null) { // borrada entre la consulta al índice y la de la base de datos
+                rooms.add(roomMapper.toQuotedDto(room, rateCalendar.totalPrice(room.getHotelId(), room.getType(),
+                        room.getPrice(), query.getCheckIn(), query.getCheckOut())));
+            }
+        }
+        return rooms;
+    }
+}
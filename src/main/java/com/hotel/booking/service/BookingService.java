@@ -0,0 +1,176 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.availability.RoomAvailabilityIndex;
+import com.hotel.booking.availability.RoomLockStripes;
+import com.hotel.booking.domain.booking.Booking;
+import com.hotel.booking.domain.booking.BookingStatus;
+import com.hotel.booking.domain.room.Room;
+import com.hotel.booking.dto.BookingDto;
+import com.hotel.booking.dto.CreateBookingRequestDto;
+import com.hotel.booking.exception.BookingNotFoundException;
+import com.hotel.booking.exception.InvalidDateRangeException;
+import com.hotel.booking.exception.RoomNotAvailableException;
+import com.hotel.booking.exception.RoomNotFoundException;
+import com.hotel.booking.mapper.BookingMapper;
+import com.hotel.booking.pricing.RateCalendarIndex;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+@Service
+@RequiredArgsConstructor
+public class BookingService {
+
+    private final BookingRepository bookingRepository;
+
+    private final RoomRepository roomRepository;
+
+    private final BookingMapper bookingMapper;
+
+    // Qué noches de cada habitación están ocupadas; se actualiza en cada reserva y cancelación
+    private final RoomAvailabilityIndex availabilityIndex;
+
+    // Precio de la estancia según las reglas de tarifa del hotel (temporadas, fin de semana, estancia larga)
+    private final RateCalendarIndex rateCalendar;
+
+    // Serializa las reservas y cancelaciones de una misma habitación (ver createBooking)
+    private final RoomLockStripes roomLocks;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Clock clock;
+
+    /**
+     * Reserva una habitación para las noches [checkIn, checkOut).
+     * El precio total sale de los calendarios de precios del hotel (RateCalendarIndex); sin reglas
+     * de tarifa es el precio por noche de la habitación por el número de noches.
+     *
+     * Garantía contra el overbooking, en dos niveles:
+     * 1. Dentro de esta instancia, las reservas de una misma habitación se hacen de una en una
+     *    (lock de su raya en RoomLockStripes): comprobar en el índice y guardar es una sola operación.
+     *    Reservas de habitaciones distintas siguen en paralelo.
+     * 2. La clave primaria (room_id, night) de booking_night es el árbitro final: si el índice no
+     *    sabía de una reserva (otra instancia de la aplicación, un cambio directo en la base de datos),
+     *    la inserción falla, se deshace la transacción y respondemos 409.
+     *
+     * @throws RoomNotFoundException      si la habitación no existe.
+     * @throws RoomNotAvailableException  si alguna noche ya está reservada.
+     */
+    public BookingDto createBooking(CreateBookingRequestDto request) {
+        Booking booking = newBooking(request, BookingStatus.CONFIRMED);
+
+        Lock lock = roomLocks.forRoom(booking.getRoomId());
+        lock.lock();
+        try {
+            if (!availabilityIndex.isFree(booking.getRoomId(), booking.getCheckIn(), booking.getCheckOut())) {
+                throw notAvailable(booking);
+            }
+            Booking savedBooking = save(booking);
+            availabilityIndex.markBooked(booking.getRoomId(), booking.getCheckIn(), booking.getCheckOut());
+            return bookingMapper.toDto(savedBooking);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public BookingDto getBooking(Long id) {
+        return bookingMapper.toDto(findBooking(id));
+    }
+
+    /**
+     * Cancela una reserva y libera sus noches. Cancelar una reserva ya cancelada no hace nada.
+     * @throws BookingNotFoundException si la reserva no existe.
+     */
+    public BookingDto cancelBooking(Long id) {
+        Booking booking = findBooking(id);
+        Lock lock = roomLocks.forRoom(booking.getRoomId());
+        lock.lock();
+        try {
+            // Releemos con el lock: otra cancelación de la misma reserva puede haber terminado mientras esperábamos
+            Booking current = findBooking(id);
+            if (current.getStatus() != BookingStatus.CONFIRMED) {
+                return bookingMapper.toDto(current);
+            }
+            // UPDATE condicional y no save(): save() reescribiría la fila entera, etapa incluida, con
+            // lo leído aquí, y pisaría lo que BookingPipeline haga entretanto con una reserva asíncrona
+            boolean cancelled = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (!bookingRepository.cancelConfirmed(current.getId())) {
+                    return false;
+                }
+                bookingRepository.deleteNights(current.getId());
+                return true;
+            }));
+            if (!cancelled) {
+                return bookingMapper.toDto(findBooking(id));
+            }
+            availabilityIndex.markReleased(current.getRoomId(), current.getCheckIn(), current.getCheckOut());
+            current.setStatus(BookingStatus.CANCELLED);
+            return bookingMapper.toDto(current);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserva sin guardar, con el precio ya calculado; también la usa AsyncBookingService.
+     * @throws RoomNotFoundException     si la habitación no existe.
+     * @throws InvalidDateRangeException si las fechas no son válidas.
+     */
+    Booking newBooking(CreateBookingRequestDto request, BookingStatus status) {
+        StayDates.validate(request.getCheckIn(), request.getCheckOut(), clock, availabilityIndex);
+        Room room = roomRepository.findById(request.getRoomId())
+                .orElseThrow(() -> new RoomNotFoundException("Habitación no encontrada con id: " + request.getRoomId()));
+
+        return Booking.builder()
+                .roomId(room.getId())
+                .guestId(request.getGuestId())
+                .checkIn(request.getCheckIn())
+                .checkOut(request.getCheckOut())
+                .status(status)
+                .totalPrice(rateCalendar.totalPrice(room.getHotelId(), room.getType(), room.getPrice(),
+                        request.getCheckIn(), request.getCheckOut()))
+                .build();
+    }
+
+    // La reserva y sus noches en la misma transacción: si alguna noche choca, no queda nada guardado
+    private Booking save(Booking booking) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Booking saved = bookingRepository.save(booking);
+                bookingRepository.insertNights(saved.getId(), saved.getRoomId(), saved.getCheckIn(), saved.getCheckOut());
+                return saved;
+            });
+        } catch (DuplicateKeyException e) {
+            booking.setId(null);
+            markBookedNights(booking);
+            throw notAvailable(booking);
+        }
+    }
+
+    // Tras un DuplicateKeyException: el índice no sabía de alguna de estas noches, las marcamos para no volver a intentarlo
+    void markBookedNights(Booking booking) {
+        List<LocalDate> bookedNights = bookingRepository.findBookedNights(
+                booking.getRoomId(), booking.getCheckIn(), booking.getCheckOut());
+        for (LocalDate night : bookedNights) {
+            availabilityIndex.markBooked(booking.getRoomId(), night, night.plusDays(1));
+        }
+    }
+
+    private static RoomNotAvailableException notAvailable(Booking booking) {
+        return new RoomNotAvailableException("La habitación " + booking.getRoomId() + " no está libre del "
+                + booking.getCheckIn() + " al " + booking.getCheckOut());
+    }
+
+    private Booking findBooking(Long id) {
+        return bookingRepository.findById(id)
+                .orElseThrow(() -> new BookingNotFoundException("Reserva no encontrada con id: " + id));
+    }
+}
@@ -0,0 +1,153 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.cache.HotelCache;
+import com.hotel.booking.config.HotelBulkProperties;
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.dto.BulkCreateHotelResponseDto;
+import com.hotel.booking.dto.BulkHotelResultDto;
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.exception.InvalidBulkPayloadException;
+import com.hotel.booking.mapper.HotelMapper;
+import com.hotel.booking.repository.HotelRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Alta masiva de hoteles.
+ *
+ * A diferencia de {@link HotelService#createHotel}, que hace un save() (y una transacción)
+ * por hotel, aquí los hoteles válidos se acumulan en chunks de "hotel.bulk.batch-size"
+ * elementos y cada chunk se escribe con un único batch JDBC dentro de su propia transacción.
+ *
+ * Los elementos se consumen de un Iterator, así que la petición se puede procesar
+ * mientras se va leyendo (JSON array o NDJSON) sin cargarla entera en memoria.
+ */
+@Service
+@RequiredArgsConstructor
+public class HotelBulkService {
+
+    private final HotelMapper hotelMapper;
+
+    private final HotelRepository hotelRepository;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final HotelBulkProperties bulkProperties;
+
+    private final HotelCache hotelCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Valida, mapea y guarda todos los hoteles recibidos.
+     *
+     * Un elemento inválido no impide guardar los demás: se informa en su posición.
+     * Si falla la escritura de un chunk, solo ese chunk se deshace (rollback) y todos
+     * sus elementos se marcan con el error. Si el cuerpo deja de ser legible a mitad
+     * (InvalidBulkPayloadException), se guarda lo leído hasta ese punto y se informa
+     * del error en la posición donde se detuvo la lectura.
+     *
+     * @param requests Los DTOs de entrada, en el orden de la petición.
+     * @return El resultado de cada elemento (id o errores), en el mismo orden.
+     */
+    public BulkCreateHotelResponseDto createHotels(Iterator<CreateHotelRequestDto> requests) {
+        int batchSize = Math.max(1, bulkProperties.getBatchSize());
+
+        List<BulkHotelResultDto> results = new ArrayList<>();
+        List<Hotel> pendingHotels = new ArrayList<>(batchSize);
+        List<Integer> pendingIndexes = new ArrayList<>(batchSize);
+
+        int index = 0;
+        try {
+            while (requests.hasNext()) {
+                if (index >= bulkProperties.getMaxItems()) {
+                    throw new InvalidBulkPayloadException(
+                            "Se ha superado el máximo de " + bulkProperties.getMaxItems() + " hoteles por petición");
+                }
+                CreateHotelRequestDto request = requests.next();
+                List<String> errors = validate(request);
+                if (errors.isEmpty()) {
+                    // Reservamos la posición; el id se rellena cuando se escriba el chunk.
+                    results.add(null);
+                    pendingHotels.add(hotelMapper.toEntity(request));
+                    pendingIndexes.add(index);
+                    if (pendingHotels.size() == batchSize) {
+                        flush(pendingHotels, pendingIndexes, results);
+                    }
+                } else {
+                    results.add(failed(index, errors));
+                }
+                index++;
+            }
+        } catch (InvalidBulkPayloadException e) {
+            results.add(failed(index, List.of(e.getMessage())));
+        }
+        flush(pendingHotels, pendingIndexes, results);
+
+        int created = (int) results.stream().filter(result -> result.getId() != null).count();
+        return BulkCreateHotelResponseDto.builder()
+                .total(results.size())
+                .created(created)
+                .failed(results.size() - created)
+                .items(results)
+                .build();
+    }
+
+    private List<String> validate(CreateHotelRequestDto request) {
+        if (request == null) {
+            return List.of("El elemento no puede ser nulo");
+        }
+        Set<ConstraintViolation<CreateHotelRequestDto>> violations = validator.validate(request);
+        List<String> errors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<CreateHotelRequestDto> violation : violations) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
+    }
+
+    // Escribe el chunk pendiente en un único batch y una única transacción.
+    private void flush(List<Hotel> pendingHotels, List<Integer> pendingIndexes, List<BulkHotelResultDto> results) {
+        if (pendingHotels.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> hotelRepository.insertAll(pendingHotels));
+            for (int i = 0; i < pendingIndexes.size(); i++) {
+                int index = pendingIndexes.get(i);
+                results.set(index, BulkHotelResultDto.builder().index(index).id(ids.get(i)).build());
+                // Por si alguien había preguntado antes por ese id y quedó cacheado como "no existe".
+                hotelCache.evict(ids.get(i));
+
+                Hotel savedHotel = pendingHotels.get(i);
+                savedHotel.setId(ids.get(i));
+                savedHotel.setVersion(0L); // la de la columna por defecto
+                eventPublisher.publishEvent(HotelChangedEvent.created(hotelMapper.toDto(savedHotel)));
+            }
+        } catch (DataAccessException e) {
+            // La transacción del chunk se ha deshecho: ninguno de sus hoteles se ha guardado.
+            List<String> errors = List.of("No se pudo guardar el lote: " + e.getMostSpecificCause().getMessage());
+            for (int index : pendingIndexes) {
+                results.set(index, failed(index, errors));
+            }
+        }
+        pendingHotels.clear();
+        pendingIndexes.clear();
+    }
+
+    private BulkHotelResultDto failed(int index, List<String> errors) {
+        return BulkHotelResultDto.builder().index(index).errors(errors).build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica y decodifica los tokens "cursor" del listado y de la búsqueda de hoteles.
+ *
+ * Por dentro es la posición del último hotel de la página (su id, y en la búsqueda también
+ * sus estrellas), pero lo damos opaco (Base64) para que los clientes no dependan de su
+ * formato y podamos cambiarlo en el futuro.
+ */
+final class HotelCursor {
+
+    private static final String PREFIX = "id:";
+
+    private static final String SEARCH_PREFIX = "search:";
+
+    private static final String RATING_PREFIX = "rating:";
+
+    /** Posición en la búsqueda, ordenada por (estrellas, id) descendente. */
+    record SearchPosition(int stars, long id) {
+    }
+
+    /** Posición en la búsqueda por calificación, ordenada por (media, id) descendente. */
+    record RatingPosition(double averageRating, long id) {
+    }
+
+    private HotelCursor() {
+    }
+
+    static String encode(long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /** @return El último id visto, o null si no hay cursor (primera página). */
+    static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(payload(cursor, PREFIX));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Cursor no válido: " + cursor);
+        }
+    }
+
+    static String encodeSearch(int stars, long lastId) {
+        byte[] raw = (SEARCH_PREFIX + stars + ":" + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /** @return La posición del último hotel visto, o null si no hay cursor (primera página). */
+    static SearchPosition decodeSearch(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = payload(cursor, SEARCH_PREFIX).split(":");
+        try {
+            if (parts.length != 2) {
+                throw new InvalidCursorException("Cursor no válido: " + cursor);
+            }
+            return new SearchPosition(Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Cursor no válido: " + cursor);
+        }
+    }
+
+    // Double.toString da el valor exacto: la página siguiente empieza justo después del último hotel
+    static String encodeRating(double averageRating, long lastId) {
+        byte[] raw = (RATING_PREFIX + averageRating + ":" + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /** @return La posición del último hotel visto, o null si no hay cursor (primera página). */
+    static RatingPosition decodeRating(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = payload(cursor, RATING_PREFIX).split(":");
+        try {
+            if (parts.length != 2) {
+                throw new InvalidCursorException("Cursor no válido: " + cursor);
+            }
+            return new RatingPosition(Double.parseDouble(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Cursor no válido: " + cursor);
+        }
+    }
+
+    // Decodifica el Base64 y comprueba que el cursor es del tipo esperado.
+    private static String payload(String cursor, String prefix) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor no válido: " + cursor);
+        }
+        if (!raw.startsWith(prefix)) {
+            throw new InvalidCursorException("Cursor no válido: " + cursor);
+        }
+        return raw.substring(prefix.length());
+    }
+}
@@ -0,0 +1,104 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.config.HotelGeoSearchProperties;
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.dto.HotelDistanceDto;
+import com.hotel.booking.exception.InvalidGeoQueryException;
+import com.hotel.booking.mapper.HotelMapper;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.search.HotelGeoIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Búsquedas por cercanía para el mapa: los hoteles más cercanos a un punto (con o sin radio
+ * máximo) y los hoteles dentro de un recuadro.
+ *
+ * Como en HotelTextSearchService, el índice en memoria decide qué hoteles y en qué orden, y
+ * después los traemos de la base de datos con una sola consulta (findAllById).
+ */
+@Service
+@RequiredArgsConstructor
+public class HotelGeoSearchService {
+
+    private final HotelGeoIndex hotelGeoIndex;
+
+    private final HotelRepository hotelRepository;
+
+    private final HotelMapper hotelMapper;
+
+    private final HotelGeoSearchProperties properties;
+
+    /**
+     * @param radiusKm Solo hoteles a esta distancia o menos; null = los más cercanos, estén donde estén.
+     * @return Del más cercano al más lejano.
+     */
+    public List<HotelDistanceDto> nearby(double latitude, double longitude, Double radiusKm, Integer limit) {
+        checkPoint(latitude, longitude);
+        if (radiusKm != null && !(radiusKm >= 0)) {
+            throw new InvalidGeoQueryException("El radio no puede ser negativo: " + radiusKm);
+        }
+        double maxDistanceKm = radiusKm == null ? Double.POSITIVE_INFINITY : radiusKm;
+        return toResults(hotelGeoIndex.nearest(latitude, longitude, limit(limit), maxDistanceKm));
+    }
+
+    /**
+     * Hoteles dentro del recuadro; si hay más de "limit", los más cercanos al centro.
+     * minLongitude > maxLongitude es un recuadro que cruza el antimeridiano (longitud ±180).
+     */
+    public List<HotelDistanceDto> inBox(double minLatitude, double minLongitude,
+                                        double maxLatitude, double maxLongitude, Integer limit) {
+        checkPoint(minLatitude, minLongitude);
+        checkPoint(maxLatitude, maxLongitude);
+        if (minLatitude > maxLatitude) {
+            throw new InvalidGeoQueryException("minLat no puede ser mayor que maxLat");
+        }
+        return toResults(hotelGeoIndex.inBox(minLatitude, minLongitude, maxLatitude, maxLongitude, limit(limit)));
+    }
+
+    private List<HotelDistanceDto> toResults(List<HotelGeoIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (HotelGeoIndex.Hit hit : hits) {
+            ids.add(hit.hotelId());
+        }
+        Map<Long, Hotel> hotelsById = new HashMap<>();
+        for (Hotel hotel : hotelRepository.findAllById(ids)) {
+            hotelsById.put(hotel.getId(), hotel);
+        }
+
+        List<HotelDistanceDto> results = new ArrayList<>(hits.size());
+        for (HotelGeoIndex.Hit hit : hits) {
+            Hotel hotel = hotelsById.get(hit.hotelId());
+            if (hotel != null) { // pudo borrarse entre la búsqueda y la consulta
+                results.add(HotelDistanceDto.builder()
+                        .hotel(hotelMapper.toDto(hotel))
+                        .distanceKm(Math.round(hit.distanceKm() * 1000) / 1000.0) // al metro
+                        .build());
+            }
+        }
+        return results;
+    }
+
+    private int limit(Integer limit) {
+        return limit == null
+                ? properties.getDefaultLimit()
+                : Math.max(1, Math.min(limit, properties.getMaxLimit()));
+    }
+
+    private static void checkPoint(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new InvalidGeoQueryException("La latitud debe estar entre -90 y 90: " + latitude);
+        }
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new InvalidGeoQueryException("La longitud debe estar entre -180 y 180: " + longitude);
+        }
+    }
+}
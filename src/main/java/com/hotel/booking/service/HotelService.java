@@ -1,24 +1,72 @@
 package com.hotel.booking.service;
 
+import com.hotel.booking.cache.HotelCache;
+import com.hotel.booking.cache.SingleFlight;
+import com.hotel.booking.config.HotelListingProperties;
 import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.domain.review.HotelRating;
 import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.dto.HotelCacheStatsDto;
 import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.dto.HotelFilter;
+import com.hotel.booking.dto.HotelLookupDto;
+import com.hotel.booking.dto.HotelPageDto;
+import com.hotel.booking.dto.HotelRatingDto;
+import com.hotel.booking.dto.HotelSort;
 import com.hotel.booking.exception.HotelNotFoundException;
+import com.hotel.booking.exception.HotelUpdateConflictException;
+import com.hotel.booking.exception.HotelVersionMismatchException;
+import com.hotel.booking.exception.InvalidHotelLookupException;
 import com.hotel.booking.mapper.HotelMapper;
+import com.hotel.booking.mapper.ReviewMapper;
 import com.hotel.booking.repository.HotelRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service // Le dice a Spring que esta clase contiene lógica de negocio
 @RequiredArgsConstructor // Crea un constructor con los campos 'final'
 public class HotelService {
 
+    // Intentos de un PUT sin If-Match que pierde contra escrituras concurrentes antes de rendirse con un 409
+    static final int MAX_UPDATE_ATTEMPTS = 3;
+
     private final HotelMapper hotelMapper;
 
     private final HotelRepository hotelRepository;
 
+    // Caché de lectura por id; puede ser NoOpHotelCache si está desactivada (ver HotelCacheConfig)
+    private final HotelCache hotelCache;
+
+    private final HotelListingProperties listingProperties;
+
+    // Avisa a quien mantenga datos derivados (índice de texto...) de cada alta, cambio o borrado
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Resúmenes de reseñas de las tarjetas de hotel (búsqueda y lookup)
+    private final ReviewMapper reviewMapper;
+
+    // Lecturas simultáneas del mismo id que no están en la caché (o con la caché desactivada): una sola consulta
+    private final SingleFlight<Long, Optional<HotelDto>> hotelLoads = new SingleFlight<>();
+
+    // Creadas una vez: una referencia a método sobre "this" escrita en la llamada es un objeto nuevo cada vez
+    private final Function<Long, Optional<HotelDto>> hotelLoader = this::loadHotel;
+
+    private final Function<Long, Optional<HotelDto>> databaseLoader = this::loadFromDatabase;
+
 //      // 1. PASO ¡Nuestro método! Por ahora devuelve null para que compile.
 //    // El test fallará, pero compilará.
 //    public HotelDto createHotel(CreateHotelRequest request){
@@ -28,20 +76,18 @@ public class HotelService {
         // 2. PASO ¡Nuestro método! Por ahora devuelve funcionalidad
     public HotelDto createHotel(CreateHotelRequestDto request) {
 
-        // Paso 1: Convertir el DTO de entrada a una entidad de dominio (la receta empieza).
-        // Le pedimos al mapper que prepare los ingredientes.
+        // Paso 1: Guardar el hotel y obtener el DTO de respuesta (ahora con su ID).
+        // Antes eran tres pasos (mapper.toEntity, save de Spring Data y mapper.toDto); el
+        // repositorio ya inserta la petición y monta el DTO directamente, sin la entidad de por medio.
 
-        Hotel hotelEntity = hotelMapper.toEntity(request);
+        HotelDto savedHotel = hotelRepository.insert(request);
 
-        // Paso 2: Persistir la entidad en la base de datos.
-        // Le decimos al almacén que guarde el nuevo ingrediente.
+        // Paso 2: Lo dejamos ya en la caché (esto también borra un posible "no existe" cacheado para su id).
+        hotelCache.put(savedHotel);
+        hotelLoads.forget(savedHotel.getId());
+        eventPublisher.publishEvent(HotelChangedEvent.created(savedHotel));
 
-        Hotel savedHotelEntity = hotelRepository.save(hotelEntity);
-
-        // Paso 3: Convertir la entidad guardada (que ahora tiene un ID) a un DTO de respuesta.
-        // Preparamos el plato final para el cliente.
-
-        return hotelMapper.toDto(savedHotelEntity);
+        return savedHotel;
 
     }
 
@@ -57,9 +103,282 @@ public class HotelService {
 //        Hotel hotel = hotelOptional.orElseThrow(()-> new HotelNotFoundException("Hotel no encontrado con id: "+ id));
 //
 //        return hotelMapper.toDto(hotel);
-    return hotelRepository.findById(id)
-            .map(hotelMapper::toDto)
-            .orElseThrow(()-> new HotelNotFoundException("Hotel no encontrado con id: "+ id));
+//    return hotelRepository.findById(id)
+//            .map(hotelMapper::toDto)
+//            .orElseThrow(()-> new HotelNotFoundException("Hotel no encontrado con id: "+ id));
+
+        // Ahora pasamos por la caché: solo si no está cacheado (ni como hotel ni como "no existe")
+        // se ejecuta loadHotel y se consulta la base de datos. Sin @Transactional aquí: findDtoById ya
+        // abre su transacción de solo lectura, que con réplicas lee de una, y un acierto de caché no
+        // toca ninguna conexión.
+        // Sin orElseThrow(() -> ...) ni this::loadHotel: cada lambda que captura algo es un objeto
+        // nuevo por petición, también en los aciertos de caché.
+        Optional<HotelDto> hotel = hotelCache.get(id, hotelLoader);
+        if (hotel.isEmpty()) {
+            throw new HotelNotFoundException(id);
+        }
+        return hotel.get();
+    }
+
+    /**
+     * Lee varios hoteles de una vez (la página de resultados del front pinta 50-200) con una consulta
+     * "WHERE id IN (...)" por cada lookupChunkSize ids, en vez de una consulta por hotel.
+     * Los hoteles salen en el orden de la petición (un id repetido, una sola vez) y los ids que no
+     * existen van en missingIds, sin lanzar HotelNotFoundException. Con sus resúmenes de reseñas
+     * (otra consulta por clave primaria por cada chunk).
+     * No pasa por la caché de hoteles: el coste es una consulta por chunk, esté el hotel cacheado o no.
+     * @throws InvalidHotelLookupException si se piden más de maxLookupIds ids.
+     */
+    @Transactional(readOnly = true)
+    public HotelLookupDto getHotelsByIds(List<Long> ids) {
+        LinkedHashSet<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.size() > listingProperties.getMaxLookupIds()) {
+            throw new InvalidHotelLookupException("Se pueden pedir como máximo "
+                    + listingProperties.getMaxLookupIds() + " hoteles por petición");
+        }
+
+        List<Long> pending = new ArrayList<>(requested);
+        Map<Long, Hotel> found = new HashMap<>(pending.size() * 2);
+        int chunkSize = Math.max(1, listingProperties.getLookupChunkSize());
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Long> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            for (Hotel hotel : hotelRepository.findAllById(chunk)) {
+                found.put(hotel.getId(), hotel);
+            }
+        }
+
+        // Una sola pasada por los ids pedidos: mapea los que hay y apunta los que faltan
+        List<HotelDto> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>(pending.size() - found.size());
+        for (Long id : pending) {
+            Hotel hotel = found.get(id);
+            if (hotel == null) {
+                missingIds.add(id);
+            } else {
+                items.add(hotelMapper.toDto(hotel));
+            }
+        }
+        return HotelLookupDto.builder().items(items).missingIds(missingIds).ratings(ratings(items)).build();
+    }
+
+    /**
+     * Reemplaza todos los datos de un hotel existente (PUT).
+     * @throws HotelNotFoundException si no existe ningún hotel con ese id.
+     */
+    public HotelDto updateHotel(Long id, CreateHotelRequestDto request) {
+        return updateHotel(id, request, null);
+    }
+
+    /**
+     * Reemplaza todos los datos de un hotel solo si sigue en la versión que el cliente leyó (If-Match).
+     * @param expectedVersion La versión esperada, o null para sobrescribir sin comprobarla.
+     * @throws HotelNotFoundException si no existe ningún hotel con ese id.
+     * @throws HotelVersionMismatchException si el hotel ya no está en expectedVersion.
+     * @throws HotelUpdateConflictException si, sin expectedVersion, otras escrituras se cuelan en todos los intentos.
+     */
+    public HotelDto updateHotel(Long id, CreateHotelRequestDto request, Long expectedVersion) {
+        Hotel savedHotelEntity = null;
+        for (int attempt = 1; savedHotelEntity == null; attempt++) {
+            Hotel current = hotelRepository.findById(id).orElseThrow(() -> new HotelNotFoundException(id));
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw versionMismatch(id, expectedVersion);
+            }
+            Hotel hotelEntity = hotelMapper.toEntity(request);
+            hotelEntity.setId(id);
+            // save() hace "UPDATE ... WHERE id = ? AND version = ?": si otra escritura se cuela entre
+            // la lectura de arriba y esta, no actualiza ninguna fila y lanza OptimisticLockingFailureException.
+            hotelEntity.setVersion(current.getVersion());
+            try {
+                savedHotelEntity = hotelRepository.save(hotelEntity);
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null) {
+                    throw versionMismatch(id, expectedVersion);
+                }
+                // Sin If-Match gana la última escritura: releemos la versión y lo intentamos otra vez,
+                // pero no para siempre: con un hotel muy disputado el hilo se quedaría dando vueltas.
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    throw new HotelUpdateConflictException("El hotel " + id + " ha cambiado " + attempt
+                            + " veces mientras se actualizaba; vuelve a intentarlo");
+                }
+            }
+        }
+
+        HotelDto updatedHotel = hotelMapper.toDto(savedHotelEntity);
+        hotelCache.put(updatedHotel);
+        hotelLoads.forget(id);
+        eventPublisher.publishEvent(HotelChangedEvent.updated(updatedHotel));
+        return updatedHotel;
+    }
+
+    /**
+     * Elimina un hotel.
+     * @throws HotelNotFoundException si no existe ningún hotel con ese id.
+     */
+    public void deleteHotel(Long id) {
+        if (!hotelRepository.existsById(id)) {
+            throw new HotelNotFoundException(id);
+        }
+        hotelRepository.deleteById(id);
+        hotelCache.evict(id);
+        hotelLoads.forget(id);
+        eventPublisher.publishEvent(HotelChangedEvent.deleted(id));
+    }
+
+    /**
+     * Devuelve una página de hoteles ordenados por id.
+     * @param cursor El "nextCursor" de la página anterior, o null para la primera.
+     * @param limit  Tamaño de página; null usa el valor por defecto y se recorta al máximo configurado.
+     */
+    @Transactional(readOnly = true)
+    public HotelPageDto listHotels(HotelFilter filter, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+
+        // Pedimos uno más de la cuenta: si llega, sabemos que hay página siguiente sin otra consulta.
+        List<Hotel> hotels = hotelRepository.findPage(filter, HotelCursor.decode(cursor), pageSize + 1);
+        boolean hasMore = hotels.size() > pageSize;
+
+        List<HotelDto> items = toDtos(hotels, pageSize);
+        String nextCursor = hasMore ? HotelCursor.encode(items.get(items.size() - 1).getId()) : null;
+        return HotelPageDto.builder().items(items).nextCursor(nextCursor).build();
+    }
+
+    /**
+     * Búsqueda para el front por país, ciudad (sin distinguir mayúsculas ni acentos) y estrellas:
+     * primero los hoteles con más estrellas, paginada con su propio cursor.
+     */
+    @Transactional(readOnly = true)
+    public HotelPageDto searchHotels(HotelFilter filter, String cursor, Integer limit) {
+        return searchHotels(filter, HotelSort.STARS, cursor, limit);
+    }
+
+    /**
+     * La búsqueda del front en el orden pedido: más estrellas primero (STARS) o mejor media de
+     * reseñas primero (RATING). Cada hotel de la página lleva su resumen de reseñas en "ratings",
+     * leído de hotel_rating con una sola consulta. El cursor de un orden no vale para el otro.
+     * De solo lectura: con réplicas (ReadReplicaConfig), los hoteles y sus resúmenes salen de la misma
+     * réplica y de la misma foto de los datos.
+     */
+    @Transactional(readOnly = true)
+    public HotelPageDto searchHotels(HotelFilter filter, HotelSort sort, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        if (sort == HotelSort.RATING) {
+            return searchHotelsByRating(filter, cursor, pageSize);
+        }
+        HotelCursor.SearchPosition after = HotelCursor.decodeSearch(cursor);
+
+        List<Hotel> hotels = hotelRepository.search(filter,
+                after == null ? null : after.stars(),
+                after == null ? null : after.id(),
+                pageSize + 1);
+        boolean hasMore = hotels.size() > pageSize;
+
+        List<HotelDto> items = toDtos(hotels, pageSize);
+        String nextCursor = null;
+        if (hasMore) {
+            HotelDto last = items.get(items.size() - 1);
+            nextCursor = HotelCursor.encodeSearch(last.getStars(), last.getId());
+        }
+        return HotelPageDto.builder().items(items).nextCursor(nextCursor).ratings(ratings(items)).build();
+    }
+
+    private HotelPageDto searchHotelsByRating(HotelFilter filter, String cursor, int pageSize) {
+        HotelCursor.RatingPosition after = HotelCursor.decodeRating(cursor);
+
+        List<Hotel> hotels = hotelRepository.searchByRating(filter,
+                after == null ? null : after.averageRating(),
+                after == null ? null : after.id(),
+                pageSize + 1);
+        boolean hasMore = hotels.size() > pageSize;
+
+        List<HotelDto> items = toDtos(hotels, pageSize);
+        Map<Long, HotelRating> ratings = hotelRepository.findRatings(ids(items));
+        String nextCursor = null;
+        if (hasMore) {
+            // La media guardada (0 sin reseñas), la misma con la que ordena la consulta
+            HotelDto last = items.get(items.size() - 1);
+            HotelRating lastRating = ratings.getOrDefault(last.getId(), HotelRating.none(last.getId()));
+            nextCursor = HotelCursor.encodeRating(lastRating.getAverageRating(), last.getId());
+        }
+        return HotelPageDto.builder().items(items).nextCursor(nextCursor).ratings(toRatingDtos(items, ratings)).build();
+    }
+
+    /**
+     * Entrega al consumer todos los hoteles que cumplen el filtro, uno a uno según se leen.
+     * La transacción de solo lectura permite al driver JDBC usar un cursor con fetchSize
+     * (en PostgreSQL, sin transacción el driver cargaría todo el resultado en memoria).
+     */
+    @Transactional(readOnly = true)
+    public void exportHotels(HotelFilter filter, Consumer<HotelDto> consumer) {
+        hotelRepository.streamAll(filter, listingProperties.getExportFetchSize(),
+                hotel -> consumer.accept(hotelMapper.toDto(hotel)));
+    }
+
+    public HotelCacheStatsDto getCacheStats() {
+        return hotelCache.stats().toBuilder()
+                .databaseLoads(hotelLoads.loadCount())
+                .sharedLoads(hotelLoads.sharedCount())
+                .build();
+    }
+
+    // null => tamaño por defecto; el resto se recorta entre 1 y el máximo configurado
+    private int pageSize(Integer limit) {
+        return limit == null
+                ? listingProperties.getDefaultLimit()
+                : Math.max(1, Math.min(limit, listingProperties.getMaxLimit()));
+    }
+
+    // Resumen de reseñas de cada hotel, en el orden de la página; los que no tienen reseñas, con 0.
+    // En trozos de lookupChunkSize ids, igual que los hoteles del lookup.
+    private Map<Long, HotelRatingDto> ratings(List<HotelDto> items) {
+        List<Long> ids = ids(items);
+        Map<Long, HotelRating> ratings = new HashMap<>(ids.size() * 2);
+        int chunkSize = Math.max(1, listingProperties.getLookupChunkSize());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            ratings.putAll(hotelRepository.findRatings(ids.subList(from, Math.min(from + chunkSize, ids.size()))));
+        }
+        return toRatingDtos(items, ratings);
+    }
+
+    private Map<Long, HotelRatingDto> toRatingDtos(List<HotelDto> items, Map<Long, HotelRating> ratings) {
+        Map<Long, HotelRatingDto> dtos = new LinkedHashMap<>(items.size() * 2);
+        for (HotelDto item : items) {
+            HotelRating rating = ratings.getOrDefault(item.getId(), HotelRating.none(item.getId()));
+            dtos.put(item.getId(), reviewMapper.toDto(rating));
+        }
+        return dtos;
+    }
+
+    private static List<Long> ids(List<HotelDto> items) {
+        List<Long> ids = new ArrayList<>(items.size());
+        for (HotelDto item : items) {
+            ids.add(item.getId());
+        }
+        return ids;
+    }
+
+    // Mapea como mucho "max" hoteles (el elemento extra de "limit + 1" se descarta)
+    private List<HotelDto> toDtos(List<Hotel> hotels, int max) {
+        List<HotelDto> items = new ArrayList<>(Math.min(hotels.size(), max));
+        for (int i = 0; i < hotels.size() && i < max; i++) {
+            items.add(hotelMapper.toDto(hotels.get(i)));
+        }
+        return items;
+    }
+
+    private static HotelVersionMismatchException versionMismatch(Long id, Long expectedVersion) {
+        return new HotelVersionMismatchException(
+                "El hotel " + id + " ha cambiado desde la versión " + expectedVersion + "; vuelve a leerlo");
+    }
+
+    // Lo que hace la caché cuando no tiene el hotel: ir a la base de datos, una sola vez aunque
+    // lleguen muchas peticiones del mismo id a la vez.
+    private Optional<HotelDto> loadHotel(Long id) {
+        return hotelLoads.load(id, databaseLoader);
+    }
+
+    // La fila llega ya como HotelDto (findDtoById), sin entidad ni mapper
+    private Optional<HotelDto> loadFromDatabase(Long id) {
+        return Optional.ofNullable(hotelRepository.findDtoById(id));
     }
 
     /**
@@ -0,0 +1,81 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.config.HotelTextSearchProperties;
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.dto.HotelSearchHitDto;
+import com.hotel.booking.dto.TermSuggestionDto;
+import com.hotel.booking.mapper.HotelMapper;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.search.HotelTextIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Búsqueda de texto libre ("beach spa barcelona") sobre nombre y descripción.
+ *
+ * El índice en memoria decide qué hoteles encajan y en qué orden; después traemos
+ * esos pocos hoteles de la base de datos con una sola consulta (findAllById).
+ */
+@Service
+@RequiredArgsConstructor
+public class HotelTextSearchService {
+
+    private final HotelTextIndex hotelTextIndex;
+
+    private final HotelRepository hotelRepository;
+
+    private final HotelMapper hotelMapper;
+
+    private final HotelTextSearchProperties properties;
+
+    /**
+     * @param query  Texto libre; no distingue mayúsculas ni acentos.
+     * @param limit  Número de resultados (null = valor por defecto).
+     * @param prefix Si es true, la última palabra se completa como prefijo (búsqueda mientras se escribe).
+     * @return Los hoteles que contienen todas las palabras, de más a menos relevante.
+     */
+    public List<HotelSearchHitDto> search(String query, Integer limit, boolean prefix) {
+        List<HotelTextIndex.Hit> hits = hotelTextIndex.search(query, limit(limit), prefix);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (HotelTextIndex.Hit hit : hits) {
+            ids.add(hit.hotelId());
+        }
+        Map<Long, Hotel> hotelsById = new HashMap<>();
+        for (Hotel hotel : hotelRepository.findAllById(ids)) {
+            hotelsById.put(hotel.getId(), hotel);
+        }
+
+        List<HotelSearchHitDto> results = new ArrayList<>(hits.size());
+        for (HotelTextIndex.Hit hit : hits) {
+            Hotel hotel = hotelsById.get(hit.hotelId());
+            if (hotel != null) { // pudo borrarse entre la búsqueda y la consulta
+                results.add(HotelSearchHitDto.builder().hotel(hotelMapper.toDto(hotel)).score(hit.score()).build());
+            }
+        }
+        return results;
+    }
+
+    /** Términos que empiezan por lo que el usuario lleva escrito, los más frecuentes primero. */
+    public List<TermSuggestionDto> autocomplete(String prefix, Integer limit) {
+        List<TermSuggestionDto> suggestions = new ArrayList<>();
+        for (HotelTextIndex.Suggestion suggestion : hotelTextIndex.suggest(prefix, limit(limit))) {
+            suggestions.add(TermSuggestionDto.builder().term(suggestion.term()).hotels(suggestion.hotels()).build());
+        }
+        return suggestions;
+    }
+
+    private int limit(Integer limit) {
+        return limit == null
+                ? properties.getDefaultLimit()
+                : Math.max(1, Math.min(limit, properties.getMaxLimit()));
+    }
+}
@@ -0,0 +1,167 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.availability.RoomAvailabilityIndex;
+import com.hotel.booking.domain.pricing.RateRule;
+import com.hotel.booking.domain.room.Room;
+import com.hotel.booking.dto.CreateRateRuleRequestDto;
+import com.hotel.booking.dto.QuoteDto;
+import com.hotel.booking.dto.RateRuleDto;
+import com.hotel.booking.exception.HotelNotFoundException;
+import com.hotel.booking.exception.InvalidRateRuleException;
+import com.hotel.booking.exception.RateRuleNotFoundException;
+import com.hotel.booking.exception.RoomNotFoundException;
+import com.hotel.booking.mapper.RateRuleMapper;
+import com.hotel.booking.pricing.RateCalendarIndex;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.repository.RateRuleRepository;
+import com.hotel.booking.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reglas de tarifa de los hoteles y presupuestos de estancias.
+ *
+ * Las reglas se guardan en la tabla rate_rule y se reflejan en {@link RateCalendarIndex}, que es
+ * quien calcula los precios: aquí no se recorren noches ni reglas para presupuestar.
+ */
+@Service
+@RequiredArgsConstructor
+public class PricingService {
+
+    private final RateRuleRepository rateRuleRepository;
+
+    private final HotelRepository hotelRepository;
+
+    private final RoomRepository roomRepository;
+
+    private final RateRuleMapper rateRuleMapper;
+
+    private final RateCalendarIndex rateCalendar;
+
+    private final RoomAvailabilityIndex availabilityIndex;
+
+    private final Clock clock;
+
+    // Serializa "guardar la regla + pasar las reglas del hotel al índice": sin él, dos cambios a la vez
+    // podrían dejar en el índice la lista leída antes del último cambio. Los cambios de reglas son raros.
+    private final Lock rulesLock = new ReentrantLock();
+
+    /**
+     * Reglas de tarifa de un hotel, por orden de alta.
+     * @throws HotelNotFoundException si el hotel no existe.
+     */
+    public List<RateRuleDto> getRules(Long hotelId) {
+        requireHotel(hotelId);
+        return rateRuleRepository.findByHotelIdOrderById(hotelId).stream()
+                .map(rateRuleMapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Añade una regla de tarifa y recalcula las noches afectadas de los calendarios del hotel.
+     * @throws HotelNotFoundException   si el hotel no existe.
+     * @throws InvalidRateRuleException si le faltan datos a la regla según su tipo.
+     */
+    public RateRuleDto createRule(Long hotelId, CreateRateRuleRequestDto request) {
+        requireHotel(hotelId);
+        RateRule rule = rateRuleMapper.toEntity(request);
+        rule.setHotelId(hotelId);
+        normalize(rule);
+
+        rulesLock.lock();
+        try {
+            RateRule saved = rateRuleRepository.save(rule);
+            refresh(hotelId);
+            return rateRuleMapper.toDto(saved);
+        } finally {
+            rulesLock.unlock();
+        }
+    }
+
+    /**
+     * Borra una regla de tarifa del hotel.
+     * @throws RateRuleNotFoundException si no existe o es de otro hotel.
+     */
+    public void deleteRule(Long hotelId, Long ruleId) {
+        RateRule rule = rateRuleRepository.findById(ruleId)
+                .filter(found -> found.getHotelId().equals(hotelId))
+                .orElseThrow(() -> new RateRuleNotFoundException(
+                        "Regla de tarifa no encontrada con id: " + ruleId + " en el hotel " + hotelId));
+        rulesLock.lock();
+        try {
+            rateRuleRepository.deleteById(rule.getId());
+            refresh(hotelId);
+        } finally {
+            rulesLock.unlock();
+        }
+    }
+
+    /**
+     * Lo que costaría reservar la habitación las noches [checkIn, checkOut).
+     * @throws RoomNotFoundException si la habitación no existe o es de otro hotel.
+     */
+    public QuoteDto quote(Long hotelId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        int nights = StayDates.validate(checkIn, checkOut, clock, availabilityIndex);
+        Room room = roomRepository.findById(roomId)
+                .filter(found -> found.getHotelId().equals(hotelId))
+                .orElseThrow(() -> new RoomNotFoundException(
+                        "Habitación no encontrada con id: " + roomId + " en el hotel " + hotelId));
+        return QuoteDto.builder()
+                .hotelId(hotelId)
+                .roomId(roomId)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .nights(nights)
+                .nightlyPrice(room.getPrice())
+                .lengthOfStayDiscount(rateCalendar.lengthOfStayDiscount(hotelId, room.getType(), nights))
+                .totalPrice(rateCalendar.totalPrice(hotelId, room.getType(), room.getPrice(), checkIn, checkOut))
+                .build();
+    }
+
+    // El índice recibe la lista completa tal y como ha quedado en la base de datos y decide qué recalcular
+    private void refresh(Long hotelId) {
+        rateCalendar.update(hotelId, rateRuleRepository.findByHotelIdOrderById(hotelId));
+    }
+
+    // Comprueba los campos que exige cada tipo de regla y quita los que no usa
+    private static void normalize(RateRule rule) {
+        switch (rule.getKind()) {
+            case SEASON -> {
+                if (rule.getStartDate() == null || rule.getEndDate() == null) {
+                    throw new InvalidRateRuleException("Una temporada necesita startDate y endDate");
+                }
+                if (!rule.getEndDate().isAfter(rule.getStartDate())) {
+                    throw new InvalidRateRuleException("El fin de la temporada debe ser posterior a su inicio");
+                }
+                rule.setMinNights(null);
+            }
+            case WEEKEND -> {
+                rule.setStartDate(null);
+                rule.setEndDate(null);
+                rule.setMinNights(null);
+            }
+            case LENGTH_OF_STAY -> {
+                if (rule.getMinNights() == null || rule.getMinNights() < 2) {
+                    throw new InvalidRateRuleException("Un descuento por estancia larga necesita minNights de 2 o más");
+                }
+                if (rule.getPercent() < 0 || rule.getPercent() > 100) {
+                    throw new InvalidRateRuleException("El descuento por estancia larga debe estar entre 0 y 100");
+                }
+                rule.setStartDate(null);
+                rule.setEndDate(null);
+            }
+        }
+    }
+
+    private void requireHotel(Long hotelId) {
+        if (!hotelRepository.existsById(hotelId)) {
+            throw new HotelNotFoundException(hotelId);
+        }
+    }
+}
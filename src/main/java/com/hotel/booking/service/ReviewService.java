@@ -0,0 +1,121 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.config.HotelListingProperties;
+import com.hotel.booking.domain.review.HotelRating;
+import com.hotel.booking.domain.review.Review;
+import com.hotel.booking.dto.CreateReviewRequestDto;
+import com.hotel.booking.dto.HotelRatingDto;
+import com.hotel.booking.dto.ReviewDto;
+import com.hotel.booking.exception.HotelNotFoundException;
+import com.hotel.booking.exception.ReviewNotFoundException;
+import com.hotel.booking.mapper.ReviewMapper;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reseñas de los hoteles y el resumen de calificaciones de cada uno.
+ *
+ * Cada alta o baja de reseña actualiza hotel_rating (número, suma, media e histograma) en la misma
+ * transacción, así que el resumen siempre cuadra con las reseñas y leerlo no cuesta recorrerlas.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReviewService {
+
+    private final ReviewRepository reviewRepository;
+
+    private final HotelRepository hotelRepository;
+
+    private final ReviewMapper reviewMapper;
+
+    private final HotelListingProperties listingProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Clock clock;
+
+    /**
+     * Publica una reseña y la suma al resumen del hotel.
+     * @throws HotelNotFoundException si el hotel no existe.
+     */
+    public ReviewDto createReview(Long hotelId, CreateReviewRequestDto request) {
+        requireHotel(hotelId);
+        Review review = reviewMapper.toEntity(request);
+        review.setHotelId(hotelId);
+        review.setCreatedAt(Instant.now(clock));
+
+        Review saved = transactionTemplate.execute(status -> {
+            Review inserted = reviewRepository.save(review);
+            hotelRepository.addRating(hotelId, inserted.getRating());
+            return inserted;
+        });
+        return reviewMapper.toDto(saved);
+    }
+
+    /**
+     * Borra una reseña y la resta del resumen del hotel.
+     * @throws ReviewNotFoundException si no existe o es de otro hotel.
+     */
+    public void deleteReview(Long hotelId, Long reviewId) {
+        Review review = reviewRepository.findById(reviewId)
+                .filter(found -> found.getHotelId().equals(hotelId))
+                .orElseThrow(() -> reviewNotFound(hotelId, reviewId));
+        boolean deleted = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            // Solo quien borra de verdad la fila la resta: dos DELETE a la vez no la restan dos veces
+            if (!reviewRepository.deleteByIdAndHotelId(reviewId, hotelId)) {
+                return false;
+            }
+            hotelRepository.removeRating(hotelId, review.getRating());
+            return true;
+        }));
+        if (!deleted) {
+            throw reviewNotFound(hotelId, reviewId);
+        }
+    }
+
+    /**
+     * Reseñas de un hotel, de la más nueva a la más antigua.
+     * @param beforeId Id de la última reseña de la página anterior, o null para empezar por la más nueva.
+     * @param limit    Tamaño de página; null usa el del listado de hoteles y se recorta a su máximo.
+     * @throws HotelNotFoundException si el hotel no existe.
+     */
+    public List<ReviewDto> getReviews(Long hotelId, Long beforeId, Integer limit) {
+        requireHotel(hotelId);
+        int pageSize = limit == null
+                ? listingProperties.getDefaultLimit()
+                : Math.max(1, Math.min(limit, listingProperties.getMaxLimit()));
+        return reviewRepository.findByHotelIdAndIdLessThanOrderByIdDesc(hotelId,
+                        beforeId == null ? Long.MAX_VALUE : beforeId, Limit.of(pageSize)).stream()
+                .map(reviewMapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Resumen de las reseñas de un hotel (sin reseñas: 0 y media null).
+     * @throws HotelNotFoundException si el hotel no existe.
+     */
+    public HotelRatingDto getRating(Long hotelId) {
+        requireHotel(hotelId);
+        HotelRating rating = hotelRepository.findRatings(List.of(hotelId))
+                .getOrDefault(hotelId, HotelRating.none(hotelId));
+        return reviewMapper.toDto(rating);
+    }
+
+    private void requireHotel(Long hotelId) {
+        if (!hotelRepository.existsById(hotelId)) {
+            throw new HotelNotFoundException(hotelId);
+        }
+    }
+
+    private static ReviewNotFoundException reviewNotFound(Long hotelId, Long reviewId) {
+        return new ReviewNotFoundException("Reseña no encontrada con id: " + reviewId + " en el hotel " + hotelId);
+    }
+}
@@ -0,0 +1,58 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.availability.RoomAvailabilityIndex;
+import com.hotel.booking.domain.room.Room;
+import com.hotel.booking.dto.CreateRoomRequestDto;
+import com.hotel.booking.dto.RoomDto;
+import com.hotel.booking.exception.HotelNotFoundException;
+import com.hotel.booking.mapper.RoomMapper;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class RoomService {
+
+    private final RoomRepository roomRepository;
+
+    private final HotelRepository hotelRepository;
+
+    private final RoomMapper roomMapper;
+
+    private final RoomAvailabilityIndex availabilityIndex;
+
+    /**
+     * Da de alta una habitación en un hotel y la añade al índice de disponibilidad (sin noches ocupadas).
+     * @throws HotelNotFoundException si el hotel no existe.
+     */
+    public RoomDto createRoom(Long hotelId, CreateRoomRequestDto request) {
+        requireHotel(hotelId);
+        Room room = roomMapper.toEntity(request);
+        room.setHotelId(hotelId);
+
+        Room savedRoom = roomRepository.save(room);
+        availabilityIndex.addRoom(savedRoom.getId(), hotelId, savedRoom.getType(), savedRoom.getCapacity());
+        return roomMapper.toDto(savedRoom);
+    }
+
+    /**
+     * Habitaciones de un hotel, ordenadas por número.
+     * @throws HotelNotFoundException si el hotel no existe.
+     */
+    public List<RoomDto> getRooms(Long hotelId) {
+        requireHotel(hotelId);
+        return roomRepository.findByHotelIdOrderByNumber(hotelId).stream()
+                .map(roomMapper::toDto)
+                .toList();
+    }
+
+    private void requireHotel(Long hotelId) {
+        if (!hotelRepository.existsById(hotelId)) {
+            throw new HotelNotFoundException(hotelId);
+        }
+    }
+}
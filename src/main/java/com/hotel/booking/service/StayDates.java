@@ -0,0 +1,39 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.availability.RoomAvailabilityIndex;
+import com.hotel.booking.exception.InvalidDateRangeException;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Validación de fechas de estancia común a reservas y consultas de disponibilidad.
+ */
+final class StayDates {
+
+    private StayDates() {
+    }
+
+    /**
+     * Comprueba que [checkIn, checkOut) son noches reservables: al menos una noche,
+     * desde hoy y dentro del horizonte del índice.
+     * @return El número de noches.
+     * @throws InvalidDateRangeException si no lo son.
+     */
+    static int validate(LocalDate checkIn, LocalDate checkOut, Clock clock, RoomAvailabilityIndex index) {
+        if (checkIn == null || checkOut == null) {
+            throw new InvalidDateRangeException("Las fechas de entrada y salida son obligatorias");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw new InvalidDateRangeException("La fecha de salida debe ser posterior a la de entrada");
+        }
+        if (checkIn.isBefore(LocalDate.now(clock))) {
+            throw new InvalidDateRangeException("La fecha de entrada no puede estar en el pasado");
+        }
+        if (!index.covers(checkIn, checkOut)) {
+            throw new InvalidDateRangeException("Solo se admiten fechas hasta el " + index.getLastCheckOut());
+        }
+        return (int) ChronoUnit.DAYS.between(checkIn, checkOut);
+    }
+}
@@ -0,0 +1,82 @@
+package com.hotel.booking.web;
+
+import com.hotel.booking.admission.GradientConcurrencyLimit;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita cuántas peticiones se atienden a la vez, con un límite que se ajusta solo a partir de
+ * la latencia (GradientConcurrencyLimit).
+ *
+ * Con hilos virtuales (spring.threads.virtual.enabled=true) Tomcat crea un hilo por petición
+ * sin límite: 10.000 clientes son 10.000 hilos intentando sacar una conexión del pool de Hikari
+ * a la vez. Este filtro deja pasar como mucho las que caben en el límite y el resto recibe al
+ * momento un 503 con Retry-After. No se espera a que quede un hueco: una petición en espera solo
+ * añade su espera a la latencia y, bajo sobrecarga, la cola crece hasta que todas caducan.
+ *
+ * Solo las respuestas que no son 5xx cuentan para la latencia: un error rápido (la base de datos
+ * caída) haría creer que el servidor va sobrado.
+ *
+ * Nota: en las respuestas asíncronas (la exportación NDJSON) el hueco se devuelve al terminar
+ * el hilo de la petición, no al terminar de escribir la respuesta.
+ */
+public class AdmissionLimitFilter extends OncePerRequestFilter {
+
+    private final GradientConcurrencyLimit limit;
+
+    // LongAdder y no AtomicLong: bajo saturación muchos hilos rechazan a la vez
+    private final LongAdder rejected = new LongAdder();
+
+    public AdmissionLimitFilter(GradientConcurrencyLimit limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!limit.tryAcquire()) {
+            rejected.increment();
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limit.release(failed ? -1 : System.nanoTime() - start);
+        }
+    }
+
+    /** Peticiones que se están atendiendo ahora mismo. */
+    public int inFlight() {
+        return limit.inFlight();
+    }
+
+    /** Peticiones rechazadas con 503 desde el arranque. */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public GradientConcurrencyLimit limit() {
+        return limit;
+    }
+
+    private static void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("Servidor saturado, reintenta en unos segundos");
+    }
+}
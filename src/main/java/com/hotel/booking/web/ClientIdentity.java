@@ -0,0 +1,20 @@
+package com.hotel.booking.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Quién hace la petición, para lo que se lleva por cliente (RateLimitFilter, IdempotencyFilter):
+ * la clave de API de la cabecera clientHeader o, sin ella, la IP de origen. Detrás del balanceador,
+ * getRemoteAddr() es la del cliente real solo si Tomcat atiende X-Forwarded-For (perfil prod).
+ */
+final class ClientIdentity {
+
+    private ClientIdentity() {
+    }
+
+    static String of(HttpServletRequest request, String clientHeader) {
+        String key = request.getHeader(clientHeader);
+        // Prefijos distintos: una clave de API no puede hacerse pasar por una IP (ni al revés)
+        return key != null && !key.isBlank() ? "key:" + key : "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,114 @@
+package com.hotel.booking.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Deja que Tomcat decida si comprime un hotel suelto (GET /api/hotels/{id}) por su tamaño real.
+ *
+ * Los convertidores de Spring hacen flush() al terminar de escribir el cuerpo, y el flush confirma
+ * la respuesta sin Content-Length. Tomcat comprime entonces todo lo que no sabe cuánto mide, y
+ * server.compression.min-response-size no sirve de nada: un hotel de 1 KB también pasaba por gzip,
+ * con su Deflater nuevo por respuesta. Sin esos flush, el cuerpo queda en el búfer de Tomcat (8 KB);
+ * al acabar la petición conoce su longitud y solo comprime los de más de 2 KB. Lo que no cabe en
+ * el búfer sale en cuanto se llena, como siempre.
+ *
+ * Solo para ese GET: las exportaciones en streaming sí necesitan sus flush.
+ */
+public class DeferredFlushFilter extends OncePerRequestFilter {
+
+    private static final String HOTELS_PATH = "/api/hotels/";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(HOTELS_PATH) || path.length() == HOTELS_PATH.length()) {
+            return true;
+        }
+        for (int i = HOTELS_PATH.length(); i < path.length(); i++) {
+            if (!Character.isDigit(path.charAt(i))) {
+                return true; // /export, /nearby, /cache/stats...
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, new UnflushedResponse(response));
+    }
+
+    // La respuesta sin flush(): Tomcat envía el búfer cuando se llena o al terminar la petición
+    private static final class UnflushedResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+
+        UnflushedResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new UnflushedOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() {
+            // Se envía al terminar la petición
+        }
+    }
+
+    private static final class UnflushedOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        UnflushedOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            // Se envía al terminar la petición
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.hotel.booking.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Cuenta las excepciones que salen de los controladores en "hotel.api.errors",
+ * con el nombre de la excepción y el código HTTP que acabará devolviendo.
+ *
+ * DispatcherServlet consulta todos los HandlerExceptionResolver del contexto por orden;
+ * este va el primero (HIGHEST_PRECEDENCE) y devuelve null: no resuelve nada, solo cuenta,
+ * y deja que los resolvers de siempre (@ResponseStatus, ResponseStatusException...)
+ * construyan la respuesta. Así la tasa de HotelNotFoundException es
+ * rate(hotel_api_errors_total{exception="HotelNotFoundException"}[5m]).
+ */
+public class ErrorMetricsExceptionResolver implements HandlerExceptionResolver, Ordered {
+
+    private final MeterRegistry registry;
+
+    public ErrorMetricsExceptionResolver(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response,
+                                         Object handler, Exception ex) {
+        // Counter.builder(...).register() devuelve el contador ya registrado si existe (sin locks en ese caso)
+        Counter.builder("hotel.api.errors")
+                .description("Excepciones lanzadas por los controladores")
+                .tag("exception", ex.getClass().getSimpleName())
+                .tag("status", String.valueOf(statusOf(ex)))
+                .register(registry)
+                .increment();
+        return null;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private static int statusOf(Exception ex) {
+        if (ex instanceof ResponseStatusException rse) {
+            return rse.getStatusCode().value();
+        }
+        ResponseStatus annotation = AnnotatedElementUtils.findMergedAnnotation(ex.getClass(), ResponseStatus.class);
+        return annotation != null ? annotation.code().value() : 500;
+    }
+}
@@ -0,0 +1,58 @@
+package com.hotel.booking.web;
+
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.exception.HotelVersionMismatchException;
+
+/**
+ * ETags de los hoteles: la versión entre comillas, débil (W/"3").
+ *
+ * La versión sube con cada modificación, así que dos respuestas con el mismo ETag traen el mismo
+ * hotel. Calcularlo no exige serializar ni hacer hash del cuerpo (lo que haría ShallowEtagHeaderFilter):
+ * basta con el HotelDto que ya está en la caché.
+ *
+ * Débil y no fuerte porque el mismo ETag vale para JSON, Smile y CBOR, comprimido o no: el mismo
+ * hotel, pero no los mismos bytes, que es lo que promete un ETag fuerte. Además, Tomcat no comprime
+ * las respuestas con ETag fuerte (no puede cambiar los bytes sin romperlo), y GET /api/hotels/{id}
+ * con una descripción larga nunca salía en gzip. If-None-Match compara en débil, así que los 304
+ * siguen igual.
+ *
+ * If-Match, en cambio, compara en fuerte (RFC 9110 §13.1.1): un ETag débil nunca cumple la
+ * precondición. Para editar, el cliente manda la versión del hotel (el campo "version" del cuerpo,
+ * o la del ETag sin la W/) como ETag fuerte: If-Match: "3".
+ */
+public final class HotelETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private HotelETags() {
+    }
+
+    public static String of(HotelDto hotel) {
+        return WEAK_PREFIX + "\"" + hotel.getVersion() + "\"";
+    }
+
+    /**
+     * Convierte la cabecera If-Match en la versión que espera el cliente. Solo vale la versión
+     * como ETag fuerte ("3"): W/"3" no es una precondición válida, porque If-Match compara en fuerte.
+     * @return null si no hay cabecera o es "*" (vale cualquier versión; el hotel solo tiene que existir).
+     * @throws HotelVersionMismatchException si no es una versión entre comillas (débil, lista o mal formado):
+     *         el cliente no puede demostrar que tiene la versión actual.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.length() > 2 && tag.charAt(0) == '"' && tag.charAt(tag.length() - 1) == '"') {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // cae al 412 de abajo
+            }
+        }
+        throw new HotelVersionMismatchException("If-Match no es la versión de un hotel como ETag fuerte: " + ifMatch);
+    }
+}
@@ -0,0 +1,310 @@
+package com.hotel.booking.web;
+
+import com.hotel.booking.idempotency.IdempotencyStore;
+import com.hotel.booking.idempotency.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * POST idempotentes con la cabecera Idempotency-Key: si el cliente reintenta (por ejemplo, tras un
+ * timeout) con la misma clave, recibe la respuesta original en vez de crear otro hotel u otra reserva.
+ *
+ * Es un filtro y no código en el controlador a propósito: la respuesta repetida sale de aquí, sin
+ * pasar por Spring MVC, así que no se vuelve a leer el JSON, ni a validar, ni a mapear, ni a insertar.
+ *
+ * - La clave es "POST /ruta cliente clave": la misma clave en dos rutas son dos peticiones
+ *   distintas, y también la de dos clientes (ClientIdentity, como en RateLimitFilter: clave de API o
+ *   IP). Sin el cliente, dos que numeran sus claves igual (1, 2, 3...) recibían uno la respuesta
+ *   del otro. Del cliente se guarda su SHA-256, no la clave de API tal cual.
+ * - Se guarda también el SHA-256 del cuerpo: la misma clave con otro cuerpo es un error del
+ *   cliente (422), no un reintento, tanto si la original ya ha terminado como si aún está en curso.
+ * - De la respuesta se guardan el código, el Content-Type, el cuerpo y las cabeceras de
+ *   STORED_HEADERS (Location de un 201/202, ETag). El resto (Date, Vary, las de CORS...) las pone
+ *   cada respuesta por su cuenta.
+ * - Solo se guardan las respuestas 2xx. Si la petición falla (validación, 404, 500...), la clave se
+ *   libera y el reintento se ejecuta de nuevo.
+ * - Duplicados a la vez: en este nodo, todos esperan al CompletableFuture de la primera petición
+ *   y repiten su respuesta (una sola ejecución). Entre nodos (store=jdbc), el que no consigue la
+ *   clave consulta la tabla cada poco hasta que hay respuesta. Si pasa waitTimeout, 409.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    /** Cabecera que marca una respuesta repetida. */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /** Cabeceras de la respuesta original que se guardan y se repiten con ella. */
+    public static final List<String> STORED_HEADERS = List.of(HttpHeaders.LOCATION, HttpHeaders.ETAG);
+
+    private static final long POLL_NANOS = 50_000_000;
+
+    private final IdempotencyStore store;
+
+    private final long waitTimeoutNanos;
+
+    private final int maxKeyLength;
+
+    private final String clientHeader;
+
+    // Peticiones con clave que se están ejecutando en este nodo; los duplicados esperan a su resultado
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executed = new LongAdder();
+
+    private final LongAdder replayed = new LongAdder();
+
+    public IdempotencyFilter(IdempotencyStore store, Duration waitTimeout, int maxKeyLength, String clientHeader) {
+        this.store = store;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.maxKeyLength = maxKeyLength;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String headerValue = request.getHeader(HEADER);
+        if (headerValue.isBlank() || headerValue.length() > maxKeyLength) {
+            reject(response, HttpStatus.BAD_REQUEST,
+                    "La cabecera " + HEADER + " debe tener entre 1 y " + maxKeyLength + " caracteres");
+            return;
+        }
+        String client = sha256(ClientIdentity.of(request, clientHeader).getBytes(StandardCharsets.UTF_8));
+        String key = request.getMethod() + " " + request.getRequestURI() + " " + client + " " + headerValue;
+        byte[] body = request.getInputStream().readAllBytes();
+        String fingerprint = sha256(body);
+        long deadline = System.nanoTime() + waitTimeoutNanos;
+
+        while (true) {
+            Optional<StoredResponse> stored = store.find(key);
+            if (stored.isPresent() && !stored.get().isPending()) {
+                replay(stored.get(), fingerprint, response);
+                return;
+            }
+            if (stored.isPresent() && !stored.get().fingerprint().equals(fingerprint)) {
+                // La original aún está en curso, pero con otro cuerpo: no hay nada que esperar
+                rejectOtherBody(response);
+                return;
+            }
+
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, mine);
+            if (running != null) {
+                // Otra petición con la misma clave se está ejecutando aquí: esperamos a su respuesta
+                StoredResponse result = await(running, deadline);
+                if (result != null) {
+                    replay(result, fingerprint, response);
+                    return;
+                }
+            } else {
+                try {
+                    if (store.tryClaim(key, fingerprint)) {
+                        execute(key, fingerprint, new CachedBodyRequest(request, body), response, chain, mine);
+                        return;
+                    }
+                } finally {
+                    inFlight.remove(key, mine);
+                    mine.complete(null); // si no se ha completado ya con la respuesta
+                }
+                // La tiene otro nodo: volvemos a mirar la tabla en un momento
+                LockSupport.parkNanos(POLL_NANOS);
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                reject(response, HttpStatus.CONFLICT,
+                        "La petición con esta " + HEADER + " aún se está procesando; reintenta en unos segundos");
+                return;
+            }
+        }
+    }
+
+    // Ejecuta la petición de verdad, guarda su respuesta si es 2xx y se la pasa a los duplicados que esperan
+    private void execute(String key, String fingerprint, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain chain, CompletableFuture<StoredResponse> mine) throws ServletException, IOException {
+        ContentCachingResponseWrapper caching = new ContentCachingResponseWrapper(response);
+        StoredResponse result = null;
+        try {
+            chain.doFilter(request, caching);
+            executed.increment();
+            if (caching.getStatus() >= 200 && caching.getStatus() < 300) {
+                result = new StoredResponse(fingerprint, caching.getStatus(), caching.getContentType(),
+                        storedHeaders(caching), caching.getContentAsByteArray());
+                store.complete(key, result);
+            }
+        } finally {
+            if (result == null) {
+                store.release(key);
+            }
+            mine.complete(result);
+            caching.copyBodyToResponse();
+        }
+    }
+
+    private static Map<String, String> storedHeaders(HttpServletResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : STORED_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return headers;
+    }
+
+    // null si la petición original falló (hay que volver a intentarlo) o si se acaba el tiempo
+    private static StoredResponse await(CompletableFuture<StoredResponse> running, long deadline) throws ServletException {
+        try {
+            return running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrumpido esperando la petición original", e);
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private void replay(StoredResponse stored, String fingerprint, HttpServletResponse response) throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            rejectOtherBody(response);
+            return;
+        }
+        replayed.increment();
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        stored.headers().forEach(response::setHeader);
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        byte[] body = stored.body() == null ? new byte[0] : stored.body();
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /** Peticiones con clave ejecutadas de verdad desde el arranque. */
+    public long executedCount() {
+        return executed.sum();
+    }
+
+    /** Respuestas repetidas desde el arranque (reintentos y duplicados simultáneos). */
+    public long replayedCount() {
+        return replayed.sum();
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static void rejectOtherBody(HttpServletResponse response) throws IOException {
+        reject(response, HttpStatus.UNPROCESSABLE_ENTITY, "Esta " + HEADER + " ya se usó con otro cuerpo de petición");
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(message);
+    }
+
+    // El cuerpo ya lo hemos leído para calcular su huella: Spring MVC lo lee de aquí
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException(
+                            "IdempotencyFilter ya ha leído el cuerpo entero en memoria: se lee de forma bloqueante, sin ReadListener");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() == null ? "UTF-8" : getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.hotel.booking.web;
+
+import com.hotel.booking.admission.TokenBucketRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita las peticiones de cada cliente (TokenBucketRateLimiter): quien se pasa recibe un 429 con
+ * Retry-After = segundos hasta su siguiente ficha, sin llegar a ocupar un hueco del limitador
+ * de admisión. Así un solo cliente desbocado no deja sin servicio a los demás.
+ *
+ * El cliente es el valor de la cabecera clientHeader (la clave de API) o, sin ella, la IP de
+ * origen (ClientIdentity): getRemoteAddr(), que detrás del balanceador es la del cliente real solo si
+ * Tomcat atiende X-Forwarded-For de los proxies de confianza (perfil prod, server.forward-headers-strategy=native).
+ * La clave no se valida aquí: inventarse una por petición esquiva el límite, y para eso
+ * sigue estando el limitador de admisión.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final TokenBucketRateLimiter limiter;
+
+    private final String clientHeader;
+
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimitFilter(TokenBucketRateLimiter limiter, String clientHeader) {
+        this.limiter = limiter;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long waitNanos = limiter.tryAcquire(ClientIdentity.of(request, clientHeader));
+        if (waitNanos > 0) {
+            rejected.increment();
+            reject(response, waitNanos);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /** Peticiones rechazadas con 429 desde el arranque. */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public TokenBucketRateLimiter limiter() {
+        return limiter;
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        // Retry-After va en segundos enteros: redondeo hacia arriba, como mínimo 1
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("Demasiadas peticiones, reintenta en " + seconds + " s");
+    }
+}
@@ -0,0 +1,84 @@
+package com.hotel.booking.web;
+
+import com.hotel.booking.datasource.ReadYourWrites;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Lectura de lo escrito con réplicas de lectura (ReplicaRoutingDataSource):
+ * - una petición que escribe (POST, PUT, PATCH, DELETE) lee del primario de principio a fin, y
+ *   deja al cliente una cookie con "hasta cuándo" (ahora + stickiness);
+ * - mientras la cookie esté vigente, sus lecturas también van al primario: la réplica podría no
+ *   tener todavía lo que acaba de escribir (un hotel recién creado daría 404).
+ *
+ * La cookie se pone antes de atender la petición (después la respuesta puede estar ya enviada),
+ * así que una escritura fallida también la deja: solo cuesta unos segundos de lecturas al primario.
+ * Un valor inventado no sirve para más de stickiness: se descarta lo que quede más lejos.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final String cookieName;
+
+    private final Duration stickiness;
+
+    private final Clock clock;
+
+    public ReadYourWritesFilter(String cookieName, Duration stickiness, Clock clock) {
+        this.cookieName = cookieName;
+        this.stickiness = stickiness;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = clock.millis();
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write) {
+            Cookie cookie = new Cookie(cookieName, Long.toString(now + stickiness.toMillis()));
+            cookie.setPath("/");
+            cookie.setMaxAge((int) Math.max(1, stickiness.toSeconds()));
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+        if (!write && !recentlyWrote(request, now)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        boolean previous = ReadYourWrites.pinToPrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.restore(previous);
+        }
+    }
+
+    private boolean recentlyWrote(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookieName.equals(cookie.getName())) {
+                try {
+                    long until = Long.parseLong(cookie.getValue());
+                    return until > now && until - now <= stickiness.toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package com.hotel.booking.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Formatos en los que servimos hoteles a los partners, además de JSON:
+ * - Smile (application/x-jackson-smile): JSON binario de Jackson; en una secuencia de hoteles los
+ *   nombres de campo repetidos se escriben una vez y después solo una referencia.
+ * - CBOR (application/cbor, RFC 8949): binario estándar, con librerías en casi cualquier lenguaje.
+ * Las exportaciones son secuencias de valores sin array alrededor: NDJSON, Smile seguido y
+ * CBOR Sequence (application/cbor-seq, RFC 8742).
+ *
+ * Los ObjectMapper binarios son copias del de Spring Boot (copyWith), así que serializan con
+ * los mismos módulos y opciones spring.jackson.* que el JSON.
+ */
+public class WireFormats {
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final MediaType SMILE = MediaType.parseMediaType(SMILE_VALUE);
+
+    public static final String CBOR_SEQ_VALUE = "application/cbor-seq";
+
+    public static final MediaType CBOR_SEQ = MediaType.parseMediaType(CBOR_SEQ_VALUE);
+
+    private final ObjectMapper json;
+
+    private final ObjectMapper smile;
+
+    private final ObjectMapper cbor;
+
+    public WireFormats(ObjectMapper json) {
+        this.json = json;
+        this.smile = json.copyWith(new SmileFactory());
+        this.cbor = json.copyWith(new CBORFactory());
+    }
+
+    public ObjectMapper smile() {
+        return smile;
+    }
+
+    public ObjectMapper cbor() {
+        return cbor;
+    }
+
+    /** Escribe los valores en NDJSON: un documento JSON por línea. */
+    public <T> void writeNdjson(OutputStream out, Consumer<Consumer<T>> source) throws IOException {
+        writeSequence(json, out, source, true);
+    }
+
+    /** Escribe los valores como una secuencia de documentos Smile (un solo generador, cabecera una vez). */
+    public <T> void writeSmileSequence(OutputStream out, Consumer<Consumer<T>> source) throws IOException {
+        writeSequence(smile, out, source, false);
+    }
+
+    /** Escribe los valores como CBOR Sequence: un elemento CBOR detrás de otro. */
+    public <T> void writeCborSequence(OutputStream out, Consumer<Consumer<T>> source) throws IOException {
+        writeSequence(cbor, out, source, false);
+    }
+
+    /*
+     * Un generador para toda la respuesta, escribiendo directamente en el OutputStream del servlet:
+     * ni un String ni un byte[] por hotel. Sin FLUSH_AFTER_WRITE_VALUE (activo por defecto en
+     * ObjectMapper.writeValue(JsonGenerator, ...)), el generador solo vacía su buffer cuando se llena,
+     * así Tomcat envía trozos grandes (y gzip comprime bloques completos) en vez de un trozo por hotel.
+     */
+    private static <T> void writeSequence(ObjectMapper mapper, OutputStream out, Consumer<Consumer<T>> source,
+                                          boolean newlineDelimited) throws IOException {
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = mapper.createGenerator(out)) {
+            if (newlineDelimited) {
+                generator.setRootValueSeparator(null); // sin el espacio que JSON pone entre documentos: solo '\n'
+            }
+            source.accept(value -> {
+                try {
+                    writer.writeValue(generator, value);
+                    if (newlineDelimited) {
+                        generator.writeRaw('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // p. ej. el cliente cerró la conexión
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,65 @@
+-- Esquema inicial (antes schema.sql). Flyway ejecuta cada migración una sola vez y la apunta en
+-- flyway_schema_history; los cambios de esquema van en ficheros nuevos (V2__..., V3__...), nunca
+-- editando uno ya aplicado. SQL común a PostgreSQL y a H2 en modo PostgreSQL.
+
+CREATE TABLE hotel (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    address VARCHAR(255) NOT NULL,
+    city VARCHAR(100) NOT NULL,
+    -- city en minúsculas y sin acentos (TextNormalizer), para buscar sin distinguir mayúsculas con un índice normal
+    city_normalized VARCHAR(100) NOT NULL,
+    country VARCHAR(100) NOT NULL,
+    stars INT NOT NULL CHECK (stars >= 1 AND stars <= 5),
+    description TEXT,
+    -- Versión para el bloqueo optimista (@Version): sube en cada UPDATE y es el ETag del hotel
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+-- Índices de la búsqueda (GET /api/hotels/search) y de los filtros del listado (GET /api/hotels).
+-- Igualdades primero (país, ciudad), luego estrellas y por último id: con país y ciudad fijados,
+-- las filas salen ya ordenadas por (stars, id), el orden de la búsqueda y de su cursor.
+CREATE INDEX idx_hotel_country_city_stars ON hotel (country, city_normalized, stars, id);
+-- Búsquedas solo por ciudad (sin país)
+CREATE INDEX idx_hotel_city_stars ON hotel (city_normalized, stars, id);
+-- Filtro solo por estrellas
+CREATE INDEX idx_hotel_stars_id ON hotel (stars, id);
+
+-- Habitaciones: al borrar un hotel se borran sus habitaciones (y, en cascada, sus reservas)
+CREATE TABLE room (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    hotel_id BIGINT NOT NULL REFERENCES hotel (id) ON DELETE CASCADE,
+    room_number VARCHAR(20) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    capacity INT NOT NULL CHECK (capacity >= 1),
+    price DECIMAL(10, 2) NOT NULL CHECK (price >= 0),
+    CONSTRAINT uk_room_hotel_number UNIQUE (hotel_id, room_number)
+);
+
+-- Reservas de las noches [check_in, check_out)
+CREATE TABLE booking (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    room_id BIGINT NOT NULL REFERENCES room (id) ON DELETE CASCADE,
+    guest_id BIGINT NOT NULL,
+    check_in DATE NOT NULL,
+    check_out DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_price DECIMAL(12, 2) NOT NULL,
+    CONSTRAINT ck_booking_dates CHECK (check_out > check_in)
+);
+
+-- Reservas de una habitación por fechas (comprobar solapes) y carga del índice de disponibilidad
+CREATE INDEX idx_booking_room_check_in ON booking (room_id, check_in);
+CREATE INDEX idx_booking_check_out ON booking (check_out);
+
+-- Una fila por habitación y noche reservada. La clave primaria (room_id, night) es el árbitro
+-- final contra el overbooking: aunque dos peticiones (o dos instancias de la aplicación) crean
+-- a la vez que una noche está libre, solo una puede insertar su fila.
+CREATE TABLE booking_night (
+    room_id BIGINT NOT NULL,
+    night DATE NOT NULL,
+    booking_id BIGINT NOT NULL REFERENCES booking (id) ON DELETE CASCADE,
+    CONSTRAINT pk_booking_night PRIMARY KEY (room_id, night)
+);
+
+CREATE INDEX idx_booking_night_booking ON booking_night (booking_id);
@@ -0,0 +1,16 @@
+-- Registro de cambios de hoteles (alta, modificación, borrado), solo de inserción: es el "change feed"
+-- que leen los procesos de búsqueda y analítica, en orden de id. Lo escribe HotelEventLog en segundo plano.
+-- Sin clave foránea a hotel: el historial de un hotel borrado se conserva.
+CREATE TABLE hotel_event (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    hotel_id BIGINT NOT NULL,
+    type VARCHAR(10) NOT NULL,
+    -- hotel.version tras el cambio (null en los borrados): permite ordenar los cambios de un hotel
+    -- y detectar huecos si se perdió algún evento
+    hotel_version BIGINT,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    -- El hotel como JSON (HotelDto); null en los borrados
+    payload TEXT
+);
+
+CREATE INDEX idx_hotel_event_hotel ON hotel_event (hotel_id, id);
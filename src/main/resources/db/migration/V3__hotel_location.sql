@@ -0,0 +1,11 @@
+-- Coordenadas de cada hotel (grados WGS84) para las búsquedas por cercanía del mapa
+-- (GET /api/hotels/nearby y /api/hotels/in-box). Opcionales: los hoteles dados de alta antes no las tienen
+-- y no salen en esas búsquedas. Las búsquedas no usan índice de base de datos: las resuelve el índice
+-- espacial en memoria (HotelGeoIndex), que se carga de esta tabla al arrancar.
+ALTER TABLE hotel ADD COLUMN latitude DOUBLE PRECISION;
+ALTER TABLE hotel ADD COLUMN longitude DOUBLE PRECISION;
+
+-- Las dos o ninguna, y dentro de rango
+ALTER TABLE hotel ADD CONSTRAINT ck_hotel_location CHECK (
+    (latitude IS NULL AND longitude IS NULL)
+    OR (latitude BETWEEN -90 AND 90 AND longitude BETWEEN -180 AND 180));
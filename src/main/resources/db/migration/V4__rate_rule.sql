@@ -0,0 +1,20 @@
+-- Reglas de tarifa de cada hotel. El precio de una noche es el precio base de la habitación
+-- ajustado por un porcentaje; con ellas RateCalendarIndex precalcula el calendario de precios.
+--   SEASON          +/- adjustment_percent las noches [start_date, end_date)
+--   WEEKEND         +/- adjustment_percent las noches de viernes y sábado
+--   LENGTH_OF_STAY  -adjustment_percent sobre el total de estancias de min_nights noches o más
+-- room_type null = la regla vale para todos los tipos de habitación del hotel.
+CREATE TABLE rate_rule (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    hotel_id BIGINT NOT NULL REFERENCES hotel (id) ON DELETE CASCADE,
+    room_type VARCHAR(20),
+    kind VARCHAR(20) NOT NULL,
+    start_date DATE,
+    end_date DATE,
+    min_nights INT,
+    adjustment_percent INT NOT NULL,
+    CONSTRAINT ck_rate_rule_season CHECK (kind <> 'SEASON' OR (start_date IS NOT NULL AND end_date > start_date)),
+    CONSTRAINT ck_rate_rule_length_of_stay CHECK (kind <> 'LENGTH_OF_STAY' OR min_nights >= 2)
+);
+
+CREATE INDEX idx_rate_rule_hotel ON rate_rule (hotel_id);
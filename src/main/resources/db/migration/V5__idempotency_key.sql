@@ -0,0 +1,14 @@
+-- Respuestas guardadas por Idempotency-Key (hotel.idempotency.store=jdbc): compartidas entre todas
+-- las instancias, así un reintento que cae en otro nodo también recibe la respuesta original.
+-- status null = la petición original aún se está procesando.
+CREATE TABLE idempotency_key (
+    request_key VARCHAR(400) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    status INT,
+    content_type VARCHAR(100),
+    body TEXT,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Purga de claves caducadas
+CREATE INDEX idx_idempotency_key_expires ON idempotency_key (expires_at);
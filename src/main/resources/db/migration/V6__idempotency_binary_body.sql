@@ -0,0 +1,3 @@
+-- Respuestas binarias (Smile, CBOR) en idempotency_key: se guardan en Base64 en la misma columna
+-- "body" y esta marca dice cómo leerla. Las filas anteriores son todas JSON en texto (FALSE).
+ALTER TABLE idempotency_key ADD COLUMN body_base64 BOOLEAN DEFAULT FALSE NOT NULL;
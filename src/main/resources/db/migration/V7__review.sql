@@ -0,0 +1,32 @@
+-- Reseñas de los huéspedes: una calificación de 1 a 5 y un comentario opcional
+CREATE TABLE review (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    hotel_id BIGINT NOT NULL REFERENCES hotel (id) ON DELETE CASCADE,
+    guest_id BIGINT NOT NULL,
+    rating INT NOT NULL CHECK (rating >= 1 AND rating <= 5),
+    comment TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Reseñas de un hotel, de la más nueva a la más antigua
+CREATE INDEX idx_review_hotel ON review (hotel_id, id);
+
+-- Resumen de las reseñas de cada hotel, para no hacer AVG(rating) sobre millones de reseñas en cada
+-- tarjeta de hotel. Se actualiza en la misma transacción que cada alta o baja de reseña (ReviewService),
+-- con "columna = columna + 1" para que dos reseñas a la vez no se pisen. Un hotel sin reseñas no tiene fila.
+CREATE TABLE hotel_rating (
+    hotel_id BIGINT PRIMARY KEY REFERENCES hotel (id) ON DELETE CASCADE,
+    review_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    -- rating_sum / review_count guardado, para ordenar la búsqueda por calificación (0 sin reseñas)
+    average_rating DOUBLE PRECISION NOT NULL DEFAULT 0,
+    -- Histograma: número de reseñas con 1, 2, 3, 4 y 5 estrellas
+    rating_1 BIGINT NOT NULL DEFAULT 0,
+    rating_2 BIGINT NOT NULL DEFAULT 0,
+    rating_3 BIGINT NOT NULL DEFAULT 0,
+    rating_4 BIGINT NOT NULL DEFAULT 0,
+    rating_5 BIGINT NOT NULL DEFAULT 0
+);
+
+-- Búsqueda por calificación sin filtros: los mejor valorados primero
+CREATE INDEX idx_hotel_rating_average ON hotel_rating (average_rating, hotel_id);
@@ -0,0 +1,31 @@
+-- Reservas asíncronas (POST /api/bookings/async, ver BookingPipeline). La reserva pasa por etapas:
+--   RESERVE -> AUTHORIZE_PAYMENT -> CONFIRM -> NOTIFY
+-- y "stage" guarda la siguiente que le toca (NULL: nada pendiente, también en las reservas síncronas).
+-- Al arrancar se retoman las reservas con stage, así que una reserva a medias sobrevive a un reinicio.
+ALTER TABLE booking ADD COLUMN stage VARCHAR(20);
+ALTER TABLE booking ADD COLUMN requested_at TIMESTAMP WITH TIME ZONE;
+-- Mientras se autoriza el pago las noches están retenidas (status HELD, con sus filas en booking_night)
+-- hasta hold_expires_at; si el pago no llega a tiempo, se liberan y la reserva queda EXPIRED.
+ALTER TABLE booking ADD COLUMN held_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE booking ADD COLUMN hold_expires_at TIMESTAMP WITH TIME ZONE;
+-- confirmed_at - held_at: cuánto tiempo estuvieron retenidas las noches hasta confirmar
+ALTER TABLE booking ADD COLUMN confirmed_at TIMESTAMP WITH TIME ZONE;
+
+-- Reservas por etapa (recuperación al arrancar) y retenciones caducadas (stage = 'AUTHORIZE_PAYMENT')
+CREATE INDEX idx_booking_stage ON booking (stage, hold_expires_at);
+
+-- Pagos de una reserva. Puede haber varios (un pago rechazado y otro posterior); el de la reserva
+-- asíncrona se crea PENDING junto con ella y su id es la clave de idempotencia ante el proveedor.
+CREATE TABLE payment (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    booking_id BIGINT NOT NULL REFERENCES booking (id) ON DELETE CASCADE,
+    amount DECIMAL(12, 2) NOT NULL CHECK (amount >= 0),
+    method VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    -- Identificador de la autorización en el proveedor de pagos
+    provider_reference VARCHAR(100),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_payment_booking ON payment (booking_id, id);
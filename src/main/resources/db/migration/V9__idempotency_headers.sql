@@ -0,0 +1,3 @@
+-- Cabeceras que se repiten con la respuesta guardada (Location, ETag): una por línea, "Nombre: valor".
+-- null = la respuesta no tenía ninguna (y así quedan las filas anteriores).
+ALTER TABLE idempotency_key ADD COLUMN headers VARCHAR(4000);
@@ -1,9 +0,0 @@
-CREATE TABLE IF NOT EXISTS hotel (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    name VARCHAR(255) NOT NULL,
-    address VARCHAR(255) NOT NULL,
-    city VARCHAR(100) NOT NULL,
-    country VARCHAR(100) NOT NULL,
-    stars INT NOT NULL CHECK (stars >= 1 AND stars <= 5),
-    description TEXT
-);
\ No newline at end of file
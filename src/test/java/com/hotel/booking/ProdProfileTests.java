@@ -0,0 +1,37 @@
+package com.hotel.booking;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * El perfil "prod" arranca (aquí sobre H2 en modo PostgreSQL) con el pool ajustado
+ * y el esquema creado por las migraciones de Flyway.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:prodprofile;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")
+@ActiveProfiles("prod")
+class ProdProfileTests {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private Flyway flyway;
+
+	@Test
+	void shouldUseAFixedSizePoolAndVersionedMigrations() {
+		HikariDataSource hikari = (HikariDataSource) dataSource;
+		assertThat(hikari.getPoolName()).isEqualTo("hotel-pool");
+		assertThat(hikari.getMinimumIdle()).isEqualTo(hikari.getMaximumPoolSize());
+
+		assertThat(flyway.info().applied()).isNotEmpty();
+		assertThat(flyway.info().pending()).isEmpty();
+	}
+}
@@ -0,0 +1,92 @@
+package com.hotel.booking.admission;
+
+import com.hotel.booking.config.AdmissionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientConcurrencyLimitTest {
+
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private long now = 0;
+
+    private final GradientConcurrencyLimit limit = new GradientConcurrencyLimit(properties(), () -> now);
+
+    @Test
+    void shouldNeverLetMoreThanTheLimitIn() {
+        GradientConcurrencyLimit fixed = GradientConcurrencyLimit.fixed(3);
+        assertThat(fixed.tryAcquire()).isTrue();
+        assertThat(fixed.tryAcquire()).isTrue();
+        assertThat(fixed.tryAcquire()).isTrue();
+        assertThat(fixed.tryAcquire()).isFalse();
+
+        fixed.release(1_000);
+        assertThat(fixed.inFlight()).isEqualTo(2);
+        assertThat(fixed.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void shouldShrinkWhenLatencyGrowsAndRecoverWhenItDrops() {
+        // Sin cola: 10 ms con el límite lleno, el límite crece
+        windows(10, 10);
+        int grown = limit.limit();
+        assertThat(grown).isGreaterThan(20);
+        assertThat(limit.baselineRttSeconds()).isEqualTo(0.010);
+
+        // Con cola: 80 ms, ocho veces la latencia sin cola, el límite baja hacia el mínimo
+        windows(30, 80);
+        assertThat(limit.limit()).isBetween(5, 8);
+
+        // La cola se vacía y vuelve a crecer
+        windows(30, 10);
+        assertThat(limit.limit()).isGreaterThan(15);
+    }
+
+    @Test
+    void shouldAcceptLatencyWithinTheTolerance() {
+        windows(5, 10);
+        int before = limit.limit();
+        // Hasta el doble de la latencia sin cola (tolerance=2) no es cola: el límite no baja
+        windows(10, 19);
+        assertThat(limit.limit()).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    void shouldNotMoveWhileTheApplicationIsNotBusy() {
+        // Una petición cada vez, lejos de la mitad del límite: la latencia no dice nada de él
+        for (int i = 0; i < 100; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+            now += WINDOW / 10;
+            limit.release(TimeUnit.MILLISECONDS.toNanos(500));
+        }
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+
+    // Ventanas con el límite lleno en las que cada petición tarda rttMillis
+    private void windows(int count, long rttMillis) {
+        for (int w = 0; w < count; w++) {
+            int inFlight = 0;
+            while (limit.tryAcquire()) {
+                inFlight++;
+            }
+            now += WINDOW;
+            for (int i = 0; i < inFlight; i++) {
+                limit.release(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+            }
+        }
+    }
+
+    private static AdmissionProperties properties() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMinConcurrent(5);
+        properties.setInitialConcurrent(20);
+        properties.setMaxConcurrent(100);
+        properties.setWindow(Duration.ofNanos(WINDOW));
+        properties.setTolerance(2.0);
+        return properties;
+    }
+}
@@ -0,0 +1,70 @@
+package com.hotel.booking.admission;
+
+import com.hotel.booking.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private long now = 0;
+
+    @Test
+    void shouldAllowABurstAndThenTheAverageRate() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(properties(10, 5), () -> now);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("ana")).isZero();
+        }
+        // Cubo vacío: la siguiente ficha llega en 1/10 s
+        assertThat(limiter.tryAcquire("ana")).isEqualTo(SECOND / 10);
+        // Otro cliente tiene su propio cubo
+        assertThat(limiter.tryAcquire("luis")).isZero();
+
+        now += SECOND / 10;
+        assertThat(limiter.tryAcquire("ana")).isZero();
+        assertThat(limiter.tryAcquire("ana")).isPositive();
+
+        // Tras un rato sin peticiones vuelve a tener la ráfaga entera, no más
+        now += 10 * SECOND;
+        int allowed = 0;
+        while (limiter.tryAcquire("ana") == 0) {
+            allowed++;
+        }
+        assertThat(allowed).isEqualTo(5);
+    }
+
+    @Test
+    void concurrentRequestsShouldNotGetMoreThanTheBurst() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(properties(1, 100), () -> now);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 1_000; i++) {
+                executor.execute(() -> {
+                    if (limiter.tryAcquire("ana") == 0) {
+                        allowed.incrementAndGet();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(allowed.get()).isEqualTo(100);
+    }
+
+    private static RateLimitProperties properties(double requestsPerSecond, int burst) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRequestsPerSecond(requestsPerSecond);
+        properties.setBurst(burst);
+        return properties;
+    }
+}
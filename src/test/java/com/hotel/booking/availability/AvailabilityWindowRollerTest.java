@@ -0,0 +1,87 @@
+package com.hotel.booking.availability;
+
+import com.hotel.booking.config.AvailabilityProperties;
+import com.hotel.booking.domain.room.RoomType;
+import com.hotel.booking.pricing.RateCalendarIndex;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AvailabilityWindowRollerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 1);
+
+    private final MutableClock clock = new MutableClock(TODAY.atTime(23, 59).toInstant(ZoneOffset.UTC));
+
+    private final RoomAvailabilityIndex availabilityIndex = new RoomAvailabilityIndex(TODAY, 365);
+
+    private final RateCalendarIndex rateCalendar = new RateCalendarIndex(TODAY, 365);
+
+    private final AvailabilityWindowRoller roller =
+            new AvailabilityWindowRoller(availabilityIndex, rateCalendar, clock, new AvailabilityProperties());
+
+    @Test
+    void shouldMoveBothWindowsWhenTheDayChanges() {
+        availabilityIndex.addRoom(1, 10, RoomType.DOUBLE, 2);
+        availabilityIndex.markBooked(1, TODAY, TODAY.plusDays(3));
+
+        assertThat(roller.roll()).isFalse();
+
+        clock.advance(Duration.ofMinutes(2)); // pasada la medianoche
+        assertThat(roller.roll()).isTrue();
+        assertThat(roller.roll()).isFalse();
+
+        LocalDate tomorrow = TODAY.plusDays(1);
+        assertThat(availabilityIndex.getFirstNight()).isEqualTo(tomorrow);
+        assertThat(rateCalendar.getFirstNight()).isEqualTo(tomorrow);
+        // El horizonte sigue siendo de 365 noches desde hoy: se puede reservar y presupuestar un día más
+        assertThat(availabilityIndex.getLastCheckOut()).isEqualTo(TODAY.plusDays(366));
+        assertThat(availabilityIndex.isFree(1, TODAY.plusDays(365), TODAY.plusDays(366))).isTrue();
+        assertThat(rateCalendar.totalPrice(10, RoomType.DOUBLE, new BigDecimal("80.00"),
+                TODAY.plusDays(365), TODAY.plusDays(366))).isEqualByComparingTo("80.00");
+        assertThat(availabilityIndex.isFree(1, tomorrow, TODAY.plusDays(3))).isFalse();
+
+        // Un proceso que lleva días sin mirar (o un cambio de hora del sistema): salta directamente a hoy
+        clock.advance(Duration.ofDays(10));
+        assertThat(roller.roll()).isTrue();
+        assertThat(availabilityIndex.getFirstNight()).isEqualTo(TODAY.plusDays(11));
+        assertThat(availabilityIndex.isFree(1, TODAY.plusDays(11), TODAY.plusDays(12))).isTrue();
+    }
+
+    // Reloj que el test adelanta a mano
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException("Reloj de test en UTC");
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
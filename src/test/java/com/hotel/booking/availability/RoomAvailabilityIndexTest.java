@@ -0,0 +1,170 @@
+package com.hotel.booking.availability;
+
+import com.hotel.booking.domain.room.RoomType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RoomAvailabilityIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 1);
+
+    private RoomAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RoomAvailabilityIndex(TODAY, 365);
+        index.addRoom(1, 10, RoomType.DOUBLE, 2);
+        index.addRoom(2, 10, RoomType.SUITE, 4);
+        index.addRoom(3, 20, RoomType.DOUBLE, 2);
+    }
+
+    @Test
+    void checkOutNightShouldStayFree() {
+        index.markBooked(1, day(10), day(12));
+
+        assertThat(index.isFree(1, day(9), day(10))).isTrue();
+        assertThat(index.isFree(1, day(11), day(12))).isFalse();
+        assertThat(index.isFree(1, day(12), day(14))).isTrue();
+    }
+
+    @Test
+    void shouldHandleStaysCrossingSixtyFourNightBlocks() {
+        index.markBooked(1, day(60), day(200));
+
+        assertThat(index.isFree(1, day(63), day(64))).isFalse();
+        assertThat(index.isFree(1, day(128), day(129))).isFalse();
+        assertThat(index.isFree(1, day(199), day(200))).isFalse();
+        assertThat(index.isFree(1, day(0), day(60))).isTrue();
+        assertThat(index.isFree(1, day(200), day(365))).isTrue();
+    }
+
+    @Test
+    void releaseShouldFreeOnlyTheReleasedNights() {
+        index.markBooked(1, day(10), day(20));
+        index.markBooked(1, day(20), day(25));
+
+        index.markReleased(1, day(10), day(20));
+
+        assertThat(index.isFree(1, day(10), day(20))).isTrue();
+        assertThat(index.isFree(1, day(20), day(21))).isFalse();
+    }
+
+    @Test
+    void findFreeRoomsShouldFilterByHotelTypeAndCapacity() {
+        index.markBooked(1, day(5), day(7));
+
+        assertThat(index.findFreeRooms(10, day(1), day(3), null, 1, 10)).containsExactly(1L, 2L);
+        assertThat(index.findFreeRooms(10, day(6), day(8), null, 1, 10)).containsExactly(2L);
+        assertThat(index.findFreeRooms(10, day(1), day(3), RoomType.DOUBLE, 1, 10)).containsExactly(1L);
+        assertThat(index.findFreeRooms(10, day(1), day(3), null, 3, 10)).containsExactly(2L);
+        assertThat(index.findFreeRooms(10, day(1), day(3), null, 1, 1)).hasSize(1);
+        assertThat(index.findFreeRooms(99, day(1), day(3), null, 1, 10)).isEmpty();
+    }
+
+    @Test
+    void bookingsStartedBeforeTheFirstNightShouldBeClipped() {
+        index.markBooked(3, TODAY.minusDays(3), day(2));
+
+        assertThat(index.isFree(3, day(0), day(2))).isFalse();
+        assertThat(index.isFree(3, day(2), day(3))).isTrue();
+    }
+
+    @Test
+    void queriesOutsideTheHorizonShouldBeRejected() {
+        assertThat(index.covers(day(360), day(365))).isTrue();
+        assertThat(index.covers(day(360), day(366))).isFalse();
+        assertThatThrownBy(() -> index.isFree(1, day(360), day(366)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.isFree(1, TODAY.minusDays(1), day(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void removedRoomsShouldDisappearAndTheirSlotsBeReusedClean() {
+        index.markBooked(1, day(1), day(5));
+        index.removeHotel(10);
+
+        assertThat(index.roomCount()).isEqualTo(1);
+        assertThat(index.isFree(1, day(1), day(2))).isFalse(); // ya no existe
+        assertThat(index.findFreeRooms(10, day(1), day(2), null, 1, 10)).isEmpty();
+
+        index.addRoom(4, 30, RoomType.SINGLE, 1); // reutiliza un hueco liberado
+        assertThat(index.isFree(4, day(1), day(5))).isTrue();
+    }
+
+    @Test
+    void shouldGrowBeyondTheInitialCapacity() {
+        for (int room = 100; room < 5_100; room++) {
+            index.addRoom(room, 40, RoomType.SINGLE, 1);
+        }
+        index.markBooked(5_099, day(3), day(4));
+
+        assertThat(index.roomCount()).isEqualTo(5_003);
+        assertThat(index.isFree(5_099, day(3), day(4))).isFalse();
+        assertThat(index.isFree(100, day(3), day(4))).isTrue();
+        assertThat(index.findFreeRooms(40, day(3), day(4), null, 1, 10_000)).hasSize(4_999);
+    }
+
+    @Test
+    void rollToShouldForgetPastNightsAndOpenNewOnesAtTheEnd() {
+        index.markBooked(1, day(10), day(12));
+        index.markBooked(1, day(60), day(200));
+        index.markBooked(2, day(300), day(365));
+
+        index.rollTo(day(70));
+
+        assertThat(index.getFirstNight()).isEqualTo(day(70));
+        assertThat(index.getLastCheckOut()).isEqualTo(day(435));
+        assertThat(index.isFree(1, day(70), day(71))).isFalse();
+        assertThat(index.isFree(1, day(199), day(200))).isFalse();
+        assertThat(index.isFree(1, day(200), day(435))).isTrue();
+        assertThat(index.isFree(2, day(364), day(365))).isFalse();
+        // Las noches nuevas del final, libres y reservables
+        assertThat(index.isFree(2, day(365), day(435))).isTrue();
+        index.markBooked(3, day(430), day(435));
+        assertThat(index.isFree(3, day(434), day(435))).isFalse();
+        assertThatThrownBy(() -> index.isFree(1, day(69), day(71))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rollToShouldMatchAnIndexBuiltOnTheNewFirstNight() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<LocalDate[]> stays = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(365);
+            stays.add(new LocalDate[]{day(from), day(Math.min(365, from + 1 + random.nextInt(20)))});
+        }
+        for (LocalDate[] stay : stays) {
+            index.markBooked(1, stay[0], stay[1]);
+        }
+
+        // Saltos de 1 noche, de un bloque de 64 justo y de más: todos los desplazamientos de bits
+        int first = 0;
+        for (int days : new int[]{1, 63, 64, 65, 100}) {
+            first += days;
+            index.rollTo(day(first));
+            RoomAvailabilityIndex fresh = new RoomAvailabilityIndex(day(first), 365);
+            fresh.addRoom(1, 10, RoomType.DOUBLE, 2);
+            for (LocalDate[] stay : stays) {
+                fresh.markBooked(1, stay[0], stay[1]);
+            }
+            for (int night = first; night < first + 365; night++) {
+                assertThat(index.isFree(1, day(night), day(night + 1)))
+                        .as("noche %d tras avanzar a %d", night, first)
+                        .isEqualTo(fresh.isFree(1, day(night), day(night + 1)));
+            }
+        }
+    }
+
+    private static LocalDate day(int offset) {
+        return TODAY.plusDays(offset);
+    }
+}
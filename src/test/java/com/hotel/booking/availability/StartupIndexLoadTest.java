@@ -0,0 +1,113 @@
+package com.hotel.booking.availability;
+
+import com.hotel.booking.domain.booking.Booking;
+import com.hotel.booking.domain.booking.BookingStatus;
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.pricing.RateRule;
+import com.hotel.booking.domain.pricing.RateRuleKind;
+import com.hotel.booking.domain.room.Room;
+import com.hotel.booking.domain.room.RoomType;
+import com.hotel.booking.pricing.RateCalendarIndex;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.repository.RateRuleRepository;
+import com.hotel.booking.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.context.ServletWebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * El índice de disponibilidad y los calendarios de precios ya están completos cuando el servidor web
+ * abre el puerto (RoomAvailabilityIndexLoader, RateCalendarLoader). Lo que hay en
+ * la base de datos al arrancar lo guarda Seed mientras se crea el contexto, y ServerStartProbe mira
+ * el índice en el momento en que Tomcat empieza a aceptar peticiones.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties =
+        "spring.datasource.url=jdbc:h2:mem:index_load_test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")
+@Import(StartupIndexLoadTest.TestConfig.class)
+class StartupIndexLoadTest {
+
+    @Autowired
+    private ServerStartProbe probe;
+
+    @Test
+    void indexShouldBeCompleteBeforeTheServerAcceptsRequests() {
+        // Una habitación aún sin cargar no está libre nunca: las dos cosas juntas dicen que está cargada
+        assertThat(probe.freeNightsFree).isTrue();
+        assertThat(probe.bookedNightsFree).isFalse();
+        // Las noches de temporada (+50%), no el precio base de 2 x 80
+        assertThat(probe.seasonPrice).isEqualByComparingTo("240.00");
+    }
+
+    record Seed(long hotelId, long roomId, LocalDate bookedFrom, LocalDate freeFrom) {
+    }
+
+    static class ServerStartProbe implements ApplicationListener<ServletWebServerInitializedEvent> {
+
+        private final RoomAvailabilityIndex availabilityIndex;
+
+        private final RateCalendarIndex rateCalendar;
+
+        private final Seed seed;
+
+        private volatile Boolean freeNightsFree;
+
+        private volatile Boolean bookedNightsFree;
+
+        private volatile BigDecimal seasonPrice;
+
+        ServerStartProbe(RoomAvailabilityIndex availabilityIndex, RateCalendarIndex rateCalendar, Seed seed) {
+            this.availabilityIndex = availabilityIndex;
+            this.rateCalendar = rateCalendar;
+            this.seed = seed;
+        }
+
+        @Override
+        public void onApplicationEvent(ServletWebServerInitializedEvent event) {
+            freeNightsFree = availabilityIndex.isFree(seed.roomId(), seed.freeFrom(), seed.freeFrom().plusDays(2));
+            bookedNightsFree = availabilityIndex.isFree(seed.roomId(), seed.bookedFrom(), seed.bookedFrom().plusDays(2));
+            seasonPrice = rateCalendar.totalPrice(seed.hotelId(), RoomType.DOUBLE, new BigDecimal("80.00"),
+                    seed.freeFrom(), seed.freeFrom().plusDays(2));
+        }
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+
+        // Los repositorios ya esperan a Flyway; todo esto ocurre antes de que arranque ningún SmartLifecycle
+        @Bean
+        Seed seed(HotelRepository hotelRepository, RoomRepository roomRepository,
+                  BookingRepository bookingRepository, RateRuleRepository rateRuleRepository, Clock clock) {
+            LocalDate today = LocalDate.now(clock);
+            long hotelId = hotelRepository.insertAll(List.of(Hotel.builder()
+                    .name("Hotel Arranque").address("Calle 3").city("Soria").country("España").stars(3)
+                    .build())).get(0);
+            Room room = roomRepository.save(Room.builder().hotelId(hotelId).number("301").type(RoomType.DOUBLE)
+                    .capacity(2).price(new BigDecimal("80.00")).build());
+            bookingRepository.save(Booking.builder().roomId(room.getId()).guestId(1L)
+                    .checkIn(today.plusDays(10)).checkOut(today.plusDays(12)).status(BookingStatus.CONFIRMED)
+                    .totalPrice(new BigDecimal("160.00")).build());
+            rateRuleRepository.save(RateRule.builder().hotelId(hotelId).kind(RateRuleKind.SEASON)
+                    .startDate(today.plusDays(20)).endDate(today.plusDays(22)).percent(50).build());
+            return new Seed(hotelId, room.getId(), today.plusDays(10), today.plusDays(20));
+        }
+
+        @Bean
+        ServerStartProbe serverStartProbe(RoomAvailabilityIndex availabilityIndex, RateCalendarIndex rateCalendar,
+                                          Seed seed) {
+            return new ServerStartProbe(availabilityIndex, rateCalendar, seed);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.BookingSystemApplication;
+import com.hotel.booking.admission.GradientConcurrencyLimit;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.web.AdmissionLimitFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Prueba de sobrecarga: GET /api/hotels/{id} al triple de lo que el servidor puede atender, sin
+ * limitador de admisión y con el limitador adaptativo (GradientConcurrencyLimit).
+ *
+ * Primero se mide la capacidad con un bucle cerrado (N clientes sin pausa) y luego se lanza un
+ * bucle abierto: las peticiones salen a ritmo fijo, lleguen o no las respuestas, como en
+ * producción (los usuarios no esperan a que el servidor se desahogue). La latencia se cuenta
+ * desde el instante en que tocaba enviar cada petición, para no esconder la cola del cliente.
+ *
+ * Pool de Hikari pequeño y latencia simulada por sentencia (LatencyInjectingH2Driver): el cuello
+ * de botella es la base de datos, como en el incidente. Sin limitador, las peticiones que no caben
+ * se acumulan esperando conexión hasta que caducan; con él, las que sobran reciben 503 al momento
+ * y las que entran mantienen su latencia. Todas las peticiones salen de localhost (una sola IP),
+ * así que el límite por cliente está desactivado en los dos casos.
+ *
+ * Con pocas CPU, mejor -Dbenchmark.db-latency-ms=20: con 5 ms el cuello de botella pasa a ser la
+ * CPU, compartida con el generador de carga, que entonces no consigue enviar a su ritmo.
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=AdmissionOverloadBenchmarkTest
+ *   [-Dbenchmark.overload=3 -Dbenchmark.seconds=15 -Dbenchmark.pool-size=4 -Dbenchmark.db-latency-ms=5]
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class AdmissionOverloadBenchmarkTest {
+
+    private static final int HOTELS = 1_000;
+
+    private static final Duration CLIENT_TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    void compareOverloadWithAndWithoutAdaptiveLimit() throws Exception {
+        double overload = Double.parseDouble(System.getProperty("benchmark.overload", "3"));
+        int seconds = Integer.getInteger("benchmark.seconds", 15);
+        int poolSize = Integer.getInteger("benchmark.pool-size", 4);
+        System.out.printf(Locale.ROOT, "%n[overload] pool de %d conexiones, %d ms por sentencia, %d s a %.0fx la capacidad%n",
+                poolSize, Long.getLong("benchmark.db-latency-ms", 5), seconds, overload);
+
+        double rate = 0;
+        for (boolean limited : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(limited, poolSize)) {
+                int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+                List<Long> ids = seed(context);
+                try (HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                        .executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+                    // Calentamiento (JIT, pool) con tantos clientes como conexiones: sin cola, como cuando el
+                    // tráfico sube poco a poco, y el limitador aprende la latencia de sin carga
+                    closedLoop(http, port, ids, poolSize, 5);
+                    if (rate == 0) {
+                        double capacity = closedLoop(http, port, ids, 4 * poolSize, 5);
+                        rate = capacity * overload;
+                        System.out.printf(Locale.ROOT, "[overload] capacidad: %,.0f peticiones/s; se envían %,.0f/s%n",
+                                capacity, rate);
+                    }
+                    Result result = openLoop(http, port, ids, rate, seconds);
+                    print(limited ? "limitador adaptativo" : "sin limitador       ", result, seconds);
+                }
+                if (limited) {
+                    @SuppressWarnings("unchecked")
+                    GradientConcurrencyLimit limit = ((FilterRegistrationBean<AdmissionLimitFilter>)
+                            context.getBean("admissionLimitFilter")).getFilter().limit();
+                    System.out.printf(Locale.ROOT, "[overload] límite al terminar: %d peticiones a la vez, latencia de referencia %.1f ms%n",
+                            limit.limit(), limit.baselineRttSeconds() * 1e3);
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean limited, int poolSize) {
+        return new SpringApplicationBuilder(BookingSystemApplication.class)
+                .run("--server.port=0",
+                        "--hotel.cache.enabled=false",
+                        "--hotel.event-log.enabled=false",
+                        "--hotel.admission.enabled=" + limited,
+                        "--hotel.rate-limit.enabled=false",
+                        "--logging.level.org.springframework.jdbc=INFO",
+                        "--spring.devtools.restart.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "--spring.datasource.hikari.minimum-idle=" + poolSize,
+                        "--spring.datasource.driver-class-name=" + LatencyInjectingH2Driver.class.getName(),
+                        "--spring.datasource.url=jdbc:slowh2:mem:overload_" + (limited ? "limited" : "unlimited")
+                                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+    }
+
+    private static List<Long> seed(ConfigurableApplicationContext context) {
+        HotelRepository repository = context.getBean(HotelRepository.class);
+        new HotelDataGenerator(7).insert(repository, context.getBean(TransactionTemplate.class), HOTELS);
+        List<Long> ids = new ArrayList<>();
+        repository.findAll().forEach(hotel -> ids.add(hotel.getId()));
+        return ids;
+    }
+
+    // N clientes sin pausa durante unos segundos: peticiones atendidas por segundo
+    private static double closedLoop(HttpClient http, int port, List<Long> ids, int clients, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong ok = new AtomicLong();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                SplittableRandom random = new SplittableRandom(c);
+                futures.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        if (send(http, port, ids.get(random.nextInt(ids.size()))) == 200) {
+                            ok.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return ok.get() / (double) seconds;
+    }
+
+    // Peticiones a ritmo fijo durante unos segundos, cada una en su hilo virtual
+    private static Result openLoop(HttpClient http, int port, List<Long> ids, double rate, int seconds) {
+        int total = (int) (rate * seconds);
+        long intervalNanos = (long) (1e9 / rate);
+        long[] latencies = new long[total];
+        int[] statuses = new int[total];
+        SplittableRandom random = new SplittableRandom(42);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                long scheduled = start + i * intervalNanos;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                int request = i;
+                long id = ids.get(random.nextInt(ids.size()));
+                executor.execute(() -> {
+                    statuses[request] = send(http, port, id);
+                    latencies[request] = System.nanoTime() - scheduled;
+                });
+            }
+        } // close() espera a que terminen todas
+        return Result.of(latencies, statuses);
+    }
+
+    // Código de estado, o 0 si no llegó respuesta (timeout del cliente, conexión rechazada)
+    private static int send(HttpClient http, int port, long id) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/hotels/" + id))
+                    .timeout(CLIENT_TIMEOUT).GET().build();
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private static void print(String label, Result result, int seconds) {
+        System.out.printf(Locale.ROOT,
+                "[overload] %s: %,6.0f ok/s  p50 %7.1f ms  p99 %7.1f ms  max %7.1f ms (de las ok)  | 503: %,d  429: %,d  otros/timeout: %,d  p99 de todas %7.1f ms%n",
+                label, result.ok / (double) seconds, result.p50, result.p99, result.max,
+                result.unavailable, result.tooMany, result.failed, result.p99All);
+    }
+
+    private record Result(int ok, int unavailable, int tooMany, int failed,
+                          double p50, double p99, double max, double p99All) {
+
+        static Result of(long[] latencies, int[] statuses) {
+            long[] ok = new long[latencies.length];
+            int okCount = 0;
+            int unavailable = 0;
+            int tooMany = 0;
+            int failed = 0;
+            for (int i = 0; i < latencies.length; i++) {
+                switch (statuses[i]) {
+                    case 200 -> ok[okCount++] = latencies[i];
+                    case 503 -> unavailable++;
+                    case 429 -> tooMany++;
+                    default -> failed++;
+                }
+            }
+            ok = Arrays.copyOf(ok, okCount);
+            Arrays.sort(ok);
+            long[] all = latencies.clone();
+            Arrays.sort(all);
+            return new Result(okCount, unavailable, tooMany, failed,
+                    percentile(ok, 0.5), percentile(ok, 0.99), percentile(ok, 1.0), percentile(all, 0.99));
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.BookingSystemApplication;
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.room.RoomType;
+import com.hotel.booking.dto.CreateRoomRequestDto;
+import com.hotel.booking.pipeline.BookingPipeline;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reservas asíncronas (POST /api/bookings/async) a ritmo fijo, con el proveedor de pagos simulado
+ * (StubPaymentProvider: latencia + jitter y una fracción de rechazos) y latencia por sentencia en la
+ * base de datos (LatencyInjectingH2Driver). Para cada ritmo mide:
+ * - la latencia de la respuesta 202: lo que espera el cliente, sin el pago;
+ * - reservas confirmadas por segundo, de la primera petición a la última confirmación;
+ * - la distribución del tiempo con las noches retenidas (confirmed_at - held_at), que es lo que
+ *   tarda el proveedor más las colas de las etapas; y de extremo a extremo (confirmed_at - requested_at);
+ * - cuántas terminan rechazadas (noches ya cogidas), con el pago rechazado, caducadas o con 503.
+ *
+ * Cada ritmo usa un hotel nuevo con muchas habitaciones: casi no hay choques de noches.
+ * Con el último ritmo por encima de lo que dan payment-concurrency / latencia del proveedor, las
+ * reservas se acumulan en el pipeline hasta max-in-flight y las siguientes reciben 503 al momento.
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=BookingPipelineBenchmarkTest
+ *   [-Dbenchmark.rates=100,400 -Dbenchmark.seconds=10 -Dbenchmark.payment-latency-ms=200
+ *    -Dbenchmark.payment-concurrency=50 -Dbenchmark.db-latency-ms=5]
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class BookingPipelineBenchmarkTest {
+
+    private static final int ROOMS = 2_000;
+
+    @Test
+    void measureConfirmedBookingsAndHoldTimes() throws Exception {
+        int seconds = Integer.getInteger("benchmark.seconds", 10);
+        long paymentLatencyMs = Long.getLong("benchmark.payment-latency-ms", 200);
+        int paymentConcurrency = Integer.getInteger("benchmark.payment-concurrency", 50);
+        int[] rates = Arrays.stream(System.getProperty("benchmark.rates", "100,400").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        System.out.printf(Locale.ROOT, "%n[pipeline] proveedor de pagos %d ms (+0-%d ms), %d autorizaciones a la vez, %d ms por sentencia%n",
+                paymentLatencyMs, paymentLatencyMs / 2, paymentConcurrency, Long.getLong("benchmark.db-latency-ms", 5));
+
+        try (ConfigurableApplicationContext context = start(paymentLatencyMs, paymentConcurrency);
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                     .executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            BookingPipeline pipeline = context.getBean(BookingPipeline.class);
+            NamedParameterJdbcTemplate jdbc = context.getBean(NamedParameterJdbcTemplate.class);
+            LocalDate firstNight = LocalDate.now(context.getBean(Clock.class)).plusDays(1);
+
+            // Calentamiento (JIT, pool, hilos de las etapas) al ritmo más bajo, sin contarlo
+            openLoop(http, port, rooms(jdbc, seedHotel(context, "calentamiento")), firstNight, rates[0], 3);
+            drain(pipeline);
+
+            for (int rate : rates) {
+                long hotelId = seedHotel(context, String.valueOf(rate));
+                long[] acceptLatencies = openLoop(http, port, rooms(jdbc, hotelId), firstNight, rate, seconds);
+                drain(pipeline);
+                report(rate, acceptLatencies, jdbc, hotelId);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(long paymentLatencyMs, int paymentConcurrency) {
+        return new SpringApplicationBuilder(BookingSystemApplication.class)
+                .run("--server.port=0",
+                        "--hotel.cache.enabled=false",
+                        "--hotel.event-log.enabled=false",
+                        "--hotel.rate-limit.enabled=false",
+                        "--hotel.admission.enabled=false",
+                        "--logging.level.org.springframework.jdbc=INFO",
+                        "--logging.level.com.hotel.booking.pipeline=WARN",
+                        "--spring.devtools.restart.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--hotel.payment.stub.latency=" + paymentLatencyMs + "ms",
+                        "--hotel.payment.stub.jitter=" + paymentLatencyMs / 2 + "ms",
+                        "--hotel.payment.stub.decline-rate=0.05",
+                        "--hotel.booking-pipeline.payment-concurrency=" + paymentConcurrency,
+                        "--spring.datasource.driver-class-name=" + LatencyInjectingH2Driver.class.getName(),
+                        "--spring.datasource.url=jdbc:slowh2:mem:booking_pipeline_benchmark"
+                                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+    }
+
+    private static long seedHotel(ConfigurableApplicationContext context, String name) {
+        long hotelId = context.getBean(HotelRepository.class).insertAll(List.of(Hotel.builder()
+                .name("Hotel Pipeline " + name).address("Calle 1").city("Huesca").country("España").stars(3)
+                .build())).get(0);
+        RoomService roomService = context.getBean(RoomService.class);
+        for (int i = 0; i < ROOMS; i++) {
+            roomService.createRoom(hotelId, CreateRoomRequestDto.builder()
+                    .number(String.valueOf(i)).type(RoomType.DOUBLE).capacity(2).price(new BigDecimal("80.00"))
+                    .build());
+        }
+        return hotelId;
+    }
+
+    private static List<Long> rooms(NamedParameterJdbcTemplate jdbc, long hotelId) {
+        return jdbc.queryForList("SELECT id FROM room WHERE hotel_id = :hotelId", Map.of("hotelId", hotelId), Long.class);
+    }
+
+    // Espera a que el pipeline termine todas las reservas aceptadas (confirmadas o no)
+    private static void drain(BookingPipeline pipeline) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(3);
+        while (pipeline.inFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    // Peticiones a ritmo fijo, cada una en su hilo virtual; devuelve la latencia de cada 202 (-1 si no lo fue: 503 o sin respuesta)
+    private static long[] openLoop(HttpClient http, int port, List<Long> rooms, LocalDate firstNight,
+                                   int rate, int seconds) {
+        int total = rate * seconds;
+        long intervalNanos = 1_000_000_000L / rate;
+        long[] latencies = new long[total];
+        SplittableRandom random = new SplittableRandom(rate);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                long scheduled = start + i * intervalNanos;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                int request = i;
+                LocalDate checkIn = firstNight.plusDays(random.nextInt(300));
+                String body = "{\"roomId\": " + rooms.get(random.nextInt(rooms.size())) + ", \"guestId\": " + i
+                        + ", \"checkIn\": \"" + checkIn + "\", \"checkOut\": \"" + checkIn.plusDays(1 + random.nextInt(3)) + "\"}";
+                executor.execute(() -> {
+                    int status = send(http, port, body);
+                    latencies[request] = status == 202 ? System.nanoTime() - scheduled : -1;
+                });
+            }
+        }
+        return latencies;
+    }
+
+    private static int send(HttpClient http, int port, String body) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/bookings/async"))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private static void report(int rate, long[] acceptLatencies, NamedParameterJdbcTemplate jdbc, long hotelId) {
+        long[] accepted = Arrays.stream(acceptLatencies).filter(latency -> latency >= 0).sorted().toArray();
+        MapSqlParameterSource params = new MapSqlParameterSource("hotelId", hotelId);
+        String ofHotel = " FROM booking b JOIN room r ON r.id = b.room_id WHERE r.hotel_id = :hotelId";
+
+        List<long[]> times = new ArrayList<>();
+        jdbc.query("SELECT b.requested_at, b.held_at, b.confirmed_at" + ofHotel + " AND b.status = 'CONFIRMED'",
+                params, rs -> {
+                    times.add(new long[]{millis(rs.getTimestamp(1)), millis(rs.getTimestamp(2)), millis(rs.getTimestamp(3))});
+                });
+        long firstRequest = times.stream().mapToLong(t -> t[0]).min().orElse(0);
+        long lastConfirmation = times.stream().mapToLong(t -> t[2]).max().orElse(0);
+        long[] held = times.stream().mapToLong(t -> t[2] - t[1]).sorted().toArray();
+        long[] endToEnd = times.stream().mapToLong(t -> t[2] - t[0]).sorted().toArray();
+
+        Map<String, Object> counts = jdbc.queryForMap("SELECT "
+                + "SUM(CASE WHEN b.status = 'REJECTED' THEN 1 ELSE 0 END) AS rejected, "
+                + "SUM(CASE WHEN b.status = 'PAYMENT_FAILED' THEN 1 ELSE 0 END) AS payment_failed, "
+                + "SUM(CASE WHEN b.status = 'EXPIRED' THEN 1 ELSE 0 END) AS expired" + ofHotel, params);
+
+        System.out.printf(Locale.ROOT,
+                "[pipeline] %4d/s enviadas: 202 p50 %6.1f ms p99 %6.1f ms | %,5d confirmadas = %6.1f confirmadas/s | 503/sin respuesta: %,d  sin noches: %s  pago rechazado: %s  caducadas: %s%n",
+                rate, percentile(accepted, 0.5) / 1e6, percentile(accepted, 0.99) / 1e6,
+                held.length, held.length * 1000.0 / Math.max(1, lastConfirmation - firstRequest),
+                acceptLatencies.length - accepted.length,
+                counts.get("rejected"), counts.get("payment_failed"), counts.get("expired"));
+        System.out.printf(Locale.ROOT,
+                "[pipeline]           noches retenidas: p50 %6d ms  p90 %6d ms  p99 %6d ms  max %6d ms | de la petición a confirmar: p50 %6d ms  p99 %6d ms%n",
+                percentile(held, 0.5), percentile(held, 0.9), percentile(held, 0.99), percentile(held, 1.0),
+                percentile(endToEnd, 0.5), percentile(endToEnd, 0.99));
+    }
+
+    private static long millis(Timestamp timestamp) {
+        return timestamp.toInstant().toEpochMilli();
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))];
+    }
+}
@@ -0,0 +1,132 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.room.RoomType;
+import com.hotel.booking.dto.CreateBookingRequestDto;
+import com.hotel.booking.dto.CreateRoomRequestDto;
+import com.hotel.booking.exception.RoomNotAvailableException;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.service.BookingService;
+import com.hotel.booking.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reservas por segundo con 1, 8 y 64 hilos contra H2 en memoria, en dos escenarios:
+ * - "repartido": 1.000 habitaciones, poca contención por habitación;
+ * - "fechas calientes": todos los hilos sobre 10 habitaciones y la misma semana, casi todo son choques.
+ * Al final de cada ronda comprueba que no hay noches vendidas dos veces.
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=BookingThroughputBenchmarkTest [-Dbenchmark.attempts=20000]
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SpringBootTest
+@TestPropertySource(properties = "logging.level.org.springframework.jdbc=INFO")
+public class BookingThroughputBenchmarkTest {
+
+    private static final int[] THREADS = {1, 8, 64};
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Clock clock;
+
+    @Test
+    void measureBookingsPerSecond() throws Exception {
+        int attempts = Integer.getInteger("benchmark.attempts", 20_000);
+        System.out.println();
+        for (int threads : THREADS) {
+            run("repartido       ", threads, attempts, 1_000, 300);
+        }
+        for (int threads : THREADS) {
+            run("fechas calientes", threads, attempts / 4, 10, 7);
+        }
+    }
+
+    private void run(String label, int threads, int attempts, int rooms, int nightsWindow) throws Exception {
+        Long hotelId = hotelRepository.insertAll(List.of(Hotel.builder()
+                .name("Hotel Benchmark").address("Calle 1").city("Madrid").country("España").stars(3)
+                .build())).get(0);
+        List<Long> roomIds = new ArrayList<>(rooms);
+        for (int i = 0; i < rooms; i++) {
+            roomIds.add(roomService.createRoom(hotelId, CreateRoomRequestDto.builder()
+                    .number(String.valueOf(i)).type(RoomType.DOUBLE).capacity(2).price(new BigDecimal("80.00"))
+                    .build()).getId());
+        }
+        LocalDate firstNight = LocalDate.now(clock).plusDays(1);
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        int perThread = attempts / threads;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    LocalDate checkIn = firstNight.plusDays(random.nextInt(nightsWindow));
+                    CreateBookingRequestDto request = CreateBookingRequestDto.builder()
+                            .roomId(roomIds.get(random.nextInt(rooms))).guestId(1L)
+                            .checkIn(checkIn).checkOut(checkIn.plusDays(1 + random.nextInt(3)))
+                            .build();
+                    try {
+                        bookingService.createBooking(request);
+                        confirmed.incrementAndGet();
+                    } catch (RoomNotAvailableException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        executor.shutdown();
+
+        Integer overlaps = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM booking a JOIN booking b
+                  ON a.room_id = b.room_id AND a.id < b.id
+                 AND a.check_in < b.check_out AND b.check_in < a.check_out
+                WHERE a.status = 'CONFIRMED' AND b.status = 'CONFIRMED'""", Integer.class);
+        System.out.printf(Locale.ROOT,
+                "[booking] %s %2d hilos: %,7.0f intentos/s, %,7.0f reservas/s (%,d confirmadas, %,d rechazadas), solapes: %d%n",
+                label, threads, (confirmed.get() + rejected.get()) / seconds, confirmed.get() / seconds,
+                confirmed.get(), rejected.get(), overlaps);
+
+        hotelRepository.deleteById(hotelId);
+    }
+}
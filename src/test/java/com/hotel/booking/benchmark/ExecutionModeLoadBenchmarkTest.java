@@ -0,0 +1,160 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.BookingSystemApplication;
+import com.hotel.booking.repository.HotelRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Prueba de carga: hilos de plataforma (pool de Tomcat) frente a hilos virtuales, con 1.000
+ * clientes concurrentes haciendo GET /api/hotels/{id} sin pausa.
+ *
+ * Cada modo arranca la aplicación completa en un puerto aleatorio, con la caché de hoteles
+ * desactivada (cada petición va a la base de datos) y una latencia simulada por sentencia
+ * (LatencyInjectingH2Driver), porque con H2 en memoria el JDBC no bloquearía nada.
+ * Los clientes son hilos virtuales con java.net.http.HttpClient.
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=ExecutionModeLoadBenchmarkTest
+ *   [-Dbenchmark.clients=1000 -Dbenchmark.seconds=15 -Dbenchmark.db-latency-ms=5 -Dbenchmark.pool-size=20]
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class ExecutionModeLoadBenchmarkTest {
+
+    private static final int HOTELS = 1_000;
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        int clients = Integer.getInteger("benchmark.clients", 1_000);
+        int seconds = Integer.getInteger("benchmark.seconds", 15);
+        System.out.printf(Locale.ROOT, "%n[load] %d clientes, %d s por modo, %d ms de latencia por sentencia, pool de %d conexiones%n",
+                clients, seconds, Long.getLong("benchmark.db-latency-ms", 5), Integer.getInteger("benchmark.pool-size", 20));
+
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtualThreads)) {
+                int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+                List<Long> ids = seed(context);
+                run(virtualThreads ? "virtuales " : "plataforma", port, ids, clients, 3, true);
+                Result result = run(virtualThreads ? "virtuales " : "plataforma", port, ids, clients, seconds, false);
+                System.out.printf(Locale.ROOT,
+                        "[load] %s: %,8.0f peticiones/s  p50 %7.1f ms  p99 %7.1f ms  max %7.1f ms  (%d errores/503)%n",
+                        virtualThreads ? "hilos virtuales  " : "hilos plataforma ",
+                        result.requests / (double) seconds, result.p50, result.p99, result.max, result.errors);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        String database = virtualThreads ? "load_virtual" : "load_platform";
+        return new SpringApplicationBuilder(BookingSystemApplication.class)
+                // Como argumentos de línea de comandos: tienen prioridad sobre application.properties
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--hotel.cache.enabled=false",
+                        "--logging.level.org.springframework.jdbc=INFO",
+                        "--spring.devtools.restart.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.hikari.maximum-pool-size=" + Integer.getInteger("benchmark.pool-size", 20),
+                        "--spring.datasource.hikari.connection-timeout=30000",
+                        // Se mide el modelo de hilos, no los limitadores: mil clientes desde localhost son una
+                        // sola IP para el límite por cliente, y el de admisión rechazaría en vez de hacer cola
+                        "--hotel.admission.enabled=false",
+                        "--hotel.rate-limit.enabled=false",
+                        "--spring.datasource.driver-class-name=" + LatencyInjectingH2Driver.class.getName(),
+                        "--spring.datasource.url=jdbc:slowh2:mem:" + database
+                                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+    }
+
+    private static List<Long> seed(ConfigurableApplicationContext context) {
+        HotelRepository repository = context.getBean(HotelRepository.class);
+        new HotelDataGenerator(7).insert(repository, context.getBean(TransactionTemplate.class), HOTELS);
+        List<Long> ids = new ArrayList<>();
+        repository.findAll().forEach(hotel -> ids.add(hotel.getId()));
+        return ids;
+    }
+
+    private static Result run(String label, int port, List<Long> ids, int clients, int seconds, boolean warmup)
+            throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .build()) {
+            List<Future<long[]>> futures = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                SplittableRandom random = new SplittableRandom(c);
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[1_024];
+                    int count = 0;
+                    int errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        URI uri = URI.create("http://localhost:" + port + "/api/hotels/" + ids.get(random.nextInt(ids.size())));
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(HttpRequest.newBuilder(uri).GET().build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors++;
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors++;
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    long[] result = Arrays.copyOf(latencies, count + 1);
+                    result[count] = errors; // el último elemento lleva los errores de este cliente
+                    return result;
+                }));
+            }
+
+            long[][] perClient = new long[clients][];
+            int total = 0;
+            long errors = 0;
+            for (int c = 0; c < clients; c++) {
+                perClient[c] = futures.get(c).get();
+                total += perClient[c].length - 1;
+                errors += perClient[c][perClient[c].length - 1];
+            }
+            if (warmup) {
+                return null;
+            }
+            long[] all = new long[total];
+            int offset = 0;
+            for (long[] latencies : perClient) {
+                System.arraycopy(latencies, 0, all, offset, latencies.length - 1);
+                offset += latencies.length - 1;
+            }
+            Arrays.sort(all);
+            return new Result(total, errors,
+                    all.length == 0 ? 0 : all[all.length / 2] / 1e6,
+                    all.length == 0 ? 0 : all[(int) (all.length * 0.99)] / 1e6,
+                    all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+        }
+    }
+
+    private record Result(int requests, long errors, double p50, double p99, double max) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.dto.BulkCreateHotelResponseDto;
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.service.HotelBulkService;
+import com.hotel.booking.service.HotelService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark: hoteles/segundo con el alta individual (HotelService.createHotel, un save()
+ * y una transacción por hotel) frente al alta masiva (HotelBulkService, batches JDBC).
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=HotelBulkInsertBenchmarkTest
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SpringBootTest(properties = "logging.level.org.springframework.jdbc=INFO")
+public class HotelBulkInsertBenchmarkTest {
+
+    private static final int HOTELS = 20_000;
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private HotelBulkService hotelBulkService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareSingleInsertWithBulkInsert() {
+        List<CreateHotelRequestDto> requests = requests(HOTELS);
+
+        // Calentamiento del JIT con una fracción de los datos para ambos caminos.
+        runSingle(requests.subList(0, 2_000));
+        runBulk(requests.subList(0, 2_000));
+
+        double single = runSingle(requests);
+        double bulk = runBulk(requests);
+
+        System.out.printf("%n[bulk-insert] %d hoteles%n", HOTELS);
+        System.out.printf("[bulk-insert] createHotel uno a uno : %,10.0f hoteles/s%n", single);
+        System.out.printf("[bulk-insert] createHotels en batch : %,10.0f hoteles/s (x%.1f)%n", bulk, bulk / single);
+    }
+
+    private double runSingle(List<CreateHotelRequestDto> requests) {
+        jdbcTemplate.update("DELETE FROM hotel");
+        long start = System.nanoTime();
+        for (CreateHotelRequestDto request : requests) {
+            hotelService.createHotel(request);
+        }
+        return perSecond(requests.size(), System.nanoTime() - start);
+    }
+
+    private double runBulk(List<CreateHotelRequestDto> requests) {
+        jdbcTemplate.update("DELETE FROM hotel");
+        long start = System.nanoTime();
+        BulkCreateHotelResponseDto response = hotelBulkService.createHotels(requests.iterator());
+        long elapsed = System.nanoTime() - start;
+        assertThat(response.getCreated()).isEqualTo(requests.size());
+        return perSecond(requests.size(), elapsed);
+    }
+
+    private static double perSecond(int count, long nanos) {
+        return count / (nanos / 1_000_000_000.0);
+    }
+
+    private static List<CreateHotelRequestDto> requests(int count) {
+        List<CreateHotelRequestDto> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(CreateHotelRequestDto.builder()
+                    .name("Hotel " + i)
+                    .address("Calle " + i)
+                    .city("Ciudad " + (i % 500))
+                    .country("País " + (i % 40))
+                    .stars(1 + i % 5)
+                    .description("Hotel de prueba número " + i)
+                    .build());
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,206 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.BookingSystemApplication;
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.review.Review;
+import com.hotel.booking.dto.CreateReviewRequestDto;
+import com.hotel.booking.dto.HotelFilter;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.repository.ReviewRepository;
+import com.hotel.booking.service.ReviewService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.IntSupplier;
+
+/**
+ * Las tarjetas de hotel de una página de resultados (50 hoteles con su media, número de reseñas e
+ * histograma) y la búsqueda "mejor valorados primero", con millones de reseñas. Se compara:
+ * - precalculado: el resumen de hotel_rating (una consulta por clave primaria; la búsqueda, un JOIN con él);
+ * - al vuelo:     COUNT/SUM/AVG sobre la tabla review en cada petición (GROUP BY hotel_id).
+ * También mide lo que el resumen encarece cada alta de reseña (el UPDATE de hotel_rating en su transacción).
+ *
+ * Las reseñas se cargan con INSERT en batch y el resumen con un INSERT ... SELECT al final: es el mismo
+ * resultado que darían de alta una a una por ReviewService, pero en segundos.
+ * La base de datos responde en benchmark.db-latency-ms (LatencyInjectingH2Driver), como una remota, y sin
+ * la caché de resultados de H2 (QUERY_CACHE_SIZE=0), que devolvería la misma búsqueda sin volver a agregarla.
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=HotelCardRatingBenchmarkTest
+ *   [-Dbenchmark.hotels=5000 -Dbenchmark.reviews-per-hotel=200 -Dbenchmark.db-latency-ms=1]
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class HotelCardRatingBenchmarkTest {
+
+    private static final int PAGE = 50;
+
+    private static final String CARDS_ON_THE_FLY = "SELECT hotel_id, COUNT(*), SUM(rating), AVG(CAST(rating AS DOUBLE PRECISION)),"
+            + " SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END),"
+            + " SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END),"
+            + " SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END)"
+            + " FROM review WHERE hotel_id IN (:ids) GROUP BY hotel_id";
+
+    private static final String TOP_RATED_ON_THE_FLY = "SELECT h.* FROM hotel h LEFT JOIN"
+            + " (SELECT hotel_id, AVG(CAST(rating AS DOUBLE PRECISION)) AS average_rating FROM review GROUP BY hotel_id) r"
+            + " ON r.hotel_id = h.id ORDER BY COALESCE(r.average_rating, 0) DESC, h.id DESC LIMIT :limit";
+
+    @Test
+    void compareCardsWithAndWithoutPrecomputedRatings() {
+        int hotels = Integer.getInteger("benchmark.hotels", 5_000);
+        int reviewsPerHotel = Integer.getInteger("benchmark.reviews-per-hotel", 200);
+        int requests = Integer.getInteger("benchmark.requests", 50);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BookingSystemApplication.class)
+                .run("--server.port=0",
+                        "--hotel.cache.enabled=false",
+                        "--hotel.event-log.enabled=false",
+                        "--logging.level.org.springframework.jdbc=INFO",
+                        "--spring.devtools.restart.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.driver-class-name=" + LatencyInjectingH2Driver.class.getName(),
+                        "--spring.datasource.url=jdbc:slowh2:mem:hotel_card_rating"
+                                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;QUERY_CACHE_SIZE=0")) {
+            HotelRepository hotelRepository = context.getBean(HotelRepository.class);
+            NamedParameterJdbcTemplate jdbc = context.getBean(NamedParameterJdbcTemplate.class);
+            new HotelDataGenerator(42).insert(hotelRepository, context.getBean(TransactionTemplate.class), hotels);
+            long[] ids = context.getBean(JdbcTemplate.class)
+                    .queryForList("SELECT id FROM hotel ORDER BY id", Long.class)
+                    .stream().mapToLong(Long::longValue).toArray();
+            long reviews = insertReviews(context.getBean(JdbcTemplate.class), ids, reviewsPerHotel);
+
+            System.out.printf(Locale.ROOT, "%n[ratings] %,d hoteles, %,d reseñas, %d peticiones por escenario, BD a %d ms por consulta%n",
+                    hotels, reviews, requests, Long.getLong("benchmark.db-latency-ms", 5));
+
+            List<List<Long>> pages = pages(ids, requests);
+            int[] next = {0};
+            IntSupplier precomputed = () -> {
+                List<Long> page = pages.get(next[0]++ % pages.size());
+                hotelRepository.findAllById(page);
+                return hotelRepository.findRatings(page).size();
+            };
+            IntSupplier onTheFly = () -> {
+                List<Long> page = pages.get(next[0]++ % pages.size());
+                hotelRepository.findAllById(page);
+                return jdbc.queryForList(CARDS_ON_THE_FLY, new MapSqlParameterSource("ids", page)).size();
+            };
+            IntSupplier topRated = () -> hotelRepository.searchByRating(HotelFilter.builder().build(), null, null, PAGE).size();
+            IntSupplier topRatedOnTheFly = () -> jdbc.query(TOP_RATED_ON_THE_FLY,
+                    new MapSqlParameterSource("limit", PAGE), (rs, row) -> rs.getLong("id")).size();
+
+            // Las dos formas tienen que dar el mismo orden antes de medir nada
+            List<Long> expected = hotelRepository.searchByRating(HotelFilter.builder().build(), null, null, PAGE)
+                    .stream().map(Hotel::getId).toList();
+            List<Long> actual = jdbc.query(TOP_RATED_ON_THE_FLY, new MapSqlParameterSource("limit", PAGE),
+                    (rs, row) -> rs.getLong("id"));
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("La búsqueda por calificación no coincide con la calculada al vuelo");
+            }
+
+            for (int round = 0; round < 2; round++) {
+                report("tarjetas, precalculado", precomputed, requests);
+                report("tarjetas, al vuelo    ", onTheFly, requests);
+                report("mejor valorados, precalculado", topRated, Math.max(5, requests / 10));
+                report("mejor valorados, al vuelo    ", topRatedOnTheFly, Math.max(5, requests / 10));
+            }
+
+            // Lo que cuesta mantener el resumen: cada reseña nueva es un INSERT más un UPDATE en la misma transacción
+            ReviewService reviewService = context.getBean(ReviewService.class);
+            SplittableRandom random = new SplittableRandom(3);
+            IntSupplier createReview = () -> {
+                reviewService.createReview(ids[random.nextInt(ids.length)],
+                        CreateReviewRequestDto.builder().guestId(1L).rating(1 + random.nextInt(5)).build());
+                return 1;
+            };
+            // Lo mismo que createReview (comprobar el hotel, INSERT en una transacción) sin tocar hotel_rating
+            ReviewRepository reviewRepository = context.getBean(ReviewRepository.class);
+            TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+            IntSupplier insertOnly = () -> {
+                long hotelId = ids[random.nextInt(ids.length)];
+                hotelRepository.existsById(hotelId);
+                transactionTemplate.execute(status -> reviewRepository.save(Review.builder().hotelId(hotelId)
+                        .guestId(1L).rating(1 + random.nextInt(5)).createdAt(Instant.now()).build()));
+                return 1;
+            };
+            report("alta de reseña, con resumen", createReview, requests);
+            report("alta de reseña, sin resumen", insertOnly, requests);
+        }
+    }
+
+    private static long insertReviews(JdbcTemplate jdbcTemplate, long[] ids, int reviewsPerHotel) {
+        SplittableRandom random = new SplittableRandom(7);
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        List<Object[]> batch = new ArrayList<>(10_000);
+        long total = 0;
+        for (long id : ids) {
+            // Cada hotel con su "nota" y reseñas de 0 a 2 veces la media, para que las medias sean distintas
+            int quality = 1 + random.nextInt(5);
+            int count = random.nextInt(2 * reviewsPerHotel + 1);
+            for (int i = 0; i < count; i++) {
+                int rating = Math.max(1, Math.min(5, quality + random.nextInt(-1, 2)));
+                batch.add(new Object[]{id, 1 + random.nextInt(1_000_000), rating, createdAt});
+                if (batch.size() == 10_000) {
+                    total += flush(jdbcTemplate, batch);
+                }
+            }
+        }
+        total += flush(jdbcTemplate, batch);
+        jdbcTemplate.update("INSERT INTO hotel_rating (hotel_id, review_count, rating_sum, average_rating,"
+                + " rating_1, rating_2, rating_3, rating_4, rating_5)"
+                + " SELECT hotel_id, COUNT(*), SUM(rating), CAST(SUM(rating) AS DOUBLE PRECISION) / COUNT(*),"
+                + " SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END),"
+                + " SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END),"
+                + " SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END)"
+                + " FROM review GROUP BY hotel_id");
+        return total;
+    }
+
+    private static int flush(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO review (hotel_id, guest_id, rating, created_at) VALUES (?, ?, ?, ?)", batch);
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    private static void report(String label, IntSupplier request, int requests) {
+        request.getAsInt(); // calentamiento
+        double[] latencies = new double[requests];
+        for (int i = 0; i < requests; i++) {
+            long start = System.nanoTime();
+            request.getAsInt();
+            latencies[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(latencies);
+        System.out.printf(Locale.ROOT, "[ratings] %-30s p50 %9.2f ms  p99 %9.2f ms%n",
+                label, latencies[requests / 2], latencies[(int) (requests * 0.99)]);
+    }
+
+    // Páginas de 50 hoteles distintos al azar (los de una búsqueda no son consecutivos)
+    private static List<List<Long>> pages(long[] ids, int pages) {
+        SplittableRandom random = new SplittableRandom(11);
+        List<List<Long>> result = new ArrayList<>(pages);
+        for (int p = 0; p < pages; p++) {
+            List<Long> page = new ArrayList<>(PAGE);
+            while (page.size() < PAGE) {
+                Long id = ids[random.nextInt(ids.length)];
+                if (!page.contains(id)) {
+                    page.add(id);
+                }
+            }
+            result.add(page);
+        }
+        return result;
+    }
+}
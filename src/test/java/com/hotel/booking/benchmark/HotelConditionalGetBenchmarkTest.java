@@ -0,0 +1,159 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.BookingSystemApplication;
+import com.hotel.booking.repository.HotelRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * GET /api/hotels/{id} con y sin peticiones condicionales (If-None-Match).
+ *
+ * Simula clientes móviles / CDN que revalidan: en el escenario "condicional" una fracción
+ * (benchmark.hit-ratio, 80 % por defecto) de las peticiones lleva el ETag actual y recibe
+ * 304 sin cuerpo; el resto no tiene copia y recibe el hotel entero. Las descripciones se
+ * alargan a ~2 KB, como las fichas reales. Ambos escenarios hacen la misma secuencia de ids.
+ *
+ * Mide bytes de cuerpo recibidos, CPU de los hilos de Tomcat (http-nio-*) por petición
+ * (ThreadMXBean) y latencia p50/p99, con varios clientes en paralelo.
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=HotelConditionalGetBenchmarkTest
+ *   [-Dbenchmark.hit-ratio=0.8 -Dbenchmark.requests=40000 -Dbenchmark.clients=8]
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class HotelConditionalGetBenchmarkTest {
+
+    private static final int HOTELS = 1_000;
+
+    @Test
+    void compareFullAndConditionalGets() throws Exception {
+        double hitRatio = Double.parseDouble(System.getProperty("benchmark.hit-ratio", "0.8"));
+        int requests = Integer.getInteger("benchmark.requests", 40_000);
+        int clients = Integer.getInteger("benchmark.clients", 8);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BookingSystemApplication.class)
+                .run("--server.port=0",
+                        "--logging.level.org.springframework.jdbc=INFO",
+                        "--spring.devtools.restart.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--hotel.rate-limit.enabled=false", // todas las peticiones salen de localhost
+                        "--spring.datasource.url=jdbc:h2:mem:conditional_get;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")) {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            List<Long> ids = seed(context);
+            // Todos los hoteles recién creados están en la versión 0
+            String eTag = "W/\"0\"";
+
+            System.out.printf(Locale.ROOT, "%n[etag] %d peticiones, %d clientes, %d hoteles, %.0f %% con ETag vigente%n",
+                    requests, clients, ids.size(), hitRatio * 100);
+            run(port, ids, clients, requests / 4, 0, eTag);          // calentamiento (JIT, caché de hoteles)
+            run(port, ids, clients, requests / 4, hitRatio, eTag);
+            Result full = run(port, ids, clients, requests, 0, eTag);
+            Result conditional = run(port, ids, clients, requests, hitRatio, eTag);
+            print("completo   ", full, requests);
+            print("condicional", conditional, requests);
+            System.out.printf(Locale.ROOT, "[etag] ahorro: %.0f %% de bytes, %.0f %% de CPU de Tomcat%n",
+                    100.0 * (1 - (double) conditional.bodyBytes / full.bodyBytes),
+                    100.0 * (1 - (double) conditional.serverCpuNanos / full.serverCpuNanos));
+        }
+    }
+
+    private static List<Long> seed(ConfigurableApplicationContext context) {
+        HotelRepository repository = context.getBean(HotelRepository.class);
+        new HotelDataGenerator(11).insert(repository, context.getBean(TransactionTemplate.class), HOTELS);
+        // Descripciones de ~2 KB: lo que pesa de verdad en una ficha de hotel
+        context.getBean(JdbcTemplate.class).update("UPDATE hotel SET description = REPEAT(description || ' ', 2048 / (LENGTH(description) + 1) + 1)");
+        List<Long> ids = new ArrayList<>();
+        repository.findAll().forEach(hotel -> ids.add(hotel.getId()));
+        return ids;
+    }
+
+    private static Result run(int port, List<Long> ids, int clients, int requests, double hitRatio, String eTag)
+            throws Exception {
+        long cpuBefore = tomcatCpuNanos();
+        try (ExecutorService executor = Executors.newFixedThreadPool(clients);
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            List<Future<long[]>> futures = new ArrayList<>(clients);
+            int perClient = requests / clients;
+            for (int c = 0; c < clients; c++) {
+                SplittableRandom random = new SplittableRandom(c);
+                futures.add(executor.submit(() -> {
+                    // Las latencias y, en las dos últimas posiciones, bytes recibidos y respuestas inesperadas
+                    long[] result = new long[perClient + 2];
+                    for (int i = 0; i < perClient; i++) {
+                        URI uri = URI.create("http://localhost:" + port + "/api/hotels/" + ids.get(random.nextInt(ids.size())));
+                        boolean revalidate = random.nextDouble() < hitRatio;
+                        HttpRequest.Builder request = HttpRequest.newBuilder(uri).GET();
+                        if (revalidate) {
+                            request.header(HttpHeaders.IF_NONE_MATCH, eTag);
+                        }
+                        long start = System.nanoTime();
+                        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                        result[i] = System.nanoTime() - start;
+                        result[perClient] += response.body().length;
+                        if (response.statusCode() != (revalidate ? 304 : 200)) {
+                            result[perClient + 1]++;
+                        }
+                    }
+                    return result;
+                }));
+            }
+            long[] latencies = new long[perClient * clients];
+            long bytes = 0;
+            long unexpected = 0;
+            for (int c = 0; c < clients; c++) {
+                long[] result = futures.get(c).get();
+                System.arraycopy(result, 0, latencies, c * perClient, perClient);
+                bytes += result[perClient];
+                unexpected += result[perClient + 1];
+            }
+            long cpu = tomcatCpuNanos() - cpuBefore;
+            Arrays.sort(latencies);
+            return new Result(bytes, cpu, unexpected,
+                    latencies[latencies.length / 2] / 1e3,
+                    latencies[(int) (latencies.length * 0.99)] / 1e3);
+        }
+    }
+
+    // CPU consumida hasta ahora por los hilos de Tomcat que atienden peticiones
+    private static long tomcatCpuNanos() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && info.getThreadName().startsWith("http-nio-")) {
+                total += Math.max(0, threads.getThreadCpuTime(info.getThreadId()));
+            }
+        }
+        return total;
+    }
+
+    private static void print(String label, Result result, int requests) {
+        System.out.printf(Locale.ROOT,
+                "[etag] %s: %,8.0f B/petición  CPU Tomcat %6.1f µs/petición  p50 %6.0f µs  p99 %6.0f µs  (%d respuestas inesperadas)%n",
+                label, result.bodyBytes / (double) requests, result.serverCpuNanos / 1e3 / requests,
+                result.p50Micros, result.p99Micros, result.unexpected);
+    }
+
+    private record Result(long bodyBytes, long serverCpuNanos, long unexpected, double p50Micros, double p99Micros) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.repository.HotelRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Genera hoteles sintéticos para los benchmarks y los inserta con el batch JDBC.
+ *
+ * La distribución imita datos reales: unos pocos países y ciudades concentran la mayoría
+ * de hoteles (sesgo tipo Zipf), hay pocos hoteles de 1 y 5 estrellas, y las ciudades
+ * vienen con mayúsculas y acentos variados. Con la misma semilla, los mismos datos.
+ */
+public class HotelDataGenerator {
+
+    public static final String[] COUNTRIES = {
+            "España", "Portugal", "Francia", "Italia", "México", "Argentina", "Brasil", "Chile",
+            "Colombia", "Perú", "Alemania", "Grecia", "Marruecos", "Reino Unido", "Estados Unidos"};
+
+    private static final String[] CITY_ROOTS = {
+            "Madrid", "Sevilla", "Cádiz", "Málaga", "Córdoba", "Lisboa", "Oporto", "Évora", "París",
+            "Niza", "Roma", "Milán", "Ciudad de México", "Cancún", "Buenos Aires", "São Paulo",
+            "Río de Janeiro", "Santiago", "Bogotá", "Lima", "Berlín", "Atenas", "Marrakech", "Londres"};
+
+    private static final String[] WORDS = {
+            "playa", "spa", "piscina", "centro", "histórico", "vistas", "mar", "montaña", "familiar",
+            "lujo", "boutique", "desayuno", "terraza", "golf", "negocios", "tranquilo", "romántico",
+            "aeropuerto", "parking", "gimnasio", "praia", "piscina climatizada", "wifi", "jardín"};
+
+    private static final int[] STAR_WEIGHTS = {5, 20, 40, 27, 8};
+
+    /** Número de ciudades distintas por país: 40 países x 40 ciudades = 1.600 ciudades. */
+    public static final int CITIES_PER_COUNTRY = 40;
+
+    private final SplittableRandom random;
+
+    public HotelDataGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    public Hotel next(int sequence) {
+        int countryIndex = skewed(COUNTRIES.length);
+        int cityIndex = skewed(CITIES_PER_COUNTRY);
+        return Hotel.builder()
+                .name("Hotel " + CITY_ROOTS[cityIndex % CITY_ROOTS.length] + " " + sequence)
+                .address("Calle " + random.nextInt(1, 500) + ", " + random.nextInt(1, 200))
+                .city(cityName(countryIndex, cityIndex))
+                .country(COUNTRIES[countryIndex])
+                .stars(stars())
+                .description(description())
+                .build();
+    }
+
+    /** Inserta "count" hoteles en chunks de 1.000, cada uno en su transacción. */
+    public void insert(HotelRepository repository, TransactionTemplate transactionTemplate, int count) {
+        List<Hotel> chunk = new ArrayList<>(1_000);
+        for (int i = 0; i < count; i++) {
+            chunk.add(next(i));
+            if (chunk.size() == 1_000 || i == count - 1) {
+                List<Hotel> toInsert = chunk;
+                transactionTemplate.executeWithoutResult(status -> repository.insertAll(toInsert));
+                chunk = new ArrayList<>(1_000);
+            }
+        }
+    }
+
+    /** Nombre de ciudad que produce el generador para ese país e índice (para construir consultas). */
+    public static String cityName(int countryIndex, int cityIndex) {
+        String root = CITY_ROOTS[(cityIndex + countryIndex) % CITY_ROOTS.length];
+        return cityIndex < CITY_ROOTS.length ? root : root + " " + cityIndex;
+    }
+
+    // Índice en [0, n) con sesgo hacia los primeros valores (aprox. Zipf)
+    private int skewed(int n) {
+        double u = random.nextDouble();
+        return (int) Math.min(n - 1, Math.floor(n * u * u * u));
+    }
+
+    private int stars() {
+        int roll = random.nextInt(100);
+        for (int stars = 1; stars <= 5; stars++) {
+            roll -= STAR_WEIGHTS[stars - 1];
+            if (roll < 0) {
+                return stars;
+            }
+        }
+        return 3;
+    }
+
+    private String description() {
+        StringBuilder description = new StringBuilder("Hotel con");
+        int words = random.nextInt(8, 25);
+        for (int i = 0; i < words; i++) {
+            description.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.append('.').toString();
+    }
+}
@@ -0,0 +1,126 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.BookingSystemApplication;
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.eventlog.WriteBehindHotelEventLog;
+import com.hotel.booking.service.HotelService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Altas de hoteles (HotelService.createHotel) sin registro de cambios, con un INSERT síncrono
+ * en hotel_event por alta, y con el registro write-behind (buffer + batch en segundo plano).
+ *
+ * Cada modo arranca la aplicación sobre su propia H2 con una latencia simulada por sentencia
+ * (LatencyInjectingH2Driver), como la de una base de datos en otra máquina: ahí es donde la
+ * segunda escritura síncrona se nota. Al final de cada modo se comprueba que hay un evento por alta.
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=HotelEventLogBenchmarkTest
+ *   [-Dbenchmark.threads=16 -Dbenchmark.seconds=10 -Dbenchmark.db-latency-ms=1 -Dbenchmark.modes=off,sync,write-behind]
+ * En la misma JVM el JIT sigue mejorando de un modo al siguiente y el último sale favorecido:
+ * para comparar, mejor un modo por ejecución (-Dbenchmark.modes=sync, luego write-behind...).
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class HotelEventLogBenchmarkTest {
+
+    @Test
+    void compareEventLogModes() throws Exception {
+        int threads = Integer.getInteger("benchmark.threads", 16);
+        int seconds = Integer.getInteger("benchmark.seconds", 10);
+        System.out.printf(Locale.ROOT, "%n[event-log] %d hilos, %d s por modo, %d ms de latencia por sentencia%n",
+                threads, seconds, Long.getLong("benchmark.db-latency-ms", 1));
+
+        for (String mode : System.getProperty("benchmark.modes", "off,sync,write-behind").split(",")) {
+            try (ConfigurableApplicationContext context = start(mode)) {
+                HotelService hotelService = context.getBean(HotelService.class);
+                run(hotelService, threads, 5); // calentamiento (JIT, pool de conexiones)
+                long[] latencies = run(hotelService, threads, seconds);
+                String events = "";
+                if (!mode.equals("off")) {
+                    waitForWriter(context);
+                    JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+                    events = String.format(Locale.ROOT, "  (%,d hoteles, %,d eventos)",
+                            jdbc.queryForObject("SELECT COUNT(*) FROM hotel", Long.class),
+                            jdbc.queryForObject("SELECT COUNT(*) FROM hotel_event", Long.class));
+                }
+                System.out.printf(Locale.ROOT, "[event-log] %-12s %,7.0f altas/s  p50 %6.2f ms  p99 %6.2f ms%s%n",
+                        mode, latencies.length / (double) seconds,
+                        latencies[latencies.length / 2] / 1e6, latencies[(int) (latencies.length * 0.99)] / 1e6, events);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String mode) {
+        return new SpringApplicationBuilder(BookingSystemApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--hotel.event-log.enabled=" + !mode.equals("off"),
+                        "--hotel.event-log.write-behind=" + mode.equals("write-behind"),
+                        "--logging.level.org.springframework.jdbc=INFO",
+                        "--spring.devtools.restart.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.driver-class-name=" + LatencyInjectingH2Driver.class.getName(),
+                        "--spring.datasource.url=jdbc:slowh2:mem:event_log_" + mode.replace('-', '_')
+                                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+    }
+
+    private static long[] run(HotelService hotelService, int threads, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[1_024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        CreateHotelRequestDto request = CreateHotelRequestDto.builder()
+                                .name("Hotel " + thread + "-" + count).address("Calle " + count)
+                                .city("Sevilla").country("España").stars(1 + count % 5)
+                                .description("Hotel de prueba para medir el registro de cambios").build();
+                        long start = System.nanoTime();
+                        hotelService.createHotel(request);
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            long[] all = new long[0];
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            Arrays.sort(all);
+            return all;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void waitForWriter(ConfigurableApplicationContext context) throws InterruptedException {
+        for (WriteBehindHotelEventLog eventLog : context.getBeansOfType(WriteBehindHotelEventLog.class).values()) {
+            while (eventLog.pending() > 0) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(200); // el último batch sacado del buffer puede estar aún en vuelo
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.search.HotelGeoIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * Benchmark del índice espacial en memoria: memoria ocupada y latencia de las búsquedas
+ * con 1.000.000 de hoteles (sin base de datos).
+ *
+ * Los hoteles se reparten como en la realidad: el 90% concentrados alrededor de 1.600 ciudades,
+ * unas mucho más grandes que otras (sesgo tipo Zipf, como HotelDataGenerator), y el 10% sueltos.
+ * Las consultas son desde el centro de una ciudad (el caso del mapa) y desde puntos al azar
+ * del globo, muchos en mitad del océano (el peor caso: hay que alejarse mucho para encontrar k).
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=HotelGeoIndexBenchmarkTest -DargLine=-Xmx3g
+ *   [-Dbenchmark.hotels=1000000 -Dbenchmark.cell-degrees=0.25]
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class HotelGeoIndexBenchmarkTest {
+
+    private static final int CITIES = 1_600;
+
+    @Test
+    void measureMemoryAndLatency() {
+        int hotels = Integer.parseInt(System.getProperty("benchmark.hotels", "1000000"));
+        double cellDegrees = Double.parseDouble(System.getProperty("benchmark.cell-degrees", "0.25"));
+        SplittableRandom random = new SplittableRandom(42);
+
+        double[][] cities = new double[CITIES][];
+        for (int i = 0; i < CITIES; i++) {
+            cities[i] = new double[]{random.nextDouble(-45, 65), random.nextDouble(-180, 180)};
+        }
+
+        long heapBefore = usedHeap();
+        HotelGeoIndex index = new HotelGeoIndex(cellDegrees);
+        long start = System.nanoTime();
+        for (int i = 0; i < hotels; i++) {
+            if (i % 10 == 0) {
+                index.upsert(i + 1, random.nextDouble(-60, 70), random.nextDouble(-180, 180));
+            } else {
+                double[] city = cities[skewed(random, CITIES)];
+                double latitude = Math.max(-90, Math.min(90, city[0] + random.nextGaussian() * 0.05));
+                double longitude = Math.max(-180, Math.min(180, city[1] + random.nextGaussian() * 0.07));
+                index.upsert(i + 1, latitude, longitude);
+            }
+        }
+        index.trimToSize();
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        long heapAfter = usedHeap();
+
+        HotelGeoIndex.Stats stats = index.stats();
+        System.out.printf(Locale.ROOT, "%n[geo-index] %,d hoteles en %,d celdas de %.2f°, construido en %,d ms%n",
+                stats.hotels(), stats.cells(), cellDegrees, buildMillis);
+        System.out.printf(Locale.ROOT, "[geo-index] memoria: %,d MB medidos en el heap (estimación interna %,d MB)%n",
+                (heapAfter - heapBefore) / (1024 * 1024), stats.approximateBytes() / (1024 * 1024));
+
+        SplittableRandom queries = new SplittableRandom(3);
+        report("ciudad   k=10          ", i -> {
+            double[] city = cities[skewed(queries, CITIES)];
+            index.nearest(city[0], city[1], 10, Double.POSITIVE_INFINITY);
+        });
+        report("ciudad   k=200         ", i -> {
+            double[] city = cities[skewed(queries, CITIES)];
+            index.nearest(city[0], city[1], 200, Double.POSITIVE_INFINITY);
+        });
+        report("ciudad   radio 5 km    ", i -> {
+            double[] city = cities[skewed(queries, CITIES)];
+            index.nearest(city[0], city[1], 200, 5);
+        });
+        report("ciudad   recuadro 0,2° ", i -> {
+            double[] city = cities[skewed(queries, CITIES)];
+            index.inBox(city[0] - 0.1, city[1] - 0.1, city[0] + 0.1, city[1] + 0.1, 200);
+        });
+        report("al azar  k=10          ", i ->
+                index.nearest(queries.nextDouble(-90, 90), queries.nextDouble(-180, 180), 10, Double.POSITIVE_INFINITY));
+    }
+
+    private static void report(String label, IntConsumer query) {
+        for (int i = 0; i < 2_000; i++) { // calentamiento
+            query.accept(i);
+        }
+        int runs = 5_000;
+        double[] latencies = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            query.accept(i);
+            latencies[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(latencies);
+        System.out.printf(Locale.ROOT, "[geo-index] %s p50 %7.3f ms  p99 %7.3f ms  máx %7.3f ms%n",
+                label, latencies[runs / 2], latencies[(int) (runs * 0.99)], latencies[runs - 1]);
+    }
+
+    // Índice en [0, n) con sesgo hacia los primeros valores (aprox. Zipf)
+    private static int skewed(SplittableRandom random, int n) {
+        double u = random.nextDouble();
+        return (int) Math.min(n - 1, Math.floor(n * u * u * u));
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,149 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.BookingSystemApplication;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.mapper.HotelMapper;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.service.HotelService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+/**
+ * getHotelById con pocos ids muy calientes (una promoción), con la caché de hoteles desactivada
+ * para ver solo el efecto de agrupar las cargas simultáneas (SingleFlight).
+ *
+ * El 90% de las lecturas van a 5 hoteles y el resto, a cualquiera de 1.000. La base de datos
+ * responde en benchmark.db-latency-ms (LatencyInjectingH2Driver) y el pool tiene 20 conexiones,
+ * como en application.properties: sin agrupar, 64 hilos se pelean por esas 20 conexiones.
+ * Se compara:
+ * - sin agrupar: findById + mapper en cada lectura (lo que hacía getHotelById antes);
+ * - agrupadas:   HotelService.getHotelById.
+ * Las consultas a la base de datos se cuentan con spring.data.repository.invocations (HotelRepository.findById).
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=HotelLoadCoalescingBenchmarkTest
+ *   [-Dbenchmark.threads=64 -Dbenchmark.seconds=10 -Dbenchmark.db-latency-ms=5]
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class HotelLoadCoalescingBenchmarkTest {
+
+    private static final int HOTELS = 1_000;
+
+    private static final int HOT_HOTELS = 5;
+
+    @Test
+    void compareIndependentAndSharedLoads() throws Exception {
+        int threads = Integer.getInteger("benchmark.threads", 64);
+        int seconds = Integer.getInteger("benchmark.seconds", 10);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BookingSystemApplication.class)
+                .run("--server.port=0",
+                        "--hotel.cache.enabled=false",
+                        "--hotel.event-log.enabled=false",
+                        "--logging.level.org.springframework.jdbc=INFO",
+                        "--spring.devtools.restart.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.driver-class-name=" + LatencyInjectingH2Driver.class.getName(),
+                        "--spring.datasource.url=jdbc:slowh2:mem:load_coalescing"
+                                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 0; i < HOTELS; i++) {
+                rows.add(new Object[]{"Hotel " + i, "Calle " + i, "Madrid", "madrid", "España", 1 + i % 5});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO hotel (name, address, city, city_normalized, country, stars) VALUES (?, ?, ?, ?, ?, ?)", rows);
+            long[] ids = jdbcTemplate.queryForList("SELECT id FROM hotel ORDER BY id", Long.class)
+                    .stream().mapToLong(Long::longValue).toArray();
+
+            HotelService hotelService = context.getBean(HotelService.class);
+            HotelRepository hotelRepository = context.getBean(HotelRepository.class);
+            HotelMapper hotelMapper = context.getBean(HotelMapper.class);
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+            LongFunction<Optional<HotelDto>> independent = id -> hotelRepository.findById(id).map(hotelMapper::toDto);
+            LongFunction<Optional<HotelDto>> shared = id -> Optional.of(hotelService.getHotelById(id));
+
+            System.out.printf(Locale.ROOT, "%n[single-flight] %d hilos, %d s por escenario, BD a %d ms por consulta%n",
+                    threads, seconds, Long.getLong("benchmark.db-latency-ms", 5));
+            for (int round = 0; round < 2; round++) {
+                report("sin agrupar", independent, ids, threads, seconds, registry);
+                report("agrupadas  ", shared, ids, threads, seconds, registry);
+            }
+        }
+    }
+
+    private static void report(String label, LongFunction<Optional<HotelDto>> lookup, long[] ids, int threads,
+                               int seconds, MeterRegistry registry) throws Exception {
+        long queriesBefore = findByIdCount(registry);
+        long start = System.nanoTime();
+        long[] latencies = run(lookup, ids, threads, seconds);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        long queries = findByIdCount(registry) - queriesBefore;
+        System.out.printf(Locale.ROOT,
+                "[single-flight] %s %,9.0f lecturas/s  %,8.0f consultas/s (%.2f por lectura)  p50 %6.2f ms  p99 %6.2f ms  p99.9 %6.2f ms%n",
+                label, latencies.length / elapsed, queries / elapsed, (double) queries / latencies.length,
+                latencies[latencies.length / 2] / 1e6, latencies[(int) (latencies.length * 0.99)] / 1e6,
+                latencies[(int) (latencies.length * 0.999)] / 1e6);
+    }
+
+    private static long[] run(LongFunction<Optional<HotelDto>> lookup, long[] ids, int threads, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                SplittableRandom random = new SplittableRandom(t);
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[1_024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long id = random.nextInt(10) < 9 ? ids[random.nextInt(HOT_HOTELS)] : ids[random.nextInt(ids.length)];
+                        long start = System.nanoTime();
+                        if (lookup.apply(id).isEmpty()) {
+                            throw new IllegalStateException("Hotel " + id + " no encontrado");
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            long[] all = new long[0];
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            Arrays.sort(all);
+            return all;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long findByIdCount(MeterRegistry registry) {
+        Timer timer = registry.find("spring.data.repository.invocations")
+                .tag("repository", "HotelRepository").tag("method", "findById").timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,117 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.BookingSystemApplication;
+import com.hotel.booking.dto.HotelLookupDto;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.service.HotelService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * La página de resultados del front: 50 o 200 hoteles por id.
+ * Se compara:
+ * - uno a uno:  un HotelService.getHotelById por hotel (una consulta por hotel);
+ * - lookup:     HotelService.getHotelsByIds (una consulta "WHERE id IN (...)" por cada 500 ids).
+ * La caché de hoteles está desactivada para medir lo que cuesta cuando los hoteles no están cacheados
+ * (en una búsqueda, la mayoría de los hoteles de la página no se han leído hace poco).
+ *
+ * La base de datos responde en benchmark.db-latency-ms (LatencyInjectingH2Driver), como una remota.
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=HotelLookupBenchmarkTest
+ *   [-Dbenchmark.pages=20 -Dbenchmark.db-latency-ms=5]
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class HotelLookupBenchmarkTest {
+
+    private static final int HOTELS = 20_000;
+
+    @Test
+    void compareSingleLookupsWithOneLookup() {
+        int pages = Integer.getInteger("benchmark.pages", 20);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BookingSystemApplication.class)
+                .run("--server.port=0",
+                        "--hotel.cache.enabled=false",
+                        "--hotel.event-log.enabled=false",
+                        "--logging.level.org.springframework.jdbc=INFO",
+                        "--spring.devtools.restart.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.driver-class-name=" + LatencyInjectingH2Driver.class.getName(),
+                        "--spring.datasource.url=jdbc:slowh2:mem:hotel_lookup"
+                                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")) {
+            new HotelDataGenerator(42).insert(context.getBean(HotelRepository.class),
+                    context.getBean(TransactionTemplate.class), HOTELS);
+            long[] ids = context.getBean(JdbcTemplate.class)
+                    .queryForList("SELECT id FROM hotel ORDER BY id", Long.class)
+                    .stream().mapToLong(Long::longValue).toArray();
+            HotelService hotelService = context.getBean(HotelService.class);
+
+            Function<List<Long>, Integer> oneByOne = page -> {
+                int found = 0;
+                for (Long id : page) {
+                    found += hotelService.getHotelById(id) == null ? 0 : 1;
+                }
+                return found;
+            };
+            Function<List<Long>, Integer> lookup = page -> {
+                HotelLookupDto result = hotelService.getHotelsByIds(page);
+                return result.getItems().size();
+            };
+
+            System.out.printf(Locale.ROOT, "%n[lookup] %,d hoteles, %d páginas por escenario, BD a %d ms por consulta%n",
+                    HOTELS, pages, Long.getLong("benchmark.db-latency-ms", 5));
+            for (int pageSize : new int[]{50, 200}) {
+                List<List<Long>> requests = pages(ids, pageSize, pages);
+                for (int round = 0; round < 2; round++) {
+                    report("uno a uno", pageSize, oneByOne, requests);
+                    report("lookup   ", pageSize, lookup, requests);
+                }
+            }
+        }
+    }
+
+    private static void report(String label, int pageSize, Function<List<Long>, Integer> method,
+                               List<List<Long>> requests) {
+        double[] latencies = new double[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            long start = System.nanoTime();
+            int found = method.apply(requests.get(i));
+            latencies[i] = (System.nanoTime() - start) / 1e6;
+            if (found != pageSize) {
+                throw new IllegalStateException("Se esperaban " + pageSize + " hoteles y llegaron " + found);
+            }
+        }
+        Arrays.sort(latencies);
+        System.out.printf(Locale.ROOT, "[lookup] página de %3d, %s  p50 %8.2f ms  p99 %8.2f ms%n",
+                pageSize, label, latencies[latencies.length / 2], latencies[(int) (latencies.length * 0.99)]);
+    }
+
+    // Páginas de ids distintos al azar (los hoteles de una búsqueda no son consecutivos)
+    private static List<List<Long>> pages(long[] ids, int pageSize, int pages) {
+        SplittableRandom random = new SplittableRandom(pageSize);
+        List<List<Long>> requests = new ArrayList<>(pages);
+        for (int p = 0; p < pages; p++) {
+            List<Long> page = new ArrayList<>(pageSize);
+            while (page.size() < pageSize) {
+                Long id = ids[random.nextInt(ids.length)];
+                if (!page.contains(id)) {
+                    page.add(id);
+                }
+            }
+            requests.add(page);
+        }
+        return requests;
+    }
+}
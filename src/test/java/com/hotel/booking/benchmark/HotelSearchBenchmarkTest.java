@@ -0,0 +1,108 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.dto.HotelFilter;
+import com.hotel.booking.repository.HotelRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark: latencia de la búsqueda por país/ciudad/estrellas sin índices secundarios
+ * ("antes") y con los índices de V1__initial_schema.sql ("después"), a 100.000 y 1.000.000 de hoteles.
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=HotelSearchBenchmarkTest [-Dbenchmark.hotels=100000,1000000]
+ * (con 1M de hoteles conviene dar más memoria: -DargLine=-Xmx3g)
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SpringBootTest(properties = {"logging.level.org.springframework.jdbc=INFO", "hotel.cache.enabled=false"})
+public class HotelSearchBenchmarkTest {
+
+    // Deben coincidir con los CREATE INDEX de V1__initial_schema.sql
+    private static final String[] INDEX_DDL = {
+            "CREATE INDEX IF NOT EXISTS idx_hotel_country_city_stars ON hotel (country, city_normalized, stars, id)",
+            "CREATE INDEX IF NOT EXISTS idx_hotel_city_stars ON hotel (city_normalized, stars, id)",
+            "CREATE INDEX IF NOT EXISTS idx_hotel_stars_id ON hotel (stars, id)"};
+
+    private static final String[] INDEX_NAMES = {
+            "idx_hotel_country_city_stars", "idx_hotel_city_stars", "idx_hotel_stars_id"};
+
+    private static final int QUERIES = 300;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void compareSearchLatencyWithAndWithoutIndexes() {
+        String sizes = System.getProperty("benchmark.hotels", "100000,1000000");
+        for (String size : sizes.split(",")) {
+            int hotels = Integer.parseInt(size.trim());
+            jdbcTemplate.update("TRUNCATE TABLE hotel");
+            new HotelDataGenerator(42).insert(hotelRepository, transactionTemplate, hotels);
+
+            dropIndexes();
+            double[] before = measure();
+            createIndexes();
+            double[] after = measure();
+
+            System.out.printf(Locale.ROOT, "%n[search] %,d hoteles, %d búsquedas país+ciudad(+minStars), limit 20%n", hotels, QUERIES);
+            System.out.printf(Locale.ROOT, "[search] sin índices : p50 %8.3f ms  p99 %8.3f ms%n", before[0], before[1]);
+            System.out.printf(Locale.ROOT, "[search] con índices : p50 %8.3f ms  p99 %8.3f ms%n", after[0], after[1]);
+        }
+    }
+
+    // Ejecuta búsquedas variadas y devuelve {p50, p99} en milisegundos.
+    private double[] measure() {
+        SplittableRandom random = new SplittableRandom(7);
+        // Calentamiento
+        for (int i = 0; i < 50; i++) {
+            hotelRepository.search(randomFilter(random), null, null, 20);
+        }
+        double[] latencies = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            HotelFilter filter = randomFilter(random);
+            long start = System.nanoTime();
+            hotelRepository.search(filter, null, null, 20);
+            latencies[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(latencies);
+        return new double[]{latencies[QUERIES / 2], latencies[(int) (QUERIES * 0.99)]};
+    }
+
+    private static HotelFilter randomFilter(SplittableRandom random) {
+        int countryIndex = random.nextInt(HotelDataGenerator.COUNTRIES.length);
+        int cityIndex = random.nextInt(HotelDataGenerator.CITIES_PER_COUNTRY);
+        return HotelFilter.builder()
+                .country(HotelDataGenerator.COUNTRIES[countryIndex])
+                // En mayúsculas a propósito: la búsqueda no distingue mayúsculas
+                .city(HotelDataGenerator.cityName(countryIndex, cityIndex).toUpperCase(Locale.ROOT))
+                .minStars(random.nextBoolean() ? null : 4)
+                .build();
+    }
+
+    private void dropIndexes() {
+        for (String index : INDEX_NAMES) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS " + index);
+        }
+    }
+
+    private void createIndexes() {
+        for (String ddl : INDEX_DDL) {
+            jdbcTemplate.execute(ddl);
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
@@ -0,0 +1,79 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.search.HotelTextIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark del índice de texto en memoria: memoria ocupada y latencia de búsqueda
+ * con 1.000.000 de hoteles generados por HotelDataGenerator (sin base de datos).
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=HotelTextIndexBenchmarkTest -DargLine=-Xmx3g [-Dbenchmark.hotels=1000000]
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class HotelTextIndexBenchmarkTest {
+
+    private static final String[] QUERIES = {
+            "playa spa", "spa madrid", "piscina climatizada", "hotel lujo vistas mar", "boutique centro histórico",
+            "golf", "romántico terraza", "praia", "lisboa", "negocios aeropuerto parking", "sevilla"};
+
+    private static final String[] PREFIX_QUERIES = {"pla", "spa ma", "piscina cl", "lis", "romántico te", "bou"};
+
+    @Test
+    void measureMemoryAndLatency() {
+        int hotels = Integer.parseInt(System.getProperty("benchmark.hotels", "1000000"));
+        HotelDataGenerator generator = new HotelDataGenerator(42);
+
+        long heapBefore = usedHeap();
+        HotelTextIndex index = new HotelTextIndex();
+        long start = System.nanoTime();
+        for (int i = 0; i < hotels; i++) {
+            Hotel hotel = generator.next(i);
+            index.upsert(i + 1, hotel.getName(), hotel.getDescription());
+        }
+        index.trimToSize();
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        long heapAfter = usedHeap();
+
+        HotelTextIndex.Stats stats = index.stats();
+        System.out.printf(Locale.ROOT, "%n[text-index] %,d hoteles, %,d términos, %,d postings, construido en %,d ms%n",
+                stats.hotels(), stats.terms(), stats.postings(), buildMillis);
+        System.out.printf(Locale.ROOT, "[text-index] memoria: %,d MB medidos en el heap (estimación interna %,d MB)%n",
+                (heapAfter - heapBefore) / (1024 * 1024), stats.approximateBytes() / (1024 * 1024));
+
+        report("búsqueda", index, QUERIES, false);
+        report("prefijo ", index, PREFIX_QUERIES, true);
+    }
+
+    private static void report(String label, HotelTextIndex index, String[] queries, boolean prefix) {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 200; i++) { // calentamiento
+            index.search(queries[random.nextInt(queries.length)], 20, prefix);
+        }
+        int runs = 2_000;
+        double[] latencies = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            String query = queries[random.nextInt(queries.length)];
+            long start = System.nanoTime();
+            index.search(query, 20, prefix);
+            latencies[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(latencies);
+        System.out.printf(Locale.ROOT, "[text-index] %s top-20: p50 %7.3f ms  p99 %7.3f ms%n",
+                label, latencies[runs / 2], latencies[(int) (runs * 0.99)]);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,140 @@
+package com.hotel.booking.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.web.WireFormats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bytes en el cable y coste de (de)serializar un hotel realista (descripción de unos 2 KB) en
+ * JSON, Smile y CBOR, sin servidor ni base de datos.
+ * Para cada formato:
+ * - bytes de un hotel (GET /api/hotels/{id}) y de una exportación de 1.000 hoteles, sin comprimir y con gzip;
+ * - ns por hotel al serializar y al deserializar (ObjectWriter/ObjectReader ya construidos, como en Spring).
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=HotelWireFormatBenchmarkTest [-Dbenchmark.iterations=200000]
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class HotelWireFormatBenchmarkTest {
+
+    private static final int EXPORT = 1_000;
+
+    private static final String[] WORDS = {"habitaciones", "vistas", "al", "mar", "desayuno", "incluido",
+            "piscina", "climatizada", "a", "cinco", "minutos", "del", "casco", "histórico", "con", "terraza",
+            "gimnasio", "y", "spa", "recepción", "24", "horas", "aparcamiento", "privado", "junto", "la", "playa"};
+
+    private static final String[] CITIES = {"Madrid", "Barcelona", "Sevilla", "Valencia", "Málaga", "Bilbao"};
+
+    @Test
+    void compareWireFormats() throws IOException {
+        int iterations = Integer.getInteger("benchmark.iterations", 200_000);
+        WireFormats wireFormats = new WireFormats(Jackson2ObjectMapperBuilder.json().build());
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+
+        List<HotelDto> hotels = hotels(EXPORT);
+        HotelDto hotel = hotels.get(0);
+        System.out.printf(Locale.ROOT, "%n[wire] hotel con descripción de %,d caracteres; exportación de %,d hoteles%n",
+                hotel.getDescription().length(), EXPORT);
+        System.out.printf(Locale.ROOT, "[wire] %-6s %8s %8s %12s %12s %10s %10s%n",
+                "", "hotel", "gzip", "exportación", "gzip", "ser ns", "deser ns");
+
+        for (int round = 0; round < 2; round++) {
+            report("JSON", json, hotels, out -> wireFormats.<HotelDto>writeNdjson(out, hotels::forEach), iterations);
+            report("Smile", wireFormats.smile(), hotels,
+                    out -> wireFormats.<HotelDto>writeSmileSequence(out, hotels::forEach), iterations);
+            report("CBOR", wireFormats.cbor(), hotels,
+                    out -> wireFormats.<HotelDto>writeCborSequence(out, hotels::forEach), iterations);
+        }
+    }
+
+    private interface Export {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static void report(String label, ObjectMapper mapper, List<HotelDto> hotels, Export export,
+                               int iterations) throws IOException {
+        ObjectWriter writer = mapper.writerFor(HotelDto.class);
+        ObjectReader reader = mapper.readerFor(HotelDto.class);
+        byte[] single = writer.writeValueAsBytes(hotels.get(0));
+        if (!reader.readValue(single).equals(hotels.get(0))) {
+            throw new AssertionError(label + ": el hotel no sobrevive a la ida y vuelta");
+        }
+
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        export.write(exported);
+
+        // Cada iteración serializa un hotel distinto, para que no se quede todo en la caché de la CPU
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += writer.writeValueAsBytes(hotels.get(i % hotels.size())).length;
+        }
+        double serializeNs = (System.nanoTime() - start) / (double) iterations;
+
+        List<byte[]> encoded = new ArrayList<>(hotels.size());
+        for (HotelDto h : hotels) {
+            encoded.add(writer.writeValueAsBytes(h));
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            HotelDto read = reader.readValue(encoded.get(i % encoded.size()));
+            sink += read.getStars();
+        }
+        double deserializeNs = (System.nanoTime() - start) / (double) iterations;
+
+        if (sink == 0) {
+            throw new IllegalStateException(label + ": no se ha serializado nada"); // y así el JIT no se salta el bucle
+        }
+
+        System.out.printf(Locale.ROOT, "[wire] %-6s %,8d %,8d %,12d %,12d %,10.0f %,10.0f%n",
+                label, single.length, gzip(single), exported.size(), gzip(exported.toByteArray()),
+                serializeNs, deserializeNs);
+    }
+
+    private static int gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        }
+        return compressed.size();
+    }
+
+    private static List<HotelDto> hotels(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<HotelDto> hotels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder description = new StringBuilder();
+            while (description.length() < 2_000) {
+                description.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(12) == 0 ? ". " : " ");
+            }
+            String city = CITIES[random.nextInt(CITIES.length)];
+            hotels.add(HotelDto.builder()
+                    .id(100_000L + i)
+                    .name("Hotel " + city + " " + i)
+                    .address("Calle Mayor " + random.nextInt(1, 300))
+                    .city(city)
+                    .country("España")
+                    .stars(random.nextInt(1, 6))
+                    .description(description.toString())
+                    .latitude(36 + random.nextDouble(7))
+                    .longitude(-8 + random.nextDouble(11))
+                    .version(random.nextLong(1, 50))
+                    .build());
+        }
+        return hotels;
+    }
+}
@@ -0,0 +1,113 @@
+package com.hotel.booking.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Driver JDBC que delega en H2 y añade una espera fija a cada sentencia ejecutada, para simular
+ * una base de datos remota (H2 en memoria responde en microsegundos, así que sin esto nunca se
+ * vería el efecto de bloquear hilos esperando al JDBC).
+ *
+ * Atiende las URLs "jdbc:slowh2:..." (el resto es una URL normal de H2). Hikari lo usa como
+ * cualquier otro driver, así que la espera ocurre con la conexión del pool ocupada:
+ *   spring.datasource.driver-class-name=com.hotel.booking.benchmark.LatencyInjectingH2Driver
+ *   spring.datasource.url=jdbc:slowh2:mem:test;MODE=PostgreSQL
+ *
+ * La latencia se lee de la propiedad de sistema "benchmark.db-latency-ms" (5 ms por defecto).
+ */
+public class LatencyInjectingH2Driver implements Driver {
+
+    private static final String PREFIX = "jdbc:slowh2:";
+
+    private static final long LATENCY_MS = Long.getLong("benchmark.db-latency-ms", 5);
+
+    private final Driver h2 = new org.h2.Driver();
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url)) {
+            return null; // contrato de Driver: no es una URL nuestra
+        }
+        return wrapConnection(h2.connect("jdbc:h2:" + url.substring(PREFIX.length()), info));
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith(PREFIX);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof PreparedStatement statement) {
+                return wrapStatement(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement) {
+                return wrapStatement(Statement.class, statement);
+            }
+            return result;
+        });
+    }
+
+    private static <T extends Statement> T wrapStatement(Class<T> type, T statement) {
+        return proxy(type, statement, (target, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                Thread.sleep(LATENCY_MS);
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
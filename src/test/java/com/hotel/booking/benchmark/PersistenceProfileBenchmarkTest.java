@@ -0,0 +1,167 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.BookingSystemApplication;
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.dto.HotelFilter;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.service.HotelService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Operaciones de HotelService con la configuración por defecto frente al perfil "prod"
+ * (pool de Hikari fijo y ajustado, sin log DEBUG de cada SQL).
+ *
+ * Cada configuración arranca la aplicación completa sobre su propia H2 en modo PostgreSQL,
+ * con la caché de hoteles desactivada para que todas las operaciones lleguen a la base de datos
+ * y con una latencia simulada por sentencia (LatencyInjectingH2Driver), como la de una base de
+ * datos en otra máquina. Mezcla: 60 % getHotelById, 15 % listHotels, 15 % searchHotels,
+ * 10 % updateHotel, desde varios hilos a la vez.
+ *
+ * No mide las opciones propias de PostgreSQL (sentencias preparadas en el servidor,
+ * reWriteBatchedInserts): para eso hay que apuntar el perfil "postgres" a un servidor real.
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=PersistenceProfileBenchmarkTest
+ *   [-Dbenchmark.threads=32 -Dbenchmark.seconds=10 -Dbenchmark.db-latency-ms=1]
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class PersistenceProfileBenchmarkTest {
+
+    private static final int HOTELS = 2_000;
+
+    @Test
+    void compareDefaultAndProdProfiles() throws Exception {
+        int threads = Integer.getInteger("benchmark.threads", 32);
+        int seconds = Integer.getInteger("benchmark.seconds", 10);
+        System.out.printf(Locale.ROOT, "%n[profiles] %d hilos, %d s por perfil, %d ms de latencia por sentencia%n",
+                threads, seconds, Long.getLong("benchmark.db-latency-ms", 1));
+
+        for (String profile : new String[]{"default", "prod"}) {
+            try (ConfigurableApplicationContext context = start(profile)) {
+                HotelService hotelService = context.getBean(HotelService.class);
+                List<Long> ids = seed(context);
+                run(hotelService, ids, threads, 3);
+                Result result = run(hotelService, ids, threads, seconds);
+                System.out.printf(Locale.ROOT,
+                        "[profiles] %-8s %,8.0f ops/s  p50 %6.2f ms  p99 %6.2f ms  (getById p50 %5.2f ms, update p50 %5.2f ms)%n",
+                        profile, result.operations / (double) seconds, result.p50, result.p99,
+                        result.getByIdP50, result.updateP50);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String profile) {
+        return new SpringApplicationBuilder(BookingSystemApplication.class)
+                .run(
+                        "--spring.profiles.active=" + profile,
+                        "--server.port=0",
+                        "--hotel.cache.enabled=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.driver-class-name=" + LatencyInjectingH2Driver.class.getName(),
+                        "--spring.datasource.url=jdbc:slowh2:mem:profile_" + profile
+                                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+    }
+
+    private static List<Long> seed(ConfigurableApplicationContext context) {
+        HotelRepository repository = context.getBean(HotelRepository.class);
+        new HotelDataGenerator(3).insert(repository, context.getBean(TransactionTemplate.class), HOTELS);
+        List<Long> ids = new ArrayList<>();
+        repository.findAll().forEach(hotel -> ids.add(hotel.getId()));
+        return ids;
+    }
+
+    private static Result run(HotelService hotelService, List<Long> ids, int threads, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[][]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                SplittableRandom random = new SplittableRandom(t);
+                futures.add(executor.submit(() -> {
+                    // [0] todas las operaciones, [1] getHotelById, [2] updateHotel
+                    long[][] latencies = {new long[1_024], new long[1_024], new long[1_024]};
+                    int[] counts = new int[3];
+                    while (System.nanoTime() < deadline) {
+                        long id = ids.get(random.nextInt(ids.size()));
+                        int dice = random.nextInt(100);
+                        long start = System.nanoTime();
+                        int kind = 0;
+                        if (dice < 60) {
+                            hotelService.getHotelById(id);
+                            kind = 1;
+                        } else if (dice < 75) {
+                            hotelService.listHotels(HotelFilter.builder().build(), null, 20);
+                        } else if (dice < 90) {
+                            hotelService.searchHotels(HotelFilter.builder()
+                                    .country(HotelDataGenerator.COUNTRIES[random.nextInt(3)]).minStars(3).build(), null, 20);
+                        } else {
+                            HotelDto hotel = hotelService.getHotelById(id);
+                            hotelService.updateHotel(id, CreateHotelRequestDto.builder()
+                                    .name(hotel.getName()).address(hotel.getAddress()).city(hotel.getCity())
+                                    .country(hotel.getCountry()).stars(hotel.getStars())
+                                    .description(hotel.getDescription()).build());
+                            kind = 2;
+                        }
+                        long elapsed = System.nanoTime() - start;
+                        add(latencies, counts, 0, elapsed);
+                        if (kind != 0) {
+                            add(latencies, counts, kind, elapsed);
+                        }
+                    }
+                    for (int k = 0; k < 3; k++) {
+                        latencies[k] = Arrays.copyOf(latencies[k], counts[k]);
+                    }
+                    return latencies;
+                }));
+            }
+            long[][] merged = new long[3][];
+            for (int k = 0; k < 3; k++) {
+                merged[k] = new long[0];
+            }
+            for (Future<long[][]> future : futures) {
+                long[][] latencies = future.get();
+                for (int k = 0; k < 3; k++) {
+                    long[] joined = Arrays.copyOf(merged[k], merged[k].length + latencies[k].length);
+                    System.arraycopy(latencies[k], 0, joined, merged[k].length, latencies[k].length);
+                    merged[k] = joined;
+                }
+            }
+            for (long[] latencies : merged) {
+                Arrays.sort(latencies);
+            }
+            return new Result(merged[0].length, percentile(merged[0], 0.5), percentile(merged[0], 0.99),
+                    percentile(merged[1], 0.5), percentile(merged[2], 0.5));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void add(long[][] latencies, int[] counts, int kind, long value) {
+        if (counts[kind] == latencies[kind].length) {
+            latencies[kind] = Arrays.copyOf(latencies[kind], counts[kind] * 2);
+        }
+        latencies[kind][counts[kind]++] = value;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+
+    private record Result(int operations, double p50, double p99, double getByIdP50, double updateP50) {
+    }
+}
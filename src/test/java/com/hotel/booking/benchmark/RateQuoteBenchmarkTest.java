@@ -0,0 +1,210 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.domain.pricing.RateRule;
+import com.hotel.booking.domain.pricing.RateRuleKind;
+import com.hotel.booking.domain.room.RoomType;
+import com.hotel.booking.pricing.RateCalendarIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark de presupuestos para páginas de resultados con habitaciones de muchos hoteles
+ * (lo que hace AvailabilityService en la búsqueda por ciudad), sin base de datos.
+ *
+ * Cada hotel tiene 6 temporadas, una regla de fin de semana y 2 tramos de estancia larga, con
+ * alguna regla solo para un tipo de habitación. Cada página son 200 habitaciones de hoteles al azar
+ * con la misma estancia de 1 a 21 noches. Se compara:
+ * - calendario: RateCalendarIndex.totalPrice (dos lecturas del array de sumas acumuladas);
+ * - noche a noche: para cada noche de la estancia, recorrer las reglas del hotel.
+ * También mide lo que cuesta aplicar un cambio de temporada (solo sus noches) frente a reconstruir el hotel.
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=RateQuoteBenchmarkTest [-Dbenchmark.hotels=20000]
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class RateQuoteBenchmarkTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 1);
+
+    private static final int HORIZON = 730;
+
+    private static final int PAGE = 200;
+
+    private static final BigDecimal[] PRICES = {
+            new BigDecimal("59.00"), new BigDecimal("89.50"), new BigDecimal("120.00"), new BigDecimal("245.90")};
+
+    @Test
+    void measureQuoteThroughput() {
+        int hotels = Integer.parseInt(System.getProperty("benchmark.hotels", "20000"));
+        SplittableRandom random = new SplittableRandom(42);
+
+        Map<Long, List<RateRule>> rulesByHotel = new HashMap<>();
+        long nextId = 1;
+        for (long hotel = 1; hotel <= hotels; hotel++) {
+            List<RateRule> rules = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                int start = random.nextInt(HORIZON - 60);
+                rules.add(season(nextId++, hotel, random.nextInt(4) == 0 ? RoomType.SUITE : null,
+                        start, start + 7 + random.nextInt(50), random.nextInt(-30, 80)));
+            }
+            rules.add(RateRule.builder().id(nextId++).hotelId(hotel).kind(RateRuleKind.WEEKEND)
+                    .percent(random.nextInt(5, 30)).build());
+            rules.add(lengthOfStay(nextId++, hotel, 5, 5));
+            rules.add(lengthOfStay(nextId++, hotel, 14, 12));
+            rulesByHotel.put(hotel, rules);
+        }
+
+        long heapBefore = usedHeap();
+        RateCalendarIndex index = new RateCalendarIndex(TODAY, HORIZON);
+        long start = System.nanoTime();
+        rulesByHotel.forEach(index::update);
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        long heapAfter = usedHeap();
+        System.out.printf(Locale.ROOT, "%n[rate-quote] %,d hoteles con %d reglas, calendarios de %d noches: %,d ms, %,d MB%n",
+                hotels, rulesByHotel.get(1L).size(), HORIZON, buildMillis, (heapAfter - heapBefore) / (1024 * 1024));
+
+        // Las mismas páginas para los dos métodos: hotel, tipo y precio de cada habitación y la estancia
+        int pages = 2_000;
+        long[][] pageHotels = new long[pages][PAGE];
+        RoomType[][] pageTypes = new RoomType[pages][PAGE];
+        BigDecimal[][] pagePrices = new BigDecimal[pages][PAGE];
+        int[] checkIns = new int[pages];
+        int[] nights = new int[pages];
+        SplittableRandom queries = new SplittableRandom(7);
+        for (int p = 0; p < pages; p++) {
+            nights[p] = 1 + queries.nextInt(21);
+            checkIns[p] = queries.nextInt(HORIZON - nights[p]);
+            for (int r = 0; r < PAGE; r++) {
+                pageHotels[p][r] = 1 + queries.nextInt(hotels);
+                pageTypes[p][r] = RoomType.values()[queries.nextInt(RoomType.values().length)];
+                pagePrices[p][r] = PRICES[queries.nextInt(PRICES.length)];
+            }
+        }
+
+        PageQuoter calendar = (p, r) -> index.totalPrice(pageHotels[p][r], pageTypes[p][r], pagePrices[p][r],
+                TODAY.plusDays(checkIns[p]), TODAY.plusDays(checkIns[p] + nights[p]));
+        PageQuoter nightByNight = (p, r) -> nightByNight(rulesByHotel.get(pageHotels[p][r]), pageTypes[p][r],
+                pagePrices[p][r], checkIns[p], checkIns[p] + nights[p]);
+
+        // Los dos métodos tienen que dar lo mismo antes de medir nada
+        for (int p = 0; p < 50; p++) {
+            for (int r = 0; r < PAGE; r++) {
+                if (calendar.quote(p, r).compareTo(nightByNight.quote(p, r)) != 0) {
+                    throw new AssertionError("Presupuestos distintos en la página " + p + ", habitación " + r);
+                }
+            }
+        }
+
+        report("noche a noche", nightByNight, pages);
+        report("calendario   ", calendar, pages);
+        report("noche a noche", nightByNight, pages);
+        report("calendario   ", calendar, pages);
+
+        // Cambio de reglas: una temporada nueva (solo sus noches) frente a un fin de semana (hotel entero)
+        int changes = 5_000;
+        SplittableRandom updates = new SplittableRandom(11);
+        for (String kind : new String[]{"temporada", "fin de semana", "temporada", "fin de semana"}) {
+            long changeStart = System.nanoTime();
+            for (int i = 0; i < changes; i++) {
+                long hotel = 1 + updates.nextInt(hotels);
+                List<RateRule> rules = new ArrayList<>(rulesByHotel.get(hotel));
+                if (kind.equals("temporada")) {
+                    int from = updates.nextInt(HORIZON - 30);
+                    rules.add(season(nextId++, hotel, null, from, from + 1 + updates.nextInt(30), 15));
+                } else {
+                    rules.add(RateRule.builder().id(nextId++).hotelId(hotel).kind(RateRuleKind.WEEKEND).percent(5).build());
+                }
+                rulesByHotel.put(hotel, rules); // el siguiente cambio del hotel parte de este
+                index.update(hotel, rules);
+            }
+            System.out.printf(Locale.ROOT, "[rate-quote] cambio de reglas (%s): %.1f µs por cambio%n",
+                    kind, (System.nanoTime() - changeStart) / 1_000.0 / changes);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageQuoter {
+        BigDecimal quote(int page, int room);
+    }
+
+    private static void report(String label, PageQuoter quoter, int pages) {
+        double[] latencies = new double[pages];
+        BigDecimal checksum = BigDecimal.ZERO;
+        long start = System.nanoTime();
+        for (int p = 0; p < pages; p++) {
+            long pageStart = System.nanoTime();
+            for (int r = 0; r < PAGE; r++) {
+                checksum = checksum.add(quoter.quote(p, r));
+            }
+            latencies[p] = (System.nanoTime() - pageStart) / 1_000.0;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(latencies);
+        System.out.printf(Locale.ROOT,
+                "[rate-quote] %s %,12.0f presupuestos/s  página de %d: p50 %8.1f µs  p99 %8.1f µs  (checksum %s)%n",
+                label, pages * PAGE / seconds, PAGE, latencies[pages / 2], latencies[(int) (pages * 0.99)],
+                checksum.toBigInteger().mod(BigDecimal.valueOf(1000).toBigInteger()));
+    }
+
+    // Lo que haríamos sin calendarios: para cada noche, todas las reglas del hotel
+    private static BigDecimal nightByNight(List<RateRule> rules, RoomType type, BigDecimal price, int from, int to) {
+        long factorSum = 0;
+        for (int i = from; i < to; i++) {
+            LocalDate night = TODAY.plusDays(i);
+            DayOfWeek dow = night.getDayOfWeek();
+            int factor = 100;
+            for (RateRule rule : rules) {
+                if (rule.getRoomType() != null && rule.getRoomType() != type) {
+                    continue;
+                }
+                if (rule.getKind() == RateRuleKind.SEASON
+                        && !night.isBefore(rule.getStartDate()) && night.isBefore(rule.getEndDate())) {
+                    factor += rule.getPercent();
+                } else if (rule.getKind() == RateRuleKind.WEEKEND
+                        && (dow == DayOfWeek.FRIDAY || dow == DayOfWeek.SATURDAY)) {
+                    factor += rule.getPercent();
+                }
+            }
+            factorSum += Math.max(0, factor);
+        }
+        int discount = 0;
+        for (RateRule rule : rules) {
+            if (rule.getKind() == RateRuleKind.LENGTH_OF_STAY && to - from >= rule.getMinNights()
+                    && (rule.getRoomType() == null || rule.getRoomType() == type)) {
+                discount = Math.max(discount, rule.getPercent());
+            }
+        }
+        return price.multiply(BigDecimal.valueOf(factorSum * (100 - discount)))
+                .movePointLeft(4).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static RateRule season(long id, long hotel, RoomType type, int from, int to, int percent) {
+        return RateRule.builder().id(id).hotelId(hotel).roomType(type).kind(RateRuleKind.SEASON)
+                .startDate(TODAY.plusDays(from)).endDate(TODAY.plusDays(to)).percent(percent).build();
+    }
+
+    private static RateRule lengthOfStay(long id, long hotel, int minNights, int percent) {
+        return RateRule.builder().id(id).hotelId(hotel).kind(RateRuleKind.LENGTH_OF_STAY)
+                .minNights(minNights).percent(percent).build();
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,145 @@
+package com.hotel.booking.benchmark;
+
+import com.hotel.booking.availability.RoomAvailabilityIndex;
+import com.hotel.booking.domain.room.RoomType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Benchmark del índice de disponibilidad: 10.000 hoteles x 100 habitaciones con reservas
+ * repartidas por un horizonte de 365 noches (sin base de datos).
+ *
+ * Se compara con la alternativa de recorrer las reservas de cada habitación buscando solapes
+ * (lo que haría una consulta SQL "check_in < :checkOut AND check_out > :checkIn" por habitación),
+ * con las reservas ya en memoria, así que la comparación favorece a la alternativa.
+ *
+ * No se ejecuta en el build normal. Para lanzarlo:
+ *   mvn test -Dbenchmarks=true -Dtest=RoomAvailabilityBenchmarkTest -DargLine=-Xmx3g
+ *   [-Dbenchmark.hotels=10000 -Dbenchmark.rooms=100 -Dbenchmark.nights=365]
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class RoomAvailabilityBenchmarkTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 1);
+
+    // Hoteles por ciudad en la consulta por ciudad
+    private static final int HOTELS_PER_CITY = 200;
+
+    @Test
+    void measureBuildMemoryAndQueryLatency() {
+        int hotels = Integer.getInteger("benchmark.hotels", 10_000);
+        int roomsPerHotel = Integer.getInteger("benchmark.rooms", 100);
+        int nights = Integer.getInteger("benchmark.nights", 365);
+        int rooms = hotels * roomsPerHotel;
+        SplittableRandom random = new SplittableRandom(42);
+
+        // Reservas de 1 a 7 noches, seguidas con huecos de 0 a 4 noches: ~70% de ocupación
+        int[][] bookings = new int[rooms][];
+        int totalBookings = 0;
+        for (int room = 0; room < rooms; room++) {
+            int[] stays = new int[32];
+            int count = 0;
+            for (int night = random.nextInt(5); night < nights; ) {
+                int length = 1 + random.nextInt(7);
+                if (count == stays.length) {
+                    stays = Arrays.copyOf(stays, count * 2);
+                }
+                stays[count++] = night << 16 | Math.min(nights, night + length);
+                night += length + random.nextInt(5);
+            }
+            bookings[room] = Arrays.copyOf(stays, count);
+            totalBookings += count;
+        }
+
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(TODAY, nights);
+        RoomType[] types = RoomType.values();
+        for (int room = 0; room < rooms; room++) {
+            index.addRoom(room, room / roomsPerHotel, types[room % types.length], 1 + room % 4);
+        }
+        for (int room = 0; room < rooms; room++) {
+            for (int stay : bookings[room]) {
+                index.markBooked(room, TODAY.plusDays(stay >>> 16), TODAY.plusDays(stay & 0xFFFF));
+            }
+        }
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        long indexBytes = usedHeap() - heapBefore;
+
+        System.out.printf(Locale.ROOT, "%n[availability] %,d hoteles x %,d habitaciones, %,d reservas en %d noches%n",
+                hotels, roomsPerHotel, totalBookings, nights);
+        System.out.printf(Locale.ROOT, "[availability] índice construido en %,d ms, %,d MB en el heap%n",
+                buildMillis, indexBytes / (1024 * 1024));
+
+        // Consultas: estancias de 1 a 7 noches en fechas aleatorias
+        int runs = 20_000;
+        int[] hotelIds = new int[runs];
+        int[] checkIns = new int[runs];
+        int[] lengths = new int[runs];
+        for (int i = 0; i < runs; i++) {
+            hotelIds[i] = random.nextInt(hotels);
+            lengths[i] = 1 + random.nextInt(7);
+            checkIns[i] = random.nextInt(nights - lengths[i]);
+        }
+
+        report("índice, por hotel      ", runs, i -> index.findFreeRooms(hotelIds[i],
+                TODAY.plusDays(checkIns[i]), TODAY.plusDays(checkIns[i] + lengths[i]), null, 1, 200).length);
+        report("índice, por hotel+tipo ", runs, i -> index.findFreeRooms(hotelIds[i],
+                TODAY.plusDays(checkIns[i]), TODAY.plusDays(checkIns[i] + lengths[i]), RoomType.SUITE, 3, 200).length);
+        report("índice, por ciudad     ", runs / 20, i -> {
+            int firstHotel = hotelIds[i] / HOTELS_PER_CITY * HOTELS_PER_CITY;
+            int found = 0;
+            for (int hotel = firstHotel; hotel < Math.min(hotels, firstHotel + HOTELS_PER_CITY); hotel++) {
+                found += index.findFreeRooms(hotel, TODAY.plusDays(checkIns[i]),
+                        TODAY.plusDays(checkIns[i] + lengths[i]), null, 1, 200).length;
+            }
+            return found;
+        });
+        report("reservas, por hotel    ", runs, i -> {
+            int from = checkIns[i];
+            int to = from + lengths[i];
+            int found = 0;
+            for (int room = hotelIds[i] * roomsPerHotel; room < (hotelIds[i] + 1) * roomsPerHotel; room++) {
+                boolean free = true;
+                for (int stay : bookings[room]) {
+                    if ((stay >>> 16) < to && (stay & 0xFFFF) > from) {
+                        free = false;
+                        break;
+                    }
+                }
+                found += free ? 1 : 0;
+            }
+            return found;
+        });
+    }
+
+    private static void report(String label, int runs, IntUnaryOperator query) {
+        long blackhole = 0;
+        for (int i = 0; i < Math.min(runs, 2_000); i++) { // calentamiento
+            blackhole += query.applyAsInt(i);
+        }
+        double[] latencies = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            blackhole += query.applyAsInt(i);
+            latencies[i] = (System.nanoTime() - start) / 1_000.0;
+        }
+        Arrays.sort(latencies);
+        System.out.printf(Locale.ROOT, "[availability] %s p50 %8.1f µs  p99 %8.1f µs  (%d libres)%n",
+                label, latencies[runs / 2], latencies[(int) (runs * 0.99)], blackhole);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
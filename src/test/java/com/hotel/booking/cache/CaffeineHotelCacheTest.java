@@ -0,0 +1,123 @@
+package com.hotel.booking.cache;
+
+import com.hotel.booking.config.HotelCacheProperties;
+import com.hotel.booking.dto.HotelCacheStatsDto;
+import com.hotel.booking.dto.HotelDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CaffeineHotelCacheTest {
+
+    // Reloj manual: los tests lo adelantan para simular el paso del tiempo.
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CaffeineHotelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        HotelCacheProperties properties = new HotelCacheProperties();
+        properties.setMaxSize(100);
+        properties.setTtl(Duration.ofMinutes(10));
+        properties.setNegativeTtl(Duration.ofSeconds(30));
+        cache = new CaffeineHotelCache(properties, nanos::get);
+    }
+
+    @Test
+    void shouldLoadOnMissAndServeFromMemoryAfterwards() {
+        Function<Long, Optional<HotelDto>> loader = countingLoader(Optional.of(hotel(1L)));
+
+        cache.get(1L, loader);
+        Optional<HotelDto> result = cache.get(1L, loader);
+
+        assertThat(result).get().extracting(HotelDto::getName).isEqualTo("Hotel 1");
+        assertThat(loads).hasValue(1);
+        HotelCacheStatsDto stats = cache.stats();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExpireHotelsAfterTtl() {
+        Function<Long, Optional<HotelDto>> loader = countingLoader(Optional.of(hotel(1L)));
+        cache.get(1L, loader);
+
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        cache.get(1L, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldCacheUnknownIdsForTheShorterNegativeTtl() {
+        Function<Long, Optional<HotelDto>> loader = countingLoader(Optional.empty());
+
+        cache.get(99L, loader);
+        cache.get(99L, loader);
+        assertThat(loads).hasValue(1);
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        cache.get(99L, loader);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void putShouldReplaceACachedNotFound() {
+        cache.get(5L, countingLoader(Optional.empty()));
+
+        cache.put(hotel(5L));
+
+        assertThat(cache.get(5L, countingLoader(Optional.empty()))).isPresent();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void putShouldKeepTheHighestVersion() {
+        cache.put(hotel(5L, 2L));
+
+        // El put del UPDATE anterior llega tarde: no pisa la versión 2
+        cache.put(hotel(5L, 1L));
+        assertThat(cache.get(5L, countingLoader(Optional.empty()))).hasValueSatisfying(
+                hotel -> assertThat(hotel.getVersion()).isEqualTo(2L));
+
+        cache.put(hotel(5L, 3L));
+        assertThat(cache.get(5L, countingLoader(Optional.empty()))).hasValueSatisfying(
+                hotel -> assertThat(hotel.getVersion()).isEqualTo(3L));
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void evictShouldForceTheNextLookupToLoad() {
+        Function<Long, Optional<HotelDto>> loader = countingLoader(Optional.of(hotel(1L)));
+        cache.get(1L, loader);
+
+        cache.evict(1L);
+        cache.get(1L, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private Function<Long, Optional<HotelDto>> countingLoader(Optional<HotelDto> result) {
+        return id -> {
+            loads.incrementAndGet();
+            return result;
+        };
+    }
+
+    private static HotelDto hotel(Long id) {
+        return HotelDto.builder().id(id).name("Hotel " + id).build();
+    }
+
+    private static HotelDto hotel(Long id, Long version) {
+        return HotelDto.builder().id(id).name("Hotel " + id).version(version).build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.hotel.booking.config;
+
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.dto.HotelDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingRuntimeHintsTest {
+
+    @Test
+    void shouldRegisterTheTypesWeSerializeOutsideTheControllerSignatures() {
+        RuntimeHints hints = new RuntimeHints();
+        new BookingRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(HotelDto.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(CreateHotelRequestDto.class)).accepts(hints);
+        // Y sus getters, que es lo que usa Jackson para escribirlo
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(HotelDto.class, "getName")).accepts(hints);
+    }
+}
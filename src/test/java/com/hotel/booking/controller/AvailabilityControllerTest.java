@@ -0,0 +1,87 @@
+package com.hotel.booking.controller;
+
+import com.hotel.booking.domain.room.RoomType;
+import com.hotel.booking.dto.AvailabilityQuery;
+import com.hotel.booking.dto.RoomDto;
+import com.hotel.booking.service.AvailabilityService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AvailabilityController.class)
+@Import(AvailabilityControllerTest.TestConfig.class)
+public class AvailabilityControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Test
+    void shouldSearchByHotel() throws Exception {
+        AvailabilityQuery query = AvailabilityQuery.builder()
+                .checkIn(LocalDate.of(2026, 7, 1)).checkOut(LocalDate.of(2026, 7, 4))
+                .type(RoomType.DOUBLE).guests(2)
+                .build();
+        doReturn(List.of(RoomDto.builder().id(7L).hotelId(1L).number("101").build()))
+                .when(availabilityService).findAvailableRooms(eq(1L), eq(query));
+
+        mockMvc.perform(get("/api/availability")
+                        .param("hotelId", "1")
+                        .param("checkIn", "2026-07-01")
+                        .param("checkOut", "2026-07-04")
+                        .param("type", "DOUBLE")
+                        .param("guests", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(7)))
+                .andExpect(jsonPath("$[0].number", is("101")));
+    }
+
+    @Test
+    void shouldSearchByCity() throws Exception {
+        AvailabilityQuery query = AvailabilityQuery.builder()
+                .checkIn(LocalDate.of(2026, 7, 1)).checkOut(LocalDate.of(2026, 7, 4))
+                .build();
+        doReturn(List.of(RoomDto.builder().id(9L).hotelId(2L).build()))
+                .when(availabilityService).findAvailableRoomsInCity(eq("sevilla"), eq(query));
+
+        mockMvc.perform(get("/api/availability")
+                        .param("city", "sevilla")
+                        .param("checkIn", "2026-07-01")
+                        .param("checkOut", "2026-07-04"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].hotelId", is(2)));
+    }
+
+    @Test
+    void shouldReturn400WithoutHotelOrCity() throws Exception {
+        mockMvc.perform(get("/api/availability")
+                        .param("checkIn", "2026-07-01")
+                        .param("checkOut", "2026-07-04"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        public AvailabilityService availabilityService() {
+            return Mockito.mock(AvailabilityService.class);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.hotel.booking.controller;
+
+import com.hotel.booking.domain.booking.BookingStatus;
+import com.hotel.booking.dto.BookingDto;
+import com.hotel.booking.dto.CreateBookingRequestDto;
+import com.hotel.booking.exception.RoomNotAvailableException;
+import com.hotel.booking.service.BookingService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BookingController.class)
+@Import(BookingControllerTest.TestConfig.class)
+public class BookingControllerTest {
+
+    private static final String BODY = """
+            {"roomId": 7, "guestId": 3, "checkIn": "2026-07-01", "checkOut": "2026-07-04"}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void createBooking_shouldReturn201() throws Exception {
+        BookingDto booking = BookingDto.builder().id(100L).roomId(7L).guestId(3L)
+                .checkIn(LocalDate.of(2026, 7, 1)).checkOut(LocalDate.of(2026, 7, 4))
+                .status(BookingStatus.CONFIRMED).totalPrice(new BigDecimal("300.00")).build();
+        doReturn(booking).when(bookingService).createBooking(any(CreateBookingRequestDto.class));
+
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(100)))
+                .andExpect(jsonPath("$.checkIn", is("2026-07-01")))
+                .andExpect(jsonPath("$.status", is("CONFIRMED")));
+    }
+
+    @Test
+    void createBooking_shouldReturn409WhenRoomIsTaken() throws Exception {
+        doThrow(new RoomNotAvailableException("ocupada"))
+                .when(bookingService).createBooking(any(CreateBookingRequestDto.class));
+
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void createBooking_shouldReturn400WithoutDates() throws Exception {
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"roomId\": 7, \"guestId\": 3}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        public BookingService bookingService() {
+            return Mockito.mock(BookingService.class);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.hotel.booking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.service.HotelService;
+import com.hotel.booking.web.WireFormats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compresión de respuestas con el Tomcat de verdad (MockMvc no pasa por él): la exportación se
+ * comprime aunque vaya en streaming y en formato binario; un hotel suelto, solo si pasa de 2 KB
+ * (y aunque lleve ETag: Tomcat no comprime las respuestas con ETag fuerte, las nuestras son débiles).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class HotelCompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private WireFormats wireFormats;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // java.net.http no descomprime: vemos los bytes tal como llegan
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void largeResponsesShouldBeGzippedAndSmallOnesNot() throws Exception {
+        HotelDto first = null;
+        for (int i = 0; i < 20; i++) {
+            HotelDto hotel = hotelService.createHotel(CreateHotelRequestDto.builder()
+                    .name("Hotel Comprimido " + i).address("Calle " + i).city("Cuenca").country("Portugal")
+                    .stars(3).description("Casas colgadas sobre la hoz del Huécar. ".repeat(20))
+                    .build());
+            first = first == null ? hotel : first;
+        }
+
+        HttpResponse<byte[]> export = get("/api/hotels/export?city=Cuenca&country=Portugal", WireFormats.SMILE_VALUE);
+        assertThat(export.statusCode()).isEqualTo(200);
+        assertThat(export.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        List<HotelDto> hotels = wireFormats.smile().readerFor(HotelDto.class)
+                .<HotelDto>readValues(gunzip(export.body())).readAll();
+        assertThat(hotels).hasSize(20);
+
+        HttpResponse<byte[]> single = get("/api/hotels/" + first.getId(), "application/json");
+        assertThat(single.statusCode()).isEqualTo(200);
+        assertThat(single.headers().firstValue("Content-Encoding")).isEmpty();
+    }
+
+    @Test
+    void aHotelOver2KbShouldBeGzippedInEveryFormat() throws Exception {
+        HotelDto hotel = hotelService.createHotel(CreateHotelRequestDto.builder()
+                .name("Hotel Descrito").address("Calle Larga 1").city("Cuenca").country("España")
+                .stars(4).description("Habitaciones con vistas a la hoz del Júcar y al casco antiguo. ".repeat(60))
+                .build());
+
+        HttpResponse<byte[]> json = get("/api/hotels/" + hotel.getId(), "application/json");
+        assertThat(json.statusCode()).isEqualTo(200);
+        assertThat(json.headers().firstValue("ETag")).hasValue("W/\"0\"");
+        assertThat(json.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(objectMapper.readValue(gunzip(json.body()), HotelDto.class)).isEqualTo(hotel);
+
+        HttpResponse<byte[]> smile = get("/api/hotels/" + hotel.getId(), WireFormats.SMILE_VALUE);
+        assertThat(smile.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(wireFormats.smile().readValue(gunzip(smile.body()), HotelDto.class)).isEqualTo(hotel);
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept)
+                .header("Accept-Encoding", "gzip")
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.hotel.booking.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag / If-None-Match / If-Match de punta a punta, con la columna version real
+ * (el @Version de Spring Data JDBC y el UPDATE ... WHERE version = ?).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class HotelConditionalRequestTest {
+
+    private static final String HOTEL_JSON =
+            "{\"name\":\"%s\",\"address\":\"Calle 1\",\"city\":\"Sevilla\",\"country\":\"España\",\"stars\":4}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldVersionHotelsAndHonourConditionalHeaders() throws Exception {
+        JsonNode created = json(mockMvc.perform(post("/api/hotels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HOTEL_JSON.formatted("Hotel Versionado")))
+                .andExpect(status().isCreated())
+                .andReturn());
+        long id = created.get("id").asLong();
+        assertThat(created.get("version").asLong()).isZero();
+
+        mockMvc.perform(get("/api/hotels/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"0\""));
+        mockMvc.perform(get("/api/hotels/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "W/\"0\""))
+                .andExpect(status().isNotModified());
+
+        // El ETag débil tal cual no vale como precondición: If-Match compara en fuerte
+        mockMvc.perform(put("/api/hotels/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HOTEL_JSON.formatted("Hotel Débil")))
+                .andExpect(status().isPreconditionFailed());
+
+        // PUT sobre la versión leída, como ETag fuerte => nueva versión y nuevo ETag
+        mockMvc.perform(put("/api/hotels/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HOTEL_JSON.formatted("Hotel Versionado II")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1\""));
+
+        // Otro cliente que aún tenía la versión 0 no puede pisar el cambio
+        mockMvc.perform(put("/api/hotels/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HOTEL_JSON.formatted("Hotel Pisado")))
+                .andExpect(status().isPreconditionFailed());
+
+        // Su copia en caché ya no vale: recibe el hotel nuevo
+        JsonNode current = json(mockMvc.perform(get("/api/hotels/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1\""))
+                .andReturn());
+        assertThat(current.get("name").asText()).isEqualTo("Hotel Versionado II");
+
+        // Sin If-Match se sobrescribe la versión que haya
+        mockMvc.perform(put("/api/hotels/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HOTEL_JSON.formatted("Hotel Versionado III")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"2\""));
+    }
+
+    @Test
+    void shouldReturn404ForUnknownHotelsEvenWithIfMatch() throws Exception {
+        mockMvc.perform(put("/api/hotels/{id}", 987_654_321L)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HOTEL_JSON.formatted("Hotel Fantasma")))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -1,9 +1,20 @@
 package com.hotel.booking.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.dto.BulkCreateHotelResponseDto;
+import com.hotel.booking.dto.BulkHotelResultDto;
 import com.hotel.booking.dto.CreateHotelRequestDto;
 import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.dto.HotelFilter;
+import com.hotel.booking.dto.HotelLookupDto;
+import com.hotel.booking.dto.HotelPageDto;
+import com.hotel.booking.dto.HotelSort;
+import com.hotel.booking.exception.HotelNotFoundException;
+import com.hotel.booking.exception.HotelVersionMismatchException;
+import com.hotel.booking.service.HotelBulkService;
+import com.hotel.booking.service.HotelGeoSearchService;
 import com.hotel.booking.service.HotelService;
+import com.hotel.booking.web.WireFormats;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,15 +23,36 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 // @WebMvcTest: Es un "test de porción" (slice test). Carga solo la capa web (el controller)
@@ -39,10 +71,16 @@ public class HotelControllerTest {
     @Autowired // Ahora el mock se inyecta como un bean normal
     private HotelService hotelService;
 
+    @Autowired
+    private HotelBulkService hotelBulkService;
+
     // ObjectMapper: una utilidad para convertir objetos Java a JSON y viceversa.
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private WireFormats wireFormats;
+
     @Test
     void shouldCreateHotelAndReturn201() throws Exception {
 
@@ -97,6 +135,300 @@ public class HotelControllerTest {
 
     }
 
+    @Test
+    void shouldReturnHotelById() throws Exception {
+        HotelDto hotel = HotelDto.builder().id(3L).name("Hotel Leído").city("Testville").version(2L).build();
+        doReturn(hotel).when(hotelService).getHotelById(3L);
+
+        mockMvc.perform(get("/api/hotels/3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"2\""))
+                .andExpect(jsonPath("$.id", is(3)))
+                .andExpect(jsonPath("$.name", is("Hotel Leído")));
+    }
+
+    @Test
+    void shouldReturn304WhenIfNoneMatchIsTheCurrentVersion() throws Exception {
+        HotelDto hotel = HotelDto.builder().id(3L).name("Hotel Leído").version(2L).build();
+        doReturn(hotel).when(hotelService).getHotelById(3L);
+
+        mockMvc.perform(get("/api/hotels/3").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"2\""))
+                .andExpect(content().string(""));
+
+        // Una versión antigua => 200 con el hotel actual
+        mockMvc.perform(get("/api/hotels/3").header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(2)));
+    }
+
+    @Test
+    void shouldReturn404WhenHotelDoesNotExist() throws Exception {
+        doThrow(new HotelNotFoundException("Hotel no encontrado con id: 404"))
+                .when(hotelService).getHotelById(404L);
+
+        mockMvc.perform(get("/api/hotels/404"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldLookUpSeveralHotelsById() throws Exception {
+        HotelLookupDto lookup = HotelLookupDto.builder()
+                .items(List.of(HotelDto.builder().id(7L).name("Siete").build(),
+                        HotelDto.builder().id(3L).name("Tres").build()))
+                .missingIds(List.of(99L))
+                .build();
+        doReturn(lookup).when(hotelService).getHotelsByIds(List.of(7L, 99L, 3L));
+
+        mockMvc.perform(post("/api/hotels/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[7,99,3]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name", is("Siete")))
+                .andExpect(jsonPath("$.items[1].id", is(3)))
+                .andExpect(jsonPath("$.missingIds[0]", is(99)));
+
+        // Sin ids, o con un id nulo => 400
+        mockMvc.perform(post("/api/hotels/lookup").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/hotels/lookup").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[1,null]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldListHotelsWithFiltersAndCursor() throws Exception {
+        HotelPageDto page = HotelPageDto.builder()
+                .items(List.of(HotelDto.builder().id(11L).name("Hotel Página").build()))
+                .nextCursor("siguiente")
+                .build();
+        HotelFilter filter = HotelFilter.builder().city("Madrid").country("España").stars(4).build();
+        doReturn(page).when(hotelService).listHotels(filter, "actual", 1);
+
+        mockMvc.perform(get("/api/hotels")
+                .param("city", "Madrid")
+                .param("country", "España")
+                .param("stars", "4")
+                .param("cursor", "actual")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id", is(11)))
+                .andExpect(jsonPath("$.nextCursor", is("siguiente")));
+    }
+
+    @Test
+    void shouldSearchHotels() throws Exception {
+        HotelPageDto page = HotelPageDto.builder()
+                .items(List.of(HotelDto.builder().id(5L).name("Hotel Cinco Estrellas").stars(5).build()))
+                .build();
+        HotelFilter filter = HotelFilter.builder().country("España").city("sevilla").minStars(4).build();
+        doReturn(page).when(hotelService).searchHotels(filter, HotelSort.STARS, null, null);
+
+        mockMvc.perform(get("/api/hotels/search")
+                .param("country", "España")
+                .param("city", "sevilla")
+                .param("minStars", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].stars", is(5)));
+    }
+
+    @Test
+    void shouldExportHotelsAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<HotelDto> consumer = invocation.getArgument(1);
+            consumer.accept(HotelDto.builder().id(1L).name("Uno").build());
+            consumer.accept(HotelDto.builder().id(2L).name("Dos").build());
+            return null;
+        }).when(hotelService).exportHotels(any(HotelFilter.class), any());
+
+        // La respuesta en streaming es asíncrona: primero se inicia y luego se "despacha".
+        MvcResult started = mockMvc.perform(get("/api/hotels/export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], HotelDto.class).getName()).isEqualTo("Dos");
+    }
+
+    @Test
+    void shouldReturnHotelAsSmileOrCborWhenAsked() throws Exception {
+        HotelDto hotel = HotelDto.builder().id(3L).name("Hotel Binario").description("Vistas al mar").version(1L).build();
+        doReturn(hotel).when(hotelService).getHotelById(3L);
+
+        byte[] smile = mockMvc.perform(get("/api/hotels/3").accept(WireFormats.SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WireFormats.SMILE))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get("/api/hotels/3").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(wireFormats.smile().readValue(smile, HotelDto.class)).isEqualTo(hotel);
+        assertThat(wireFormats.cbor().readValue(cbor, HotelDto.class)).isEqualTo(hotel);
+    }
+
+    @Test
+    void shouldExportHotelsAsSmileAndCborSequences() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<HotelDto> consumer = invocation.getArgument(1);
+            consumer.accept(HotelDto.builder().id(1L).name("Uno").build());
+            consumer.accept(HotelDto.builder().id(2L).name("Dos").build());
+            return null;
+        }).when(hotelService).exportHotels(any(HotelFilter.class), any());
+
+        for (MediaType format : List.of(WireFormats.SMILE, WireFormats.CBOR_SEQ)) {
+            MvcResult started = mockMvc.perform(get("/api/hotels/export").accept(format))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            byte[] body = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(format))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            ObjectMapper mapper = format.equals(WireFormats.SMILE) ? wireFormats.smile() : wireFormats.cbor();
+            List<HotelDto> hotels = mapper.readerFor(HotelDto.class).<HotelDto>readValues(body).readAll();
+            assertThat(hotels).extracting("name").containsExactly("Uno", "Dos");
+        }
+    }
+
+    @Test
+    void shouldUpdateHotel() throws Exception {
+        CreateHotelRequestDto requestDto = bulkRequest("Hotel Renovado");
+        HotelDto updated = HotelDto.builder().id(3L).name("Hotel Renovado").version(1L).build();
+        doReturn(updated).when(hotelService).updateHotel(eq(3L), any(CreateHotelRequestDto.class), isNull());
+
+        mockMvc.perform(put("/api/hotels/3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1\""))
+                .andExpect(jsonPath("$.name", is("Hotel Renovado")));
+    }
+
+    @Test
+    void shouldPassIfMatchVersionToTheService() throws Exception {
+        HotelDto updated = HotelDto.builder().id(3L).name("Hotel Renovado").version(5L).build();
+        doReturn(updated).when(hotelService).updateHotel(eq(3L), any(CreateHotelRequestDto.class), eq(4L));
+
+        mockMvc.perform(put("/api/hotels/3")
+                .header(HttpHeaders.IF_MATCH, "\"4\"") // la versión que da GET, como ETag fuerte
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bulkRequest("Hotel Renovado"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"5\""));
+    }
+
+    @Test
+    void shouldReturn412WhenIfMatchIsStaleOrNotOurs() throws Exception {
+        doThrow(new HotelVersionMismatchException("El hotel 3 ha cambiado"))
+                .when(hotelService).updateHotel(eq(3L), any(CreateHotelRequestDto.class), eq(1L));
+
+        mockMvc.perform(put("/api/hotels/3")
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bulkRequest("Hotel Renovado"))))
+                .andExpect(status().isPreconditionFailed());
+
+        // If-Match compara en fuerte: el ETag débil nunca cumple la precondición
+        mockMvc.perform(put("/api/hotels/3")
+                .header(HttpHeaders.IF_MATCH, "W/\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bulkRequest("Hotel Renovado"))))
+                .andExpect(status().isPreconditionFailed());
+
+        // Una lista de ETags no prueba qué versión tiene el cliente
+        mockMvc.perform(put("/api/hotels/3")
+                .header(HttpHeaders.IF_MATCH, "\"1\", \"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bulkRequest("Hotel Renovado"))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void shouldDeleteHotelAndReturn204() throws Exception {
+        mockMvc.perform(delete("/api/hotels/3"))
+                .andExpect(status().isNoContent());
+
+        verify(hotelService).deleteHotel(3L);
+    }
+
+    @Test
+    void shouldCreateHotelsInBulkFromJsonArray() throws Exception {
+        List<CreateHotelRequestDto> requests = List.of(bulkRequest("Hotel Uno"), bulkRequest("Hotel Dos"));
+        // doAnswer().when(): el mock es un bean compartido entre tests y no queremos invocarlo al configurar
+        doAnswer(invocation -> respondCreatedFor(invocation.getArgument(0))).when(hotelBulkService).createHotels(any());
+
+        mockMvc.perform(post("/api/hotels/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.items[1].id", is(2)));
+    }
+
+    @Test
+    void shouldCreateHotelsInBulkFromNdjson() throws Exception {
+        String ndjson = objectMapper.writeValueAsString(bulkRequest("Hotel Uno")) + "\n"
+                + objectMapper.writeValueAsString(bulkRequest("Hotel Dos")) + "\n"
+                + objectMapper.writeValueAsString(bulkRequest("Hotel Tres")) + "\n";
+        // doAnswer().when(): el mock es un bean compartido entre tests y no queremos invocarlo al configurar
+        doAnswer(invocation -> respondCreatedFor(invocation.getArgument(0))).when(hotelBulkService).createHotels(any());
+
+        mockMvc.perform(post("/api/hotels/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.created", is(3)));
+    }
+
+    @Test
+    void shouldReturn207WhenSomeBulkItemsFail() throws Exception {
+        BulkCreateHotelResponseDto partial = BulkCreateHotelResponseDto.builder()
+                .total(2).created(1).failed(1)
+                .items(List.of(
+                        BulkHotelResultDto.builder().index(0).id(1L).build(),
+                        BulkHotelResultDto.builder().index(1).errors(List.of("name: vacío")).build()))
+                .build();
+        doReturn(partial).when(hotelBulkService).createHotels(any());
+
+        mockMvc.perform(post("/api/hotels/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.items[1].errors[0]", is("name: vacío")));
+    }
+
+    // Simula el servicio: consume el iterador (como haría el real) y asigna ids 1..n.
+    private static BulkCreateHotelResponseDto respondCreatedFor(Iterator<CreateHotelRequestDto> requests) {
+        List<BulkHotelResultDto> items = new ArrayList<>();
+        while (requests.hasNext()) {
+            requests.next();
+            items.add(BulkHotelResultDto.builder().index(items.size()).id((long) items.size() + 1).build());
+        }
+        return BulkCreateHotelResponseDto.builder()
+                .total(items.size()).created(items.size()).failed(0).items(items)
+                .build();
+    }
+
+    private static CreateHotelRequestDto bulkRequest(String name) {
+        return CreateHotelRequestDto.builder()
+                .name(name)
+                .city("Testville")
+                .country("Testland")
+                .address("123 Test Street")
+                .stars(3)
+                .build();
+    }
+
     // 3. Clase interna estática para definir los mocks
     @TestConfiguration
     static class TestConfig {
@@ -105,6 +437,22 @@ public class HotelControllerTest {
             // Se usa Mockito.mock() para crear el mock
             return Mockito.mock(HotelService.class);
         }
+
+        @Bean
+        public HotelBulkService hotelBulkService() {
+            return Mockito.mock(HotelBulkService.class);
+        }
+
+        @Bean
+        public HotelGeoSearchService hotelGeoSearchService() {
+            return Mockito.mock(HotelGeoSearchService.class);
+        }
+
+        // No es un mock: los formatos binarios se prueban de verdad
+        @Bean
+        public WireFormats wireFormats(ObjectMapper objectMapper) {
+            return new WireFormats(objectMapper);
+        }
     }
 
 }
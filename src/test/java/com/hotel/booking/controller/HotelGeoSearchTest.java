@@ -0,0 +1,104 @@
+package com.hotel.booking.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Búsquedas por cercanía de punta a punta: columnas latitude/longitude, índice espacial
+ * y su actualización con cada alta, modificación y borrado.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class HotelGeoSearchTest {
+
+    // Coordenadas en Islandia, lejos de cualquier otro hotel de los tests
+    private static final String HOTEL_JSON = "{\"name\":\"%s\",\"address\":\"Calle 1\",\"city\":\"Reikiavik\","
+            + "\"country\":\"Islandia\",\"stars\":4,\"latitude\":%s,\"longitude\":%s}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldFindHotelsByDistanceAndKeepTheIndexInSync() throws Exception {
+        long harbour = create("Hotel Puerto", 64.1500, -21.9400);
+        long centre = create("Hotel Centro", 64.1466, -21.9426);
+        long airport = create("Hotel Aeropuerto", 63.9850, -22.6056);
+
+        JsonNode nearby = json(get("/api/hotels/nearby?lat=64.1466&lon=-21.9426&limit=3"));
+        assertThat(ids(nearby)).containsExactly(centre, harbour, airport);
+        assertThat(nearby.get(0).get("distanceKm").asDouble()).isZero();
+        assertThat(nearby.get(0).get("hotel").get("latitude").asDouble()).isEqualTo(64.1466);
+        assertThat(nearby.get(2).get("distanceKm").asDouble()).isBetween(30.0, 45.0);
+
+        assertThat(ids(json(get("/api/hotels/nearby?lat=64.1466&lon=-21.9426&radiusKm=5"))))
+                .containsExactly(centre, harbour);
+        assertThat(ids(json(get("/api/hotels/in-box?minLat=64.1&minLon=-22&maxLat=64.2&maxLon=-21.9"))))
+                .containsExactlyInAnyOrder(centre, harbour);
+
+        // El hotel del puerto se muda y el del centro se borra
+        mockMvc.perform(put("/api/hotels/{id}", harbour).contentType(MediaType.APPLICATION_JSON)
+                        .content(HOTEL_JSON.formatted("Hotel Puerto", 63.99, -22.60)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/hotels/{id}", centre)).andExpect(status().isNoContent());
+
+        assertThat(ids(json(get("/api/hotels/nearby?lat=63.9850&lon=-22.6056&radiusKm=5"))))
+                .containsExactly(airport, harbour);
+        assertThat(ids(json(get("/api/hotels/nearby?lat=64.1466&lon=-21.9426&radiusKm=5")))).isEmpty();
+    }
+
+    @Test
+    void shouldRejectInvalidCoordinates() throws Exception {
+        mockMvc.perform(get("/api/hotels/nearby?lat=91&lon=0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/hotels/nearby?lat=40&lon=0&radiusKm=-1")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/hotels/in-box?minLat=41&minLon=0&maxLat=40&maxLon=1")).andExpect(status().isBadRequest());
+
+        // Latitud sin longitud, o fuera de rango, al dar de alta
+        mockMvc.perform(post("/api/hotels").contentType(MediaType.APPLICATION_JSON)
+                        .content(HOTEL_JSON.formatted("Hotel Incompleto", 64.1, null)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/hotels").contentType(MediaType.APPLICATION_JSON)
+                        .content(HOTEL_JSON.formatted("Hotel Imposible", 95, -21.9)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long create(String name, double latitude, double longitude) throws Exception {
+        String body = mockMvc.perform(post("/api/hotels").contentType(MediaType.APPLICATION_JSON)
+                        .content(HOTEL_JSON.formatted(name, latitude, longitude)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private JsonNode json(org.springframework.test.web.servlet.RequestBuilder request) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static List<Long> ids(JsonNode results) {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode result : results) {
+            ids.add(result.get("hotel").get("id").asLong());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,130 @@
+package com.hotel.booking.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.idempotency.IdempotencyStore;
+import com.hotel.booking.idempotency.StoredResponse;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.web.IdempotencyFilter;
+import com.hotel.booking.web.WireFormats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Idempotency-Key de punta a punta con las claves en la base de datos (store=jdbc, el modo multinodo):
+ * el reintento devuelve el mismo hotel y no se inserta otro.
+ */
+@SpringBootTest(properties = "hotel.idempotency.store=jdbc")
+@AutoConfigureMockMvc
+class HotelIdempotencyTest {
+
+    private static final String HOTEL_JSON = "{\"name\":\"Hotel Reintento\",\"address\":\"Calle 1\","
+            + "\"city\":\"Teruel\",\"country\":\"España\",\"stars\":3}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WireFormats wireFormats;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Test
+    void retryShouldReturnTheSameHotelWithoutInsertingAnother() throws Exception {
+        long hotelsBefore = hotelRepository.count();
+
+        JsonNode created = create("retry-1", HOTEL_JSON);
+        MvcResult retry = mockMvc.perform(post("/api/hotels").header(IdempotencyFilter.HEADER, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(HOTEL_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        assertThat(objectMapper.readTree(retry.getResponse().getContentAsString())).isEqualTo(created);
+        assertThat(hotelRepository.count()).isEqualTo(hotelsBefore + 1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT status FROM idempotency_key WHERE request_key LIKE 'POST /api/hotels % retry-1'", Integer.class))
+                .isEqualTo(201);
+
+        // Otra clave es otra petición; la misma clave con otro cuerpo, un error
+        assertThat(create("retry-2", HOTEL_JSON).get("id")).isNotEqualTo(created.get("id"));
+        mockMvc.perform(post("/api/hotels").header(IdempotencyFilter.HEADER, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(HOTEL_JSON.replace("Teruel", "Huesca")))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void retryShouldReplayABinaryResponseByteForByte() throws Exception {
+        MvcResult first = mockMvc.perform(post("/api/hotels").header(IdempotencyFilter.HEADER, "smile-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(HOTEL_JSON).accept(WireFormats.SMILE))
+                .andExpect(status().isCreated())
+                .andReturn();
+        MvcResult retry = mockMvc.perform(post("/api/hotels").header(IdempotencyFilter.HEADER, "smile-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(HOTEL_JSON).accept(WireFormats.SMILE))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        byte[] body = first.getResponse().getContentAsByteArray();
+        assertThat(retry.getResponse().getContentAsByteArray()).isEqualTo(body);
+        assertThat(retry.getResponse().getContentType()).isEqualTo(WireFormats.SMILE_VALUE);
+        assertThat(wireFormats.smile().readValue(body, HotelDto.class).getCity()).isEqualTo("Teruel");
+    }
+
+    @Test
+    void invalidRequestShouldBeExecutedAgainOnRetry() throws Exception {
+        String invalid = HOTEL_JSON.replace("\"stars\":3", "\"stars\":9");
+        mockMvc.perform(post("/api/hotels").header(IdempotencyFilter.HEADER, "invalid-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(invalid))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/hotels").header(IdempotencyFilter.HEADER, "invalid-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(invalid))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void storedHeadersShouldSurviveTheDatabase() {
+        StoredResponse accepted = new StoredResponse("huella", 202, MediaType.APPLICATION_JSON_VALUE,
+                Map.of("Location", "/api/bookings/7", "ETag", "W/\"0\""), "{}".getBytes(StandardCharsets.UTF_8));
+        assertThat(idempotencyStore.tryClaim("POST /api/bookings/async headers-1", "huella")).isTrue();
+        idempotencyStore.complete("POST /api/bookings/async headers-1", accepted);
+
+        StoredResponse stored = idempotencyStore.find("POST /api/bookings/async headers-1").orElseThrow();
+        assertThat(stored.headers()).isEqualTo(accepted.headers());
+        assertThat(stored.body()).isEqualTo(accepted.body());
+    }
+
+    private JsonNode create(String key, String body) throws Exception {
+        String response = mockMvc.perform(post("/api/hotels").header(IdempotencyFilter.HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
@@ -0,0 +1,142 @@
+package com.hotel.booking.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.datasource.ReplicaRoutingDataSource;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Réplicas de lectura con dos H2: el primario de siempre y una "réplica" aparte con el mismo esquema.
+ * Entre ellas no se copia nada: lo que se escribe por la API solo está en el primario hasta que el
+ * test lo copia a mano (replicate), como haría la replicación con retraso.
+ */
+@SpringBootTest(properties = {
+        "hotel.read-replicas.enabled=true",
+        "hotel.read-replicas.instances[0].url=" + HotelReadReplicaTest.REPLICA_URL + ";IFEXISTS=TRUE",
+        "hotel.read-replicas.connection-timeout=250ms",
+        "hotel.read-replicas.down-time=200ms",
+        // Sin caché: cada lectura va a la base de datos y se ve de dónde sale
+        "hotel.cache.enabled=false"})
+@AutoConfigureMockMvc
+class HotelReadReplicaTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:read_replica_test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE";
+
+    private static final String HOTEL_JSON = "{\"name\":\"Hotel Réplica\",\"address\":\"Rúa 1\","
+            + "\"city\":\"Ourense\",\"country\":\"España\",\"stars\":3}";
+
+    static {
+        // La réplica tiene que existir, con el esquema, antes de arrancar la aplicación
+        migrateReplica();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Test
+    void readsShouldGoToTheReplicaExceptRightAfterAWrite() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/hotels").contentType(MediaType.APPLICATION_JSON).content(HOTEL_JSON))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+        Cookie sticky = created.getResponse().getCookie("hotel-primary-until");
+        assertThat(sticky).isNotNull();
+
+        // Sin la cookie lee de la réplica, que aún no lo tiene; con ella, del primario
+        mockMvc.perform(get("/api/hotels/{id}", id)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/hotels/{id}", id).cookie(sticky)).andExpect(status().isOk());
+        assertThat(searchIds(null)).doesNotContain(id);
+        assertThat(searchIds(sticky)).contains(id);
+
+        // Una cookie inventada que pide primario durante una hora no vale
+        Cookie forged = new Cookie("hotel-primary-until", Long.toString(System.currentTimeMillis() + 3_600_000));
+        mockMvc.perform(get("/api/hotels/{id}", id).cookie(forged)).andExpect(status().isNotFound());
+
+        // La replicación llega: ya se lee de la réplica sin cookie
+        long replicaReads = routing.replicaReadCount();
+        replicate(id);
+        mockMvc.perform(get("/api/hotels/{id}", id)).andExpect(status().isOk());
+        assertThat(searchIds(null)).contains(id);
+        assertThat(routing.replicaReadCount()).isGreaterThan(replicaReads);
+    }
+
+    @Test
+    void readsShouldFallBackToThePrimaryWhileTheReplicaIsDown() throws Exception {
+        long id = objectMapper.readTree(mockMvc.perform(post("/api/hotels")
+                        .contentType(MediaType.APPLICATION_JSON).content(HOTEL_JSON))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString()).get("id").asLong();
+        mockMvc.perform(get("/api/hotels/{id}", id)).andExpect(status().isNotFound());
+
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "")) {
+            connection.createStatement().execute("SHUTDOWN");
+        }
+        // Hikari no valida una conexión usada hace menos de 500 ms: pasado ese tiempo, la descarta
+        // y no puede abrir otra (IFEXISTS=TRUE: la base de datos ya no existe)
+        Thread.sleep(600);
+
+        long fallbacks = routing.fallbackReadCount();
+        mockMvc.perform(get("/api/hotels/{id}", id)).andExpect(status().isOk());
+        assertThat(routing.healthyReplicas()).isZero();
+        assertThat(routing.fallbackReadCount()).isGreaterThan(fallbacks);
+
+        // Vuelve la réplica (vacía): pasado down-time se prueba otra vez y se vuelve a leer de ella
+        migrateReplica();
+        Thread.sleep(300);
+        mockMvc.perform(get("/api/hotels/{id}", id)).andExpect(status().isNotFound());
+        assertThat(routing.healthyReplicas()).isEqualTo(1);
+    }
+
+    private List<Long> searchIds(Cookie cookie) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/hotels/search?city=ourense&limit=100");
+        if (cookie != null) {
+            request.cookie(cookie);
+        }
+        JsonNode page = objectMapper.readTree(mockMvc.perform(request).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        return page.get("items").findValuesAsText("id").stream().map(Long::valueOf).toList();
+    }
+
+    // Copia la fila del hotel del primario a la réplica, columna a columna
+    private void replicate(long id) {
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM hotel WHERE id = ?", id);
+        String columns = String.join(", ", row.keySet());
+        String placeholders = String.join(", ", row.keySet().stream().map(column -> "?").toList());
+        new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""))
+                .update("INSERT INTO hotel (" + columns + ") VALUES (" + placeholders + ")", row.values().toArray());
+    }
+
+    private static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration").load().migrate();
+    }
+}
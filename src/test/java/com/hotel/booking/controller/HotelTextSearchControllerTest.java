@@ -0,0 +1,76 @@
+package com.hotel.booking.controller;
+
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.dto.HotelSearchHitDto;
+import com.hotel.booking.dto.TermSuggestionDto;
+import com.hotel.booking.service.HotelTextSearchService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(HotelTextSearchController.class)
+@Import(HotelTextSearchControllerTest.TestConfig.class)
+public class HotelTextSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelTextSearchService hotelTextSearchService;
+
+    @Test
+    void shouldReturnRankedHits() throws Exception {
+        HotelSearchHitDto hit = HotelSearchHitDto.builder()
+                .hotel(HotelDto.builder().id(4L).name("Spa Resort Playa Barcelona").build())
+                .score(7.5f)
+                .build();
+        doReturn(List.of(hit)).when(hotelTextSearchService).search("playa spa barc", null, true);
+
+        mockMvc.perform(get("/api/hotels/text-search")
+                .param("q", "playa spa barc")
+                .param("prefix", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].hotel.id", is(4)))
+                .andExpect(jsonPath("$[0].score", is(7.5)));
+    }
+
+    @Test
+    void shouldReturn400WithoutQuery() throws Exception {
+        mockMvc.perform(get("/api/hotels/text-search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldSuggestTerms() throws Exception {
+        doReturn(List.of(TermSuggestionDto.builder().term("barcelona").hotels(120).build()))
+                .when(hotelTextSearchService).autocomplete("barc", 5);
+
+        mockMvc.perform(get("/api/hotels/autocomplete")
+                .param("prefix", "barc")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].term", is("barcelona")))
+                .andExpect(jsonPath("$[0].hotels", is(120)));
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        public HotelTextSearchService hotelTextSearchService() {
+            return Mockito.mock(HotelTextSearchService.class);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.hotel.booking.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reglas de tarifa de punta a punta: alta y baja de reglas, presupuestos, precio en las consultas
+ * de disponibilidad y en las reservas.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PricingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Clock clock;
+
+    @Test
+    void shouldPriceStaysWithTheHotelRules() throws Exception {
+        long hotelId = createHotel();
+        long roomId = id(json(post("/api/hotels/{id}/rooms", hotelId),
+                "{\"number\":\"101\",\"type\":\"DOUBLE\",\"capacity\":2,\"price\":100.00}"));
+        LocalDate monday = LocalDate.now(clock).plusDays(7).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        String wednesday = monday.plusDays(2).toString();
+
+        createRule(hotelId, "{\"kind\":\"WEEKEND\",\"percent\":20}");
+        long season = id(createRule(hotelId, "{\"kind\":\"SEASON\",\"startDate\":\"" + wednesday
+                + "\",\"endDate\":\"" + monday.plusDays(3) + "\",\"percent\":50,\"roomType\":\"DOUBLE\"}"));
+        createRule(hotelId, "{\"kind\":\"LENGTH_OF_STAY\",\"minNights\":7,\"percent\":10}");
+        assertThat(json(get("/api/hotels/{id}/rate-rules", hotelId), null)).hasSize(3);
+
+        // Lunes, martes y miércoles (temporada): 100 + 100 + 150
+        JsonNode quote = json(quote(hotelId, roomId, monday, monday.plusDays(3)), null);
+        assertThat(quote.get("nights").asInt()).isEqualTo(3);
+        assertThat(quote.get("totalPrice").decimalValue()).isEqualByComparingTo("350.00");
+
+        // Una semana: 4 x 100 + 150 + 2 x 120 (viernes y sábado) = 790, menos el 10% por 7 noches
+        JsonNode week = json(quote(hotelId, roomId, monday, monday.plusDays(7)), null);
+        assertThat(week.get("lengthOfStayDiscount").asInt()).isEqualTo(10);
+        assertThat(week.get("totalPrice").decimalValue()).isEqualByComparingTo("711.00");
+
+        JsonNode available = json(get("/api/availability?hotelId={id}&checkIn={in}&checkOut={out}",
+                hotelId, monday, monday.plusDays(3)), null);
+        assertThat(available.get(0).get("totalPrice").decimalValue()).isEqualByComparingTo("350.00");
+
+        // Sin la temporada, el miércoles vuelve al precio base
+        mockMvc.perform(delete("/api/hotels/{id}/rate-rules/{ruleId}", hotelId, season))
+                .andExpect(status().isNoContent());
+        JsonNode booking = json(post("/api/bookings"), "{\"roomId\":" + roomId + ",\"guestId\":1,\"checkIn\":\""
+                + monday + "\",\"checkOut\":\"" + monday.plusDays(3) + "\"}");
+        assertThat(booking.get("totalPrice").decimalValue()).isEqualByComparingTo("300.00");
+    }
+
+    @Test
+    void shouldRejectInvalidRulesAndQuotes() throws Exception {
+        long hotelId = createHotel();
+        long otherHotelId = createHotel();
+        long roomId = id(json(post("/api/hotels/{id}/rooms", otherHotelId),
+                "{\"number\":\"101\",\"type\":\"SINGLE\",\"capacity\":1,\"price\":80.00}"));
+        LocalDate today = LocalDate.now(clock);
+
+        rejectRule(hotelId, "{\"kind\":\"SEASON\",\"percent\":20}");
+        rejectRule(hotelId, "{\"kind\":\"SEASON\",\"startDate\":\"" + today.plusDays(5)
+                + "\",\"endDate\":\"" + today.plusDays(5) + "\",\"percent\":20}");
+        rejectRule(hotelId, "{\"kind\":\"LENGTH_OF_STAY\",\"minNights\":1,\"percent\":10}");
+        rejectRule(hotelId, "{\"kind\":\"LENGTH_OF_STAY\",\"minNights\":5,\"percent\":-10}");
+        rejectRule(hotelId, "{\"kind\":\"WEEKEND\"}");
+
+        mockMvc.perform(quote(hotelId, roomId, today.plusDays(1), today.plusDays(2))).andExpect(status().isNotFound());
+        mockMvc.perform(quote(otherHotelId, roomId, today.plusDays(2), today.plusDays(1))).andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/hotels/{id}/rate-rules/{ruleId}", hotelId, 999_999)).andExpect(status().isNotFound());
+    }
+
+    private long createHotel() throws Exception {
+        return id(json(post("/api/hotels"), "{\"name\":\"Hotel Tarifas\",\"address\":\"Calle 1\",\"city\":\"Soria\","
+                + "\"country\":\"España\",\"stars\":3}"));
+    }
+
+    private JsonNode createRule(long hotelId, String body) throws Exception {
+        return json(post("/api/hotels/{id}/rate-rules", hotelId), body);
+    }
+
+    private void rejectRule(long hotelId, String body) throws Exception {
+        mockMvc.perform(post("/api/hotels/{id}/rate-rules", hotelId)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static MockHttpServletRequestBuilder quote(long hotelId, long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return get("/api/hotels/{hotelId}/rooms/{roomId}/quote?checkIn={in}&checkOut={out}",
+                hotelId, roomId, checkIn, checkOut);
+    }
+
+    // Con cuerpo, lo envía como JSON; responde 2xx y devuelve el JSON de la respuesta
+    private JsonNode json(MockHttpServletRequestBuilder request, String body) throws Exception {
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(body);
+        }
+        String response = mockMvc.perform(request)
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private static long id(JsonNode node) {
+        return node.get("id").asLong();
+    }
+}
@@ -0,0 +1,168 @@
+package com.hotel.booking.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.dto.CreateReviewRequestDto;
+import com.hotel.booking.dto.HotelRatingDto;
+import com.hotel.booking.service.ReviewService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reseñas de punta a punta: alta y baja, el resumen de cada hotel que se mantiene con ellas y la
+ * búsqueda ordenada por calificación.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReviewControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Test
+    void shouldKeepTheRatingSummaryInStepWithTheReviews() throws Exception {
+        long hotelId = createHotel("Burgos");
+        createReview(hotelId, 5);
+        long four = id(createReview(hotelId, 4));
+        createReview(hotelId, 2);
+
+        JsonNode rating = json(get("/api/hotels/{id}/rating", hotelId), null);
+        assertThat(rating.get("reviewCount").asLong()).isEqualTo(3);
+        assertThat(rating.get("averageRating").asDouble()).isEqualTo(11 / 3.0);
+        assertThat(rating.get("histogram")).extracting(JsonNode::asLong).containsExactly(0L, 1L, 0L, 1L, 1L);
+
+        mockMvc.perform(delete("/api/hotels/{id}/reviews/{reviewId}", hotelId, four)).andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/hotels/{id}/reviews/{reviewId}", hotelId, four)).andExpect(status().isNotFound());
+
+        rating = json(get("/api/hotels/{id}/rating", hotelId), null);
+        assertThat(rating.get("reviewCount").asLong()).isEqualTo(2);
+        assertThat(rating.get("averageRating").asDouble()).isEqualTo(3.5);
+        assertThat(rating.get("histogram")).extracting(JsonNode::asLong).containsExactly(0L, 1L, 0L, 0L, 1L);
+
+        // De la más nueva a la más antigua, por páginas
+        JsonNode newest = json(get("/api/hotels/{id}/reviews?limit=1", hotelId), null);
+        assertThat(newest.get(0).get("rating").asInt()).isEqualTo(2);
+        JsonNode older = json(get("/api/hotels/{id}/reviews?before={before}", hotelId, id(newest.get(0))), null);
+        assertThat(older).extracting(review -> review.get("rating").asInt()).containsExactly(5);
+    }
+
+    @Test
+    void searchByRatingShouldPutTheBestRatedHotelsFirstWithTheirSummaries() throws Exception {
+        long good = createHotel("Albarracín");
+        long best = createHotel("Albarracín");
+        long unrated = createHotel("Albarracín");
+        createReview(good, 4);
+        createReview(good, 3);
+        createReview(best, 5);
+
+        JsonNode page = json(get("/api/hotels/search?city=albarracin&sort=RATING&limit=2"), null);
+        assertThat(page.get("items")).extracting(hotel -> hotel.get("id").asLong())
+                .containsExactly(best, good);
+        assertThat(page.get("ratings").get(String.valueOf(good)).get("averageRating").asDouble()).isEqualTo(3.5);
+
+        JsonNode next = json(get("/api/hotels/search?city=albarracin&sort=RATING&limit=2&cursor={cursor}",
+                page.get("nextCursor").asText()), null);
+        assertThat(next.get("items")).extracting(hotel -> hotel.get("id").asLong()).containsExactly(unrated);
+        assertThat(next.get("ratings").get(String.valueOf(unrated)).get("reviewCount").asLong()).isZero();
+        assertThat(next.get("ratings").get(String.valueOf(unrated)).get("averageRating").isNull()).isTrue();
+        assertThat(next.get("nextCursor").isNull()).isTrue();
+
+        // La búsqueda de siempre (por estrellas) también trae los resúmenes
+        JsonNode byStars = json(get("/api/hotels/search?city=albarracin"), null);
+        assertThat(byStars.get("ratings").get(String.valueOf(best)).get("reviewCount").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentReviewsShouldAllCountInTheSummary() throws Exception {
+        long hotelId = createHotel("Zamora");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                int rating = 1 + i % 5;
+                futures.add(executor.submit(() -> reviewService.createReview(hotelId,
+                        CreateReviewRequestDto.builder().guestId(7L).rating(rating).build())));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        HotelRatingDto rating = reviewService.getRating(hotelId);
+        assertThat(rating.getReviewCount()).isEqualTo(40);
+        assertThat(rating.getAverageRating()).isEqualTo(3.0);
+        assertThat(rating.getHistogram()).containsExactly(8L, 8L, 8L, 8L, 8L);
+    }
+
+    @Test
+    void shouldRejectInvalidReviews() throws Exception {
+        long hotelId = createHotel("Soria");
+        long otherHotelId = createHotel("Soria");
+        long review = id(createReview(hotelId, 3));
+
+        rejectReview(hotelId, "{\"guestId\":1,\"rating\":6}");
+        rejectReview(hotelId, "{\"guestId\":1,\"rating\":0}");
+        rejectReview(hotelId, "{\"rating\":4}");
+        mockMvc.perform(post("/api/hotels/{id}/reviews", 999_999).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"guestId\":1,\"rating\":4}")).andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/hotels/{id}/reviews/{reviewId}", otherHotelId, review))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/hotels/search?sort=WORST")).andExpect(status().isBadRequest());
+    }
+
+    private long createHotel(String city) throws Exception {
+        return id(json(post("/api/hotels"), "{\"name\":\"Hotel Reseñas\",\"address\":\"Calle 1\",\"city\":\""
+                + city + "\",\"country\":\"España\",\"stars\":3}"));
+    }
+
+    private JsonNode createReview(long hotelId, int rating) throws Exception {
+        return json(post("/api/hotels/{id}/reviews", hotelId),
+                "{\"guestId\":42,\"rating\":" + rating + ",\"comment\":\"Muy tranquilo\"}");
+    }
+
+    private void rejectReview(long hotelId, String body) throws Exception {
+        mockMvc.perform(post("/api/hotels/{id}/reviews", hotelId)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Con cuerpo, lo envía como JSON; responde 2xx y devuelve el JSON de la respuesta
+    private JsonNode json(MockHttpServletRequestBuilder request, String body) throws Exception {
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(body);
+        }
+        String response = mockMvc.perform(request)
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private static long id(JsonNode node) {
+        return node.get("id").asLong();
+    }
+}
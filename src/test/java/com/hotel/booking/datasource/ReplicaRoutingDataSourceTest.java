@@ -0,0 +1,89 @@
+package com.hotel.booking.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private final Connection replicaAConnection = mock(Connection.class);
+
+    private final Connection replicaBConnection = mock(Connection.class);
+
+    private final DataSource primary = mock(DataSource.class);
+
+    private final DataSource replicaA = mock(DataSource.class);
+
+    private final DataSource replicaB = mock(DataSource.class);
+
+    private long now = 0;
+
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary,
+            List.of(new ReplicaRoutingDataSource.Replica("a", replicaA), new ReplicaRoutingDataSource.Replica("b", replicaB)),
+            Duration.ofSeconds(10), () -> now);
+
+    @Test
+    void shouldTakeTurnsBetweenReplicas() throws Exception {
+        healthy();
+        assertThat(routing.getConnection()).isSameAs(replicaAConnection);
+        assertThat(routing.getConnection()).isSameAs(replicaBConnection);
+        assertThat(routing.getConnection()).isSameAs(replicaAConnection);
+        assertThat(routing.replicaReadCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReadFromThePrimaryWhilePinned() throws Exception {
+        healthy();
+        boolean previous = ReadYourWrites.pinToPrimary();
+        try {
+            assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        } finally {
+            ReadYourWrites.restore(previous);
+        }
+        assertThat(routing.getConnection()).isNotSameAs(primaryConnection);
+        assertThat(routing.pinnedReadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSkipADownReplicaAndFallBackToThePrimaryWhenAllAreDown() throws Exception {
+        healthy();
+        when(replicaA.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // A falla: se marca caída y esa misma lectura va a B
+        assertThat(routing.getConnection()).isSameAs(replicaBConnection);
+        assertThat(routing.healthyReplicas()).isEqualTo(1);
+        assertThat(routing.getConnection()).isSameAs(replicaBConnection);
+
+        when(replicaB.getConnection()).thenThrow(new SQLException("Connection refused"));
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routing.healthyReplicas()).isZero();
+        assertThat(routing.fallbackReadCount()).isEqualTo(1);
+
+        // Antes de downTime ni se prueban
+        now += Duration.ofSeconds(5).toNanos();
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        // Pasado downTime se vuelven a probar: A ya responde
+        doReturn(replicaAConnection).when(replicaA).getConnection();
+        now += Duration.ofSeconds(6).toNanos();
+        assertThat(routing.getConnection()).isSameAs(replicaAConnection);
+        assertThat(routing.healthyReplicas()).isEqualTo(1);
+    }
+
+    private void healthy() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaA.getConnection()).thenReturn(replicaAConnection);
+        when(replicaB.getConnection()).thenReturn(replicaBConnection);
+    }
+}
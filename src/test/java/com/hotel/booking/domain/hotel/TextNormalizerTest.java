@@ -0,0 +1,21 @@
+package com.hotel.booking.domain.hotel;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TextNormalizerTest {
+
+    @Test
+    void shouldIgnoreCaseAccentsAndSurroundingSpaces() {
+        assertThat(TextNormalizer.fold("  Cádiz ")).isEqualTo("cadiz");
+        assertThat(TextNormalizer.fold("SÃO PAULO")).isEqualTo("sao paulo");
+        assertThat(TextNormalizer.fold("Logroño")).isEqualTo("logrono");
+        assertThat(TextNormalizer.fold("Évora")).isEqualTo(TextNormalizer.fold("evora"));
+    }
+
+    @Test
+    void shouldKeepNull() {
+        assertThat(TextNormalizer.fold(null)).isNull();
+    }
+}
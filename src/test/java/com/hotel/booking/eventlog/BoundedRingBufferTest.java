@@ -0,0 +1,83 @@
+package com.hotel.booking.eventlog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedRingBufferTest {
+
+    @Test
+    void shouldRoundCapacityUpToAPowerOfTwo() {
+        assertThat(new BoundedRingBuffer<Integer>(2).capacity()).isEqualTo(2);
+        assertThat(new BoundedRingBuffer<Integer>(5).capacity()).isEqualTo(8);
+        assertThat(new BoundedRingBuffer<Integer>(8192).capacity()).isEqualTo(8192);
+    }
+
+    @Test
+    void shouldBeFifoAndRejectWhenFull() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(99)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        assertThat(buffer.poll()).isZero();
+        assertThat(buffer.offer(4)).isTrue(); // el hueco liberado vuelve a usarse
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 10)).isEqualTo(4);
+        assertThat(drained).containsExactly(1, 2, 3, 4);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldDeliverEveryElementOnceWithConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        BoundedRingBuffer<Long> buffer = new BoundedRingBuffer<>(64); // pequeña: los productores la llenan a menudo
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                futures.add(executor.submit(() -> {
+                    for (long i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(producer << 32 | i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }));
+            }
+
+            // Consumidor único: cada productor debe llegar completo y en su orden
+            long[] nextExpected = new long[producers];
+            int received = 0;
+            while (received < producers * perProducer) {
+                Long value = buffer.poll();
+                if (value == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                int producer = (int) (value >>> 32);
+                assertThat(value & 0xFFFF_FFFFL).isEqualTo(nextExpected[producer]);
+                nextExpected[producer]++;
+                received++;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertThat(nextExpected).containsOnly(perProducer);
+            assertThat(buffer.isEmpty()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
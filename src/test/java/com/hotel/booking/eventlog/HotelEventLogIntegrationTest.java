@@ -0,0 +1,65 @@
+package com.hotel.booking.eventlog;
+
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.domain.hotel.HotelEvent;
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.repository.HotelEventRepository;
+import com.hotel.booking.service.HotelService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Alta, modificación y borrado de un hotel llegan a "hotel_event", en orden y con su versión.
+ */
+@SpringBootTest
+class HotelEventLogIntegrationTest {
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private HotelEventRepository hotelEventRepository;
+
+    @Test
+    void shouldRecordEveryChangeOfAHotel() throws Exception {
+        long lastEventId = lastEventId();
+        CreateHotelRequestDto request = CreateHotelRequestDto.builder()
+                .name("Hotel Auditado").address("Calle 1").city("Cádiz").country("España").stars(3).build();
+
+        HotelDto created = hotelService.createHotel(request);
+        hotelService.updateHotel(created.getId(), CreateHotelRequestDto.builder()
+                .name("Hotel Auditado").address("Calle 1").city("Cádiz").country("España").stars(4).build());
+        hotelService.deleteHotel(created.getId());
+
+        List<HotelEvent> events = waitForEvents(created.getId(), lastEventId, 3);
+        assertThat(events).extracting(HotelEvent::getType).containsExactly(
+                HotelChangedEvent.Type.CREATED, HotelChangedEvent.Type.UPDATED, HotelChangedEvent.Type.DELETED);
+        assertThat(events).extracting(HotelEvent::getHotelVersion).containsExactly(0L, 1L, null);
+        assertThat(events.get(1).getPayload()).contains("\"stars\":4");
+    }
+
+    private long lastEventId() {
+        List<HotelEvent> all = hotelEventRepository.findAfter(0, Integer.MAX_VALUE);
+        return all.isEmpty() ? 0 : all.get(all.size() - 1).getId();
+    }
+
+    // El escritor va en segundo plano: esperamos (como mucho 5 s) a que aparezcan
+    private List<HotelEvent> waitForEvents(long hotelId, long afterId, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        List<HotelEvent> events;
+        do {
+            Thread.sleep(20);
+            events = hotelEventRepository.findAfter(afterId, 1_000).stream()
+                    .filter(event -> event.getHotelId() == hotelId)
+                    .toList();
+        } while (events.size() < expected && System.nanoTime() < deadline);
+        return events;
+    }
+}
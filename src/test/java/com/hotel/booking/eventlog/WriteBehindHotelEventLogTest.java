@@ -0,0 +1,184 @@
+package com.hotel.booking.eventlog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.config.HotelEventLogProperties;
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.domain.hotel.HotelEvent;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.repository.HotelEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class WriteBehindHotelEventLogTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-01T10:00:00Z"), ZoneOffset.UTC);
+
+    private final HotelEventRepository repository = mock(HotelEventRepository.class);
+
+    // Cada llamada a insertAll() del repositorio, es decir, cada batch
+    private final List<List<HotelEvent>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private WriteBehindHotelEventLog eventLog;
+
+    @AfterEach
+    void tearDown() {
+        if (eventLog != null && eventLog.isRunning()) {
+            eventLog.stop();
+        }
+    }
+
+    @Test
+    void shouldWriteEventsInBatchesInTheBackground() {
+        recordBatches();
+        eventLog = start(properties(1024, 100, Duration.ofMillis(20)));
+
+        for (long id = 1; id <= 250; id++) {
+            eventLog.append(HotelChangedEvent.created(hotel(id)));
+        }
+        eventLog.append(HotelChangedEvent.deleted(7L));
+
+        waitUntil(() -> written().size() == 251);
+        assertThat(batches).allSatisfy(batch -> assertThat(batch.size()).isLessThanOrEqualTo(100));
+        assertThat(batches.size()).isLessThan(251);
+
+        HotelEvent first = written().get(0);
+        assertThat(first.getHotelId()).isEqualTo(1L);
+        assertThat(first.getType()).isEqualTo(HotelChangedEvent.Type.CREATED);
+        assertThat(first.getHotelVersion()).isEqualTo(0L);
+        assertThat(first.getOccurredAt()).isEqualTo(CLOCK.instant());
+        assertThat(first.getPayload()).contains("\"name\":\"Hotel 1\"");
+        HotelEvent deleted = written().get(250);
+        assertThat(deleted.getType()).isEqualTo(HotelChangedEvent.Type.DELETED);
+        assertThat(deleted.getPayload()).isNull();
+    }
+
+    @Test
+    void stopShouldFlushPendingEvents() {
+        recordBatches();
+        // flushInterval largo: sin la parada, los eventos seguirían en el buffer
+        eventLog = start(properties(1024, 500, Duration.ofSeconds(30)));
+        for (long id = 1; id <= 10; id++) {
+            eventLog.append(HotelChangedEvent.created(hotel(id)));
+        }
+
+        eventLog.stop();
+
+        assertThat(written()).hasSize(10);
+        assertThat(eventLog.pending()).isZero();
+    }
+
+    @Test
+    void fullBufferShouldMakeTheCallerWriteItsOwnEvent() throws Exception {
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        doAnswer(invocation -> {
+            // El escritor se queda atascado en su primer batch (base de datos lenta)
+            if (Thread.currentThread() != caller && writerBlocked.getCount() > 0) {
+                writerBlocked.countDown();
+                releaseWriter.await();
+            }
+            batches.add(List.copyOf(invocation.getArgument(0)));
+            return null;
+        }).when(repository).insertAll(anyList());
+        eventLog = start(properties(4, 1, Duration.ofMillis(1)));
+
+        eventLog.append(HotelChangedEvent.created(hotel(1)));
+        assertThat(writerBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long id = 2; id <= 6; id++) {
+            eventLog.append(HotelChangedEvent.created(hotel(id))); // 4 caben en el buffer
+        }
+
+        // El 6º no cabía: lo ha escrito este mismo hilo, sin esperar al escritor
+        assertThat(written()).extracting(HotelEvent::getHotelId).containsExactly(6L);
+        releaseWriter.countDown();
+        waitUntil(() -> written().size() == 6);
+    }
+
+    @Test
+    void appendsRacingStopShouldAllBeWritten() throws Exception {
+        recordBatches();
+        eventLog = start(properties(1 << 16, 100, Duration.ofMillis(1)));
+        int threads = 4;
+        int perThread = 5_000;
+        CountDownLatch started = new CountDownLatch(threads);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long firstId = (long) t * perThread;
+            Thread producer = new Thread(() -> {
+                started.countDown();
+                for (long id = firstId; id < firstId + perThread; id++) {
+                    eventLog.append(HotelChangedEvent.created(hotel(id)));
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+
+        // Paramos con los productores aún publicando: ninguno de sus eventos puede quedarse en el buffer
+        started.await();
+        eventLog.stop();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertThat(written()).hasSize(threads * perThread);
+        assertThat(eventLog.pending()).isZero();
+    }
+
+    private void recordBatches() {
+        doAnswer(invocation -> {
+            batches.add(List.copyOf(invocation.getArgument(0)));
+            return null;
+        }).when(repository).insertAll(anyList());
+    }
+
+    private WriteBehindHotelEventLog start(HotelEventLogProperties properties) {
+        WriteBehindHotelEventLog log = new WriteBehindHotelEventLog(repository, new ObjectMapper(), CLOCK, properties);
+        log.start();
+        return log;
+    }
+
+    private List<HotelEvent> written() {
+        synchronized (batches) {
+            return batches.stream().flatMap(List::stream).toList();
+        }
+    }
+
+    private static HotelEventLogProperties properties(int capacity, int batchSize, Duration flushInterval) {
+        HotelEventLogProperties properties = new HotelEventLogProperties();
+        properties.setCapacity(capacity);
+        properties.setBatchSize(batchSize);
+        properties.setFlushInterval(flushInterval);
+        properties.setOfferTimeout(Duration.ofMillis(20));
+        return properties;
+    }
+
+    private static HotelDto hotel(long id) {
+        return HotelDto.builder().id(id).name("Hotel " + id).city("Sevilla").version(0L).build();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tiempo de espera agotado").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
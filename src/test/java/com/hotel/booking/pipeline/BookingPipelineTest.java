@@ -0,0 +1,406 @@
+package com.hotel.booking.pipeline;
+
+import com.hotel.booking.availability.RoomAvailabilityIndex;
+import com.hotel.booking.domain.booking.Booking;
+import com.hotel.booking.domain.booking.BookingStage;
+import com.hotel.booking.domain.booking.BookingStatus;
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.payment.Payment;
+import com.hotel.booking.domain.payment.PaymentMethod;
+import com.hotel.booking.domain.payment.PaymentStatus;
+import com.hotel.booking.domain.room.RoomType;
+import com.hotel.booking.dto.BookingDto;
+import com.hotel.booking.dto.CreateBookingRequestDto;
+import com.hotel.booking.dto.CreateRoomRequestDto;
+import com.hotel.booking.payment.PaymentAuthorization;
+import com.hotel.booking.payment.PaymentProvider;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.repository.PaymentRepository;
+import com.hotel.booking.service.AsyncBookingService;
+import com.hotel.booking.service.BookingService;
+import com.hotel.booking.service.RoomService;
+import com.hotel.booking.web.IdempotencyFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reservas asíncronas de principio a fin contra H2 (base de datos propia), con un proveedor de
+ * pagos de prueba que aprueba, rechaza o se queda colgado según el test.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking_pipeline_test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "hotel.booking-pipeline.max-in-flight=4",
+        "hotel.booking-pipeline.hold-timeout=2s",
+        "hotel.booking-pipeline.retry-delay=50ms"})
+@AutoConfigureMockMvc
+@Import(BookingPipelineTest.TestConfig.class)
+public class BookingPipelineTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingPipeline bookingPipeline;
+
+    @Autowired
+    private AsyncBookingService asyncBookingService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private ScriptedPaymentProvider paymentProvider;
+
+    @Autowired
+    private BlockingNotifier notifier;
+
+    @Autowired
+    private Clock clock;
+
+    private Long hotelId;
+
+    private Long roomId;
+
+    private LocalDate checkIn;
+
+    @BeforeEach
+    void setUp() {
+        hotelId = hotelRepository.insertAll(List.of(Hotel.builder()
+                .name("Hotel Asíncrono").address("Calle 2").city("Lugo").country("España").stars(3)
+                .build())).get(0);
+        roomId = roomService.createRoom(hotelId, CreateRoomRequestDto.builder()
+                .number("201").type(RoomType.DOUBLE).capacity(2).price(new BigDecimal("90.00"))
+                .build()).getId();
+        checkIn = LocalDate.now(clock).plusDays(20);
+        paymentProvider.approveAll();
+        notifier.notified.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentProvider.unblock();
+        notifier.unblock();
+        waitUntil(() -> bookingPipeline.inFlight() == 0);
+        hotelRepository.deleteById(hotelId); // borra en cascada habitaciones, reservas, noches y pagos
+    }
+
+    @Test
+    void asyncBooking_shouldBeAcceptedAndConfirmedInTheBackground() throws Exception {
+        String location = mockMvc.perform(post("/api/bookings/async").contentType(MediaType.APPLICATION_JSON).content(body()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/api/bookings/")))
+                .andExpect(jsonPath("$.status", is("PENDING")))
+                .andReturn().getResponse().getHeader("Location");
+
+        Booking booking = awaitFinished(Long.parseLong(location.substring("/api/bookings/".length())));
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        assertThat(booking.getTotalPrice()).isEqualByComparingTo("270.00");
+        assertThat(booking.getConfirmedAt()).isAfterOrEqualTo(booking.getHeldAt());
+        assertThat(payment(booking).getStatus()).isEqualTo(PaymentStatus.AUTHORIZED);
+        assertThat(payment(booking).getProviderReference()).isEqualTo("ref-payment-" + payment(booking).getId());
+        assertThat(bookingRepository.findBookedNights(roomId, checkIn, checkIn.plusDays(3))).hasSize(3);
+        assertThat(availabilityIndex.isFree(roomId, checkIn, checkIn.plusDays(3))).isFalse();
+    }
+
+    @Test
+    void asyncRetryWithTheSameKey_shouldReplayTheLocation() throws Exception {
+        String location = mockMvc.perform(post("/api/bookings/async").header(IdempotencyFilter.HEADER, "async-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body()))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+
+        mockMvc.perform(post("/api/bookings/async").header(IdempotencyFilter.HEADER, "async-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(header().string("Location", location));
+        awaitFinished(Long.parseLong(location.substring("/api/bookings/".length())));
+    }
+
+    @Test
+    void declinedPayment_shouldReleaseTheNights() {
+        paymentProvider.behave(key -> PaymentAuthorization.declined("Fondos insuficientes"));
+
+        BookingDto accepted = bookingPipeline.submit(request());
+
+        Booking booking = awaitFinished(accepted.getId());
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.PAYMENT_FAILED);
+        assertThat(payment(booking).getStatus()).isEqualTo(PaymentStatus.DECLINED);
+        assertThat(bookingRepository.findBookedNights(roomId, checkIn, checkIn.plusDays(3))).isEmpty();
+        assertThat(availabilityIndex.isFree(roomId, checkIn, checkIn.plusDays(3))).isTrue();
+    }
+
+    @Test
+    void takenNights_shouldBeRejected() {
+        bookingService.createBooking(request());
+
+        BookingDto accepted = bookingPipeline.submit(request());
+
+        assertThat(awaitFinished(accepted.getId()).getStatus()).isEqualTo(BookingStatus.REJECTED);
+        assertThat(paymentProvider.authorized).isEmpty(); // sin noches no se llega a cobrar
+    }
+
+    @Test
+    void holdWithoutPayment_shouldExpireAndVoidALateAuthorization() {
+        paymentProvider.block();
+
+        BookingDto accepted = bookingPipeline.submit(request());
+
+        // El índice se marca justo después de guardar HELD: esperamos a las dos cosas
+        waitUntil(() -> bookingRepository.findById(accepted.getId()).orElseThrow().getStatus() == BookingStatus.HELD
+                && !availabilityIndex.isFree(roomId, checkIn, checkIn.plusDays(3)));
+
+        Booking booking = awaitFinished(accepted.getId());
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.EXPIRED);
+        assertThat(payment(booking).getStatus()).isEqualTo(PaymentStatus.VOIDED);
+        assertThat(availabilityIndex.isFree(roomId, checkIn, checkIn.plusDays(3))).isTrue();
+
+        // El proveedor responde tarde: la autorización se anula y la reserva sigue caducada
+        paymentProvider.unblock();
+        waitUntil(() -> bookingPipeline.inFlight() == 0);
+        assertThat(bookingRepository.findById(accepted.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.EXPIRED);
+        assertThat(paymentProvider.voided).contains("payment-" + payment(booking).getId());
+    }
+
+    @Test
+    void cancelWhileNotifying_shouldStayCancelled() {
+        notifier.block();
+
+        BookingDto accepted = bookingPipeline.submit(request());
+        // CONFIRMED y en NOTIFY: el aviso ya ha leído la reserva y está a medias
+        waitUntil(() -> notifier.notified.contains(accepted.getId()));
+
+        assertThat(bookingService.cancelBooking(accepted.getId()).getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        notifier.unblock();
+
+        // El final de NOTIFY solo borra la etapa: no vuelve a poner CONFIRMED una reserva sin noches
+        Booking booking = awaitFinished(accepted.getId());
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        assertThat(bookingRepository.findBookedNights(roomId, checkIn, checkIn.plusDays(3))).isEmpty();
+        assertThat(availabilityIndex.isFree(roomId, checkIn, checkIn.plusDays(3))).isTrue();
+    }
+
+    @Test
+    void fullPipeline_shouldAnswer503() throws Exception {
+        paymentProvider.block();
+        for (int i = 0; i < 4; i++) {
+            bookingPipeline.submit(request(checkIn.plusDays(5L * i)));
+        }
+
+        mockMvc.perform(post("/api/bookings/async").contentType(MediaType.APPLICATION_JSON).content(body()))
+                .andExpect(status().isServiceUnavailable());
+        assertThat(bookingPipeline.inFlight()).isEqualTo(4);
+    }
+
+    @Test
+    void unfinishedBookings_shouldBeResumedOnRecovery() {
+        // Guardada y sin encolar: como si el proceso hubiera muerto justo después de aceptarla
+        BookingDto pending = asyncBookingService.requestBooking(request());
+        assertThat(bookingRepository.findById(pending.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.PENDING);
+
+        bookingPipeline.recover();
+
+        assertThat(awaitFinished(pending.getId()).getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void recoveredAfterItsCheckIn_shouldExpire() {
+        // Retomada tras una parada de días: la entrada ya ha quedado por detrás de la ventana del índice
+        Booking stale = moveDates(asyncBookingService.requestBooking(request()),
+                availabilityIndex.getFirstNight().minusDays(3), availabilityIndex.getFirstNight().minusDays(1));
+
+        bookingPipeline.recover();
+
+        assertThat(awaitFinished(stale.getId()).getStatus()).isEqualTo(BookingStatus.EXPIRED);
+        waitUntil(() -> bookingPipeline.inFlight() == 0);
+    }
+
+    @Test
+    void aStageThatCannotSucceed_shouldGiveItsPermitBack() {
+        // Salida más allá del horizonte: isFree lanza IllegalArgumentException en cada intento
+        Booking broken = moveDates(asyncBookingService.requestBooking(request()),
+                checkIn, availabilityIndex.getLastCheckOut().plusDays(5));
+
+        bookingPipeline.recover();
+
+        waitUntil(() -> bookingPipeline.inFlight() == 0);
+        assertThat(bookingRepository.findById(broken.getId()).orElseThrow().getStage()).isEqualTo(BookingStage.RESERVE);
+    }
+
+    private Booking moveDates(BookingDto booking, LocalDate from, LocalDate to) {
+        Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+        stored.setCheckIn(from);
+        stored.setCheckOut(to);
+        return bookingRepository.save(stored);
+    }
+
+    private CreateBookingRequestDto request() {
+        return request(checkIn);
+    }
+
+    private CreateBookingRequestDto request(LocalDate from) {
+        return CreateBookingRequestDto.builder().roomId(roomId).guestId(5L)
+                .checkIn(from).checkOut(from.plusDays(3)).paymentMethod(PaymentMethod.CARD).build();
+    }
+
+    private String body() {
+        return "{\"roomId\": " + roomId + ", \"guestId\": 5, \"checkIn\": \"" + checkIn
+                + "\", \"checkOut\": \"" + checkIn.plusDays(3) + "\"}";
+    }
+
+    // Espera a que la reserva no tenga etapas pendientes
+    private Booking awaitFinished(long bookingId) {
+        waitUntil(() -> bookingRepository.findById(bookingId).orElseThrow().getStage() == null);
+        return bookingRepository.findById(bookingId).orElseThrow();
+    }
+
+    private Payment payment(Booking booking) {
+        return paymentRepository.findFirstByBookingIdOrderByIdDesc(booking.getId()).orElseThrow();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("timeout esperando la condición").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    // Aprueba al momento, rechaza o se queda esperando hasta unblock(), según el test
+    static class ScriptedPaymentProvider implements PaymentProvider {
+
+        final Set<String> authorized = ConcurrentHashMap.newKeySet();
+
+        final Set<String> voided = ConcurrentHashMap.newKeySet();
+
+        private volatile Function<String, PaymentAuthorization> behaviour;
+
+        private volatile CountDownLatch blocked = new CountDownLatch(0);
+
+        void approveAll() {
+            authorized.clear();
+            voided.clear();
+            behave(key -> PaymentAuthorization.approved("ref-" + key));
+        }
+
+        void behave(Function<String, PaymentAuthorization> behaviour) {
+            this.behaviour = behaviour;
+        }
+
+        void block() {
+            blocked = new CountDownLatch(1);
+        }
+
+        void unblock() {
+            blocked.countDown();
+        }
+
+        @Override
+        public PaymentAuthorization authorize(String paymentKey, BigDecimal amount, PaymentMethod method) {
+            authorized.add(paymentKey);
+            try {
+                blocked.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return behaviour.apply(paymentKey);
+        }
+
+        @Override
+        public void voidAuthorization(String paymentKey) {
+            voided.add(paymentKey);
+        }
+    }
+
+    // Apunta las reservas avisadas y, si se le pide, se queda esperando hasta unblock()
+    static class BlockingNotifier implements BookingNotifier {
+
+        final Set<Long> notified = ConcurrentHashMap.newKeySet();
+
+        private volatile CountDownLatch blocked = new CountDownLatch(0);
+
+        void block() {
+            blocked = new CountDownLatch(1);
+        }
+
+        void unblock() {
+            blocked.countDown();
+        }
+
+        @Override
+        public void bookingConfirmed(BookingDto booking) {
+            notified.add(booking.getId());
+            try {
+                blocked.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public BlockingNotifier blockingNotifier() {
+            return new BlockingNotifier();
+        }
+
+        @Bean
+        @Primary
+        public ScriptedPaymentProvider scriptedPaymentProvider() {
+            return new ScriptedPaymentProvider();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.hotel.booking.pricing;
+
+import com.hotel.booking.domain.pricing.RateRule;
+import com.hotel.booking.domain.pricing.RateRuleKind;
+import com.hotel.booking.domain.room.RoomType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateCalendarIndexTest {
+
+    // Jueves: day(1) es viernes y day(2) sábado
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 1);
+
+    private static final BigDecimal PRICE = new BigDecimal("100.00");
+
+    private final RateCalendarIndex index = new RateCalendarIndex(TODAY, 365);
+
+    @Test
+    void hotelWithoutRulesShouldPayTheBasePricePerNight() {
+        assertThat(index.totalPrice(1, RoomType.DOUBLE, PRICE, day(0), day(3))).isEqualByComparingTo("300.00");
+    }
+
+    @Test
+    void seasonShouldApplyOnlyToItsNights() {
+        index.update(1, List.of(season(1, null, day(10), day(20), 50)));
+
+        assertThat(index.totalPrice(1, RoomType.DOUBLE, PRICE, day(5), day(10))).isEqualByComparingTo("500.00");
+        assertThat(index.totalPrice(1, RoomType.DOUBLE, PRICE, day(9), day(11))).isEqualByComparingTo("250.00");
+        assertThat(index.totalPrice(1, RoomType.DOUBLE, PRICE, day(19), day(21))).isEqualByComparingTo("250.00");
+    }
+
+    @Test
+    void weekendShouldApplyToFridayAndSaturdayNights() {
+        index.update(1, List.of(rule(1, RateRuleKind.WEEKEND, RoomType.SUITE, 20)));
+
+        // Del jueves al lunes: jueves 100, viernes 120, sábado 120, domingo 100
+        assertThat(index.totalPrice(1, RoomType.SUITE, PRICE, day(0), day(4))).isEqualByComparingTo("440.00");
+        assertThat(index.totalPrice(1, RoomType.DOUBLE, PRICE, day(0), day(4))).isEqualByComparingTo("400.00");
+    }
+
+    @Test
+    void lengthOfStayShouldTakeTheBestTierThatApplies() {
+        index.update(1, List.of(lengthOfStay(1, 3, 10), lengthOfStay(2, 7, 25)));
+
+        assertThat(index.lengthOfStayDiscount(1, RoomType.DOUBLE, 2)).isZero();
+        assertThat(index.lengthOfStayDiscount(1, RoomType.DOUBLE, 3)).isEqualTo(10);
+        assertThat(index.lengthOfStayDiscount(1, RoomType.DOUBLE, 10)).isEqualTo(25);
+        assertThat(index.totalPrice(1, RoomType.DOUBLE, PRICE, day(0), day(4))).isEqualByComparingTo("360.00");
+    }
+
+    @Test
+    void nightsShouldNeverCostLessThanZero() {
+        index.update(1, List.of(season(1, null, day(0), day(10), -80), season(2, null, day(5), day(10), -80)));
+
+        assertThat(index.totalPrice(1, RoomType.DOUBLE, PRICE, day(4), day(6))).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    void removingAllRulesShouldRestoreTheBasePrice() {
+        index.update(1, List.of(season(1, null, day(0), day(10), 50)));
+        index.update(1, List.of());
+
+        assertThat(index.hotelCount()).isZero();
+        assertThat(index.totalPrice(1, RoomType.DOUBLE, PRICE, day(0), day(2))).isEqualByComparingTo("200.00");
+    }
+
+    @Test
+    void shouldRoundToTheCent() {
+        index.update(1, List.of(season(1, null, day(0), day(1), 33)));
+
+        assertThat(index.totalPrice(1, RoomType.DOUBLE, new BigDecimal("9.99"), day(0), day(1)))
+                .isEqualByComparingTo("13.29"); // 9.99 * 1.33 = 13.2867
+    }
+
+    @Test
+    void incrementalUpdatesShouldMatchPricingNightByNight() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<RateRule> rules = new ArrayList<>();
+        long nextId = 1;
+        for (int change = 0; change < 300; change++) {
+            if (!rules.isEmpty() && random.nextInt(3) == 0) {
+                rules.remove(random.nextInt(rules.size()));
+            } else {
+                rules.add(randomRule(random, nextId++));
+            }
+            index.update(1, rules);
+
+            for (int quote = 0; quote < 20; quote++) {
+                int from = random.nextInt(360);
+                int to = from + 1 + random.nextInt(365 - from);
+                RoomType type = RoomType.values()[random.nextInt(RoomType.values().length)];
+                assertThat(index.totalPrice(1, type, PRICE, day(from), day(to)))
+                        .as("cambio %d, %s del día %d al %d", change, type, from, to)
+                        .isEqualByComparingTo(nightByNight(rules, type, from, to));
+            }
+        }
+    }
+
+    @Test
+    void rollToShouldPriceTheNewNightsWithTheirRules() {
+        List<RateRule> rules = new ArrayList<>(List.of(
+                rule(1, RateRuleKind.WEEKEND, null, 20),
+                season(2, null, day(20), day(40), -30),
+                season(3, RoomType.SUITE, day(360), day(400), 50)));
+        index.update(1, rules);
+
+        index.rollTo(day(45));
+
+        assertThat(index.getFirstNight()).isEqualTo(day(45));
+        // Noches que antes quedaban fuera del horizonte: con sus temporadas y sus fines de semana
+        assertThat(index.totalPrice(1, RoomType.SUITE, PRICE, day(358), day(405)))
+                .isEqualByComparingTo(nightByNight(rules, RoomType.SUITE, 358, 405));
+        assertThat(index.totalPrice(1, RoomType.DOUBLE, PRICE, day(45), day(60)))
+                .isEqualByComparingTo(nightByNight(rules, RoomType.DOUBLE, 45, 60));
+        assertThat(index.totalPrice(2, RoomType.DOUBLE, PRICE, day(400), day(410))).isEqualByComparingTo("1000.00");
+
+        // Los cambios incrementales siguen funcionando sobre el calendario nuevo
+        rules.add(season(4, null, day(390), day(395), 100));
+        index.update(1, rules);
+        assertThat(index.totalPrice(1, RoomType.SUITE, PRICE, day(385), day(410)))
+                .isEqualByComparingTo(nightByNight(rules, RoomType.SUITE, 385, 410));
+    }
+
+    // Referencia: recorre las noches una a una y, para cada una, todas las reglas
+    private static BigDecimal nightByNight(List<RateRule> rules, RoomType type, int from, int to) {
+        long factorSum = 0;
+        for (int i = from; i < to; i++) {
+            LocalDate night = day(i);
+            int factor = 100;
+            for (RateRule rule : rules) {
+                boolean applies = rule.getRoomType() == null || rule.getRoomType() == type;
+                if (applies && rule.getKind() == RateRuleKind.SEASON
+                        && !night.isBefore(rule.getStartDate()) && night.isBefore(rule.getEndDate())) {
+                    factor += rule.getPercent();
+                }
+                DayOfWeek dow = night.getDayOfWeek();
+                if (applies && rule.getKind() == RateRuleKind.WEEKEND
+                        && (dow == DayOfWeek.FRIDAY || dow == DayOfWeek.SATURDAY)) {
+                    factor += rule.getPercent();
+                }
+            }
+            factorSum += Math.max(0, factor);
+        }
+        int discount = 0;
+        for (RateRule rule : rules) {
+            if (rule.getKind() == RateRuleKind.LENGTH_OF_STAY && to - from >= rule.getMinNights()
+                    && (rule.getRoomType() == null || rule.getRoomType() == type)) {
+                discount = Math.max(discount, rule.getPercent());
+            }
+        }
+        return PRICE.multiply(BigDecimal.valueOf(factorSum * (100 - discount)))
+                .movePointLeft(4).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static RateRule randomRule(SplittableRandom random, long id) {
+        RoomType type = random.nextBoolean() ? null : RoomType.values()[random.nextInt(RoomType.values().length)];
+        return switch (random.nextInt(6)) {
+            case 0 -> rule(id, RateRuleKind.WEEKEND, type, random.nextInt(-30, 50));
+            case 1 -> lengthOfStay(id, 2 + random.nextInt(14), random.nextInt(40));
+            default -> {
+                // Algunas temporadas empiezan antes de hoy o terminan después del horizonte
+                int start = random.nextInt(-20, 380);
+                yield season(id, type, day(start), day(start + 1 + random.nextInt(90)), random.nextInt(-60, 120));
+            }
+        };
+    }
+
+    private static RateRule season(long id, RoomType type, LocalDate start, LocalDate end, int percent) {
+        return RateRule.builder().id(id).hotelId(1L).roomType(type).kind(RateRuleKind.SEASON)
+                .startDate(start).endDate(end).percent(percent).build();
+    }
+
+    private static RateRule lengthOfStay(long id, int minNights, int percent) {
+        return RateRule.builder().id(id).hotelId(1L).kind(RateRuleKind.LENGTH_OF_STAY)
+                .minNights(minNights).percent(percent).build();
+    }
+
+    private static RateRule rule(long id, RateRuleKind kind, RoomType type, int percent) {
+        return RateRule.builder().id(id).hotelId(1L).roomType(type).kind(kind).percent(percent).build();
+    }
+
+    private static LocalDate day(int offset) {
+        return TODAY.plusDays(offset);
+    }
+}
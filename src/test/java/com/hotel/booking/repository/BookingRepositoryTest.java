@@ -0,0 +1,87 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.booking.Booking;
+import com.hotel.booking.domain.booking.BookingStatus;
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.room.Room;
+import com.hotel.booking.domain.room.RoomType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Test de integración contra H2: mapeo de habitaciones y reservas, carga en streaming y borrado en cascada.
+@SpringBootTest
+@Transactional
+public class BookingRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Long hotelId;
+
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        hotelId = hotelRepository.insertAll(List.of(Hotel.builder()
+                .name("Hotel Sol").address("Calle Mayor 1").city("Madrid").country("España").stars(4)
+                .build())).get(0);
+        room = roomRepository.save(Room.builder().hotelId(hotelId).number("101").type(RoomType.DOUBLE)
+                .capacity(2).price(new BigDecimal("95.50")).build());
+    }
+
+    @Test
+    void streamActive_shouldReturnOnlyConfirmedBookingsEndingAfterTheDate() {
+        Booking past = bookingRepository.save(booking(TODAY.minusDays(5), TODAY, BookingStatus.CONFIRMED));
+        Booking current = bookingRepository.save(booking(TODAY.minusDays(1), TODAY.plusDays(2), BookingStatus.CONFIRMED));
+        Booking cancelled = bookingRepository.save(booking(TODAY.plusDays(3), TODAY.plusDays(4), BookingStatus.CANCELLED));
+        Booking future = bookingRepository.save(booking(TODAY.plusDays(10), TODAY.plusDays(12), BookingStatus.CONFIRMED));
+
+        List<Long> streamed = new ArrayList<>();
+        bookingRepository.streamActive(TODAY, 100, booking -> streamed.add(booking.getId()));
+
+        assertThat(streamed).containsExactlyInAnyOrder(current.getId(), future.getId())
+                .doesNotContain(past.getId(), cancelled.getId());
+    }
+
+    @Test
+    void streamAll_shouldMapRooms() {
+        List<Room> rooms = new ArrayList<>();
+        roomRepository.streamAll(100, rooms::add);
+
+        assertThat(rooms).contains(room);
+        assertThat(roomRepository.findByHotelIdOrderByNumber(hotelId)).containsExactly(room);
+    }
+
+    @Test
+    void deletingTheHotelShouldDeleteItsRoomsAndBookings() {
+        Booking booking = bookingRepository.save(booking(TODAY, TODAY.plusDays(1), BookingStatus.CONFIRMED));
+
+        hotelRepository.deleteById(hotelId);
+
+        assertThat(roomRepository.findById(room.getId())).isEmpty();
+        assertThat(bookingRepository.findById(booking.getId())).isEmpty();
+    }
+
+    private Booking booking(LocalDate checkIn, LocalDate checkOut, BookingStatus status) {
+        return Booking.builder().roomId(room.getId()).guestId(1L).checkIn(checkIn).checkOut(checkOut)
+                .status(status).totalPrice(new BigDecimal("95.50")).build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.hotel.Hotel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Test de integración contra la base de datos H2 real: comprobamos que el batch JDBC
+// devuelve los ids generados en el mismo orden que los hoteles de entrada.
+@SpringBootTest
+@Transactional // Cada test hace rollback al terminar
+public class HotelBulkRepositoryTest {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Test
+    void insertAll_shouldReturnGeneratedIdsInInputOrder() {
+        List<Hotel> hotels = List.of(
+                hotel("Hotel Uno", "Sevilla"),
+                hotel("Hotel Dos", "Granada"),
+                hotel("Hotel Tres", "Cádiz"));
+
+        List<Long> ids = hotelRepository.insertAll(hotels);
+
+        assertThat(ids).hasSize(3).doesNotContainNull();
+        assertThat(hotelRepository.findById(ids.get(0))).get().extracting(Hotel::getName).isEqualTo("Hotel Uno");
+        assertThat(hotelRepository.findById(ids.get(2))).get().extracting(Hotel::getCity).isEqualTo("Cádiz");
+    }
+
+    @Test
+    void insertAll_shouldDoNothingForAnEmptyList() {
+        assertThat(hotelRepository.insertAll(List.of())).isEmpty();
+    }
+
+    private static Hotel hotel(String name, String city) {
+        return Hotel.builder()
+                .name(name)
+                .address("Calle Real 1")
+                .city(city)
+                .country("España")
+                .stars(3)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.mapper.HotelMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Test de integración contra H2: el camino corto entre filas y DTOs da lo mismo que Spring Data + mapper
+// (lo que asigna cada uno se mide con -prof gc en HotelServiceBenchmark, perfil jmh).
+@SpringBootTest
+@Transactional
+public class HotelDtoRepositoryTest {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private HotelMapper hotelMapper;
+
+    @Test
+    void insert_shouldStoreTheSameHotelAsSave() {
+        CreateHotelRequestDto request = request("Hotel Atalaya", "Cáceres");
+
+        HotelDto inserted = hotelRepository.insert(request);
+
+        Hotel stored = hotelRepository.findById(inserted.getId()).orElseThrow();
+        assertThat(hotelMapper.toDto(stored)).isEqualTo(inserted);
+        assertThat(inserted.getVersion()).isZero();
+        // La columna de búsqueda sin acentos, igual que con HotelBeforeConvertCallback
+        assertThat(stored.getCityNormalized()).isEqualTo("caceres");
+    }
+
+    @Test
+    void findDtoById_shouldMapTheRowLikeTheMapper() {
+        Hotel saved = hotelRepository.save(Hotel.builder()
+                .name("Hotel Sin Coordenadas").address("Calle Real 1").city("Cáceres").country("España").stars(2)
+                .build());
+
+        HotelDto hotel = hotelRepository.findDtoById(saved.getId());
+
+        // Sin descripción ni coordenadas: los nulos siguen siendo nulos, no ceros
+        assertThat(hotel).isEqualTo(hotelMapper.toDto(hotelRepository.findById(saved.getId()).orElseThrow()));
+        assertThat(hotel.getDescription()).isNull();
+        assertThat(hotel.getLatitude()).isNull();
+    }
+
+    @Test
+    void findDtoById_shouldReturnNullForUnknownIds() {
+        assertThat(hotelRepository.findDtoById(-1L)).isNull();
+    }
+
+    private static CreateHotelRequestDto request(String name, String city) {
+        return CreateHotelRequestDto.builder()
+                .name(name).address("Plaza Mayor 1").city(city).country("España").stars(4)
+                .description("Junto a la muralla").latitude(39.4753).longitude(-6.3724)
+                .build();
+    }
+}
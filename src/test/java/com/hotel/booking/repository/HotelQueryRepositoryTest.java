@@ -0,0 +1,132 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.dto.HotelFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Test de integración contra H2: el SQL dinámico de filtros, la paginación por id y el streaming.
+@SpringBootTest
+@Transactional
+public class HotelQueryRepositoryTest {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        ids = hotelRepository.insertAll(List.of(
+                hotel("Hotel Sol", "Madrid", "España", 4),
+                hotel("Hotel Luna", "Madrid", "España", 3),
+                hotel("Hotel Mar", "Lisboa", "Portugal", 4),
+                hotel("Hotel Río", "Madrid", "España", 4)));
+    }
+
+    @Test
+    void findPage_shouldSeekAfterTheGivenIdInIdOrder() {
+        HotelFilter all = HotelFilter.builder().build();
+
+        List<Hotel> page = hotelRepository.findPage(all, ids.get(0), 2);
+
+        assertThat(page).extracting(Hotel::getId).containsExactly(ids.get(1), ids.get(2));
+    }
+
+    @Test
+    void findPage_shouldApplyOnlyThePresentFilters() {
+        HotelFilter madridFourStars = HotelFilter.builder().city("Madrid").country("España").stars(4).build();
+
+        List<Hotel> page = hotelRepository.findPage(madridFourStars, null, 10);
+
+        assertThat(page).extracting(Hotel::getName).containsExactly("Hotel Sol", "Hotel Río");
+    }
+
+    @Test
+    void findPage_shouldMatchCityIgnoringCaseAndAccents() {
+        hotelRepository.insertAll(List.of(hotel("Hotel Caleta", "Cádiz", "España", 3)));
+
+        List<Hotel> page = hotelRepository.findPage(HotelFilter.builder().city("CADIZ").build(), null, 10);
+
+        assertThat(page).extracting(Hotel::getName).containsExactly("Hotel Caleta");
+    }
+
+    @Test
+    void search_shouldReturnBestRatedFirstAndSeekByStarsAndId() {
+        HotelFilter madrid = HotelFilter.builder().country("España").city("madrid").build();
+
+        List<Hotel> firstPage = hotelRepository.search(madrid, null, null, 2);
+        // 4 estrellas primero (id mayor antes), luego 3 estrellas
+        assertThat(firstPage).extracting(Hotel::getName).containsExactly("Hotel Río", "Hotel Sol");
+
+        Hotel last = firstPage.get(1);
+        List<Hotel> secondPage = hotelRepository.search(madrid, last.getStars(), last.getId(), 2);
+        assertThat(secondPage).extracting(Hotel::getName).containsExactly("Hotel Luna");
+    }
+
+    @Test
+    void search_shouldApplyMinStars() {
+        HotelFilter fourStarsOrMore = HotelFilter.builder().minStars(4).build();
+
+        List<Hotel> hotels = hotelRepository.search(fourStarsOrMore, null, null, 10);
+
+        assertThat(hotels).extracting(Hotel::getStars).containsOnly(4);
+    }
+
+    @Test
+    void searchByRating_shouldPutRatedHotelsFirstAndThenTheRestByIdAcrossPages() {
+        List<Long> teruel = hotelRepository.insertAll(List.of(
+                hotel("Hotel Torico", "Teruel", "España", 3),
+                hotel("Hotel Mudéjar", "Teruel", "España", 3),
+                hotel("Hotel Amantes", "Teruel", "España", 3),
+                hotel("Hotel Dinópolis", "Teruel", "España", 3)));
+        // Dos valorados; el segundo tuvo una reseña que se borró (media 0); los otros dos sin ninguna
+        hotelRepository.addRating(teruel.get(0), 3);
+        hotelRepository.addRating(teruel.get(3), 5);
+        hotelRepository.addRating(teruel.get(1), 4);
+        hotelRepository.removeRating(teruel.get(1), 4);
+        HotelFilter inTeruel = HotelFilter.builder().city("Teruel").build();
+
+        List<Hotel> firstPage = hotelRepository.searchByRating(inTeruel, null, null, 3);
+        assertThat(firstPage).extracting(Hotel::getId).containsExactly(teruel.get(3), teruel.get(0), teruel.get(2));
+
+        // El cursor del segundo tramo lleva media 0: sigue por id descendente entre los no valorados
+        List<Hotel> secondPage = hotelRepository.searchByRating(inTeruel, 0.0, teruel.get(2), 3);
+        assertThat(secondPage).extracting(Hotel::getId).containsExactly(teruel.get(1));
+    }
+
+    @Test
+    void save_shouldFillTheNormalizedCity() {
+        Hotel saved = hotelRepository.save(hotel("Hotel Nuevo", "Évora", "Portugal", 2));
+
+        assertThat(hotelRepository.findById(saved.getId()))
+                .get().extracting(Hotel::getCityNormalized).isEqualTo("evora");
+    }
+
+    @Test
+    void streamAll_shouldDeliverEveryMatchingHotelInIdOrder() {
+        List<Long> streamed = new ArrayList<>();
+
+        hotelRepository.streamAll(HotelFilter.builder().stars(4).build(), 2, hotel -> streamed.add(hotel.getId()));
+
+        assertThat(streamed).containsSubsequence(ids.get(0), ids.get(2), ids.get(3)).doesNotContain(ids.get(1));
+    }
+
+    private static Hotel hotel(String name, String city, String country, int stars) {
+        return Hotel.builder()
+                .name(name)
+                .address("Calle Real 1")
+                .city(city)
+                .country(country)
+                .stars(stars)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.hotel.booking.search;
+
+import com.hotel.booking.config.HotelGeoSearchProperties;
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.repository.HotelRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// Como HotelTextIndexLoaderTest: ni una fila de la carga ni un evento viejos deshacen un cambio más reciente
+public class HotelGeoIndexLoaderTest {
+
+    private final HotelRepository hotelRepository = mock(HotelRepository.class);
+
+    private final HotelGeoIndex index = new HotelGeoIndex(0.25);
+
+    private final HotelGeoIndexLoader loader = new HotelGeoIndexLoader(index, hotelRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), new HotelGeoSearchProperties());
+
+    @Test
+    void changesDuringTheLoadShouldWinOverTheRowsReadBeforeThem() {
+        doAnswer(invocation -> {
+            Consumer<Hotel> rows = invocation.getArgument(2);
+            rows.accept(hotel(1L, 43.0097, -7.5567));                        // Lugo
+            // Mientras la carga sigue, el hotel 2 se borra y el 3 se muda a Santiago...
+            loader.onHotelChanged(HotelChangedEvent.deleted(2L));
+            loader.onHotelChanged(HotelChangedEvent.updated(dto(3L, 42.8805, -8.5457, 2L)));
+            // ...y después llegan sus filas, leídas antes de esos cambios
+            rows.accept(hotel(2L, 43.0120, -7.5550));
+            rows.accept(hotel(3L, 43.0100, -7.5560));
+            return null;
+        }).when(hotelRepository).streamAll(any(), anyInt(), any());
+
+        loader.loadIndex();
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.nearest(43.0097, -7.5567, 10, 5)).extracting(HotelGeoIndex.Hit::hotelId)
+                .containsExactly(1L);
+        assertThat(index.nearest(42.8805, -8.5457, 10, 5)).extracting(HotelGeoIndex.Hit::hotelId)
+                .containsExactly(3L);
+    }
+
+    @Test
+    void aStaleEventShouldNotMoveAHotelBackOrBringItBack() {
+        loader.onHotelChanged(HotelChangedEvent.updated(dto(1L, 42.8805, -8.5457, 3L)));   // Santiago, v3
+        loader.onHotelChanged(HotelChangedEvent.updated(dto(1L, 43.0097, -7.5567, 2L)));   // Lugo, v2, tarde
+        loader.onHotelChanged(HotelChangedEvent.deleted(2L));
+        loader.onHotelChanged(HotelChangedEvent.updated(dto(2L, 43.0097, -7.5567, 4L)));
+
+        assertThat(index.nearest(42.8805, -8.5457, 10, 5)).extracting(HotelGeoIndex.Hit::hotelId)
+                .containsExactly(1L);
+        assertThat(index.nearest(43.0097, -7.5567, 10, 5)).isEmpty();
+    }
+
+    private static HotelDto dto(long id, double latitude, double longitude, long version) {
+        return HotelDto.builder().id(id).latitude(latitude).longitude(longitude).version(version).build();
+    }
+
+    private static Hotel hotel(long id, double latitude, double longitude) {
+        return Hotel.builder().id(id).name("Hotel " + id).address("Calle 1").city("Lugo").country("España").stars(3)
+                .latitude(latitude).longitude(longitude).version(1L).build();
+    }
+}
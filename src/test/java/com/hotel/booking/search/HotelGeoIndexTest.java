@@ -0,0 +1,122 @@
+package com.hotel.booking.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class HotelGeoIndexTest {
+
+    private final HotelGeoIndex index = new HotelGeoIndex(0.25);
+
+    @Test
+    void shouldReturnTheNearestHotelsInOrderWithTheirDistance() {
+        index.upsert(1L, 40.4168, -3.7038);   // Madrid, Puerta del Sol
+        index.upsert(2L, 40.4153, -3.6844);   // Madrid, Retiro
+        index.upsert(3L, 41.3874, 2.1686);    // Barcelona
+        index.upsert(4L, 37.3891, -5.9845);   // Sevilla
+
+        List<HotelGeoIndex.Hit> hits = index.nearest(40.4169, -3.7035, 3, Double.POSITIVE_INFINITY);
+
+        assertThat(hits).extracting(HotelGeoIndex.Hit::hotelId).containsExactly(1L, 2L, 4L);
+        assertThat(hits.get(2).distanceKm())
+                .isCloseTo(HotelGeoIndex.distanceKm(40.4169, -3.7035, 37.3891, -5.9845), within(0.001));
+        assertThat(hits.get(2).distanceKm()).isCloseTo(390, within(5.0));
+    }
+
+    @Test
+    void shouldOnlyReturnHotelsWithinTheRadius() {
+        index.upsert(1L, 40.4168, -3.7038);
+        index.upsert(2L, 40.4153, -3.6844);
+        index.upsert(3L, 41.3874, 2.1686);
+
+        assertThat(index.nearest(40.4169, -3.7035, 10, 5)).extracting(HotelGeoIndex.Hit::hotelId)
+                .containsExactly(1L, 2L);
+        assertThat(index.nearest(40.4169, -3.7035, 10, 0.1)).extracting(HotelGeoIndex.Hit::hotelId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void shouldFindNeighboursAcrossTheAntimeridianAndNearThePoles() {
+        index.upsert(1L, -17.0, 179.95);   // Fiyi, al este del antimeridiano
+        index.upsert(2L, -17.0, -179.95);  // al oeste
+        index.upsert(3L, -17.0, 170.0);
+        index.upsert(4L, 89.9, 0.0);
+        index.upsert(5L, 89.9, 180.0);     // al otro lado del polo: a ~22 km
+
+        assertThat(index.nearest(-17.0, -179.99, 2, Double.POSITIVE_INFINITY))
+                .extracting(HotelGeoIndex.Hit::hotelId).containsExactly(2L, 1L);
+        assertThat(index.nearest(89.9, 0.0, 2, 50)).extracting(HotelGeoIndex.Hit::hotelId)
+                .containsExactly(4L, 5L);
+    }
+
+    @Test
+    void shouldMatchABruteForceSearchOnRandomPoints() {
+        SplittableRandom random = new SplittableRandom(7);
+        double[][] points = new double[20_000][];
+        for (int i = 0; i < points.length; i++) {
+            // La mitad repartidos por todo el globo y la otra mitad concentrados en unas pocas "ciudades"
+            points[i] = i % 2 == 0
+                    ? new double[]{Math.toDegrees(Math.asin(random.nextDouble(-1, 1))), random.nextDouble(-180, 180)}
+                    : new double[]{40 + random.nextGaussian() * 0.05 + i % 5, -3.7 + random.nextGaussian() * 0.05};
+            index.upsert(i, points[i][0], points[i][1]);
+        }
+
+        for (int query = 0; query < 200; query++) {
+            double latitude = query % 2 == 0 ? random.nextDouble(-90, 90) : 40 + random.nextDouble(0, 5);
+            double longitude = query % 2 == 0 ? random.nextDouble(-180, 180) : -3.7 + random.nextDouble(-0.2, 0.2);
+            double radius = query % 3 == 0 ? 50 : Double.POSITIVE_INFINITY;
+
+            List<double[]> expected = new ArrayList<>(); // {id, distancia}
+            for (int i = 0; i < points.length; i++) {
+                double distance = HotelGeoIndex.distanceKm(latitude, longitude, points[i][0], points[i][1]);
+                if (distance <= radius) {
+                    expected.add(new double[]{i, distance});
+                }
+            }
+            expected.sort(Comparator.comparingDouble(entry -> entry[1]));
+
+            List<HotelGeoIndex.Hit> hits = index.nearest(latitude, longitude, 10, radius);
+            assertThat(hits).hasSize(Math.min(10, expected.size()));
+            for (int i = 0; i < hits.size(); i++) {
+                // Comparamos distancias (dos puntos pueden empatar) y que sean las exactas
+                assertThat(hits.get(i).distanceKm()).isCloseTo(expected.get(i)[1], within(1e-6));
+            }
+        }
+    }
+
+    @Test
+    void shouldReturnTheHotelsInsideTheBoxClosestToTheCenterFirst() {
+        index.upsert(1L, 40.42, -3.70);
+        index.upsert(2L, 40.45, -3.65);
+        index.upsert(3L, 40.60, -3.70);  // fuera por latitud
+        index.upsert(4L, 40.42, -3.50);  // fuera por longitud
+        index.upsert(5L, -17.0, 179.9);
+        index.upsert(6L, -17.0, -179.9);
+
+        assertThat(index.inBox(40.30, -3.80, 40.50, -3.60, 10)).extracting(HotelGeoIndex.Hit::hotelId)
+                .containsExactly(1L, 2L);
+        assertThat(index.inBox(40.30, -3.80, 40.50, -3.60, 1)).extracting(HotelGeoIndex.Hit::hotelId)
+                .containsExactly(1L);
+        // Recuadro que cruza el antimeridiano: de 179° a -179°
+        assertThat(index.inBox(-18, 179, -16, -179, 10)).extracting(HotelGeoIndex.Hit::hotelId)
+                .containsExactlyInAnyOrder(5L, 6L);
+    }
+
+    @Test
+    void shouldMoveUpdatedHotelsAndForgetRemovedOnes() {
+        index.upsert(1L, 40.4168, -3.7038);
+        index.upsert(2L, 41.3874, 2.1686);
+        index.upsert(1L, 37.3891, -5.9845); // el hotel 1 "se muda" a Sevilla
+        index.remove(2L);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.nearest(40.4168, -3.7038, 10, 100)).isEmpty();
+        assertThat(index.nearest(37.39, -5.98, 10, 100)).extracting(HotelGeoIndex.Hit::hotelId).containsExactly(1L);
+    }
+}
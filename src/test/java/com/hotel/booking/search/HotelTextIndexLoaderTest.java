@@ -0,0 +1,90 @@
+package com.hotel.booking.search;
+
+import com.hotel.booking.config.HotelTextSearchProperties;
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.repository.HotelRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// Cambios que no llegan en orden (filas de la carga más viejas que un evento, eventos cruzados): gana la versión más reciente
+public class HotelTextIndexLoaderTest {
+
+    private final HotelRepository hotelRepository = mock(HotelRepository.class);
+
+    private final HotelTextIndex index = new HotelTextIndex();
+
+    private final HotelTextIndexLoader loader = new HotelTextIndexLoader(index, hotelRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), new HotelTextSearchProperties());
+
+    @Test
+    void changesDuringTheLoadShouldWinOverTheRowsReadBeforeThem() {
+        doAnswer(invocation -> {
+            Consumer<Hotel> rows = invocation.getArgument(2);
+            rows.accept(hotel(1L, "Parador de Lugo"));
+            // Mientras la carga sigue, el hotel 2 se borra y el 3 cambia de nombre...
+            loader.onHotelChanged(HotelChangedEvent.deleted(2L));
+            loader.onHotelChanged(HotelChangedEvent.updated(dto(3L, "Hotel Muralla", 2L)));
+            // ...y después llegan sus filas, leídas antes de esos cambios
+            rows.accept(hotel(2L, "Hostal Borrado"));
+            rows.accept(hotel(3L, "Hotel Catedral"));
+            return null;
+        }).when(hotelRepository).streamAll(any(), anyInt(), any());
+
+        loader.loadIndex();
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search("parador", 10, false)).extracting(HotelTextIndex.Hit::hotelId).containsExactly(1L);
+        assertThat(index.search("hostal", 10, false)).isEmpty();
+        assertThat(index.search("muralla", 10, false)).extracting(HotelTextIndex.Hit::hotelId).containsExactly(3L);
+        assertThat(index.search("catedral", 10, false)).isEmpty();
+    }
+
+    @Test
+    void changesAfterTheLoadShouldApplyAsUsual() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<Hotel>>getArgument(2).accept(hotel(1L, "Parador de Lugo"));
+            return null;
+        }).when(hotelRepository).streamAll(any(), anyInt(), any());
+        loader.loadIndex();
+
+        loader.onHotelChanged(HotelChangedEvent.updated(dto(1L, "Parador de Lugo Centro", 2L)));
+
+        assertThat(index.search("centro", 10, false)).extracting(HotelTextIndex.Hit::hotelId).containsExactly(1L);
+    }
+
+    @Test
+    void eventsArrivingOutOfOrderShouldKeepTheNewestVersion() {
+        // Dos PUT seguidos cuyos eventos se cruzan: el de la versión 2 llega el último
+        loader.onHotelChanged(HotelChangedEvent.updated(dto(1L, "Hotel Tercera", 3L)));
+        loader.onHotelChanged(HotelChangedEvent.updated(dto(1L, "Hotel Segunda", 2L)));
+        // Y un UPDATED tardío después del DELETED
+        loader.onHotelChanged(HotelChangedEvent.updated(dto(2L, "Hostal Borrado", 1L)));
+        loader.onHotelChanged(HotelChangedEvent.deleted(2L));
+        loader.onHotelChanged(HotelChangedEvent.updated(dto(2L, "Hostal Borrado", 2L)));
+
+        assertThat(index.search("tercera", 10, false)).extracting(HotelTextIndex.Hit::hotelId).containsExactly(1L);
+        assertThat(index.search("segunda", 10, false)).isEmpty();
+        assertThat(index.search("hostal", 10, false)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private static HotelDto dto(long id, String name, long version) {
+        return HotelDto.builder().id(id).name(name).version(version).build();
+    }
+
+    private static Hotel hotel(long id, String name) {
+        return Hotel.builder().id(id).name(name).address("Calle 1").city("Lugo").country("España").stars(3)
+                .version(1L).build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.hotel.booking.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HotelTextIndexTest {
+
+    private HotelTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new HotelTextIndex();
+        index.upsert(1L, "Hotel Arts Barcelona", "Hotel de lujo frente a la playa con spa y piscina.");
+        index.upsert(2L, "Barceló Sants", "Hotel de negocios junto a la estación de Barcelona.");
+        index.upsert(3L, "Pousada Praia do Sol", "Pousada na praia com spa, perto de Lisboa.");
+        index.upsert(4L, "Spa Resort Playa Barcelona", "Spa, playa y golf.");
+    }
+
+    @Test
+    void shouldRequireAllTermsAndRankByRelevance() {
+        List<HotelTextIndex.Hit> hits = index.search("playa spa barcelona", 10, false);
+
+        // Los dos hoteles que tienen las tres palabras; el que las tiene en el nombre, primero
+        assertThat(hits).extracting(HotelTextIndex.Hit::hotelId).containsExactly(4L, 1L);
+    }
+
+    @Test
+    void shouldIgnoreCaseAndAccents() {
+        assertThat(index.search("BARCELO", 10, false)).extracting(HotelTextIndex.Hit::hotelId).containsExactly(2L);
+        assertThat(index.search("estacion", 10, false)).extracting(HotelTextIndex.Hit::hotelId).containsExactly(2L);
+    }
+
+    @Test
+    void shouldCompleteTheLastTermAsPrefix() {
+        assertThat(index.search("spa barc", 10, false)).isEmpty();
+        assertThat(index.search("spa barc", 10, true)).extracting(HotelTextIndex.Hit::hotelId)
+                .containsExactlyInAnyOrder(1L, 4L);
+    }
+
+    @Test
+    void shouldReplaceTheOldVersionOnUpdateAndForgetDeletedHotels() {
+        index.upsert(3L, "Pousada Praia do Sol", "Pousada en Oporto.");
+        index.remove(4L);
+
+        assertThat(index.search("spa", 10, false)).extracting(HotelTextIndex.Hit::hotelId).containsExactly(1L);
+        assertThat(index.search("oporto", 10, false)).extracting(HotelTextIndex.Hit::hotelId).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldKeepWorkingAfterCompactingDeletedDocuments() {
+        // Suficientes borrados para superar el umbral de compactación
+        for (long id = 100; id < 2_100; id++) {
+            index.upsert(id, "Hotel Temporal " + id, "Se borrará enseguida");
+        }
+        for (long id = 100; id < 2_100; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.search("temporal", 10, false)).isEmpty();
+        assertThat(index.search("playa spa barcelona", 10, false)).extracting(HotelTextIndex.Hit::hotelId)
+                .containsExactly(4L, 1L);
+        assertThat(index.stats().hotels()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldSuggestTermsByPrefixMostFrequentFirst() {
+        List<HotelTextIndex.Suggestion> suggestions = index.suggest("Pla", 5);
+
+        assertThat(suggestions).extracting(HotelTextIndex.Suggestion::term).containsExactly("playa");
+        assertThat(suggestions.get(0).hotels()).isEqualTo(2);
+        assertThat(index.suggest("barc", 5)).extracting(HotelTextIndex.Suggestion::term)
+                .containsExactly("barcelona", "barcelo");
+    }
+
+    @Test
+    void shouldRespectTheLimit() {
+        assertThat(index.search("spa", 1, false)).hasSize(1);
+    }
+}
@@ -0,0 +1,29 @@
+package com.hotel.booking.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TextTokenizerTest {
+
+    @Test
+    void shouldLowercaseFoldAccentsAndDropStopWords() {
+        assertThat(TextTokenizer.tokenize("Hotel Playa de la Concha, SAN SEBASTIÁN"))
+                .containsExactly("hotel", "playa", "concha", "san", "sebastian");
+        assertThat(TextTokenizer.tokenize("Pousada com vista para o mar em São João"))
+                .containsExactly("pousada", "vista", "mar", "sao", "joao");
+    }
+
+    @Test
+    void shouldKeepTheLastTokenWhenAskedEvenIfItIsAStopWord() {
+        assertThat(TextTokenizer.tokenize("spa con", true)).containsExactly("spa", "con");
+        assertThat(TextTokenizer.tokenize("spa con ", true)).containsExactly("spa", "con");
+        assertThat(TextTokenizer.tokenize("spa con mar", true)).containsExactly("spa", "mar");
+    }
+
+    @Test
+    void shouldReturnNothingForNullOrPunctuation() {
+        assertThat(TextTokenizer.tokenize(null)).isEmpty();
+        assertThat(TextTokenizer.tokenize(" ,.; ")).isEmpty();
+    }
+}
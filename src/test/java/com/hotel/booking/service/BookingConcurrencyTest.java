@@ -0,0 +1,218 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.availability.RoomAvailabilityIndex;
+import com.hotel.booking.availability.RoomLockStripes;
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.room.RoomType;
+import com.hotel.booking.dto.CreateBookingRequestDto;
+import com.hotel.booking.dto.CreateRoomRequestDto;
+import com.hotel.booking.exception.RoomNotAvailableException;
+import com.hotel.booking.mapper.BookingMapper;
+import com.hotel.booking.pricing.RateCalendarIndex;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de estrés contra H2: muchos hilos reservando a la vez las mismas habitaciones y noches.
+ * Sin @Transactional: cada reserva tiene que confirmarse de verdad para que los demás hilos la vean.
+ */
+@SpringBootTest
+public class BookingConcurrencyTest {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingMapper bookingMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Clock clock;
+
+    private Long hotelId;
+
+    private List<Long> roomIds;
+
+    private LocalDate firstNight;
+
+    @BeforeEach
+    void setUp() {
+        hotelId = hotelRepository.insertAll(List.of(Hotel.builder()
+                .name("Hotel Concurrencia").address("Calle 1").city("Madrid").country("España").stars(3)
+                .build())).get(0);
+        roomIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            roomIds.add(roomService.createRoom(hotelId, CreateRoomRequestDto.builder()
+                    .number("10" + i).type(RoomType.DOUBLE).capacity(2).price(new BigDecimal("80.00"))
+                    .build()).getId());
+        }
+        firstNight = LocalDate.now(clock).plusDays(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hotelRepository.deleteById(hotelId); // borra en cascada habitaciones, reservas y noches
+    }
+
+    @Test
+    void sameRoomAndNights_shouldBeBookedExactlyOnce() throws Exception {
+        int threads = 64;
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(threads, 1, (thread, attempt) -> {
+            try {
+                bookingService.createBooking(request(roomIds.get(0), firstNight, firstNight.plusDays(3), thread));
+                confirmed.incrementAndGet();
+            } catch (RoomNotAvailableException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(confirmed.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(threads - 1);
+        assertNoOversell();
+    }
+
+    @Test
+    void overlappingRandomStays_shouldNeverOversell() throws Exception {
+        AtomicInteger confirmed = new AtomicInteger();
+
+        runConcurrently(32, 100, (thread, attempt) -> {
+            SplittableRandom random = new SplittableRandom(thread * 1_000L + attempt);
+            LocalDate checkIn = firstNight.plusDays(random.nextInt(20));
+            try {
+                bookingService.createBooking(request(roomIds.get(random.nextInt(roomIds.size())),
+                        checkIn, checkIn.plusDays(1 + random.nextInt(4)), thread));
+                confirmed.incrementAndGet();
+            } catch (RoomNotAvailableException e) {
+                // esperado: la mayoría de intentos chocan
+            }
+        });
+
+        assertThat(confirmed.get()).isPositive();
+        assertNoOversell();
+    }
+
+    @Test
+    void databaseShouldArbitrateBetweenInstancesWithDifferentIndexes() throws Exception {
+        // Segunda "instancia" de la aplicación: su propio índice y sus propios locks, la misma base de datos
+        RoomAvailabilityIndex otherIndex = new RoomAvailabilityIndex(LocalDate.now(clock), 365);
+        roomIds.forEach(id -> otherIndex.addRoom(id, hotelId, RoomType.DOUBLE, 2));
+        BookingService otherInstance = new BookingService(bookingRepository, roomRepository, bookingMapper,
+                otherIndex, new RateCalendarIndex(otherIndex.getFirstNight(), 365), new RoomLockStripes(64),
+                transactionTemplate, clock);
+        AtomicInteger confirmed = new AtomicInteger();
+
+        runConcurrently(32, 1, (thread, attempt) -> {
+            BookingService instance = thread % 2 == 0 ? bookingService : otherInstance;
+            try {
+                instance.createBooking(request(roomIds.get(1), firstNight, firstNight.plusDays(2), thread));
+                confirmed.incrementAndGet();
+            } catch (RoomNotAvailableException e) {
+                // la otra instancia llegó antes
+            }
+        });
+
+        assertThat(confirmed.get()).isEqualTo(1);
+        assertNoOversell();
+    }
+
+    // Ninguna pareja de reservas confirmadas de la misma habitación se solapa, y booking_night
+    // tiene exactamente las noches de las reservas confirmadas.
+    private void assertNoOversell() {
+        MapSqlParameterSource params = new MapSqlParameterSource("hotelId", hotelId);
+        Integer overlaps = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM booking a JOIN booking b
+                  ON a.room_id = b.room_id AND a.id < b.id
+                 AND a.check_in < b.check_out AND b.check_in < a.check_out
+                JOIN room r ON r.id = a.room_id
+                WHERE r.hotel_id = :hotelId AND a.status = 'CONFIRMED' AND b.status = 'CONFIRMED'""",
+                params, Integer.class);
+        Integer confirmedNights = jdbcTemplate.queryForObject("""
+                SELECT COALESCE(SUM(DATEDIFF('DAY', b.check_in, b.check_out)), 0)
+                FROM booking b JOIN room r ON r.id = b.room_id
+                WHERE r.hotel_id = :hotelId AND b.status = 'CONFIRMED'""", params, Integer.class);
+        Integer storedNights = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM booking_night n JOIN room r ON r.id = n.room_id
+                WHERE r.hotel_id = :hotelId""", params, Integer.class);
+
+        assertThat(overlaps).isZero();
+        assertThat(storedNights).isEqualTo(confirmedNights);
+    }
+
+    private static CreateBookingRequestDto request(Long roomId, LocalDate checkIn, LocalDate checkOut, int guest) {
+        return CreateBookingRequestDto.builder()
+                .roomId(roomId).guestId((long) guest).checkIn(checkIn).checkOut(checkOut)
+                .build();
+    }
+
+    interface Attempt {
+        void run(int thread, int attempt);
+    }
+
+    // Arranca todos los hilos a la vez (latch) para maximizar la contención
+    static void runConcurrently(int threads, int attemptsPerThread, Attempt attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        attempt.run(thread, i);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(); // propaga cualquier excepción inesperada de los hilos
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
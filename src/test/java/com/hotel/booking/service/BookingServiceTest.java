@@ -0,0 +1,196 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.availability.RoomAvailabilityIndex;
+import com.hotel.booking.availability.RoomLockStripes;
+import com.hotel.booking.domain.booking.Booking;
+import com.hotel.booking.domain.booking.BookingStatus;
+import com.hotel.booking.domain.pricing.RateRule;
+import com.hotel.booking.domain.pricing.RateRuleKind;
+import com.hotel.booking.domain.room.Room;
+import com.hotel.booking.domain.room.RoomType;
+import com.hotel.booking.dto.BookingDto;
+import com.hotel.booking.dto.CreateBookingRequestDto;
+import com.hotel.booking.exception.BookingNotFoundException;
+import com.hotel.booking.exception.InvalidDateRangeException;
+import com.hotel.booking.exception.RoomNotAvailableException;
+import com.hotel.booking.exception.RoomNotFoundException;
+import com.hotel.booking.mapper.BookingMapperImpl;
+import com.hotel.booking.pricing.RateCalendarIndex;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Repositorios simulados, pero índice de disponibilidad y mapper reales: así comprobamos
+// que cada reserva y cancelación deja el índice como debe.
+@ExtendWith(MockitoExtension.class)
+public class BookingServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private RoomAvailabilityIndex availabilityIndex;
+
+    private RateCalendarIndex rateCalendar;
+
+    private BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = new RoomAvailabilityIndex(TODAY, 365);
+        availabilityIndex.addRoom(7L, 1L, RoomType.DOUBLE, 2);
+        rateCalendar = new RateCalendarIndex(TODAY, 365);
+        Clock clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        bookingService = new BookingService(bookingRepository, roomRepository, new BookingMapperImpl(),
+                availabilityIndex, rateCalendar, new RoomLockStripes(16), transactionTemplate, clock);
+
+        // El TransactionTemplate simulado simplemente ejecuta el callback.
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void createBooking_shouldSaveConfirmedBookingAndMarkNights() {
+        when(roomRepository.findById(7L)).thenReturn(Optional.of(room()));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(100L);
+            return booking;
+        });
+
+        BookingDto result = bookingService.createBooking(request(TODAY.plusDays(5), TODAY.plusDays(8)));
+
+        assertThat(result.getId()).isEqualTo(100L);
+        assertThat(result.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        assertThat(result.getTotalPrice()).isEqualByComparingTo("300.00"); // 3 noches x 100
+        verify(bookingRepository).insertNights(100L, 7L, TODAY.plusDays(5), TODAY.plusDays(8));
+        assertThat(availabilityIndex.isFree(7L, TODAY.plusDays(5), TODAY.plusDays(8))).isFalse();
+        assertThat(availabilityIndex.isFree(7L, TODAY.plusDays(8), TODAY.plusDays(9))).isTrue();
+    }
+
+    @Test
+    void createBooking_shouldPriceWithTheHotelRateRules() {
+        when(roomRepository.findById(7L)).thenReturn(Optional.of(room()));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(101L);
+            return booking;
+        });
+        rateCalendar.update(1L, List.of(RateRule.builder().id(1L).hotelId(1L).kind(RateRuleKind.SEASON)
+                .startDate(TODAY.plusDays(6)).endDate(TODAY.plusDays(7)).percent(50).build()));
+
+        BookingDto result = bookingService.createBooking(request(TODAY.plusDays(5), TODAY.plusDays(8)));
+
+        assertThat(result.getTotalPrice()).isEqualByComparingTo("350.00"); // 100 + 150 (temporada) + 100
+    }
+
+    @Test
+    void createBooking_shouldRejectOverlappingStay() {
+        when(roomRepository.findById(7L)).thenReturn(Optional.of(room()));
+        availabilityIndex.markBooked(7L, TODAY.plusDays(6), TODAY.plusDays(7));
+
+        assertThrows(RoomNotAvailableException.class,
+                () -> bookingService.createBooking(request(TODAY.plusDays(5), TODAY.plusDays(8))));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void createBooking_shouldReturn409AndLearnNightsWhenTheDatabaseRejectsThem() {
+        // Otra instancia reservó la noche del día 6: nuestro índice no lo sabe, la base de datos sí
+        when(roomRepository.findById(7L)).thenReturn(Optional.of(room()));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(100L);
+            return booking;
+        });
+        doThrow(new DuplicateKeyException("pk_booking_night"))
+                .when(bookingRepository).insertNights(100L, 7L, TODAY.plusDays(5), TODAY.plusDays(8));
+        when(bookingRepository.findBookedNights(7L, TODAY.plusDays(5), TODAY.plusDays(8)))
+                .thenReturn(List.of(TODAY.plusDays(6)));
+
+        assertThrows(RoomNotAvailableException.class,
+                () -> bookingService.createBooking(request(TODAY.plusDays(5), TODAY.plusDays(8))));
+
+        assertThat(availabilityIndex.isFree(7L, TODAY.plusDays(6), TODAY.plusDays(7))).isFalse();
+        assertThat(availabilityIndex.isFree(7L, TODAY.plusDays(5), TODAY.plusDays(6))).isTrue();
+        assertThat(availabilityIndex.isFree(7L, TODAY.plusDays(7), TODAY.plusDays(8))).isTrue();
+    }
+
+    @Test
+    void createBooking_shouldRejectInvalidDates() {
+        assertThrows(InvalidDateRangeException.class,
+                () -> bookingService.createBooking(request(TODAY.plusDays(5), TODAY.plusDays(5))));
+        assertThrows(InvalidDateRangeException.class,
+                () -> bookingService.createBooking(request(TODAY.minusDays(1), TODAY.plusDays(2))));
+        assertThrows(InvalidDateRangeException.class,
+                () -> bookingService.createBooking(request(TODAY.plusDays(364), TODAY.plusDays(366))));
+        verifyNoInteractions(roomRepository, bookingRepository);
+    }
+
+    @Test
+    void createBooking_shouldThrowWhenRoomDoesNotExist() {
+        when(roomRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertThrows(RoomNotFoundException.class,
+                () -> bookingService.createBooking(request(TODAY.plusDays(1), TODAY.plusDays(2))));
+    }
+
+    @Test
+    void cancelBooking_shouldReleaseNights() {
+        Booking booking = Booking.builder().id(100L).roomId(7L).guestId(3L)
+                .checkIn(TODAY.plusDays(5)).checkOut(TODAY.plusDays(8))
+                .status(BookingStatus.CONFIRMED).totalPrice(new BigDecimal("300.00")).build();
+        availabilityIndex.markBooked(7L, booking.getCheckIn(), booking.getCheckOut());
+        when(bookingRepository.findById(100L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancelConfirmed(100L)).thenReturn(true);
+
+        BookingDto result = bookingService.cancelBooking(100L);
+
+        assertThat(result.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        verify(bookingRepository).deleteNights(100L);
+        verify(bookingRepository, never()).save(any());
+        assertThat(availabilityIndex.isFree(7L, TODAY.plusDays(5), TODAY.plusDays(8))).isTrue();
+    }
+
+    @Test
+    void getBooking_shouldThrowWhenNotFound() {
+        when(bookingRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(BookingNotFoundException.class, () -> bookingService.getBooking(1L));
+    }
+
+    private static Room room() {
+        return Room.builder().id(7L).hotelId(1L).number("101").type(RoomType.DOUBLE)
+                .capacity(2).price(new BigDecimal("100.00")).build();
+    }
+
+    private static CreateBookingRequestDto request(LocalDate checkIn, LocalDate checkOut) {
+        return CreateBookingRequestDto.builder().roomId(7L).guestId(3L).checkIn(checkIn).checkOut(checkOut).build();
+    }
+}
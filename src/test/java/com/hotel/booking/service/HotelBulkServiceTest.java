@@ -0,0 +1,197 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.cache.NoOpHotelCache;
+import com.hotel.booking.config.HotelBulkProperties;
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.dto.BulkCreateHotelResponseDto;
+import com.hotel.booking.dto.CreateHotelRequestDto;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.exception.InvalidBulkPayloadException;
+import com.hotel.booking.mapper.HotelMapper;
+import com.hotel.booking.repository.HotelRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HotelBulkServiceTest {
+
+    // Validador real de Bean Validation: queremos comprobar las anotaciones del DTO de verdad.
+    private static jakarta.validation.ValidatorFactory validatorFactory;
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private HotelMapper hotelMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private HotelBulkProperties bulkProperties;
+
+    private HotelBulkService hotelBulkService;
+
+    @BeforeAll
+    static void createValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = validatorFactory.getValidator();
+        bulkProperties = new HotelBulkProperties();
+        bulkProperties.setBatchSize(2);
+        hotelBulkService = new HotelBulkService(hotelMapper, hotelRepository, validator, transactionTemplate, bulkProperties,
+                new NoOpHotelCache(), eventPublisher);
+
+        // El TransactionTemplate simulado simplemente ejecuta el callback.
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(hotelMapper.toEntity(any(CreateHotelRequestDto.class))).thenAnswer(invocation -> {
+            CreateHotelRequestDto request = invocation.getArgument(0);
+            return Hotel.builder().name(request.getName()).build();
+        });
+        lenient().when(hotelMapper.toDto(any(Hotel.class))).thenAnswer(invocation -> {
+            Hotel hotel = invocation.getArgument(0);
+            return HotelDto.builder().id(hotel.getId()).name(hotel.getName()).build();
+        });
+    }
+
+    @Test
+    void createHotels_shouldWriteValidHotelsInChunksOfBatchSize() {
+        when(hotelRepository.insertAll(anyList()))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+
+        BulkCreateHotelResponseDto response = hotelBulkService.createHotels(
+                List.of(hotel("A"), hotel("B"), hotel("C")).iterator());
+
+        assertThat(response.getTotal()).isEqualTo(3);
+        assertThat(response.getCreated()).isEqualTo(3);
+        assertThat(response.getFailed()).isZero();
+        assertThat(response.getItems()).extracting("id").containsExactly(1L, 2L, 3L);
+        // 3 hoteles con batch-size 2 => dos batches (2 + 1)
+        verify(hotelRepository, times(2)).insertAll(anyList());
+        verify(hotelRepository, never()).save(any());
+        // Un evento de alta por hotel, ya con su id
+        verify(eventPublisher).publishEvent(HotelChangedEvent.created(HotelDto.builder().id(3L).name("C").build()));
+        verify(eventPublisher, times(3)).publishEvent(any(HotelChangedEvent.class));
+    }
+
+    @Test
+    void createHotels_shouldReportInvalidItemsWithoutDiscardingTheRest() {
+        when(hotelRepository.insertAll(anyList())).thenReturn(List.of(10L, 11L));
+
+        CreateHotelRequestDto invalid = CreateHotelRequestDto.builder().name("").stars(9).build();
+
+        BulkCreateHotelResponseDto response = hotelBulkService.createHotels(
+                List.of(hotel("A"), invalid, hotel("C")).iterator());
+
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getItems().get(0).getId()).isEqualTo(10L);
+        assertThat(response.getItems().get(1).getId()).isNull();
+        assertThat(response.getItems().get(1).getErrors()).isNotEmpty();
+        assertThat(response.getItems().get(2).getId()).isEqualTo(11L);
+    }
+
+    @Test
+    void createHotels_shouldMarkWholeChunkAsFailedWhenTheBatchIsRolledBack() {
+        when(hotelRepository.insertAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("boom"))
+                .thenReturn(List.of(3L));
+
+        BulkCreateHotelResponseDto response = hotelBulkService.createHotels(
+                List.of(hotel("A"), hotel("B"), hotel("C")).iterator());
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getItems().get(0).getErrors()).isNotEmpty();
+        assertThat(response.getItems().get(1).getErrors()).isNotEmpty();
+        assertThat(response.getItems().get(2).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void createHotels_shouldKeepWhatWasReadWhenThePayloadBecomesUnreadable() {
+        when(hotelRepository.insertAll(anyList())).thenReturn(List.of(1L));
+
+        Iterator<CreateHotelRequestDto> brokenStream = new Iterator<>() {
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                if (read == 1) {
+                    throw new InvalidBulkPayloadException("JSON mal formado");
+                }
+                return true;
+            }
+
+            @Override
+            public CreateHotelRequestDto next() {
+                if (read++ > 0) {
+                    throw new NoSuchElementException();
+                }
+                return hotel("A");
+            }
+        };
+
+        BulkCreateHotelResponseDto response = hotelBulkService.createHotels(brokenStream);
+
+        assertThat(response.getTotal()).isEqualTo(2);
+        assertThat(response.getItems().get(0).getId()).isEqualTo(1L);
+        assertThat(response.getItems().get(1).getIndex()).isEqualTo(1);
+        assertThat(response.getItems().get(1).getErrors()).containsExactly("JSON mal formado");
+    }
+
+    @Test
+    void createHotels_shouldStopAtMaxItems() {
+        bulkProperties.setMaxItems(1);
+        when(hotelRepository.insertAll(anyList())).thenReturn(List.of(1L));
+
+        BulkCreateHotelResponseDto response = hotelBulkService.createHotels(
+                List.of(hotel("A"), hotel("B"), hotel("C")).iterator());
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getTotal()).isEqualTo(2);
+    }
+
+    private static CreateHotelRequestDto hotel(String name) {
+        return CreateHotelRequestDto.builder()
+                .name(name)
+                .address("Calle Mayor 1")
+                .city("Madrid")
+                .country("España")
+                .stars(4)
+                .build();
+    }
+}
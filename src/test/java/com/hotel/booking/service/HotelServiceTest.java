@@ -1,22 +1,56 @@
 package com.hotel.booking.service;
 
+import com.hotel.booking.cache.CaffeineHotelCache;
+import com.hotel.booking.cache.HotelCache;
+import com.hotel.booking.cache.NoOpHotelCache;
+import com.hotel.booking.config.HotelCacheProperties;
+import com.hotel.booking.config.HotelListingProperties;
 import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.domain.hotel.HotelChangedEvent;
+import com.hotel.booking.domain.review.HotelRating;
 import com.hotel.booking.dto.CreateHotelRequestDto;
 import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.dto.HotelFilter;
+import com.hotel.booking.dto.HotelLookupDto;
+import com.hotel.booking.dto.HotelPageDto;
+import com.hotel.booking.dto.HotelRatingDto;
+import com.hotel.booking.dto.HotelSort;
 import com.hotel.booking.exception.HotelNotFoundException;
+import com.hotel.booking.exception.HotelUpdateConflictException;
+import com.hotel.booking.exception.HotelVersionMismatchException;
+import com.hotel.booking.exception.InvalidCursorException;
+import com.hotel.booking.exception.InvalidHotelLookupException;
 import com.hotel.booking.mapper.HotelMapper;
+import com.hotel.booking.mapper.ReviewMapper;
 import com.hotel.booking.repository.HotelRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 // Le decimos a JUnit 5 que use la extensión de Mockito para gestionar los mocks
@@ -31,6 +65,20 @@ public class HotelServiceTest {
     @Mock
     private HotelMapper hotelMapper;
 
+    // @Spy con una instancia real: la caché desactivada, para que cada lectura llegue al repositorio.
+    @Spy
+    private HotelCache hotelCache = new NoOpHotelCache();
+
+    @Spy
+    private HotelListingProperties listingProperties = new HotelListingProperties();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    // El mapper real de MapStruct: HotelService lo usa para los resúmenes de reseñas de las tarjetas
+    @Spy
+    private ReviewMapper reviewMapper = Mappers.getMapper(ReviewMapper.class);
+
     // @InjectMocks: Crea una instancia de HotelService e intenta inyectar
     // los mocks declarados en esta clase (hotelRepository y hotelMapper).
     @InjectMocks
@@ -49,28 +97,6 @@ public class HotelServiceTest {
                 .description("Bueno, bonito y barato.")
                 .build();
 
-        // Entidad que simula la conversión
-        // Simula la conversión del request a entidad
-        Hotel hotelEntity = Hotel.builder()
-                .name(request.getName())
-                .address(request.getAddress())
-                .city(request.getCity())
-                .country(request.getCountry())
-                .stars(request.getStars())
-                .description(request.getDescription())
-                .build();
-
-        // Simula la entidad guardada con ID
-        Hotel savedHotelEntity = Hotel.builder()
-                .id(1L)
-                .name(request.getName())
-                .address(request.getAddress())
-                .city(request.getCity())
-                .country(request.getCountry())
-                .stars(request.getStars())
-                .description(request.getDescription())
-                .build();
-
         // DTO de respuesta esperado
         HotelDto expectedDto = HotelDto.builder()
                 .id(1L)
@@ -82,15 +108,9 @@ public class HotelServiceTest {
                 .description(request.getDescription())
                 .build();
 
-        /** Configuramos los mocks:**/
-        // 1. Cuando se llame a hotelMapper.toEntity con CUALQUIER request...
-        when(hotelMapper.toEntity(request)).thenReturn(hotelEntity);
-
-        // 2. Cuando se llame a hotelRepository.save con CUALQUIER entidad Hotel...
-        when(hotelRepository.save(hotelEntity)).thenReturn(savedHotelEntity);
-
-        // 3. Cuando se llame a hotelMapper.toDto con la entidad guardada...
-        when(hotelMapper.toDto(savedHotelEntity)).thenReturn(expectedDto);
+        /** Configuramos el mock:**/
+        // El repositorio inserta la petición y devuelve directamente el DTO guardado (con su ID)
+        when(hotelRepository.insert(request)).thenReturn(expectedDto);
 
         // WHEN (Cuando ejecutamos el método que queremos probar)
         // Esta línea dará un error de compilación porque el método no existe aún.
@@ -103,19 +123,13 @@ public class HotelServiceTest {
         assertThat(result.getName()).isEqualTo("Hotel Económico");
         assertThat(result.getCity()).isEqualTo("Shelbyville");
         assertThat(result.getStars()).isEqualTo(3);
+        // Se avisa del alta (p. ej. al índice de texto)
+        verify(eventPublisher).publishEvent(HotelChangedEvent.created(expectedDto));
     }
 
     @Test
     void getHotelById_shouldReturnHotelWhenFound(){
          // GIVE (Dados unos datos de entrada)
-        Hotel request = Hotel.builder()
-                .name("Hotel Económico")
-                .address("Avenida Siempre Viva 742")
-                .city("Shelbyville")
-                .country("USA")
-                .stars(3)
-                .description("Bueno, bonito y barato.")
-                .build();
         HotelDto requestDto = HotelDto.builder()
                 .id(1L)
                 .name("Hotel Económico")
@@ -126,8 +140,7 @@ public class HotelServiceTest {
                 .description("Bueno, bonito y barato.")
                 .build();
 
-        when(hotelRepository.findById(1L)).thenReturn(Optional.of(request));
-        when(hotelMapper.toDto(request)).thenReturn(requestDto);
+        when(hotelRepository.findDtoById(1L)).thenReturn(requestDto);
 
          // WHEN (Cuando ejecutamos el método que queremos probar)
         HotelDto result = hotelService.getHotelById(1L);
@@ -147,25 +160,410 @@ public class HotelServiceTest {
         // GIVE (Dados unos datos de entrada)
         final Long nonExistentId = 99L;
 
-        when(hotelRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(hotelRepository.findDtoById(nonExistentId)).thenReturn(null);
 
         // WHEN & THEN (Cuando llamamos al método y verificamos que lanza la excepción)
 
         // assertThrows espera dos argumentos:
         // 1. La clase de la excepción que esperamos que se lance (HotelNotFoundException.class).
         // 2. Una expresión lambda que contiene el código que DEBE lanzar la excepción.
-//        HotelNotFoundException exception =
+        HotelNotFoundException exception =
         assertThrows(
                 HotelNotFoundException.class,
                 () -> {hotelService.getHotelById(nonExistentId);
         });
 
         // Verificamos que el mensaje de la excepción capturada es el correcto.
-//        assertThat(exception.getMessage()).isEqualTo("Hotel no encontrado con id: " + nonExistentId);
+        assertThat(exception.getMessage()).isEqualTo("Hotel no encontrado con id: " + nonExistentId);
 
         // Verificamos que el método toDto del mapper NUNCA fue llamado,
         // porque la lógica debería haber terminado antes al lanzar la excepción.
         verify(hotelMapper, never()).toDto(any(Hotel.class));
     }
 
+    @Test
+    void getHotelById_shouldServeRepeatedLookupsFromTheCache(){
+        HotelService cachedService = new HotelService(hotelMapper, hotelRepository,
+                new CaffeineHotelCache(new HotelCacheProperties()), listingProperties, eventPublisher, reviewMapper);
+        HotelDto hotelDto = HotelDto.builder().id(1L).name("Hotel Cacheado").build();
+        when(hotelRepository.findDtoById(1L)).thenReturn(hotelDto);
+
+        cachedService.getHotelById(1L);
+        HotelDto result = cachedService.getHotelById(1L);
+
+        assertThat(result).isSameAs(hotelDto);
+        // Solo la primera lectura llega a la base de datos
+        verify(hotelRepository, times(1)).findDtoById(1L);
+    }
+
+    @Test
+    void getHotelById_shouldShareOneDatabaseLoadBetweenConcurrentLookups() throws Exception {
+        // Caché desactivada (NoOpHotelCache): aun así, las lecturas simultáneas del mismo id van juntas
+        HotelService hotelService = concurrentService();
+        HotelDto hotelDto = HotelDto.builder().id(1L).name("Hotel en Promoción").build();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(hotelRepository.findDtoById(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return hotelDto;
+        });
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<HotelDto>> results = new ArrayList<>();
+            results.add(executor.submit(() -> hotelService.getHotelById(1L)));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i < threads; i++) {
+                results.add(executor.submit(() -> hotelService.getHotelById(1L)));
+            }
+            // Esperamos a que las 15 restantes estén esperando a la primera antes de dejarla terminar
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (hotelService.getCacheStats().getSharedLoads() < threads - 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<HotelDto> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(hotelDto);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(hotelRepository, times(1)).findDtoById(1L);
+        assertThat(hotelService.getCacheStats().getDatabaseLoads()).isEqualTo(1);
+        assertThat(hotelService.getCacheStats().getSharedLoads()).isEqualTo(threads - 1);
+
+        // Terminada la carga, la siguiente lectura vuelve a la base de datos (no es una caché)
+        hotelService.getHotelById(1L);
+        verify(hotelRepository, times(2)).findDtoById(1L);
+    }
+
+    @Test
+    void getHotelById_shouldGiveTheSameErrorToLookupsSharingAFailedLoad() throws Exception {
+        HotelService hotelService = concurrentService();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(hotelRepository.findDtoById(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("base de datos caída");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<HotelDto> first = executor.submit(() -> hotelService.getHotelById(1L));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<HotelDto> second = executor.submit(() -> hotelService.getHotelById(1L));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (hotelService.getCacheStats().getSharedLoads() < 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<HotelDto> result : List.of(first, second)) {
+                ExecutionException error = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertThat(error.getCause()).isInstanceOf(IllegalStateException.class);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(hotelRepository, times(1)).findDtoById(1L);
+    }
+
+    @Test
+    void getHotelById_shouldCacheUnknownIds(){
+        HotelService cachedService = new HotelService(hotelMapper, hotelRepository,
+                new CaffeineHotelCache(new HotelCacheProperties()), listingProperties, eventPublisher, reviewMapper);
+        when(hotelRepository.findDtoById(99L)).thenReturn(null);
+
+        assertThrows(HotelNotFoundException.class, () -> cachedService.getHotelById(99L));
+        assertThrows(HotelNotFoundException.class, () -> cachedService.getHotelById(99L));
+
+        // El segundo 404 sale de la caché negativa
+        verify(hotelRepository, times(1)).findDtoById(99L);
+    }
+
+    @Test
+    void getHotelsByIds_shouldKeepTheRequestOrderAndReportMissingIds(){
+        // La base de datos los devuelve en su orden, no en el de la petición
+        when(hotelRepository.findAllById(List.of(3L, 99L, 1L)))
+                .thenReturn(List.of(hotelWithId(1L), hotelWithId(3L)));
+        when(hotelMapper.toDto(any(Hotel.class)))
+                .thenAnswer(invocation -> HotelDto.builder().id(invocation.<Hotel>getArgument(0).getId()).build());
+
+        HotelLookupDto result = hotelService.getHotelsByIds(List.of(3L, 99L, 1L, 3L));
+
+        assertThat(result.getItems()).extracting("id").containsExactly(3L, 1L);
+        assertThat(result.getMissingIds()).containsExactly(99L);
+        verify(hotelRepository, never()).findById(any());
+    }
+
+    @Test
+    void getHotelsByIds_shouldQueryLongListsInChunks(){
+        listingProperties.setLookupChunkSize(2);
+        when(hotelRepository.findAllById(any())).thenReturn(List.of());
+
+        HotelLookupDto result = hotelService.getHotelsByIds(List.of(1L, 2L, 3L, 4L, 5L));
+
+        verify(hotelRepository).findAllById(List.of(1L, 2L));
+        verify(hotelRepository).findAllById(List.of(3L, 4L));
+        verify(hotelRepository).findAllById(List.of(5L));
+        assertThat(result.getMissingIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void getHotelsByIds_shouldRejectMoreIdsThanTheConfiguredMaximum(){
+        listingProperties.setMaxLookupIds(2);
+
+        assertThrows(InvalidHotelLookupException.class, () -> hotelService.getHotelsByIds(List.of(1L, 2L, 3L)));
+
+        verifyNoInteractions(hotelRepository);
+    }
+
+    @Test
+    void updateHotel_shouldSaveWithTheGivenIdAndRefreshTheCache(){
+        CreateHotelRequestDto request = CreateHotelRequestDto.builder()
+                .name("Hotel Renovado")
+                .address("Avenida Siempre Viva 742")
+                .city("Shelbyville")
+                .country("USA")
+                .stars(4)
+                .build();
+        Hotel hotelEntity = Hotel.builder().name("Hotel Renovado").build();
+        HotelDto updatedDto = HotelDto.builder().id(7L).name("Hotel Renovado").build();
+
+        when(hotelRepository.findById(7L)).thenReturn(Optional.of(Hotel.builder().id(7L).version(3L).build()));
+        when(hotelMapper.toEntity(request)).thenReturn(hotelEntity);
+        when(hotelRepository.save(hotelEntity)).thenReturn(hotelEntity);
+        when(hotelMapper.toDto(hotelEntity)).thenReturn(updatedDto);
+
+        HotelDto result = hotelService.updateHotel(7L, request);
+
+        assertThat(result.getName()).isEqualTo("Hotel Renovado");
+        assertThat(hotelEntity.getId()).isEqualTo(7L);
+        // Se guarda sobre la versión actual: Spring Data comprobará que nadie la ha cambiado entretanto
+        assertThat(hotelEntity.getVersion()).isEqualTo(3L);
+        verify(hotelCache).put(updatedDto);
+        verify(eventPublisher).publishEvent(HotelChangedEvent.updated(updatedDto));
+    }
+
+    @Test
+    void updateHotel_shouldRejectAStaleIfMatchVersion(){
+        CreateHotelRequestDto request = CreateHotelRequestDto.builder().name("Hotel Renovado").build();
+        when(hotelRepository.findById(7L)).thenReturn(Optional.of(Hotel.builder().id(7L).version(3L).build()));
+
+        assertThrows(HotelVersionMismatchException.class, () -> hotelService.updateHotel(7L, request, 2L));
+
+        verify(hotelRepository, never()).save(any(Hotel.class));
+        verify(hotelCache, never()).put(any());
+    }
+
+    @Test
+    void updateHotel_shouldTurnAConcurrentWriteIntoAVersionMismatch(){
+        CreateHotelRequestDto request = CreateHotelRequestDto.builder().name("Hotel Renovado").build();
+        when(hotelMapper.toEntity(request)).thenReturn(Hotel.builder().build());
+        when(hotelRepository.findById(7L)).thenReturn(Optional.of(Hotel.builder().id(7L).version(3L).build()));
+        // Otro PUT ha subido la versión entre nuestra lectura y el UPDATE
+        when(hotelRepository.save(any(Hotel.class))).thenThrow(new OptimisticLockingFailureException("versión 3 obsoleta"));
+
+        assertThrows(HotelVersionMismatchException.class, () -> hotelService.updateHotel(7L, request, 3L));
+    }
+
+    @Test
+    void updateHotel_withoutIfMatchShouldRetryOnAConcurrentWrite(){
+        CreateHotelRequestDto request = CreateHotelRequestDto.builder().name("Hotel Renovado").build();
+        Hotel hotelEntity = Hotel.builder().build();
+        HotelDto updatedDto = HotelDto.builder().id(7L).version(5L).build();
+        when(hotelMapper.toEntity(request)).thenReturn(hotelEntity);
+        when(hotelRepository.findById(7L)).thenReturn(
+                Optional.of(Hotel.builder().id(7L).version(3L).build()),
+                Optional.of(Hotel.builder().id(7L).version(4L).build()));
+        when(hotelRepository.save(hotelEntity))
+                .thenThrow(new OptimisticLockingFailureException("versión 3 obsoleta"))
+                .thenReturn(hotelEntity);
+        when(hotelMapper.toDto(hotelEntity)).thenReturn(updatedDto);
+
+        assertThat(hotelService.updateHotel(7L, request)).isEqualTo(updatedDto);
+        assertThat(hotelEntity.getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    void updateHotel_withoutIfMatchShouldGiveUpAfterAFewConcurrentWrites(){
+        CreateHotelRequestDto request = CreateHotelRequestDto.builder().name("Hotel Disputado").build();
+        Hotel hotelEntity = Hotel.builder().build();
+        when(hotelMapper.toEntity(request)).thenReturn(hotelEntity);
+        when(hotelRepository.findById(7L)).thenReturn(Optional.of(Hotel.builder().id(7L).version(3L).build()));
+        when(hotelRepository.save(hotelEntity)).thenThrow(new OptimisticLockingFailureException("versión obsoleta"));
+
+        assertThrows(HotelUpdateConflictException.class, () -> hotelService.updateHotel(7L, request));
+
+        verify(hotelRepository, times(HotelService.MAX_UPDATE_ATTEMPTS)).save(hotelEntity);
+        verify(hotelCache, never()).put(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateHotel_shouldThrowNotFoundExceptionWhenHotelDoesNotExist(){
+        when(hotelRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(HotelNotFoundException.class,
+                () -> hotelService.updateHotel(99L, CreateHotelRequestDto.builder().build()));
+
+        verify(hotelRepository, never()).save(any(Hotel.class));
+    }
+
+    @Test
+    void deleteHotel_shouldDeleteAndEvictFromTheCache(){
+        when(hotelRepository.existsById(5L)).thenReturn(true);
+
+        hotelService.deleteHotel(5L);
+
+        verify(hotelRepository).deleteById(5L);
+        verify(hotelCache).evict(5L);
+        verify(eventPublisher).publishEvent(HotelChangedEvent.deleted(5L));
+    }
+
+    @Test
+    void deleteHotel_shouldThrowNotFoundExceptionWhenHotelDoesNotExist(){
+        when(hotelRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(HotelNotFoundException.class, () -> hotelService.deleteHotel(99L));
+
+        verify(hotelRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void listHotels_shouldReturnNextCursorWhenThereAreMoreHotels(){
+        HotelFilter filter = HotelFilter.builder().country("España").build();
+        // Pedimos 2 y el repositorio devuelve 3 (limit + 1) => hay página siguiente
+        when(hotelRepository.findPage(eq(filter), isNull(), eq(3)))
+                .thenReturn(List.of(hotelWithId(1L), hotelWithId(2L), hotelWithId(3L)));
+        when(hotelMapper.toDto(any(Hotel.class)))
+                .thenAnswer(invocation -> HotelDto.builder().id(invocation.<Hotel>getArgument(0).getId()).build());
+
+        HotelPageDto firstPage = hotelService.listHotels(filter, null, 2);
+
+        assertThat(firstPage.getItems()).extracting("id").containsExactly(1L, 2L);
+        assertThat(firstPage.getNextCursor()).isNotNull();
+
+        // La página siguiente empieza después del último id de la anterior
+        when(hotelRepository.findPage(filter, 2L, 3)).thenReturn(List.of(hotelWithId(3L)));
+
+        HotelPageDto secondPage = hotelService.listHotels(filter, firstPage.getNextCursor(), 2);
+
+        assertThat(secondPage.getItems()).extracting("id").containsExactly(3L);
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    void listHotels_shouldClampTheLimitToTheConfiguredMaximum(){
+        HotelFilter filter = HotelFilter.builder().build();
+        when(hotelRepository.findPage(eq(filter), isNull(), anyInt())).thenReturn(List.of());
+
+        hotelService.listHotels(filter, null, 1_000_000);
+
+        verify(hotelRepository).findPage(filter, null, listingProperties.getMaxLimit() + 1);
+    }
+
+    @Test
+    void listHotels_shouldRejectCursorsWeDidNotIssue(){
+        assertThrows(InvalidCursorException.class,
+                () -> hotelService.listHotels(HotelFilter.builder().build(), "no-es-un-cursor", 10));
+    }
+
+    @Test
+    void exportHotels_shouldMapEachHotelAsItIsRead(){
+        HotelFilter filter = HotelFilter.builder().build();
+        doAnswer(invocation -> {
+            Consumer<Hotel> consumer = invocation.getArgument(2);
+            consumer.accept(hotelWithId(1L));
+            consumer.accept(hotelWithId(2L));
+            return null;
+        }).when(hotelRepository).streamAll(eq(filter), anyInt(), any());
+        when(hotelMapper.toDto(any(Hotel.class)))
+                .thenAnswer(invocation -> HotelDto.builder().id(invocation.<Hotel>getArgument(0).getId()).build());
+
+        List<HotelDto> exported = new ArrayList<>();
+        hotelService.exportHotels(filter, exported::add);
+
+        assertThat(exported).extracting("id").containsExactly(1L, 2L);
+    }
+
+    @Test
+    void searchHotels_shouldContinueFromTheStarsAndIdOfTheLastHotel(){
+        HotelFilter filter = HotelFilter.builder().country("España").city("madrid").build();
+        when(hotelRepository.search(filter, null, null, 2)).thenReturn(List.of(
+                Hotel.builder().id(9L).stars(5).build(),
+                Hotel.builder().id(4L).stars(4).build()));
+        when(hotelMapper.toDto(any(Hotel.class))).thenAnswer(invocation -> {
+            Hotel hotel = invocation.getArgument(0);
+            return HotelDto.builder().id(hotel.getId()).stars(hotel.getStars()).build();
+        });
+
+        HotelPageDto firstPage = hotelService.searchHotels(filter, null, 1);
+
+        assertThat(firstPage.getItems()).extracting("id").containsExactly(9L);
+        when(hotelRepository.search(filter, 5, 9L, 2)).thenReturn(List.of(Hotel.builder().id(4L).stars(4).build()));
+
+        HotelPageDto secondPage = hotelService.searchHotels(filter, firstPage.getNextCursor(), 1);
+
+        assertThat(secondPage.getItems()).extracting("id").containsExactly(4L);
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    void searchHotels_byRating_shouldContinueFromTheStoredAverageAndIdOfTheLastHotel(){
+        HotelFilter filter = HotelFilter.builder().city("madrid").build();
+        when(hotelRepository.searchByRating(filter, null, null, 2)).thenReturn(List.of(
+                Hotel.builder().id(3L).stars(2).build(),
+                Hotel.builder().id(8L).stars(5).build()));
+        when(hotelMapper.toDto(any(Hotel.class)))
+                .thenAnswer(invocation -> HotelDto.builder().id(invocation.<Hotel>getArgument(0).getId()).build());
+        when(hotelRepository.findRatings(List.of(3L))).thenReturn(Map.of(3L, HotelRating.builder()
+                .hotelId(3L).reviewCount(3).ratingSum(13).averageRating(13 / 3.0)
+                .histogram(List.of(0L, 0L, 0L, 2L, 1L)).build()));
+
+        HotelPageDto firstPage = hotelService.searchHotels(filter, HotelSort.RATING, null, 1);
+
+        assertThat(firstPage.getItems()).extracting("id").containsExactly(3L);
+        HotelRatingDto rating = firstPage.getRatings().get(3L);
+        assertThat(rating.getReviewCount()).isEqualTo(3);
+        assertThat(rating.getAverageRating()).isEqualTo(13 / 3.0);
+        assertThat(rating.getHistogram()).containsExactly(0L, 0L, 0L, 2L, 1L);
+
+        // El cursor lleva la media exacta: la consulta sigue justo después de (4.333..., 3)
+        when(hotelRepository.searchByRating(filter, 13 / 3.0, 3L, 2)).thenReturn(List.of(Hotel.builder().id(8L).build()));
+
+        HotelPageDto secondPage = hotelService.searchHotels(filter, HotelSort.RATING, firstPage.getNextCursor(), 1);
+
+        assertThat(secondPage.getItems()).extracting("id").containsExactly(8L);
+        assertThat(secondPage.getNextCursor()).isNull();
+        // Sin reseñas: 0 y sin media
+        assertThat(secondPage.getRatings().get(8L).getReviewCount()).isZero();
+        assertThat(secondPage.getRatings().get(8L).getAverageRating()).isNull();
+        assertThrows(InvalidCursorException.class,
+                () -> hotelService.searchHotels(filter, HotelSort.STARS, firstPage.getNextCursor(), 1));
+    }
+
+    @Test
+    void searchHotels_shouldNotAcceptListingCursors(){
+        String listingCursor = HotelCursor.encode(10L);
+
+        assertThrows(InvalidCursorException.class,
+                () -> hotelService.searchHotels(HotelFilter.builder().build(), listingCursor, 10));
+    }
+
+    // Sin el @Spy de la caché: Mockito reescribe la traza de las excepciones que atraviesan un spy y, si
+    // dos hilos relanzan la misma excepción (la de la carga compartida), lo hacen a la vez y falla
+    private HotelService concurrentService() {
+        return new HotelService(hotelMapper, hotelRepository, new NoOpHotelCache(), listingProperties, eventPublisher,
+                reviewMapper);
+    }
+
+    private static Hotel hotelWithId(Long id) {
+        return Hotel.builder().id(id).name("Hotel " + id).build();
+    }
+
 }
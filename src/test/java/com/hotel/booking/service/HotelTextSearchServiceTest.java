@@ -0,0 +1,76 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.config.HotelTextSearchProperties;
+import com.hotel.booking.domain.hotel.Hotel;
+import com.hotel.booking.dto.HotelDto;
+import com.hotel.booking.dto.HotelSearchHitDto;
+import com.hotel.booking.mapper.HotelMapper;
+import com.hotel.booking.repository.HotelRepository;
+import com.hotel.booking.search.HotelTextIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class HotelTextSearchServiceTest {
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private HotelMapper hotelMapper;
+
+    // Índice real: lo que probamos es cómo el servicio combina índice y repositorio
+    private final HotelTextIndex hotelTextIndex = new HotelTextIndex();
+
+    private HotelTextSearchService hotelTextSearchService;
+
+    @BeforeEach
+    void setUp() {
+        hotelTextSearchService = new HotelTextSearchService(hotelTextIndex, hotelRepository, hotelMapper,
+                new HotelTextSearchProperties());
+        hotelTextIndex.upsert(1L, "Hotel Playa", "Spa y piscina");
+        hotelTextIndex.upsert(2L, "Spa Playa Resort", "Spa frente al mar");
+    }
+
+    @Test
+    void search_shouldLoadTheHitsInOneQueryAndKeepTheRanking() {
+        Hotel first = Hotel.builder().id(1L).name("Hotel Playa").build();
+        Hotel second = Hotel.builder().id(2L).name("Spa Playa Resort").build();
+        // findAllById no garantiza el orden: el servicio debe respetar el del índice
+        when(hotelRepository.findAllById(anyIterable())).thenReturn(List.of(first, second));
+        when(hotelMapper.toDto(any(Hotel.class)))
+                .thenAnswer(invocation -> HotelDto.builder().id(invocation.<Hotel>getArgument(0).getId()).build());
+
+        List<HotelSearchHitDto> hits = hotelTextSearchService.search("spa playa", null, false);
+
+        assertThat(hits).extracting(hit -> hit.getHotel().getId()).containsExactly(2L, 1L);
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+    }
+
+    @Test
+    void search_shouldSkipHotelsDeletedMeanwhile() {
+        when(hotelRepository.findAllById(anyIterable())).thenReturn(List.of(Hotel.builder().id(2L).build()));
+        when(hotelMapper.toDto(any(Hotel.class))).thenReturn(HotelDto.builder().id(2L).build());
+
+        assertThat(hotelTextSearchService.search("playa", null, false)).hasSize(1);
+    }
+
+    @Test
+    void search_shouldNotQueryTheDatabaseWithoutHits() {
+        assertThat(hotelTextSearchService.search("montaña", null, false)).isEmpty();
+
+        verify(hotelRepository, never()).findAllById(anyIterable());
+    }
+}
@@ -0,0 +1,64 @@
+package com.hotel.booking.web;
+
+import com.hotel.booking.admission.GradientConcurrencyLimit;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdmissionLimitFilterTest {
+
+    @Test
+    void shouldRejectWith503WhenAllPermitsAreBusy() throws Exception {
+        AdmissionLimitFilter filter = new AdmissionLimitFilter(GradientConcurrencyLimit.fixed(1));
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Una petición ocupa el único hueco hasta que la soltemos
+        CompletableFuture<Void> busy = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (req, res) -> {
+                    inside.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(filter.inFlight()).isEqualTo(1);
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), rejected, new MockFilterChain());
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+
+        release.countDown();
+        busy.get(5, TimeUnit.SECONDS);
+        assertThat(filter.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldLetRequestsThroughWhenThereIsRoom() throws Exception {
+        AdmissionLimitFilter filter = new AdmissionLimitFilter(GradientConcurrencyLimit.fixed(2));
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest(), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(filter.inFlight()).isZero();
+    }
+}
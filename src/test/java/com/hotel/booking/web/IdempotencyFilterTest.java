@@ -0,0 +1,244 @@
+package com.hotel.booking.web;
+
+import com.hotel.booking.config.IdempotencyProperties;
+import com.hotel.booking.idempotency.InMemoryIdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdempotencyFilterTest {
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private final IdempotencyFilter filter = new IdempotencyFilter(
+            new InMemoryIdempotencyStore(new IdempotencyProperties()), Duration.ofSeconds(5), 200, "X-Api-Key");
+
+    // Simula el controlador: lee el cuerpo y responde 201 con un id nuevo en cada ejecución
+    private final FilterChain createHotel = (request, response) -> {
+        String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        int id = executions.incrementAndGet();
+        HttpServletResponse http = (HttpServletResponse) response;
+        http.setStatus(201);
+        http.setContentType("application/json");
+        http.getWriter().write("{\"id\":" + id + ",\"request\":" + body + "}");
+    };
+
+    @Test
+    void retryShouldReplayTheOriginalResponseWithoutExecutingAgain() throws Exception {
+        MockHttpServletResponse first = post("key-1", "{\"name\":\"A\"}", createHotel);
+        MockHttpServletResponse retry = post("key-1", "{\"name\":\"A\"}", createHotel);
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString())
+                .isEqualTo("{\"id\":1,\"request\":{\"name\":\"A\"}}");
+        assertThat(retry.getContentType()).startsWith("application/json");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(filter.executedCount()).isEqualTo(1);
+        assertThat(filter.replayedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void retryShouldReplayLocationAndETagButNotTheOtherHeaders() throws Exception {
+        FilterChain acceptBooking = (request, response) -> {
+            int id = executions.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(202);
+            http.setHeader("Location", "/api/bookings/" + id);
+            http.setHeader("ETag", "W/\"0\"");
+            http.setHeader("X-Request-Id", "req-" + id);
+        };
+        post("key-1", "{}", acceptBooking);
+        MockHttpServletResponse retry = post("key-1", "{}", acceptBooking);
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(retry.getStatus()).isEqualTo(202);
+        assertThat(retry.getHeader("Location")).isEqualTo("/api/bookings/1");
+        assertThat(retry.getHeader("ETag")).isEqualTo("W/\"0\"");
+        assertThat(retry.getHeader("X-Request-Id")).isNull();
+    }
+
+    @Test
+    void requestsWithoutKeyOrWithDifferentKeysShouldAllExecute() throws Exception {
+        post(null, "{}", createHotel);
+        post(null, "{}", createHotel);
+        post("key-1", "{}", createHotel);
+        post("key-2", "{}", createHotel);
+
+        assertThat(executions.get()).isEqualTo(4);
+    }
+
+    @Test
+    void sameKeyWithAnotherBodyShouldBeRejected() throws Exception {
+        post("key-1", "{\"name\":\"A\"}", createHotel);
+        MockHttpServletResponse other = post("key-1", "{\"name\":\"B\"}", createHotel);
+
+        assertThat(other.getStatus()).isEqualTo(422);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void theSameKeyFromTwoClientsShouldBeTwoRequests() throws Exception {
+        MockHttpServletResponse first = post("1", "{}", createHotel, "api-key-a");
+        MockHttpServletResponse other = post("1", "{}", createHotel, "api-key-b");
+        MockHttpServletResponse retry = post("1", "{}", createHotel, "api-key-a");
+
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(other.getContentAsString()).isNotEqualTo(first.getContentAsString());
+        assertThat(other.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+    }
+
+    @Test
+    void anotherBodyWhileTheOriginalIsRunningShouldBeRejectedAtOnce() throws Exception {
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowCreate = (request, response) -> {
+            inside.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            createHotel.doFilter(request, response);
+        };
+        CompletableFuture<MockHttpServletResponse> original =
+                CompletableFuture.supplyAsync(() -> postUnchecked("key-1", "{\"name\":\"A\"}", slowCreate));
+        assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        MockHttpServletResponse other = post("key-1", "{\"name\":\"B\"}", createHotel);
+
+        // 422 sin esperar los 5 s de waitTimeout
+        assertThat(other.getStatus()).isEqualTo(422);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(2));
+        release.countDown();
+        assertThat(original.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+    }
+
+    @Test
+    void failedRequestsShouldNotBeStored() throws Exception {
+        FilterChain invalid = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(400);
+        };
+        post("key-1", "{}", invalid);
+        MockHttpServletResponse retry = post("key-1", "{}", createHotel);
+
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentDuplicatesShouldCollapseIntoOneExecution() throws Exception {
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowCreate = (request, response) -> {
+            inside.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            createHotel.doFilter(request, response);
+        };
+
+        List<CompletableFuture<MockHttpServletResponse>> duplicates = new ArrayList<>();
+        duplicates.add(CompletableFuture.supplyAsync(() -> postUnchecked("key-1", "{}", slowCreate)));
+        assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 8; i++) {
+            duplicates.add(CompletableFuture.supplyAsync(() -> postUnchecked("key-1", "{}", slowCreate)));
+        }
+        Thread.sleep(100); // que los duplicados lleguen a esperar a la primera petición
+        release.countDown();
+
+        for (CompletableFuture<MockHttpServletResponse> duplicate : duplicates) {
+            MockHttpServletResponse response = duplicate.get(5, TimeUnit.SECONDS);
+            assertThat(response.getStatus()).isEqualTo(201);
+            assertThat(response.getContentAsString()).isEqualTo("{\"id\":1,\"request\":{}}");
+        }
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void duplicateShouldGet409IfTheOriginalTakesTooLong() throws Exception {
+        IdempotencyFilter impatient = new IdempotencyFilter(
+                new InMemoryIdempotencyStore(new IdempotencyProperties()), Duration.ofMillis(100), 200, "X-Api-Key");
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> original = CompletableFuture.runAsync(() -> {
+            try {
+                impatient.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), (req, res) -> {
+                    inside.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse duplicate = new MockHttpServletResponse();
+        impatient.doFilter(request("key-1", "{}"), duplicate, createHotel);
+
+        assertThat(duplicate.getStatus()).isEqualTo(409);
+        release.countDown();
+        original.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void tooLongKeyShouldBeRejected() throws Exception {
+        assertThat(post("x".repeat(201), "{}", createHotel).getStatus()).isEqualTo(400);
+        assertThat(executions.get()).isZero();
+    }
+
+    private MockHttpServletResponse post(String key, String body, FilterChain chain) throws Exception {
+        return post(key, body, chain, null);
+    }
+
+    private MockHttpServletResponse post(String key, String body, FilterChain chain, String apiKey) throws Exception {
+        MockHttpServletRequest request = request(key, body);
+        if (apiKey != null) {
+            request.addHeader("X-Api-Key", apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse postUnchecked(String key, String body, FilterChain chain) {
+        try {
+            return post(key, body, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/hotels");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,60 @@
+package com.hotel.booking.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Comprueba que /actuator/prometheus publica las series que usamos para vigilar el servicio.
+ * (@AutoConfigureObservability: en los tests Spring Boot desactiva la exportación de métricas por defecto.)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldExposeLatencyCacheErrorAndPoolMetrics() throws Exception {
+        String created = mockMvc.perform(post("/api/hotels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Hotel Métricas\",\"address\":\"Calle 1\",\"city\":\"Sevilla\",\"country\":\"España\",\"stars\":4}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = created.replaceAll(".*\"id\":(\\d+).*", "$1");
+        mockMvc.perform(get("/api/hotels/{id}", id)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/hotels/{id}", id)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/hotels/{id}", 999_999_999L)).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                // Latencia por endpoint, con buckets para histogram_quantile
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/api/hotels/{id}\"")))
+                // Latencia por método de repositorio
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("repository=\"HotelRepository\"")))
+                .andExpect(content().string(containsString("method=\"findDtoById\"")))
+                // Caché, errores y pool de conexiones
+                .andExpect(content().string(containsString("cache_gets_total{")))
+                .andExpect(content().string(containsString("hotel_cache_hit_ratio{")))
+                .andExpect(content().string(containsString("hotel_api_errors_total{")))
+                .andExpect(content().string(containsString("exception=\"HotelNotFoundException\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_active{")))
+                .andExpect(content().string(containsString("hotel_admission_in_flight{")))
+                .andExpect(content().string(containsString("hotel_admission_limit{")))
+                .andExpect(content().string(containsString("hotel_rate_limit_rejected_total{")));
+    }
+}
@@ -0,0 +1,55 @@
+package com.hotel.booking.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Límite por IP detrás de un proxy, con el Tomcat de verdad y el perfil prod (MockMvc no pasa por
+ * RemoteIpValve): todas las peticiones llegan desde la misma dirección, 127.0.0.1, como desde un
+ * balanceador, y cada cliente de X-Forwarded-For tiene su propio cubo.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:ratelimitproxy;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "hotel.rate-limit.requests-per-second=0.5",
+        "hotel.rate-limit.burst=2"})
+@ActiveProfiles("prod")
+class RateLimitBehindProxyTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void clientsBehindTheSameProxyShouldHaveTheirOwnBuckets() throws Exception {
+        assertThat(get("203.0.113.1")).isNotEqualTo(429);
+        assertThat(get("203.0.113.1")).isNotEqualTo(429);
+        assertThat(get("203.0.113.1")).isEqualTo(429);
+
+        // Misma conexión de origen, otros clientes: no pagan la ráfaga del primero
+        assertThat(get("203.0.113.2")).isNotEqualTo(429);
+        assertThat(get("203.0.113.3")).isNotEqualTo(429);
+        assertThat(get("203.0.113.3")).isNotEqualTo(429);
+
+        // Con varios saltos cuenta el cliente del principio de la lista, no el proxy intermedio
+        assertThat(get("203.0.113.1, 10.0.0.7")).isEqualTo(429);
+    }
+
+    // Código de estado de GET /api/hotels/{id} (404, aquí: lo que importa es que no sea 429)
+    private int get(String forwardedFor) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/hotels/-1"))
+                .header("X-Forwarded-For", forwardedFor)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
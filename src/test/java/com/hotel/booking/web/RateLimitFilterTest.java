@@ -0,0 +1,57 @@
+package com.hotel.booking.web;
+
+import com.hotel.booking.admission.TokenBucketRateLimiter;
+import com.hotel.booking.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(new TokenBucketRateLimiter(properties()), "X-Api-Key");
+
+    @Test
+    void shouldRejectWith429AndRetryAfterOnceTheBurstIsSpent() throws Exception {
+        assertThat(call("10.0.0.1", null).getStatus()).isEqualTo(200);
+        assertThat(call("10.0.0.1", null).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = call("10.0.0.1", null);
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        // 0,5 peticiones por segundo: la siguiente ficha llega en 2 s
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(filter.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountEachApiKeyApartFromTheAddress() throws Exception {
+        call("10.0.0.2", null);
+        call("10.0.0.2", null);
+        assertThat(call("10.0.0.2", null).getStatus()).isEqualTo(429);
+
+        // Misma IP (p. ej. detrás de un NAT) pero con su clave: tiene su propio cubo
+        assertThat(call("10.0.0.2", "cliente-1").getStatus()).isEqualTo(200);
+        assertThat(call("10.0.0.3", "cliente-1").getStatus()).isEqualTo(200);
+        assertThat(call("10.0.0.4", "cliente-1").getStatus()).isEqualTo(429);
+    }
+
+    private MockHttpServletResponse call(String address, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/hotels/1");
+        request.setRemoteAddr(address);
+        if (apiKey != null) {
+            request.addHeader("X-Api-Key", apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRequestsPerSecond(0.5);
+        properties.setBurst(2);
+        return properties;
+    }
+}